@@ -1537,9 +1537,9 @@ public class ObjectInputStream
         }
 
         byte tc;
-        while ((tc = bin.peekByte()) == TC_RESET) {
+        while ((tc = bin.peekByte()) == TC_RESET || tc == TC_RESETOBJECTS) {
             bin.readByte();
-            handleReset();
+            handleReset(tc == TC_RESETOBJECTS);
         }
 
         depth++;
@@ -2311,14 +2311,23 @@ public class ObjectInputStream
     /**
      * If recursion depth is 0, clears internal data structures; otherwise,
      * throws a StreamCorruptedException.  This method is called when a
-     * TC_RESET typecode is encountered.
+     * TC_RESET typecode is encountered, or, if retainClassDescs is true, a
+     * TC_RESETOBJECTS typecode, after which the handles of class descriptors
+     * remain valid, renumbered as by ObjectOutputStream.resetObjects().
      */
-    private void handleReset() throws StreamCorruptedException {
+    private void handleReset(boolean retainClassDescs)
+        throws StreamCorruptedException
+    {
         if (depth > 0) {
             throw new StreamCorruptedException(
                 "unexpected reset; recursion depth: " + depth);
         }
-        clear();
+        if (retainClassDescs) {
+            handles.retainClassDescs();
+            vlist.clear();
+        } else {
+            clear();
+        }
     }
 
     /**
@@ -2861,8 +2870,9 @@ public class ObjectInputStream
                          * reads may span data blocks separated by a TC_RESET.
                          */
                         case TC_RESET:
+                        case TC_RESETOBJECTS:
                             in.read();
-                            handleReset();
+                            handleReset(tc == TC_RESETOBJECTS);
                             break;
 
                         default:
@@ -3617,6 +3627,8 @@ public class ObjectInputStream
         Object[] entries;
         /** array mapping handle -> list of dependent handles (if any) */
         HandleList[] deps;
+        /** array mapping handle -> whether assigned to a class descriptor */
+        boolean[] descs;
         /** lowest unresolved dependency */
         int lowDep = -1;
         /** number of handles in table */
@@ -3629,6 +3641,7 @@ public class ObjectInputStream
             status = new byte[initialCapacity];
             entries = new Object[initialCapacity];
             deps = new HandleList[initialCapacity];
+            descs = new boolean[initialCapacity];
         }
 
         /**
@@ -3643,6 +3656,7 @@ public class ObjectInputStream
             }
             status[size] = STATUS_UNKNOWN;
             entries[size] = obj;
+            descs[size] = obj instanceof ObjectStreamClass;
             return size++;
         }
 
@@ -3814,10 +3828,33 @@ public class ObjectInputStream
             Arrays.fill(status, 0, size, (byte) 0);
             Arrays.fill(entries, 0, size, null);
             Arrays.fill(deps, 0, size, null);
+            Arrays.fill(descs, 0, size, false);
             lowDep = -1;
             size = 0;
         }
 
+        /**
+         * Removes all handles but those of class descriptors, which are
+         * renumbered from 0 upwards in the order of their old handles.  All
+         * handles must have been finished.
+         */
+        void retainClassDescs() {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (descs[i]) {
+                    status[n] = status[i];
+                    entries[n] = entries[i];
+                    descs[n++] = true;
+                }
+            }
+            Arrays.fill(status, n, size, (byte) 0);
+            Arrays.fill(entries, n, size, null);
+            Arrays.fill(deps, 0, size, null);
+            Arrays.fill(descs, n, size, false);
+            lowDep = -1;
+            size = n;
+        }
+
         /**
          * Returns number of handles registered in table.
          */
@@ -3834,14 +3871,17 @@ public class ObjectInputStream
             byte[] newStatus = new byte[newCapacity];
             Object[] newEntries = new Object[newCapacity];
             HandleList[] newDeps = new HandleList[newCapacity];
+            boolean[] newDescs = new boolean[newCapacity];
 
             System.arraycopy(status, 0, newStatus, 0, size);
             System.arraycopy(entries, 0, newEntries, 0, size);
             System.arraycopy(deps, 0, newDeps, 0, size);
+            System.arraycopy(descs, 0, newDescs, 0, size);
 
             status = newStatus;
             entries = newEntries;
             deps = newDeps;
+            descs = newDescs;
         }
 
         /**
@@ -214,6 +214,16 @@ public class ObjectOutputStream
             new sun.security.action.GetBooleanAction(
                 "sun.io.serialization.extendedDebugInfo")).booleanValue();
 
+    /**
+     * value of "sun.io.serialization.directFieldWrites" property,
+     * as true or false for marshalling primitive field values directly
+     * into the block data buffer
+     */
+    private static final boolean directFieldWrites =
+        java.security.AccessController.doPrivileged(
+            new sun.security.action.GetBooleanAction(
+                "sun.io.serialization.directFieldWrites")).booleanValue();
+
     /**
      * Creates an ObjectOutputStream that writes to the specified OutputStream.
      * This constructor writes the serialization stream header to the
@@ -503,6 +513,36 @@ public class ObjectOutputStream
         bout.setBlockDataMode(true);
     }
 
+    /**
+     * Resets the stream as {@link #reset()} does, except that class
+     * descriptors already written remain known to this stream and to the
+     * corresponding ObjectInputStream.  Objects previously written will be
+     * written to the stream again, but the descriptors of their classes
+     * will be written by reference rather than in full.
+     *
+     * <p>This suits a stream carrying a series of independent messages over
+     * a long-lived connection: each message is preceded by a call to this
+     * method, and the class descriptors of the message types are written
+     * only once per connection rather than once per message.
+     *
+     * <p>The reset is marked in the stream by the type code
+     * {@code TC_RESETOBJECTS}, which is not understood by
+     * ObjectInputStreams of earlier releases.
+     *
+     * @throws  IOException if resetObjects() is invoked while serializing an
+     *          object.
+     */
+    public void resetObjects() throws IOException {
+        if (depth != 0) {
+            throw new IOException("stream active");
+        }
+        bout.setBlockDataMode(false);
+        bout.writeByte(TC_RESETOBJECTS);
+        subs.clear();
+        handles.retainClassDescs();
+        bout.setBlockDataMode(true);
+    }
+
     /**
      * Subclasses may implement this method to allow class data to be stored in
      * the stream. By default this method does nothing.  The corresponding
@@ -1527,11 +1567,15 @@ public class ObjectOutputStream
         desc.checkDefaultSerialize();
 
         int primDataSize = desc.getPrimDataSize();
-        if (primVals == null || primVals.length < primDataSize) {
-            primVals = new byte[primDataSize];
+        if (!(directFieldWrites &&
+              bout.writePrimFieldValues(desc, obj, primDataSize)))
+        {
+            if (primVals == null || primVals.length < primDataSize) {
+                primVals = new byte[primDataSize];
+            }
+            desc.getPrimFieldValues(obj, primVals);
+            bout.write(primVals, 0, primDataSize, false);
         }
-        desc.getPrimFieldValues(obj, primVals);
-        bout.write(primVals, 0, primDataSize, false);
 
         ObjectStreamField[] fields = desc.getFields(false);
         Object[] objVals = new Object[desc.getNumObjFields()];
@@ -1828,6 +1872,29 @@ public class ObjectOutputStream
             out.close();
         }
 
+        /**
+         * Marshals the serializable primitive field values of obj, as
+         * described by desc and totalling size bytes, directly into the
+         * buffer, so that they are written to the underlying stream along
+         * with the data around them rather than by a separate write.
+         * Returns false, writing nothing, if the values cannot be buffered
+         * in a single piece or the stream is in block data mode.
+         */
+        boolean writePrimFieldValues(ObjectStreamClass desc, Object obj,
+                                     int size)
+            throws IOException
+        {
+            if (blkmode || size > MAX_BLOCK_SIZE) {
+                return false;
+            }
+            if (pos + size > MAX_BLOCK_SIZE) {
+                drain();
+            }
+            desc.getPrimFieldValues(obj, buf, pos);
+            pos += size;
+            return true;
+        }
+
         /**
          * Writes specified span of byte values from given array.  If copy is
          * true, copies the values to an intermediate buffer before writing
@@ -2250,6 +2317,10 @@ public class ObjectOutputStream
         private final float loadFactor;
         /* maps hash value -> candidate handle value */
         private int[] spine;
+        /* maps hash value -> generation in which spine entry was set */
+        private int[] spineGens;
+        /* current generation; spine entries of other generations are empty */
+        private int gen;
         /* maps handle value -> next candidate handle value */
         private int[] next;
         /* maps handle value -> associated object */
@@ -2261,6 +2332,7 @@ public class ObjectOutputStream
         HandleTable(int initialCapacity, float loadFactor) {
             this.loadFactor = loadFactor;
             spine = new int[initialCapacity];
+            spineGens = new int[initialCapacity];
             next = new int[initialCapacity];
             objs = new Object[initialCapacity];
             threshold = (int) (initialCapacity * loadFactor);
@@ -2291,6 +2363,9 @@ public class ObjectOutputStream
                 return -1;
             }
             int index = hash(obj) % spine.length;
+            if (spineGens[index] != gen) {
+                return -1;
+            }
             for (int i = spine[index]; i >= 0; i = next[i]) {
                 if (objs[i] == obj) {
                     return i;
@@ -2300,12 +2375,44 @@ public class ObjectOutputStream
         }
 
         /**
-         * Resets table to its initial (empty) state.
+         * Resets table to its initial (empty) state.  The spine is emptied
+         * by moving to a new generation rather than by being filled, so the
+         * cost is proportional to the number of mappings, not the capacity.
          */
         void clear() {
-            Arrays.fill(spine, -1);
             Arrays.fill(objs, 0, size, null);
             size = 0;
+            nextGeneration();
+        }
+
+        /**
+         * Removes all mappings but those of class descriptors, which are
+         * given handles from 0 upwards in the order of their old handles.
+         */
+        void retainClassDescs() {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (objs[i] instanceof ObjectStreamClass) {
+                    objs[n++] = objs[i];
+                }
+            }
+            Arrays.fill(objs, n, size, null);
+            size = n;
+            nextGeneration();
+            for (int i = 0; i < n; i++) {
+                insert(objs[i], i);
+            }
+        }
+
+        /**
+         * Empties the spine.
+         */
+        private void nextGeneration() {
+            if (++gen <= 0) {
+                // wrapped around: older stamps could match again
+                Arrays.fill(spineGens, 0);
+                gen = 1;
+            }
         }
 
         /**
@@ -2322,6 +2429,10 @@ public class ObjectOutputStream
         private void insert(Object obj, int handle) {
             int index = hash(obj) % spine.length;
             objs[handle] = obj;
+            if (spineGens[index] != gen) {
+                spineGens[index] = gen;
+                spine[index] = -1;
+            }
             next[handle] = spine[index];
             spine[index] = handle;
         }
@@ -2332,8 +2443,8 @@ public class ObjectOutputStream
          */
         private void growSpine() {
             spine = new int[(spine.length << 1) + 1];
+            spineGens = new int[spine.length];
             threshold = (int) (spine.length * loadFactor);
-            Arrays.fill(spine, -1);
             for (int i = 0; i < size; i++) {
                 insert(objs[i], i);
             }
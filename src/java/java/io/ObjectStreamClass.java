@@ -118,6 +118,24 @@ public class ObjectStreamClass implements Serializable {
         /** queue for WeakReferences to field reflectors keys */
         private static final ReferenceQueue<Class<?>> reflectorsQueue =
             new ReferenceQueue<>();
+
+        /** per-class slots holding descriptors already in localDescs */
+        static final ClassValue<DescSlot> descSlots =
+            new ClassValue<DescSlot>() {
+                protected DescSlot computeValue(Class<?> type) {
+                    return new DescSlot();
+                }
+            };
+    }
+
+    /**
+     * Slot attached to a class, holding a soft reference to the class's
+     * descriptor once it has been created.  Lookups of a class whose
+     * descriptor is known are served from its slot, without allocating
+     * and hashing a key for the localDescs table.
+     */
+    private static final class DescSlot {
+        volatile SoftReference<ObjectStreamClass> ref;
     }
 
     /** class associated with this descriptor (if any) */
@@ -344,6 +362,12 @@ public class ObjectStreamClass implements Serializable {
         if (!(all || Serializable.class.isAssignableFrom(cl))) {
             return null;
         }
+        DescSlot slot = Caches.descSlots.get(cl);
+        SoftReference<ObjectStreamClass> slotRef = slot.ref;
+        ObjectStreamClass desc;
+        if (slotRef != null && (desc = slotRef.get()) != null) {
+            return desc;
+        }
         processQueue(Caches.localDescsQueue, Caches.localDescs);
         WeakClassKey key = new WeakClassKey(cl, Caches.localDescsQueue);
         Reference<?> ref = Caches.localDescs.get(key);
@@ -370,7 +394,9 @@ public class ObjectStreamClass implements Serializable {
         }
 
         if (entry instanceof ObjectStreamClass) {  // check common case first
-            return (ObjectStreamClass) entry;
+            desc = (ObjectStreamClass) entry;
+            slot.ref = new SoftReference<>(desc);
+            return desc;
         }
         if (entry instanceof EntryFuture) {
             future = (EntryFuture) entry;
@@ -401,7 +427,9 @@ public class ObjectStreamClass implements Serializable {
         }
 
         if (entry instanceof ObjectStreamClass) {
-            return (ObjectStreamClass) entry;
+            desc = (ObjectStreamClass) entry;
+            slot.ref = new SoftReference<>(desc);
+            return desc;
         } else if (entry instanceof RuntimeException) {
             throw (RuntimeException) entry;
         } else if (entry instanceof Error) {
@@ -1386,7 +1414,17 @@ public class ObjectStreamClass implements Serializable {
      * non-null.
      */
     void getPrimFieldValues(Object obj, byte[] buf) {
-        fieldRefl.getPrimFieldValues(obj, buf);
+        fieldRefl.getPrimFieldValues(obj, buf, 0);
+    }
+
+    /**
+     * Fetches the serializable primitive field values of object obj and
+     * marshals them into byte array buf starting at offset base.  It is the
+     * responsibility of the caller to ensure that obj is of the proper type if
+     * non-null, and that buf has room for getPrimDataSize() bytes.
+     */
+    void getPrimFieldValues(Object obj, byte[] buf, int base) {
+        fieldRefl.getPrimFieldValues(obj, buf, base);
     }
 
     /**
@@ -2121,10 +2159,10 @@ public class ObjectStreamClass implements Serializable {
 
         /**
          * Fetches the serializable primitive field values of object obj and
-         * marshals them into byte array buf starting at offset 0.  The caller
-         * is responsible for ensuring that obj is of the proper type.
+         * marshals them into byte array buf starting at offset base.  The
+         * caller is responsible for ensuring that obj is of the proper type.
          */
-        void getPrimFieldValues(Object obj, byte[] buf) {
+        void getPrimFieldValues(Object obj, byte[] buf, int base) {
             if (obj == null) {
                 throw new NullPointerException();
             }
@@ -2134,7 +2172,7 @@ public class ObjectStreamClass implements Serializable {
              */
             for (int i = 0; i < numPrimFields; i++) {
                 long key = readKeys[i];
-                int off = offsets[i];
+                int off = base + offsets[i];
                 switch (typeCodes[i]) {
                     case 'Z':
                         Bits.putBoolean(buf, off, unsafe.getBoolean(obj, key));
@@ -129,6 +129,16 @@ public interface ObjectStreamConstants {
      */
     final static byte TC_ENUM =         (byte)0x7E;
 
+    /**
+     * Reset stream context, retaining class descriptors.  All handles but
+     * those of class descriptors are reset, and the handles of class
+     * descriptors are renumbered in order from baseWireHandle.  Only
+     * written by <code>ObjectOutputStream.resetObjects</code>; it lies
+     * outside the range of TC_BASE to TC_MAX, and readers that do not know
+     * it reject it as an invalid type code.
+     */
+    final static byte TC_RESETOBJECTS = (byte)0x7F;
+
     /**
      * Last tag value.
      */
@@ -225,7 +225,7 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
      * @serial
      * @see #unscaledValue
      */
-    private final BigInteger intVal;
+    final BigInteger intVal;
 
     /**
      * The scale of this BigDecimal, as returned by {@link #scale}.
@@ -265,7 +265,7 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
      * less than or equal to {@code Long.MAX_VALUE}, the value can be
      * compactly stored in this field and used in computations.
      */
-    private final transient long intCompact;
+    final transient long intCompact;
 
     // All 18-digit base ten strings fit into a long; not all 19-digit
     // strings will
@@ -3559,7 +3559,7 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
      * @param  n the power of ten to be returned (>=0)
      * @return a {@code BigInteger} with the value (10<sup>n</sup>)
      */
-    private static BigInteger bigTenToThe(int n) {
+    static BigInteger bigTenToThe(int n) {
         if (n < 0)
             return BigInteger.ZERO;
 
@@ -3680,7 +3680,7 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
      * Compute val * 10 ^ n; return this product if it is
      * representable as a long, INFLATED otherwise.
      */
-    private static long longMultiplyPowerTen(long val, int n) {
+    static long longMultiplyPowerTen(long val, int n) {
         if (val == 0 || n <= 0)
             return val;
         long[] tab = LONG_TEN_POWERS_TABLE;
@@ -4154,7 +4154,7 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
      * Divides {@code long} by {@code long} and do rounding based on the
      * passed in roundingMode.
      */
-    private static long divideAndRound(long ldividend, long ldivisor, int roundingMode) {
+    static long divideAndRound(long ldividend, long ldivisor, int roundingMode) {
         int qsign; // quotient sign
         long q = ldividend / ldivisor; // store quotient in long
         if (roundingMode == ROUND_DOWN)
@@ -4172,8 +4172,8 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
     /**
      * Shared logic of need increment computation.
      */
-    private static boolean commonNeedIncrement(int roundingMode, int qsign,
-                                        int cmpFracHalf, boolean oddQuot) {
+    static boolean commonNeedIncrement(int roundingMode, int qsign,
+                                       int cmpFracHalf, boolean oddQuot) {
         switch(roundingMode) {
         case ROUND_UNNECESSARY:
             throw new ArithmeticException("Rounding necessary");
@@ -4301,8 +4301,8 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
     /**
      * Tests if quotient has to be incremented according the roundingMode
      */
-    private static boolean needIncrement(long ldivisor, int roundingMode,
-                                         int qsign, MutableBigInteger mq, long r) {
+    static boolean needIncrement(long ldivisor, int roundingMode,
+                                 int qsign, MutableBigInteger mq, long r) {
         assert r != 0L;
 
         int cmpFracHalf;
@@ -4379,8 +4379,8 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
     /**
      * Tests if quotient has to be incremented according the roundingMode
      */
-    private static boolean needIncrement(MutableBigInteger mdivisor, int roundingMode,
-                                         int qsign, MutableBigInteger mq, MutableBigInteger mr) {
+    static boolean needIncrement(MutableBigInteger mdivisor, int roundingMode,
+                                 int qsign, MutableBigInteger mq, MutableBigInteger mr) {
         assert !mr.isZero();
         int cmpFracHalf = mr.compareHalf(mdivisor);
         return commonNeedIncrement(roundingMode, qsign, cmpFracHalf, mq.isOdd());
@@ -4444,7 +4444,7 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
     /*
      * returns INFLATED if oveflow
      */
-    private static long add(long xs, long ys){
+    static long add(long xs, long ys){
         long sum = xs + ys;
         // See "Hacker's Delight" section 2-12 for explanation of
         // the overflow test.
@@ -5048,7 +5048,7 @@ public class BigDecimal extends Number implements Comparable<BigDecimal> {
         }
     }
 
-    private static long multiply(long x, long y){
+    static long multiply(long x, long y){
                 long product = x * y;
         long ax = Math.abs(x);
         long ay = Math.abs(y);
@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.math;
+
+import static java.math.BigDecimal.INFLATED;
+
+/**
+ * A mutable decimal number, used to sum or multiply many {@code BigDecimal}
+ * values without creating a new {@code BigDecimal} for each step.
+ *
+ * <p>Like a {@code BigDecimal}, the value of an accumulator is an unscaled
+ * integer and a scale, and the results of {@link #add add} and {@link
+ * #multiply multiply} are exact, with the scales the corresponding {@code
+ * BigDecimal} operations would give.  The unscaled value is kept in a
+ * {@code long} while it fits, and otherwise in arrays that are reused, so
+ * that once these have grown to the size of the value, accumulating
+ * creates no further objects.  The result is obtained by {@link
+ * #toBigDecimal}:
+ *
+ * <pre> {@code
+ * BigDecimalAccumulator total = new BigDecimalAccumulator();
+ * for (Entry e : ledger)
+ *     total.add(e.amount());
+ * BigDecimal sum = total.toBigDecimal();}</pre>
+ *
+ * <p>Accumulators can be combined with {@link #add(BigDecimalAccumulator)},
+ * which makes them suitable for mutable reduction of parallel streams:
+ *
+ * <pre> {@code
+ * BigDecimal sum = amounts.parallelStream()
+ *     .collect(BigDecimalAccumulator::new,
+ *              BigDecimalAccumulator::add,
+ *              BigDecimalAccumulator::add)
+ *     .toBigDecimal();}</pre>
+ *
+ * <p>Instances of this class are not safe for use by multiple threads;
+ * {@link java.util.concurrent.atomic.BigDecimalAdder} is a concurrent
+ * counterpart for sums.
+ *
+ * @see     BigDecimal
+ * @see     java.util.concurrent.atomic.BigDecimalAdder
+ * @since   9
+ */
+public final class BigDecimalAccumulator {
+
+    /*
+     * The value is compact (the unscaled value is in compact) unless
+     * compact is INFLATED, in which case it is sign * mag.  t1 and t2 are
+     * scratch space, swapped with mag where that saves copying.
+     */
+    private long compact;
+    private int sign;
+    private MutableBigInteger mag = new MutableBigInteger();
+    private MutableBigInteger t1 = new MutableBigInteger();
+    private MutableBigInteger t2 = new MutableBigInteger();
+    private int scale;
+
+    private static final int[] INT_TEN_POWERS = {
+        1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000,
+        1000000000
+    };
+
+    /**
+     * Creates an accumulator with the value zero and scale zero.
+     */
+    public BigDecimalAccumulator() {
+    }
+
+    /**
+     * Creates an accumulator with the value zero and the given scale.
+     *
+     * @param scale the scale of the initial value.
+     */
+    public BigDecimalAccumulator(int scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * Adds the given value to this accumulator.  The scale of the result
+     * is {@code max(this.scale(), augend.scale())}.
+     *
+     * @param  augend value to be added.
+     * @return this accumulator.
+     * @throws ArithmeticException if the scale would overflow.
+     */
+    public BigDecimalAccumulator add(BigDecimal augend) {
+        if (augend.intCompact != INFLATED)
+            addCompact(augend.intCompact, augend.scale());
+        else
+            addInflated(augend.intVal.signum, augend.intVal.mag, augend.scale());
+        return this;
+    }
+
+    /**
+     * Adds {@code (unscaledVal &times; 10<sup>-scale</sup>)} to this
+     * accumulator, as {@code add(BigDecimal.valueOf(unscaledVal, scale))}
+     * would.
+     *
+     * @param  unscaledVal unscaled value of the value to be added.
+     * @param  scale scale of the value to be added.
+     * @return this accumulator.
+     * @throws ArithmeticException if the scale would overflow.
+     */
+    public BigDecimalAccumulator add(long unscaledVal, int scale) {
+        if (unscaledVal != INFLATED) {
+            addCompact(unscaledVal, scale);
+        } else {
+            setMagnitude(t2, unscaledVal);
+            addMagnitude(-1, t2, scale);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the value of another accumulator to this one.  The other
+     * accumulator is not changed, unless it is this one.
+     *
+     * @param  other the accumulator whose value is to be added.
+     * @return this accumulator.
+     * @throws ArithmeticException if the scale would overflow.
+     */
+    public BigDecimalAccumulator add(BigDecimalAccumulator other) {
+        if (other.compact != INFLATED) {
+            addCompact(other.compact, other.scale);
+        } else {
+            t2.copyValue(other.mag);
+            addMagnitude(other.sign, t2, other.scale);
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts the given value from this accumulator.  The scale of the
+     * result is {@code max(this.scale(), subtrahend.scale())}.
+     *
+     * @param  subtrahend value to be subtracted.
+     * @return this accumulator.
+     * @throws ArithmeticException if the scale would overflow.
+     */
+    public BigDecimalAccumulator subtract(BigDecimal subtrahend) {
+        if (subtrahend.intCompact != INFLATED)
+            addCompact(-subtrahend.intCompact, subtrahend.scale());
+        else
+            addInflated(-subtrahend.intVal.signum, subtrahend.intVal.mag,
+                        subtrahend.scale());
+        return this;
+    }
+
+    /**
+     * Multiplies this accumulator by the given value.  The scale of the
+     * result is {@code (this.scale() + multiplicand.scale())}.
+     *
+     * @param  multiplicand value to multiply this accumulator by.
+     * @return this accumulator.
+     * @throws ArithmeticException if the scale would overflow.
+     */
+    public BigDecimalAccumulator multiply(BigDecimal multiplicand) {
+        int newScale = checkScale((long)scale + multiplicand.scale());
+        long y = multiplicand.intCompact;
+        if (compact != INFLATED && y != INFLATED) {
+            long product = BigDecimal.multiply(compact, y);
+            if (product != INFLATED) {
+                compact = product;
+                scale = newScale;
+                return this;
+            }
+        }
+        int ysign;
+        if (y != INFLATED) {
+            ysign = Long.signum(y);
+            setMagnitude(t2, y);
+        } else {
+            ysign = multiplicand.intVal.signum;
+            t2.copyValue(multiplicand.intVal.mag);
+        }
+        inflate();
+        if (sign == 0 || ysign == 0) {
+            compact = 0;
+        } else {
+            mag.multiply(t2, t1);
+            swapMag();
+            sign *= ysign;
+        }
+        scale = newScale;
+        return this;
+    }
+
+    /**
+     * Sets the scale of this accumulator, multiplying or dividing its
+     * unscaled value by the appropriate power of ten and rounding as
+     * {@link BigDecimal#setScale(int, RoundingMode)} does.
+     *
+     * @param  newScale scale of the value of this accumulator.
+     * @param  roundingMode the rounding mode to apply.
+     * @return this accumulator.
+     * @throws ArithmeticException if {@code roundingMode==UNNECESSARY}
+     *         and the specified scaling operation would require
+     *         rounding.
+     */
+    public BigDecimalAccumulator setScale(int newScale, RoundingMode roundingMode) {
+        if (newScale >= scale) {
+            scaleUp(newScale - scale);
+            return this;
+        }
+        int rm = roundingMode.oldMode;
+        long n = (long)scale - newScale;
+        if (compact != INFLATED && n <= 18) {
+            compact = BigDecimal.divideAndRound(compact, tenToThe((int)n), rm);
+            scale = newScale;
+            return this;
+        }
+        inflate();
+        if (sign != 0) {
+            MutableBigInteger q = t1;
+            boolean increment;
+            if (n <= 18) {
+                long ldivisor = tenToThe((int)n);
+                long r = mag.divide(ldivisor, q);
+                increment = r != 0 &&
+                    BigDecimal.needIncrement(ldivisor, rm, sign, q, r);
+            } else if (mag.bitLength() < 3 * n) {
+                // |value| < 2^(3n-1) < 10^n / 2: the quotient is zero and
+                // the remainder, the value, is less than half the divisor
+                q.reset();
+                increment = BigDecimal.commonNeedIncrement(rm, sign, -1, false);
+            } else {
+                MutableBigInteger divisor =
+                    new MutableBigInteger(BigDecimal.bigTenToThe((int)n));
+                MutableBigInteger r = mag.divide(divisor, q);
+                increment = !r.isZero() &&
+                    BigDecimal.needIncrement(divisor, rm, sign, q, r);
+            }
+            if (increment)
+                q.add(MutableBigInteger.ONE);
+            swapMag();
+            if (mag.isZero())
+                compact = 0;
+        }
+        scale = newScale;
+        return this;
+    }
+
+    /**
+     * Sets this accumulator to zero, with scale zero.  The space used for
+     * large values is kept for reuse.
+     */
+    public void reset() {
+        compact = 0;
+        scale = 0;
+    }
+
+    /**
+     * Returns the scale of the value of this accumulator.
+     *
+     * @return the scale of the value of this accumulator.
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Returns the signum function of the value of this accumulator.
+     *
+     * @return -1, 0, or 1 as the value of this accumulator is negative,
+     *         zero, or positive.
+     */
+    public int signum() {
+        return compact != INFLATED ? Long.signum(compact) : sign;
+    }
+
+    /**
+     * Returns the value of this accumulator as a {@code BigDecimal}, with
+     * the scale of this accumulator.
+     *
+     * @return the value of this accumulator.
+     */
+    public BigDecimal toBigDecimal() {
+        if (compact != INFLATED)
+            return BigDecimal.valueOf(compact, scale);
+        // On a copy, as the result may take over the magnitude array,
+        // which later operations on this accumulator change in place
+        return new MutableBigInteger(mag).toBigDecimal(sign, scale);
+    }
+
+    /**
+     * Returns the string representation of the value of this accumulator,
+     * as given by {@link BigDecimal#toString}.
+     *
+     * @return string representation of the value of this accumulator.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    // Private helpers
+
+    /*
+     * Adds v * 10^-vscale, where v is not INFLATED.
+     */
+    private void addCompact(long v, int vscale) {
+        if (vscale > scale)
+            scaleUp((long)vscale - scale);
+        if (v == 0)
+            return;
+        if (vscale < scale) {
+            long w = BigDecimal.longMultiplyPowerTen(v, powerOfTen((long)scale - vscale));
+            if (w == INFLATED) {
+                setMagnitude(t2, v);
+                addMagnitude(Long.signum(v), t2, vscale);
+                return;
+            }
+            v = w;
+        }
+        if (compact != INFLATED) {
+            long sum = BigDecimal.add(compact, v);
+            if (sum != INFLATED) {
+                compact = sum;
+                return;
+            }
+        }
+        setMagnitude(t2, v);
+        addMagnitude(Long.signum(v), t2, scale);
+    }
+
+    /*
+     * Adds vsign * vmag * 10^-vscale, for the magnitude of a BigInteger.
+     */
+    private void addInflated(int vsign, int[] vmag, int vscale) {
+        t2.copyValue(vmag);
+        addMagnitude(vsign, t2, vscale);
+    }
+
+    /*
+     * Adds msign * m * 10^-mscale, where m is t2, which is overwritten.
+     */
+    private void addMagnitude(int msign, MutableBigInteger m, int mscale) {
+        if (mscale > scale)
+            scaleUp((long)mscale - scale);
+        if (msign == 0)
+            return;
+        if (mscale < scale) {
+            MutableBigInteger r = mulPowerTen(m, powerOfTen((long)scale - mscale), t1);
+            if (r != m) {
+                t1 = m;
+                t2 = m = r;
+            }
+        }
+        inflate();
+        if (sign == 0) {
+            mag.copyValue(m);
+            sign = msign;
+        } else if (sign == msign) {
+            mag.add(m);
+        } else {
+            int cmp = mag.subtract(m);
+            if (cmp == 0)
+                compact = 0;
+            else if (cmp < 0)
+                sign = msign;
+        }
+    }
+
+    /*
+     * Multiplies the value by 10^n, n >= 0, adding n to the scale.
+     */
+    private void scaleUp(long n) {
+        if (n == 0)
+            return;
+        int newScale = checkScale(scale + n);
+        if (compact == 0) {
+            scale = newScale;
+            return;
+        }
+        if (compact != INFLATED) {
+            long r = BigDecimal.longMultiplyPowerTen(compact, powerOfTen(n));
+            if (r != INFLATED) {
+                compact = r;
+                scale = newScale;
+                return;
+            }
+        }
+        inflate();
+        if (sign != 0) {
+            MutableBigInteger r = mulPowerTen(mag, powerOfTen(n), t1);
+            if (r != mag)
+                swapMag();
+        }
+        scale = newScale;
+    }
+
+    /*
+     * Moves a compact value into sign and mag.
+     */
+    private void inflate() {
+        if (compact != INFLATED) {
+            sign = Long.signum(compact);
+            setMagnitude(mag, compact);
+            compact = INFLATED;
+        }
+    }
+
+    private void swapMag() {
+        MutableBigInteger t = mag;
+        mag = t1;
+        t1 = t;
+    }
+
+    /*
+     * Multiplies x by 10^n using y as scratch space, returning whichever
+     * of the two holds the product.
+     */
+    private static MutableBigInteger mulPowerTen(MutableBigInteger x, int n,
+                                                 MutableBigInteger y) {
+        while (n > 0) {
+            int k = Math.min(n, 9);
+            x.mul(INT_TEN_POWERS[k], y);
+            MutableBigInteger t = x;
+            x = y;
+            y = t;
+            n -= k;
+        }
+        return x;
+    }
+
+    /*
+     * Sets m to the magnitude of v; Long.MIN_VALUE gives 2^63.
+     */
+    private static void setMagnitude(MutableBigInteger m, long v) {
+        if (v < 0)
+            v = -v;
+        int[] val = m.value.length >= 2 ? m.value : new int[2];
+        int hi = (int)(v >>> 32);
+        if (hi != 0) {
+            val[0] = hi;
+            val[1] = (int)v;
+            m.setValue(val, 2);
+        } else {
+            val[0] = (int)v;
+            m.setValue(val, v == 0 ? 0 : 1);
+        }
+    }
+
+    /*
+     * Clamps a difference of scales, which may exceed the range of int;
+     * such a power of ten is beyond any value that can be stored.
+     */
+    private static int powerOfTen(long n) {
+        return (int)Math.min(n, Integer.MAX_VALUE);
+    }
+
+    private static long tenToThe(int n) {
+        long t = 1;
+        while (n-- > 0)
+            t *= 10;
+        return t;
+    }
+
+    private static int checkScale(long val) {
+        int asInt = (int)val;
+        if (asInt != val)
+            throw new ArithmeticException(asInt>0 ? "Underflow":"Overflow");
+        return asInt;
+    }
+}
@@ -35,6 +35,9 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamField;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.ThreadLocalRandom;
 import sun.misc.DoubleConsts;
 import sun.misc.FloatConsts;
@@ -242,6 +245,38 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      */
     private static final int TOOM_COOK_SQUARE_THRESHOLD = 216;
 
+    /**
+     * The threshold value for using multiplication by number-theoretic
+     * transforms.  If the number of ints in each mag array is greater than
+     * this number, then {@link NttMultiplier} will be used.  This value is
+     * found experimentally to work well.
+     */
+    private static final int NTT_THRESHOLD = 12000;
+
+    /**
+     * The threshold value for using squaring by number-theoretic
+     * transforms.  If the number of ints in the number are larger than this
+     * value, {@link NttMultiplier} will be used.  This value is found
+     * experimentally to work well.
+     */
+    private static final int NTT_SQUARE_THRESHOLD = 8000;
+
+    /**
+     * The number of levels of 3-way Toom-Cook recursion in which
+     * {@link #parallelMultiply} forks the sub-products as tasks.  Each level
+     * multiplies the number of tasks by about three, so this is enough to
+     * occupy the common pool.
+     */
+    private static final int PARALLEL_FORK_DEPTH_THRESHOLD =
+        32 - Integer.numberOfLeadingZeros(ForkJoinPool.getCommonPoolParallelism());
+
+    /**
+     * The threshold value for converting the halves of a number in parallel
+     * in {@link #parallelToString}.  If the number of ints in the number are
+     * larger than this value, its halves are converted by forked tasks.
+     */
+    private static final int PARALLEL_TO_STRING_THRESHOLD = 2048;
+
     /**
      * The threshold value for using Burnikel-Ziegler division.  If the number
      * of ints in the divisor are larger than this value, Burnikel-Ziegler
@@ -1490,7 +1525,33 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this * val}
      */
     public BigInteger multiply(BigInteger val) {
-        return multiply(val, false);
+        return multiply(val, false, false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)}.
+     * When both {@code this} and {@code val} are large, typically
+     * in the thousands of bits, parallel multiply might be used.
+     * This method returns the exact same mathematical result as
+     * {@link #multiply}.
+     *
+     * @implNote This implementation may offer better algorithmic
+     * performance when {@code val == this}.
+     *
+     * @implNote Compared to {@link #multiply}, an implementation's
+     * parallel multiplication algorithm would typically require more
+     * CPU resources to compute the result faster, and may do so with a
+     * slight increase in memory consumption.  The sub-products are
+     * computed by tasks in the current fork/join pool, or in the
+     * {@linkplain ForkJoinPool#commonPool() common pool} if not called
+     * from one.
+     *
+     * @param  val value to be multiplied by this BigInteger.
+     * @return {@code this * val}
+     * @see #multiply
+     */
+    public BigInteger parallelMultiply(BigInteger val) {
+        return multiply(val, false, true, 0);
     }
 
     /**
@@ -1502,13 +1563,30 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this * val}
      */
     private BigInteger multiply(BigInteger val, boolean isRecursion) {
+        return multiply(val, isRecursion, false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)}.  If
+     * the invocation is recursive certain overflow checks are skipped.
+     * If parallel is true, large sub-products are computed by forked
+     * tasks, down to the given recursion depth.
+     *
+     * @param  val value to be multiplied by this BigInteger.
+     * @param  isRecursion whether this is a recursive invocation
+     * @param  parallel whether to compute sub-products in parallel
+     * @param  depth the depth of Toom-Cook recursion
+     * @return {@code this * val}
+     */
+    private BigInteger multiply(BigInteger val, boolean isRecursion,
+                                boolean parallel, int depth) {
         if (val.signum == 0 || signum == 0)
             return ZERO;
 
         int xlen = mag.length;
 
         if (val == this && xlen > MULTIPLY_SQUARE_THRESHOLD) {
-            return square();
+            return square(isRecursion, parallel, depth);
         }
 
         int ylen = val.mag.length;
@@ -1586,7 +1664,14 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
                     }
                 }
 
-                return multiplyToomCook3(this, val);
+                if (xlen >= NTT_THRESHOLD && ylen >= NTT_THRESHOLD &&
+                    NttMultiplier.supports(xlen, ylen)) {
+                    int[] z = NttMultiplier.multiply(mag, val.mag, parallel);
+                    return new BigInteger(trustedStripLeadingZeroInts(z),
+                                          signum == val.signum ? 1 : -1);
+                }
+
+                return multiplyToomCook3(this, val, parallel, depth);
             }
         }
     }
@@ -1762,7 +1847,8 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * LNCS #4547. Springer, Madrid, Spain, June 21-22, 2007.
      *
      */
-    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b) {
+    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b,
+                                                boolean parallel, int depth) {
         int alen = a.mag.length;
         int blen = b.mag.length;
 
@@ -1784,18 +1870,41 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         b1 = b.getToomSlice(k, r, 1, largest);
         b0 = b.getToomSlice(k, r, 2, largest);
 
-        BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1, db1;
+        BigInteger v0 = null, v1 = null, vm1 = null;
+        BigInteger v2, vinf, t1, t2, tm1, da1, db1;
 
-        v0 = a0.multiply(b0, true);
+        // At the upper levels of a parallel multiplication, three of the
+        // five sub-products are forked and the other two computed here
+        boolean fork = parallel && depth < PARALLEL_FORK_DEPTH_THRESHOLD;
+        depth++;
+        ForkJoinTask<BigInteger> v0Task = null, vm1Task = null, v1Task = null;
+
+        if (fork)
+            v0Task = RecursiveOp.multiply(a0, b0, depth).fork();
+        else
+            v0 = a0.multiply(b0, true, parallel, depth);
         da1 = a2.add(a0);
         db1 = b2.add(b0);
-        vm1 = da1.subtract(a1).multiply(db1.subtract(b1), true);
+        if (fork)
+            vm1Task = RecursiveOp.multiply(da1.subtract(a1),
+                                           db1.subtract(b1), depth).fork();
+        else
+            vm1 = da1.subtract(a1).multiply(db1.subtract(b1), true,
+                                            parallel, depth);
         da1 = da1.add(a1);
         db1 = db1.add(b1);
-        v1 = da1.multiply(db1, true);
+        if (fork)
+            v1Task = RecursiveOp.multiply(da1, db1, depth).fork();
+        else
+            v1 = da1.multiply(db1, true, parallel, depth);
         v2 = da1.add(a2).shiftLeft(1).subtract(a0).multiply(
-             db1.add(b2).shiftLeft(1).subtract(b0), true);
-        vinf = a2.multiply(b2, true);
+             db1.add(b2).shiftLeft(1).subtract(b0), true, parallel, depth);
+        vinf = a2.multiply(b2, true, parallel, depth);
+        if (fork) {
+            v0 = v0Task.join();
+            vm1 = vm1Task.join();
+            v1 = v1Task.join();
+        }
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -1972,6 +2081,22 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this<sup>2</sup>}
      */
     private BigInteger square(boolean isRecursion) {
+        return square(isRecursion, false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this<sup>2</sup>)}. If
+     * the invocation is recursive certain overflow checks are skipped.
+     * If parallel is true, large sub-products are computed by forked
+     * tasks, down to the given recursion depth.
+     *
+     * @param isRecursion whether this is a recursive invocation
+     * @param parallel whether to compute sub-products in parallel
+     * @param depth the depth of Toom-Cook recursion
+     * @return {@code this<sup>2</sup>}
+     */
+    private BigInteger square(boolean isRecursion, boolean parallel,
+                              int depth) {
         if (signum == 0) {
             return ZERO;
         }
@@ -1993,7 +2118,13 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
                     }
                 }
 
-                return squareToomCook3();
+                if (len >= NTT_SQUARE_THRESHOLD &&
+                    NttMultiplier.supports(len, len)) {
+                    int[] z = NttMultiplier.multiply(mag, mag, parallel);
+                    return new BigInteger(trustedStripLeadingZeroInts(z), 1);
+                }
+
+                return squareToomCook3(parallel, depth);
             }
         }
     }
@@ -2126,7 +2257,7 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * that has better asymptotic performance than the algorithm used in
      * squareToLen or squareKaratsuba.
      */
-    private BigInteger squareToomCook3() {
+    private BigInteger squareToomCook3(boolean parallel, int depth) {
         int len = mag.length;
 
         // k is the size (in ints) of the lower-order slices.
@@ -2141,15 +2272,36 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         a2 = getToomSlice(k, r, 0, len);
         a1 = getToomSlice(k, r, 1, len);
         a0 = getToomSlice(k, r, 2, len);
-        BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1;
+        BigInteger v0 = null, v1 = null, vm1 = null;
+        BigInteger v2, vinf, t1, t2, tm1, da1;
+
+        // As in multiplyToomCook3, fork three of the five squares at the
+        // upper levels of a parallel multiplication
+        boolean fork = parallel && depth < PARALLEL_FORK_DEPTH_THRESHOLD;
+        depth++;
+        ForkJoinTask<BigInteger> v0Task = null, vm1Task = null, v1Task = null;
 
-        v0 = a0.square(true);
+        if (fork)
+            v0Task = RecursiveOp.square(a0, depth).fork();
+        else
+            v0 = a0.square(true, parallel, depth);
         da1 = a2.add(a0);
-        vm1 = da1.subtract(a1).square(true);
+        if (fork)
+            vm1Task = RecursiveOp.square(da1.subtract(a1), depth).fork();
+        else
+            vm1 = da1.subtract(a1).square(true, parallel, depth);
         da1 = da1.add(a1);
-        v1 = da1.square(true);
-        vinf = a2.square(true);
-        v2 = da1.add(a2).shiftLeft(1).subtract(a0).square(true);
+        if (fork)
+            v1Task = RecursiveOp.square(da1, depth).fork();
+        else
+            v1 = da1.square(true, parallel, depth);
+        vinf = a2.square(true, parallel, depth);
+        v2 = da1.add(a2).shiftLeft(1).subtract(a0).square(true, parallel, depth);
+        if (fork) {
+            v0 = v0Task.join();
+            vm1 = vm1Task.join();
+            v1 = v1Task.join();
+        }
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -2171,6 +2323,36 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         return vinf.shiftLeft(ss).add(t2).shiftLeft(ss).add(t1).shiftLeft(ss).add(tm1).shiftLeft(ss).add(v0);
     }
 
+    /**
+     * A sub-product of a parallel 3-way Toom-Cook multiplication or
+     * squaring, computed as a fork/join task.
+     */
+    @SuppressWarnings("serial")
+    private static final class RecursiveOp extends RecursiveTask<BigInteger> {
+        private final BigInteger a, b;    // b is null when squaring
+        private final int depth;
+
+        private RecursiveOp(BigInteger a, BigInteger b, int depth) {
+            this.a = a;
+            this.b = b;
+            this.depth = depth;
+        }
+
+        static RecursiveOp multiply(BigInteger a, BigInteger b, int depth) {
+            return new RecursiveOp(a, b, depth);
+        }
+
+        static RecursiveOp square(BigInteger a, int depth) {
+            return new RecursiveOp(a, null, depth);
+        }
+
+        @Override
+        protected BigInteger compute() {
+            return b == null ? a.square(true, true, depth)
+                             : a.multiply(b, true, true, depth);
+        }
+    }
+
     // Division
 
     /**
@@ -3810,6 +3992,86 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         return sb.toString();
     }
 
+    /**
+     * Returns the String representation of this BigInteger in the given
+     * radix, converting the parts of a large number in parallel.  This
+     * method returns the exact same String as {@link #toString(int)}.
+     *
+     * @implNote The number is split by division by a power of the radix,
+     * as in {@code toString(int)}, and the two parts of each large enough
+     * piece are converted by tasks in the current fork/join pool, or in the
+     * {@linkplain ForkJoinPool#commonPool() common pool} if not called from
+     * one.  This uses more CPU resources than {@code toString(int)} to
+     * compute the result faster, and only pays off for numbers of many
+     * thousands of digits.
+     *
+     * @param  radix  radix of the String representation.
+     * @return String representation of this BigInteger in the given radix.
+     * @see    #toString(int)
+     */
+    public String parallelToString(int radix) {
+        if (signum == 0)
+            return "0";
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+            radix = 10;
+
+        if (mag.length <= PARALLEL_TO_STRING_THRESHOLD)
+            return toString(radix);
+
+        String s = new ToStringTask(this.abs(), radix, 0).invoke();
+        return signum < 0 ? "-".concat(s) : s;
+    }
+
+    /**
+     * Converts a piece of a number to a string for parallelToString,
+     * splitting it as the recursive toString does.  A piece other than
+     * the leading one is padded with leading zeros to the given number of
+     * digits, as its position in the whole requires.
+     */
+    @SuppressWarnings("serial")
+    private static final class ToStringTask extends RecursiveTask<String> {
+        private final BigInteger u;
+        private final int radix;
+        private final int digits;     // 0 for the leading piece
+
+        ToStringTask(BigInteger u, int radix, int digits) {
+            this.u = u;
+            this.radix = radix;
+            this.digits = digits;
+        }
+
+        @Override
+        protected String compute() {
+            StringBuilder sb = new StringBuilder();
+            if (u.mag.length <= PARALLEL_TO_STRING_THRESHOLD) {
+                if (u.signum != 0)
+                    BigInteger.toString(u, sb, radix, 0);
+                else if (digits == 0)
+                    sb.append('0');
+            } else {
+                int b = u.bitLength();
+                int n = (int) Math.round(Math.log(b * LOG_TWO / logCache[radix]) / LOG_TWO - 1.0);
+                BigInteger[] results = u.divideAndRemainder(getRadixConversionCache(radix, n));
+                int expectedDigits = 1 << n;
+
+                ToStringTask lower = new ToStringTask(results[1], radix, expectedDigits);
+                lower.fork();
+                // a zero upper part of an inner piece is all padding
+                if (digits == 0 || results[0].signum != 0) {
+                    int upperDigits = digits == 0 ? 0 : digits - expectedDigits;
+                    sb.append(new ToStringTask(results[0], radix, upperDigits).compute());
+                }
+                sb.append(lower.join());
+            }
+            if (sb.length() < digits) {
+                char[] pad = new char[digits - sb.length()];
+                Arrays.fill(pad, '0');
+                sb.insert(0, pad);
+            }
+            return sb.toString();
+        }
+    }
+
     /** This method is used to perform toString when arguments are small. */
     private String smallToString(int radix) {
         if (signum == 0) {
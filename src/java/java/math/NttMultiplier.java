@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.math;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multiplication of large magnitudes by number-theoretic transforms.  The
+ * magnitudes are split into 16-bit digits, and their product is the
+ * convolution of the digit sequences plus carries.  The convolution is
+ * computed by fast transforms modulo each of two primes, and its terms
+ * recovered from their residues by the Chinese remainder theorem.  This
+ * takes time O(n log n) for n-int magnitudes, against about O(n^1.465) for
+ * 3-way Toom-Cook, and so is used by BigInteger for very large numbers.
+ *
+ * <p>Each term of the convolution is less than min(nx, ny) * 2^32 for
+ * digit sequences of lengths nx and ny, which is less than 2^57 when the
+ * transform length is at most {@link #MAX_LENGTH}, and the product of the
+ * primes exceeds 2^59, so the terms are recovered exactly.
+ *
+ * <p>Arithmetic modulo each prime p is done in Montgomery form with
+ * R = 2^32: the roots of unity are held multiplied by R, so that their
+ * Montgomery products with digits are ordinary products modulo p.
+ *
+ * @see BigInteger
+ */
+final class NttMultiplier {
+
+    /** The largest transform length, limited by the primes' roots of unity. */
+    static final int MAX_LENGTH = 1 << 26;
+
+    /**
+     * Transforms of at most this length are done by nested loops, in
+     * cache; longer ones are split recursively.
+     */
+    private static final int LOOP_LENGTH = 1 << 11;
+
+    /**
+     * Recursive transforms of at least this length have their halves done
+     * by forked tasks when the multiplication is parallel.
+     */
+    private static final int PARALLEL_LENGTH = 1 << 14;
+
+    private static final Modulus P1 = new Modulus(2013265921, 31); // 15 * 2^27 + 1
+    private static final Modulus P2 = new Modulus(469762049, 3);   // 7 * 2^26 + 1
+
+    /** P1^-1 modulo P2, for the Chinese remainder theorem. */
+    private static final long P1_INVERSE = Modulus.pow(P1.p % P2.p, P2.p - 2, P2.p);
+
+    private NttMultiplier() {}
+
+    /**
+     * Returns true if the product of magnitudes of the given lengths, in
+     * ints, can be computed by this class.
+     */
+    static boolean supports(int xlen, int ylen) {
+        return (long) xlen + ylen <= MAX_LENGTH / 2;
+    }
+
+    /**
+     * Returns the product of the magnitudes x and y, big-endian and of
+     * length x.length + y.length, with a leading zero int if the product
+     * is short by one.  The product is a square if x and y are the same
+     * array.  If parallel is true, the transforms are done by tasks in the
+     * current fork/join pool, or in the common pool if not called from
+     * one.
+     */
+    static int[] multiply(int[] x, int[] y, boolean parallel) {
+        int terms = 2 * (x.length + y.length) - 1;
+        int n = Integer.highestOneBit(terms);
+        if (n < terms) {
+            n <<= 1;
+        }
+        Product r1 = new Product(P1, x, y, n, parallel);
+        Product r2 = new Product(P2, x, y, n, parallel);
+        if (parallel) {
+            ForkJoinTask.invokeAll(r1, r2);
+        } else {
+            r1.compute();
+            r2.compute();
+        }
+        return combine(r1, r2, x.length + y.length);
+    }
+
+    /**
+     * Recovers the terms of the convolution from their residues, and
+     * returns the product that they and the carries between them make.
+     */
+    private static int[] combine(Product r1, Product r2, int len) {
+        int[] a1 = r1.result, a2 = r2.result;
+        int s1 = r1.scale, s2 = r2.scale;
+        int terms = 2 * len - 1;
+        int[] z = new int[len];
+        long carry = 0;
+        for (int i = 0, j = len - 1; j >= 0; i += 2, j--) {
+            long c = carry + term(a1[i], a2[i], s1, s2);
+            int lo = (int) c & 0xffff;
+            c >>>= 16;
+            if (i + 1 < terms) {
+                c += term(a1[i + 1], a2[i + 1], s1, s2);
+            }
+            z[j] = (int) c << 16 | lo;
+            carry = c >>> 16;
+        }
+        return z;
+    }
+
+    /**
+     * Returns the term of the convolution whose scaled residues modulo P1
+     * and P2 are x1 and x2.
+     */
+    private static long term(int x1, int x2, int s1, int s2) {
+        int p1 = P1.p, p2 = P2.p;
+        int u = Modulus.mul(x1, s1, p1, P1.pInvNeg);
+        int v = Modulus.mul(x2, s2, p2, P2.pInvNeg);
+        long t = v - u % p2;
+        if (t < 0) {
+            t += p2;
+        }
+        return u + p1 * (t * P1_INVERSE % p2);
+    }
+
+    /**
+     * Returns the 16-bit digits of the magnitude x, least significant
+     * first, padded with zeros to length n.
+     */
+    private static int[] digits(int[] x, int n) {
+        int[] d = new int[n];
+        for (int i = 0, j = x.length - 1; j >= 0; i += 2, j--) {
+            d[i] = x[j] & 0xffff;
+            d[i + 1] = x[j] >>> 16;
+        }
+        return d;
+    }
+
+    /**
+     * Transforms a[off, off + n) by decimation in frequency, leaving the
+     * result in bit-reversed order.  w holds the roots of unity for the
+     * full transform length, and ws those for the length at which the
+     * transform is done by loops, so that these find them together.
+     */
+    private static void forward(int[] a, int off, int n, Modulus m, int[] w,
+                                int[] ws, boolean parallel) {
+        if (n <= LOOP_LENGTH) {
+            forwardLoops(a, off, n, m, ws);
+            return;
+        }
+        int p = m.p, q = m.pInvNeg;
+        int half = n >>> 1;
+        int stride = w.length / half;
+        for (int i = off, k = 0; i < off + half; i++, k += stride) {
+            int u = a[i], v = a[i + half];
+            int s = u + v - p;
+            int d = u - v;
+            a[i] = s < 0 ? s + p : s;
+            a[i + half] = Modulus.mul(d < 0 ? d + p : d, w[k], p, q);
+        }
+        if (parallel && n >= PARALLEL_LENGTH) {
+            ForkJoinTask.invokeAll(new Transform(a, off, half, m, w, ws, false),
+                                   new Transform(a, off + half, half, m, w, ws, false));
+        } else {
+            forward(a, off, half, m, w, ws, false);
+            forward(a, off + half, half, m, w, ws, false);
+        }
+    }
+
+    private static void forwardLoops(int[] a, int off, int n, Modulus m, int[] w) {
+        int p = m.p, q = m.pInvNeg;
+        int end = off + n;
+        for (int half = n >>> 1; half > 0; half >>>= 1) {
+            int stride = w.length / half;
+            for (int start = off; start < end; start += half << 1) {
+                for (int i = start, k = 0; i < start + half; i++, k += stride) {
+                    int u = a[i], v = a[i + half];
+                    int s = u + v - p;
+                    int d = u - v;
+                    a[i] = s < 0 ? s + p : s;
+                    a[i + half] = Modulus.mul(d < 0 ? d + p : d, w[k], p, q);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inverts forward(), without the division by n: transforms
+     * a[off, off + n), in bit-reversed order, by decimation in time with
+     * the inverse roots of unity, leaving the result in natural order.
+     */
+    private static void inverse(int[] a, int off, int n, Modulus m, int[] w,
+                                int[] ws, boolean parallel) {
+        if (n <= LOOP_LENGTH) {
+            inverseLoops(a, off, n, m, ws);
+            return;
+        }
+        int half = n >>> 1;
+        if (parallel && n >= PARALLEL_LENGTH) {
+            ForkJoinTask.invokeAll(new Transform(a, off, half, m, w, ws, true),
+                                   new Transform(a, off + half, half, m, w, ws, true));
+        } else {
+            inverse(a, off, half, m, w, ws, false);
+            inverse(a, off + half, half, m, w, ws, false);
+        }
+        inverseStage(a, off, half, m, w);
+    }
+
+    private static void inverseLoops(int[] a, int off, int n, Modulus m, int[] w) {
+        for (int half = 1; half < n; half <<= 1) {
+            for (int start = off; start < off + n; start += half << 1) {
+                inverseStage(a, start, half, m, w);
+            }
+        }
+    }
+
+    /**
+     * Combines the transforms a[off, off + half) and a[off + half,
+     * off + 2 * half) into one.  The inverse root w^-k is -w^(N/2 - k),
+     * for the full transform length N.
+     */
+    private static void inverseStage(int[] a, int off, int half, Modulus m, int[] w) {
+        int p = m.p, q = m.pInvNeg;
+        int stride = w.length / half;
+        int u = a[off], v = a[off + half];
+        int s = u + v - p;
+        int d = u - v;
+        a[off] = s < 0 ? s + p : s;
+        a[off + half] = d < 0 ? d + p : d;
+        for (int i = off + 1, k = w.length - stride; i < off + half; i++, k -= stride) {
+            u = a[i];
+            v = Modulus.mul(a[i + half], p - w[k], p, q);
+            s = u + v - p;
+            d = u - v;
+            a[i] = s < 0 ? s + p : s;
+            a[i + half] = d < 0 ? d + p : d;
+        }
+    }
+
+    /**
+     * Arithmetic modulo a prime p < 2^31 with a root of unity of every
+     * power-of-two order up to MAX_LENGTH.
+     */
+    private static final class Modulus {
+        final int p;
+        /** -p^-1 modulo 2^32 */
+        final int pInvNeg;
+        /** 2^32 modulo p, the Montgomery form of 1 */
+        final int one;
+        /** a generator of the multiplicative group modulo p */
+        final int g;
+
+        Modulus(int p, int g) {
+            this.p = p;
+            this.g = g;
+            int inv = p;                    // Newton's iteration for p^-1
+            for (int i = 0; i < 4; i++) {
+                inv *= 2 - p * inv;
+            }
+            this.pInvNeg = -inv;
+            this.one = (int) ((1L << 32) % p);
+        }
+
+        /**
+         * Returns the Montgomery product a * b / 2^32 modulo p, of a and b
+         * in [0, p).
+         */
+        static int mul(int a, int b, int p, int pInvNeg) {
+            long t = (long) a * b;
+            long u = (t + ((int) t * pInvNeg & 0xffffffffL) * p) >>> 32;
+            int r = (int) u - p;
+            return r < 0 ? r + p : r;
+        }
+
+        /** Returns b^e modulo m, for b in [0, m). */
+        static long pow(long b, long e, long m) {
+            long r = 1;
+            for (; e > 0; e >>= 1) {
+                if ((e & 1) != 0) {
+                    r = r * b % m;
+                }
+                b = b * b % m;
+            }
+            return r;
+        }
+
+        /**
+         * Returns w^k for k in [0, n/2), in Montgomery form, where w is a
+         * primitive n-th root of unity.
+         */
+        int[] roots(int n) {
+            int[] w = new int[n >>> 1];
+            long r2 = (long) one * one % p;
+            int root = mul((int) pow(g, (p - 1) / n, p), (int) r2, p, pInvNeg);
+            w[0] = one;
+            for (int k = 1; k < w.length; k++) {
+                w[k] = mul(w[k - 1], root, p, pInvNeg);
+            }
+            return w;
+        }
+
+        /**
+         * Returns the factor, in Montgomery form, that undoes both the
+         * Montgomery reduction of a pointwise product and the scaling by n
+         * of an inverse transform: n^-1 * 2^64 modulo p.
+         */
+        int scale(int n) {
+            long r2 = (long) one * one % p;
+            long nInv = pow(n % p, p - 2, p);
+            return (int) (nInv * r2 % p);
+        }
+    }
+
+    /**
+     * The convolution of the digits of two magnitudes modulo a prime,
+     * scaled by n * 2^-32 and left in result.
+     */
+    @SuppressWarnings("serial")
+    private static final class Product extends RecursiveAction {
+        final Modulus m;
+        final int[] x, y;
+        final int n;
+        final boolean parallel;
+        final int scale;
+        int[] result;
+
+        Product(Modulus m, int[] x, int[] y, int n, boolean parallel) {
+            this.m = m;
+            this.x = x;
+            this.y = y;
+            this.n = n;
+            this.parallel = parallel;
+            this.scale = m.scale(n);
+        }
+
+        protected void compute() {
+            int[] w = m.roots(n);
+            int[] ws = w;
+            if (n > LOOP_LENGTH) {
+                ws = new int[LOOP_LENGTH >>> 1];
+                int stride = n / LOOP_LENGTH;
+                for (int k = 0; k < ws.length; k++) {
+                    ws[k] = w[k * stride];
+                }
+            }
+            int[] a = digits(x, n);
+            int[] b = a;
+            if (x != y) {
+                b = digits(y, n);
+                if (parallel) {
+                    ForkJoinTask.invokeAll(new Transform(a, 0, n, m, w, ws, false),
+                                           new Transform(b, 0, n, m, w, ws, false));
+                } else {
+                    forward(a, 0, n, m, w, ws, false);
+                    forward(b, 0, n, m, w, ws, false);
+                }
+            } else {
+                forward(a, 0, n, m, w, ws, parallel);
+            }
+            int p = m.p, q = m.pInvNeg;
+            for (int i = 0; i < n; i++) {
+                a[i] = Modulus.mul(a[i], b[i], p, q);
+            }
+            inverse(a, 0, n, m, w, ws, parallel);
+            result = a;
+        }
+    }
+
+    /**
+     * A forward or inverse transform of part of an array, done in
+     * parallel.
+     */
+    @SuppressWarnings("serial")
+    private static final class Transform extends RecursiveAction {
+        final int[] a;
+        final int off, n;
+        final Modulus m;
+        final int[] w, ws;
+        final boolean inverse;
+
+        Transform(int[] a, int off, int n, Modulus m, int[] w, int[] ws,
+                  boolean inverse) {
+            this.a = a;
+            this.off = off;
+            this.n = n;
+            this.m = m;
+            this.w = w;
+            this.ws = ws;
+            this.inverse = inverse;
+        }
+
+        protected void compute() {
+            if (inverse) {
+                NttMultiplier.inverse(a, off, n, m, w, ws, true);
+            } else {
+                NttMultiplier.forward(a, off, n, m, w, ws, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.net;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import sun.net.InetAddressCachePolicy;
+
+/**
+ * The positive and negative host name caches used by {@link InetAddress},
+ * held in one concurrent map so that lookups of different hosts do not
+ * contend on a common lock.
+ * <p>
+ * Entries live for the number of seconds given by the cache policy.  When
+ * refresh-ahead is enabled, a hit on a successfully resolved entry that has
+ * used up the configured percentage of its lifetime starts a lookup of the
+ * host on a background thread, and the caller is answered from the cache.
+ * While that refresh is in flight an expired entry is still returned, for
+ * at most one more lifetime, instead of making the caller wait for the name
+ * service.  A failed refresh leaves the entry to expire normally.
+ * <p>
+ * Refresh-ahead is disabled unless the system property
+ * {@code sun.net.inetaddr.refreshAhead} is set to a percentage between 1
+ * and 99.
+ */
+final class AddressCache {
+
+    /**
+     * Resolves a host name to its addresses; supplied by the owner of the
+     * cache so that the cache can refresh entries itself.
+     */
+    interface Resolver {
+        InetAddress[] resolve(String host) throws UnknownHostException;
+    }
+
+    /**
+     * Returns a resolver that looks host names up with the given
+     * implementation, answering "localhost" with its loopback address
+     * when the lookup fails, as {@code InetAddress} does.
+     */
+    static Resolver resolverOf(final InetAddressImpl impl) {
+        return new Resolver() {
+            public InetAddress[] resolve(String host)
+                throws UnknownHostException {
+                try {
+                    return impl.lookupAllHostAddr(host);
+                } catch (UnknownHostException uhe) {
+                    if (host.equalsIgnoreCase("localhost")) {
+                        return new InetAddress[] { impl.loopbackAddress() };
+                    }
+                    throw uhe;
+                }
+            }
+        };
+    }
+
+    // Policy value meaning "ask InetAddressCachePolicy on each use".
+    static final int USE_POLICY = Integer.MIN_VALUE;
+
+    private static final int REFRESH_AHEAD_PERCENT =
+        AccessController.doPrivileged(
+            new PrivilegedAction<Integer>() {
+                public Integer run() {
+                    Integer p = Integer.getInteger("sun.net.inetaddr.refreshAhead");
+                    return (p == null || p < 1 || p > 99) ? 0 : p;
+                }
+            });
+
+    // Expired entries are swept at most this often, from put.
+    private static final long PURGE_INTERVAL = 1000L;
+
+    /**
+     * A cached lookup result.  The expiration is -1 for entries cached
+     * forever.  For entries that are never refreshed, refreshAt is
+     * Long.MAX_VALUE and staleUntil is the expiration.
+     */
+    static final class Entry {
+        final InetAddress[] addresses;
+        final long expiration;
+        final long refreshAt;
+        final long staleUntil;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(InetAddress[] addresses, long expiration,
+              long refreshAt, long staleUntil) {
+            this.addresses = addresses;
+            this.expiration = expiration;
+            this.refreshAt = refreshAt;
+            this.staleUntil = staleUntil;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> cache =
+        new ConcurrentHashMap<>();
+    private final Resolver resolver;
+    private final int positivePolicy;
+    private final int negativePolicy;
+    private final int refreshPercent;
+    private volatile Executor refresher;
+    private volatile long nextPurge;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    /**
+     * Creates the cache used by {@code InetAddress}, following the
+     * system-wide cache policy.
+     */
+    AddressCache(Resolver resolver) {
+        this(resolver, USE_POLICY, USE_POLICY, REFRESH_AHEAD_PERCENT, null);
+    }
+
+    /**
+     * Creates a cache with the given policies, in seconds as for
+     * {@code InetAddressCachePolicy}, or {@link #USE_POLICY}.  Refreshes
+     * run on the given executor, or on a shared daemon thread if null.
+     */
+    AddressCache(Resolver resolver, int positivePolicy, int negativePolicy,
+                 int refreshPercent, Executor refresher) {
+        this.resolver = resolver;
+        this.positivePolicy = positivePolicy;
+        this.negativePolicy = negativePolicy;
+        this.refreshPercent = refreshPercent;
+        this.refresher = refresher;
+    }
+
+    private int getPolicy(boolean success) {
+        if (success) {
+            return positivePolicy != USE_POLICY
+                ? positivePolicy : InetAddressCachePolicy.get();
+        } else {
+            return negativePolicy != USE_POLICY
+                ? negativePolicy : InetAddressCachePolicy.getNegative();
+        }
+    }
+
+    /**
+     * Caches the result of looking up a host, replacing any entry for it.
+     * A failed lookup is cached under the negative policy.
+     */
+    void put(String host, InetAddress[] addresses, boolean success) {
+        int policy = getPolicy(success);
+        if (policy == InetAddressCachePolicy.NEVER) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now >= nextPurge) {
+            nextPurge = now + PURGE_INTERVAL;
+            purge(now);
+        }
+        cache.put(host.toLowerCase(), newEntry(addresses, success, policy, now));
+    }
+
+    private Entry newEntry(InetAddress[] addresses, boolean success,
+                           int policy, long now) {
+        if (policy == InetAddressCachePolicy.FOREVER) {
+            return new Entry(addresses, -1, Long.MAX_VALUE, -1);
+        }
+        long ttl = policy * 1000L;
+        long expiration = now + ttl;
+        if (success && refreshPercent > 0) {
+            return new Entry(addresses, expiration,
+                             now + ttl * refreshPercent / 100,
+                             expiration + ttl);
+        }
+        return new Entry(addresses, expiration, Long.MAX_VALUE, expiration);
+    }
+
+    /**
+     * Returns the cached addresses of a host, which are
+     * {@code InetAddress.unknown_array} for a cached failure, or null if
+     * the host must be looked up.
+     */
+    InetAddress[] get(String host) {
+        if (getPolicy(true) == InetAddressCachePolicy.NEVER &&
+            getPolicy(false) == InetAddressCachePolicy.NEVER) {
+            return null;
+        }
+        host = host.toLowerCase();
+        Entry entry = cache.get(host);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiration < 0) {
+            hits.increment();
+            return entry.addresses;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expiration >= now) {
+            hits.increment();
+            if (now >= entry.refreshAt) {
+                refresh(host, entry);
+            }
+            return entry.addresses;
+        }
+        // expired, but still usable for one more lifetime while
+        // a refresh is in flight
+        if (entry.staleUntil >= now && refresh(host, entry)) {
+            staleHits.increment();
+            return entry.addresses;
+        }
+        cache.remove(host, entry);
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Starts a background lookup of the host for the given entry unless
+     * one is already running.  Returns whether one is now running.
+     */
+    private boolean refresh(final String host, final Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return true;
+        }
+        try {
+            refresher().execute(new Runnable() {
+                public void run() {
+                    doRefresh(host, entry);
+                }
+            });
+            refreshes.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+            return false;
+        }
+    }
+
+    private void doRefresh(String host, Entry entry) {
+        InetAddress[] addresses;
+        try {
+            addresses = resolver.resolve(host);
+        } catch (UnknownHostException | RuntimeException e) {
+            refreshFailures.increment();
+            // keep the addresses until they expire, with no further
+            // refresh and no stale use
+            cache.replace(host, entry, new Entry(entry.addresses,
+                                                 entry.expiration,
+                                                 Long.MAX_VALUE,
+                                                 entry.expiration));
+            return;
+        }
+        int policy = getPolicy(true);
+        if (policy == InetAddressCachePolicy.NEVER ||
+            !cache.replace(host, entry, newEntry(addresses, true, policy,
+                                                 System.currentTimeMillis()))) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void purge(long now) {
+        // removed only if not replaced meanwhile by a lookup or refresh
+        for (Map.Entry<String, Entry> e : cache.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.expiration >= 0 && entry.staleUntil < now) {
+                cache.remove(e.getKey(), entry);
+            }
+        }
+    }
+
+    private Executor refresher() {
+        Executor e = refresher;
+        if (e == null) {
+            synchronized (this) {
+                if ((e = refresher) == null) {
+                    refresher = e = newRefresher();
+                }
+            }
+        }
+        return e;
+    }
+
+    // A single daemon thread, started on first use and stopped when idle.
+    // Lookups run with no permissions of any caller.
+    private static Executor newRefresher() {
+        ThreadFactory factory = new ThreadFactory() {
+            public Thread newThread(final Runnable r) {
+                return AccessController.doPrivileged(
+                    new PrivilegedAction<Thread>() {
+                        public Thread run() {
+                            Thread t = new Thread(r, "InetAddress Refresher");
+                            t.setDaemon(true);
+                            t.setContextClassLoader(null);
+                            return t;
+                        }
+                    });
+            }
+        };
+        ThreadPoolExecutor tpe =
+            new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS,
+                                   new LinkedBlockingQueue<Runnable>(), factory);
+        tpe.allowCoreThreadTimeOut(true);
+        final Executor executor = tpe;
+        return new Executor() {
+            public void execute(final Runnable r) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        AccessController.doPrivileged(
+                            new PrivilegedAction<Void>() {
+                                public Void run() {
+                                    r.run();
+                                    return null;
+                                }
+                            });
+                    }
+                });
+            }
+        };
+    }
+
+    // Counters, for monitoring and tests.
+
+    /** Lookups answered by an unexpired entry. */
+    long hitCount() {
+        return hits.sum();
+    }
+
+    /** Lookups answered by an expired entry while it is refreshed. */
+    long staleHitCount() {
+        return staleHits.sum();
+    }
+
+    /** Lookups that found no usable entry. */
+    long missCount() {
+        return misses.sum();
+    }
+
+    /** Background refreshes started. */
+    long refreshCount() {
+        return refreshes.sum();
+    }
+
+    /** Background refreshes whose lookup failed. */
+    long refreshFailureCount() {
+        return refreshFailures.sum();
+    }
+}
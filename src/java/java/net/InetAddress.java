@@ -26,10 +26,8 @@
 package java.net;
 
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Random;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.ServiceLoader;
@@ -43,7 +41,6 @@ import java.io.ObjectInputStream.GetField;
 import java.io.ObjectOutputStream;
 import java.io.ObjectOutputStream.PutField;
 import sun.security.action.*;
-import sun.net.InetAddressCachePolicy;
 import sun.net.util.IPAddressUtil;
 import sun.net.spi.nameservice.*;
 
@@ -729,12 +726,18 @@ class InetAddress implements java.io.Serializable {
 
     /*
      * Cached addresses - our own litle nis, not!
+     * Positive and negative entries share one concurrent cache, which
+     * can refresh entries by looking them up with the name services.
      */
-    private static Cache addressCache = new Cache(Cache.Type.Positive);
-
-    private static Cache negativeCache = new Cache(Cache.Type.Negative);
+    private static final AddressCache addressCache = new AddressCache(
+        new AddressCache.Resolver() {
+            public InetAddress[] resolve(String host)
+                throws UnknownHostException {
+                return lookupWithNameServices(host);
+            }
+        });
 
-    private static boolean addressCacheInit = false;
+    private static volatile boolean addressCacheInit = false;
 
     static InetAddress[]    unknown_array; // put THIS in cache
 
@@ -742,135 +745,26 @@ class InetAddress implements java.io.Serializable {
 
     private static final HashMap<String, Void> lookupTable = new HashMap<>();
 
-    /**
-     * Represents a cache entry
-     */
-    static final class CacheEntry {
-
-        CacheEntry(InetAddress[] addresses, long expiration) {
-            this.addresses = addresses;
-            this.expiration = expiration;
-        }
-
-        InetAddress[] addresses;
-        long expiration;
-    }
-
-    /**
-     * A cache that manages entries based on a policy specified
-     * at creation time.
-     */
-    static final class Cache {
-        private LinkedHashMap<String, CacheEntry> cache;
-        private Type type;
-
-        enum Type {Positive, Negative};
-
-        /**
-         * Create cache
-         */
-        public Cache(Type type) {
-            this.type = type;
-            cache = new LinkedHashMap<String, CacheEntry>();
-        }
-
-        private int getPolicy() {
-            if (type == Type.Positive) {
-                return InetAddressCachePolicy.get();
-            } else {
-                return InetAddressCachePolicy.getNegative();
-            }
-        }
-
-        /**
-         * Add an entry to the cache. If there's already an
-         * entry then for this host then the entry will be
-         * replaced.
-         */
-        public Cache put(String host, InetAddress[] addresses) {
-            int policy = getPolicy();
-            if (policy == InetAddressCachePolicy.NEVER) {
-                return this;
-            }
-
-            // purge any expired entries
-
-            if (policy != InetAddressCachePolicy.FOREVER) {
-
-                // As we iterate in insertion order we can
-                // terminate when a non-expired entry is found.
-                LinkedList<String> expired = new LinkedList<>();
-                long now = System.currentTimeMillis();
-                for (String key : cache.keySet()) {
-                    CacheEntry entry = cache.get(key);
-
-                    if (entry.expiration >= 0 && entry.expiration < now) {
-                        expired.add(key);
-                    } else {
-                        break;
-                    }
-                }
-
-                for (String key : expired) {
-                    cache.remove(key);
-                }
-            }
-
-            // create new entry and add it to the cache
-            // -- as a HashMap replaces existing entries we
-            //    don't need to explicitly check if there is
-            //    already an entry for this host.
-            long expiration;
-            if (policy == InetAddressCachePolicy.FOREVER) {
-                expiration = -1;
-            } else {
-                expiration = System.currentTimeMillis() + (policy * 1000);
-            }
-            CacheEntry entry = new CacheEntry(addresses, expiration);
-            cache.put(host, entry);
-            return this;
-        }
-
-        /**
-         * Query the cache for the specific host. If found then
-         * return its CacheEntry, or null if not found.
-         */
-        public CacheEntry get(String host) {
-            int policy = getPolicy();
-            if (policy == InetAddressCachePolicy.NEVER) {
-                return null;
-            }
-            CacheEntry entry = cache.get(host);
-
-            // check if entry has expired
-            if (entry != null && policy != InetAddressCachePolicy.FOREVER) {
-                if (entry.expiration >= 0 &&
-                    entry.expiration < System.currentTimeMillis()) {
-                    cache.remove(host);
-                    entry = null;
-                }
-            }
-
-            return entry;
-        }
-    }
-
     /*
      * Initialize cache and insert anyLocalAddress into the
      * unknown array with no expiry.
      */
     private static void cacheInitIfNeeded() {
-        assert Thread.holdsLock(addressCache);
         if (addressCacheInit) {
             return;
         }
-        unknown_array = new InetAddress[1];
-        unknown_array[0] = impl.anyLocalAddress();
+        synchronized (addressCache) {
+            if (addressCacheInit) {
+                return;
+            }
+            unknown_array = new InetAddress[1];
+            unknown_array[0] = impl.anyLocalAddress();
 
-        addressCache.put(impl.anyLocalAddress().getHostName(),
-                         unknown_array);
+            addressCache.put(impl.anyLocalAddress().getHostName(),
+                             unknown_array, true);
 
-        addressCacheInit = true;
+            addressCacheInit = true;
+        }
     }
 
     /*
@@ -879,15 +773,8 @@ class InetAddress implements java.io.Serializable {
     private static void cacheAddresses(String hostname,
                                        InetAddress[] addresses,
                                        boolean success) {
-        hostname = hostname.toLowerCase();
-        synchronized (addressCache) {
-            cacheInitIfNeeded();
-            if (success) {
-                addressCache.put(hostname, addresses);
-            } else {
-                negativeCache.put(hostname, addresses);
-            }
-        }
+        cacheInitIfNeeded();
+        addressCache.put(hostname, addresses, success);
     }
 
     /*
@@ -895,25 +782,8 @@ class InetAddress implements java.io.Serializable {
      * found return addresses, null if not found.
      */
     private static InetAddress[] getCachedAddresses(String hostname) {
-        hostname = hostname.toLowerCase();
-
-        // search both positive & negative caches
-
-        synchronized (addressCache) {
-            cacheInitIfNeeded();
-
-            CacheEntry entry = addressCache.get(hostname);
-            if (entry == null) {
-                entry = negativeCache.get(hostname);
-            }
-
-            if (entry != null) {
-                return entry.addresses;
-            }
-        }
-
-        // not found
-        return null;
+        cacheInitIfNeeded();
+        return addressCache.get(hostname);
     }
 
     private static NameService createNSProvider(String provider) {
@@ -1313,30 +1183,13 @@ class InetAddress implements java.io.Serializable {
                 // This is the first thread which looks up the addresses
                 // this host or the cache entry for this host has been
                 // expired so this thread should do the lookup.
-                for (NameService nameService : nameServices) {
-                    try {
-                        /*
-                         * Do not put the call to lookup() inside the
-                         * constructor.  if you do you will still be
-                         * allocating space when the lookup fails.
-                         */
-
-                        addresses = nameService.lookupAllHostAddr(host);
-                        success = true;
-                        break;
-                    } catch (UnknownHostException uhe) {
-                        if (host.equalsIgnoreCase("localhost")) {
-                            InetAddress[] local = new InetAddress[] { impl.loopbackAddress() };
-                            addresses = local;
-                            success = true;
-                            break;
-                        }
-                        else {
-                            addresses = unknown_array;
-                            success = false;
-                            ex = uhe;
-                        }
-                    }
+                try {
+                    addresses = lookupWithNameServices(host);
+                    success = true;
+                } catch (UnknownHostException uhe) {
+                    addresses = unknown_array;
+                    success = false;
+                    ex = uhe;
                 }
 
                 // More to do?
@@ -1376,6 +1229,34 @@ class InetAddress implements java.io.Serializable {
     }
 
 
+    /*
+     * Look up the host with each name service in turn, returning the
+     * first answer.  Used for lookups on a cache miss and for refreshes
+     * of cache entries.
+     */
+    private static InetAddress[] lookupWithNameServices(String host)
+        throws UnknownHostException
+    {
+        UnknownHostException ex = null;
+        for (NameService nameService : nameServices) {
+            try {
+                /*
+                 * Do not put the call to lookup() inside the
+                 * constructor.  if you do you will still be
+                 * allocating space when the lookup fails.
+                 */
+
+                return nameService.lookupAllHostAddr(host);
+            } catch (UnknownHostException uhe) {
+                if (host.equalsIgnoreCase("localhost")) {
+                    return new InetAddress[] { impl.loopbackAddress() };
+                }
+                ex = uhe;
+            }
+        }
+        throw ex;
+    }
+
     private static InetAddress[] checkLookupTable(String host) {
         synchronized (lookupTable) {
             // If the host isn't in the lookupTable, add it in the
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.nio.file;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the lines of a file, splitting the file's bytes at
+ * line boundaries so that its lines may be read in parallel.  Used by
+ * {@link Files#lines(Path, Charset)} for regular files of the default file
+ * system in one of the {@link #SUPPORTED_CHARSET_NAMES supported charsets},
+ * those in which the bytes of {@code '\n'} and {@code '\r'} only ever
+ * encode those characters, so that a line boundary can be found without
+ * decoding.
+ *
+ * <p> Each spliterator covers a range of bytes of the file that begins at
+ * the start of a line and ends after a line terminator, or at the end of
+ * the file.  {@code trySplit} memory-maps a small window of the range at
+ * its midpoint and looks there, and further on if need be, for the end of
+ * a line.  The lines of a range are read, on traversal, by a
+ * {@code BufferedReader} over positional reads of the shared
+ * {@code FileChannel}, which is safe for use by several threads at once.
+ * Positions are {@code long}s, so that files of any size may be split.
+ *
+ * <p> The channel is not closed by the spliterator; the stream returned by
+ * {@code Files.lines} closes it when it is closed.
+ */
+final class FileChannelLinesSpliterator implements Spliterator<String> {
+
+    /**
+     * The names of the charsets, of a file's contents, for which lines may
+     * be read through this spliterator.
+     */
+    static final Set<String> SUPPORTED_CHARSET_NAMES =
+        Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "UTF-8", "ISO-8859-1", "US-ASCII")));
+
+    /**
+     * The number of bytes mapped at a time when looking for a line
+     * boundary at which to split.
+     */
+    private static final int WINDOW_SIZE = 1 << 16;
+
+    /**
+     * Ranges of fewer bytes than this are not split.
+     */
+    private static final long MIN_SPLIT_SIZE = 1 << 13;
+
+    private final FileChannel fc;
+    private final Charset cs;
+    private long index;             // current position of the range
+    private final long fence;       // end of the range, exclusive
+
+    // Created when traversal begins; a spliterator is not split after
+    private BufferedReader reader;
+
+    FileChannelLinesSpliterator(FileChannel fc, Charset cs, long index, long fence) {
+        this.fc = fc;
+        this.cs = cs;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        if (action == null)
+            throw new NullPointerException();
+        String line = readLine();
+        if (line != null) {
+            action.accept(line);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+        if (action == null)
+            throw new NullPointerException();
+        String line;
+        while ((line = readLine()) != null) {
+            action.accept(line);
+        }
+    }
+
+    private String readLine() {
+        if (reader == null) {
+            reader = new BufferedReader(
+                Channels.newReader(new RangeChannel(), cs.newDecoder(), -1));
+        }
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A channel reading the remaining bytes of the range, by positional
+     * reads of the file channel.
+     */
+    private final class RangeChannel implements ReadableByteChannel {
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            long remaining = fence - index;
+            if (remaining <= 0)
+                return -1;
+            int n;
+            if (dst.remaining() > remaining) {
+                int limit = dst.limit();
+                dst.limit(dst.position() + (int) remaining);
+                try {
+                    n = fc.read(dst, index);
+                } finally {
+                    dst.limit(limit);
+                }
+            } else {
+                n = fc.read(dst, index);
+            }
+            if (n > 0)
+                index += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return fc.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // the file channel is closed with the stream
+        }
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if (reader != null)
+            return null;
+        long lo = index;
+        long hi = fence;
+        if (hi - lo < MIN_SPLIT_SIZE)
+            return null;
+        long mid;
+        try {
+            mid = lineEnd(lo + ((hi - lo) >>> 1), hi);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (mid >= hi)
+            return null;
+        // the prefix is split off, as the spliterator is ORDERED
+        index = mid;
+        return new FileChannelLinesSpliterator(fc, cs, lo, mid);
+    }
+
+    /**
+     * Returns the position just after the first line terminator, {@code
+     * "\n"}, {@code "\r"} or {@code "\r\n"}, beginning at or after {@code
+     * pos} and before {@code hi}, or {@code hi} if there is none.  The range
+     * is mapped a window at a time.
+     */
+    private long lineEnd(long pos, long hi) throws IOException {
+        while (pos < hi) {
+            int size = (int) Math.min(WINDOW_SIZE, hi - pos);
+            MappedByteBuffer b = fc.map(FileChannel.MapMode.READ_ONLY, pos, size);
+            for (int i = 0; i < size; i++) {
+                byte c = b.get(i);
+                if (c == '\n')
+                    return pos + i + 1;
+                if (c == '\r') {
+                    long next = pos + i + 1;
+                    if (next < hi && byteAt(b, i + 1, next) == '\n')
+                        return next + 1;
+                    return next;
+                }
+            }
+            pos += size;
+        }
+        return hi;
+    }
+
+    /**
+     * Returns the byte at index {@code i} of the window, or if the window
+     * ends before it, the byte at position {@code pos} of the file.
+     */
+    private byte byteAt(ByteBuffer b, int i, long pos) throws IOException {
+        if (i < b.limit())
+            return b.get(i);
+        ByteBuffer one = ByteBuffer.allocate(1);
+        if (fc.read(one, pos) != 1)
+            return -1;
+        return one.get(0);
+    }
+
+    @Override
+    public long estimateSize() {
+        // The number of bytes: dividing by an average line length would
+        // not change the proportions between spliterators
+        return fence - index;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return -1;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+}
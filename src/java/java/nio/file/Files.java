@@ -3720,6 +3720,14 @@ public final class Files {
      * {@link Stream#close close} method is invoked after the stream operations
      * are completed.
      *
+     * @implNote
+     * For a non-empty regular file of the default file system and the
+     * {@code UTF-8}, {@code ISO-8859-1} or {@code US-ASCII} charset, the
+     * stream's spliterator splits the file's bytes at line boundaries,
+     * found by memory-mapping the file around each split point, so that a
+     * parallel stream reads and processes the parts of the file on
+     * separate threads.  Other files are read sequentially, through a
+     * {@code BufferedReader}, and split into batches of lines.
      *
      * @param   path
      *          the path to the file
@@ -3741,6 +3749,34 @@ public final class Files {
      * @since   1.8
      */
     public static Stream<String> lines(Path path, Charset cs) throws IOException {
+        // Read a regular file of the default file system, in a charset in
+        // which line terminators can be found without decoding, through a
+        // spliterator that splits it at line boundaries
+        if (path.getFileSystem() == FileSystems.getDefault() &&
+            FileChannelLinesSpliterator.SUPPORTED_CHARSET_NAMES.contains(cs.name()) &&
+            Files.isRegularFile(path)) {
+            FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                long size = fc.size();
+                if (size > 0) {
+                    Spliterator<String> s =
+                        new FileChannelLinesSpliterator(fc, cs, 0L, size);
+                    return StreamSupport.stream(s, false)
+                                        .onClose(asUncheckedRunnable(fc));
+                }
+            } catch (Error|RuntimeException|IOException e) {
+                try {
+                    fc.close();
+                } catch (IOException ex) {
+                    try {
+                        e.addSuppressed(ex);
+                    } catch (Throwable ignore) {}
+                }
+                throw e;
+            }
+            fc.close();
+        }
+
         BufferedReader br = Files.newBufferedReader(path, cs);
         try {
             return br.lines().onClose(asUncheckedRunnable(br));
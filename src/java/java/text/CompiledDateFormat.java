@@ -0,0 +1,606 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.text;
+
+import static java.text.DateFormatSymbols.*;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import sun.util.calendar.CalendarUtils;
+import sun.util.calendar.ZoneInfoFile;
+
+/**
+ * An immutable, thread-safe formatter of dates that gives the same text
+ * as a {@link SimpleDateFormat}.
+ *
+ * <p>A {@code SimpleDateFormat} is not safe for use by multiple threads,
+ * as it converts each date with its own {@code Calendar}.  A {@code
+ * CompiledDateFormat} takes a snapshot of the pattern, symbols, calendar,
+ * time zone and number format of a {@code SimpleDateFormat} when it is
+ * created, and turns the pattern into a fixed sequence of steps, each a
+ * literal or a date field with the names or digits to emit for it.  A
+ * date is formatted by running the steps directly into a {@code
+ * StringBuilder} supplied by the caller, with no {@code FieldPosition} or
+ * {@code StringBuffer}.  Later changes to the {@code SimpleDateFormat} do
+ * not affect it.
+ *
+ * <pre> {@code
+ * static final CompiledDateFormat TIMESTAMP =
+ *     CompiledDateFormat.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ", Locale.US);
+ * ...
+ * TIMESTAMP.format(System.currentTimeMillis(), sb);}</pre>
+ *
+ * <p>Each thread that uses a {@code CompiledDateFormat} is given its own
+ * copy of the calendar, which is kept for later use by that thread.
+ * Numbers are written directly when the number format is a {@code
+ * DecimalFormat} with no prefix, suffix or grouping, as it is unless
+ * changed by {@link DateFormat#setNumberFormat}; other number formats, and
+ * negative numbers, are formatted by the thread's copy of the number
+ * format.  Parsing is not supported.
+ *
+ * @see SimpleDateFormat
+ * @see CompiledDecimalFormat
+ */
+public final class CompiledDateFormat {
+
+    /**
+     * A step of the compiled pattern: literal text, or the date field of
+     * the given pattern index, formatted with the given pattern count.
+     */
+    private static final class Step {
+        final String text;        // null for a field
+        final int index;
+        final int count;
+
+        Step(String text, int index, int count) {
+            this.text = text;
+            this.index = index;
+            this.count = count;
+        }
+    }
+
+    /**
+     * The state of a thread using this formatter.
+     */
+    private static final class Context {
+        final Calendar calendar;
+        NumberFormat numberFormat;    // created when first needed
+
+        Context(Calendar calendar) {
+            this.calendar = calendar;
+        }
+    }
+
+    private final SimpleDateFormat format;    // private copy, never changed
+    private final Step[] steps;
+    private final Calendar calendar;          // prototype of the contexts'
+    private final Locale locale;
+    private final DateFormatSymbols formatData;
+    private final boolean useDateFormatSymbols;
+    private final boolean forceStandaloneForm;
+    private final boolean gregorian;
+    private final boolean zoneStrings;        // 'z' uses formatData
+
+    // The names of fields from formatData
+    private final String[] eras;
+    private final String[] months;
+    private final String[] shortMonths;
+    private final String[] weekdays;
+    private final String[] shortWeekdays;
+    private final String[] ampm;
+
+    // The numbers are written as by a DecimalFormat with these digits
+    private final boolean decimalNumbers;     // the format is a DecimalFormat
+    private final boolean directNumbers;      // and a plain one
+    private final char zeroDigit;
+
+    private final ThreadLocal<Context> contexts = new ThreadLocal<Context>() {
+        @Override
+        protected Context initialValue() {
+            return new Context((Calendar)calendar.clone());
+        }
+    };
+
+    private CompiledDateFormat(SimpleDateFormat format) {
+        this.format = format;
+        calendar = format.calendar;
+        locale = format.locale;
+        formatData = format.formatData;
+        useDateFormatSymbols = format.useDateFormatSymbols();
+        forceStandaloneForm = format.forceStandaloneForm;
+        gregorian = calendar instanceof GregorianCalendar;
+        zoneStrings = formatData.locale == null || formatData.isZoneStringsSet;
+        if (zoneStrings) {
+            formatData.getZoneStringsWrapper();   // initialize before sharing
+        }
+
+        eras = formatData.getEras();
+        months = formatData.getMonths();
+        shortMonths = formatData.getShortMonths();
+        weekdays = formatData.getWeekdays();
+        shortWeekdays = formatData.getShortWeekdays();
+        ampm = formatData.getAmPmStrings();
+
+        NumberFormat nf = format.numberFormat;
+        decimalNumbers = nf instanceof DecimalFormat;
+        if (decimalNumbers) {
+            DecimalFormat df = (DecimalFormat)nf;
+            directNumbers = df.getPositivePrefix().isEmpty()
+                && df.getPositiveSuffix().isEmpty()
+                && (!df.isGroupingUsed() || df.getGroupingSize() == 0)
+                && df.getMultiplier() == 1
+                && !df.useExponentialNotation;
+            zeroDigit = df.getDecimalFormatSymbols().getZeroDigit();
+        } else {
+            directNumbers = false;
+            zeroDigit = '0';
+        }
+
+        // Decode the compiled pattern of SimpleDateFormat into steps
+        char[] compiledPattern = format.compiledPattern;
+        java.util.ArrayList<Step> list = new java.util.ArrayList<>();
+        for (int i = 0; i < compiledPattern.length; ) {
+            int tag = compiledPattern[i] >>> 8;
+            int count = compiledPattern[i++] & 0xff;
+            if (count == 255) {
+                count = compiledPattern[i++] << 16;
+                count |= compiledPattern[i++];
+            }
+
+            switch (tag) {
+            case SimpleDateFormat.TAG_QUOTE_ASCII_CHAR:
+                list.add(new Step(String.valueOf((char)count), -1, 0));
+                break;
+
+            case SimpleDateFormat.TAG_QUOTE_CHARS:
+                list.add(new Step(new String(compiledPattern, i, count), -1, 0));
+                i += count;
+                break;
+
+            default:
+                list.add(new Step(null, tag, count));
+                break;
+            }
+        }
+        steps = list.toArray(new Step[list.size()]);
+    }
+
+    /**
+     * Returns a formatter that formats dates as the given {@code
+     * SimpleDateFormat} does at the time of the call.
+     *
+     * @param format the format to compile
+     * @return the compiled formatter
+     * @exception NullPointerException if {@code format} is null
+     */
+    public static CompiledDateFormat of(SimpleDateFormat format) {
+        return new CompiledDateFormat((SimpleDateFormat)format.clone());
+    }
+
+    /**
+     * Returns a formatter for the given pattern and the date format
+     * symbols of the default {@link java.util.Locale.Category#FORMAT
+     * FORMAT} locale, as {@link SimpleDateFormat#SimpleDateFormat(String)}
+     * would create.
+     *
+     * @param pattern the pattern describing the date and time format
+     * @return the compiled formatter
+     * @exception NullPointerException if the given pattern is null
+     * @exception IllegalArgumentException if the given pattern is invalid
+     */
+    public static CompiledDateFormat ofPattern(String pattern) {
+        return new CompiledDateFormat(new SimpleDateFormat(pattern));
+    }
+
+    /**
+     * Returns a formatter for the given pattern and the date format
+     * symbols of the given locale, as {@link
+     * SimpleDateFormat#SimpleDateFormat(String, Locale)} would create.
+     *
+     * @param pattern the pattern describing the date and time format
+     * @param locale the locale whose date format symbols should be used
+     * @return the compiled formatter
+     * @exception NullPointerException if the given pattern or locale is null
+     * @exception IllegalArgumentException if the given pattern is invalid
+     */
+    public static CompiledDateFormat ofPattern(String pattern, Locale locale) {
+        return new CompiledDateFormat(new SimpleDateFormat(pattern, locale));
+    }
+
+    /**
+     * Returns the pattern of this formatter.
+     *
+     * @return the pattern of this formatter
+     */
+    public String toPattern() {
+        return format.toPattern();
+    }
+
+    /**
+     * Returns the time zone in which this formatter formats dates.
+     *
+     * @return a copy of the time zone of this formatter
+     */
+    public TimeZone getTimeZone() {
+        return (TimeZone)calendar.getTimeZone().clone();
+    }
+
+    /**
+     * Returns a new {@code SimpleDateFormat} with the settings of this
+     * formatter, for parsing or other uses this class does not support.
+     *
+     * @return a new {@code SimpleDateFormat}
+     */
+    public SimpleDateFormat toSimpleDateFormat() {
+        return (SimpleDateFormat)format.clone();
+    }
+
+    /**
+     * Formats a Date into a date/time string.
+     *
+     * @param date the time value to be formatted into a time string
+     * @return the formatted time string
+     */
+    public String format(Date date) {
+        return format(date.getTime(), new StringBuilder()).toString();
+    }
+
+    /**
+     * Formats a time, in milliseconds since the epoch, into a date/time
+     * string.
+     *
+     * @param millis the time value to be formatted into a time string
+     * @return the formatted time string
+     */
+    public String format(long millis) {
+        return format(millis, new StringBuilder()).toString();
+    }
+
+    /**
+     * Formats a Date, appending the text to the given builder.
+     *
+     * @param date the time value to be formatted
+     * @param result where the text is to be appended
+     * @return {@code result}
+     */
+    public StringBuilder format(Date date, StringBuilder result) {
+        return format(date.getTime(), result);
+    }
+
+    /**
+     * Formats a time, in milliseconds since the epoch, appending the text
+     * to the given builder.
+     *
+     * @param millis the time value to be formatted
+     * @param result where the text is to be appended
+     * @return {@code result}
+     */
+    public StringBuilder format(long millis, StringBuilder result) {
+        Context context = contexts.get();
+        Calendar calendar = context.calendar;
+        calendar.setTimeInMillis(millis);
+        for (Step step : steps) {
+            if (step.text != null) {
+                result.append(step.text);
+            } else {
+                subFormat(step.index, step.count, context, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Formats a field, as SimpleDateFormat.subFormat does.
+     */
+    private void subFormat(int patternCharIndex, int count, Context context,
+                           StringBuilder buffer)
+    {
+        Calendar calendar = context.calendar;
+        int     maxIntCount = Integer.MAX_VALUE;
+        String  current = null;
+
+        int field = SimpleDateFormat.PATTERN_INDEX_TO_CALENDAR_FIELD[patternCharIndex];
+        int value;
+        if (field == CalendarBuilder.WEEK_YEAR) {
+            if (calendar.isWeekDateSupported()) {
+                value = calendar.getWeekYear();
+            } else {
+                // use calendar year 'y' instead
+                patternCharIndex = PATTERN_YEAR;
+                field = SimpleDateFormat.PATTERN_INDEX_TO_CALENDAR_FIELD[patternCharIndex];
+                value = calendar.get(field);
+            }
+        } else if (field == CalendarBuilder.ISO_DAY_OF_WEEK) {
+            value = CalendarBuilder.toISODayOfWeek(calendar.get(Calendar.DAY_OF_WEEK));
+        } else {
+            value = calendar.get(field);
+        }
+
+        int style = (count >= 4) ? Calendar.LONG : Calendar.SHORT;
+        if (!useDateFormatSymbols && field < Calendar.ZONE_OFFSET
+            && patternCharIndex != PATTERN_MONTH_STANDALONE) {
+            current = calendar.getDisplayName(field, style, locale);
+        }
+
+        switch (patternCharIndex) {
+        case PATTERN_ERA: // 'G'
+            if (useDateFormatSymbols) {
+                if (value < eras.length) {
+                    current = eras[value];
+                }
+            }
+            if (current == null) {
+                current = "";
+            }
+            break;
+
+        case PATTERN_WEEK_YEAR: // 'Y'
+        case PATTERN_YEAR:      // 'y'
+            if (gregorian) {
+                if (count != 2) {
+                    zeroPaddingNumber(value, count, maxIntCount, context, buffer);
+                } else {
+                    zeroPaddingNumber(value, 2, 2, context, buffer);
+                } // clip 1996 to 96
+            } else {
+                if (current == null) {
+                    zeroPaddingNumber(value, style == Calendar.LONG ? 1 : count,
+                                      maxIntCount, context, buffer);
+                }
+            }
+            break;
+
+        case PATTERN_MONTH:            // 'M' (context seinsive)
+            if (useDateFormatSymbols) {
+                if (count >= 4) {
+                    current = months[value];
+                } else if (count == 3) {
+                    current = shortMonths[value];
+                }
+            } else {
+                if (count < 3) {
+                    current = null;
+                } else if (forceStandaloneForm) {
+                    current = calendar.getDisplayName(field, style | 0x8000, locale);
+                    if (current == null) {
+                        current = calendar.getDisplayName(field, style, locale);
+                    }
+                }
+            }
+            if (current == null) {
+                zeroPaddingNumber(value+1, count, maxIntCount, context, buffer);
+            }
+            break;
+
+        case PATTERN_MONTH_STANDALONE: // 'L'
+            if (locale == null) {
+                if (count >= 4) {
+                    current = months[value];
+                } else if (count == 3) {
+                    current = shortMonths[value];
+                }
+            } else {
+                if (count >= 3) {
+                    current = calendar.getDisplayName(field, style | 0x8000, locale);
+                }
+            }
+            if (current == null) {
+                zeroPaddingNumber(value+1, count, maxIntCount, context, buffer);
+            }
+            break;
+
+        case PATTERN_HOUR_OF_DAY1: // 'k' 1-based.  eg, 23:59 + 1 hour =>> 24:59
+            if (current == null) {
+                if (value == 0) {
+                    zeroPaddingNumber(calendar.getMaximum(Calendar.HOUR_OF_DAY) + 1,
+                                      count, maxIntCount, context, buffer);
+                } else {
+                    zeroPaddingNumber(value, count, maxIntCount, context, buffer);
+                }
+            }
+            break;
+
+        case PATTERN_DAY_OF_WEEK: // 'E'
+            if (useDateFormatSymbols) {
+                current = (count >= 4) ? weekdays[value] : shortWeekdays[value];
+            }
+            break;
+
+        case PATTERN_AM_PM:    // 'a'
+            if (useDateFormatSymbols) {
+                current = ampm[value];
+            }
+            break;
+
+        case PATTERN_HOUR1:    // 'h' 1-based.  eg, 11PM + 1 hour =>> 12 AM
+            if (current == null) {
+                if (value == 0) {
+                    zeroPaddingNumber(calendar.getLeastMaximum(Calendar.HOUR) + 1,
+                                      count, maxIntCount, context, buffer);
+                } else {
+                    zeroPaddingNumber(value, count, maxIntCount, context, buffer);
+                }
+            }
+            break;
+
+        case PATTERN_ZONE_NAME: // 'z'
+            if (current == null) {
+                if (zoneStrings) {
+                    int zoneIndex =
+                        formatData.getZoneIndex(calendar.getTimeZone().getID());
+                    if (zoneIndex == -1) {
+                        value = calendar.get(Calendar.ZONE_OFFSET) +
+                            calendar.get(Calendar.DST_OFFSET);
+                        buffer.append(ZoneInfoFile.toCustomID(value));
+                    } else {
+                        int index = (calendar.get(Calendar.DST_OFFSET) == 0) ? 1: 3;
+                        if (count < 4) {
+                            // Use the short name
+                            index++;
+                        }
+                        String[][] zoneStrings = formatData.getZoneStringsWrapper();
+                        buffer.append(zoneStrings[zoneIndex][index]);
+                    }
+                } else {
+                    TimeZone tz = calendar.getTimeZone();
+                    boolean daylight = (calendar.get(Calendar.DST_OFFSET) != 0);
+                    int tzstyle = (count < 4 ? TimeZone.SHORT : TimeZone.LONG);
+                    buffer.append(tz.getDisplayName(daylight, tzstyle, formatData.locale));
+                }
+            }
+            break;
+
+        case PATTERN_ZONE_VALUE: // 'Z' ("-/+hhmm" form)
+            value = (calendar.get(Calendar.ZONE_OFFSET) +
+                     calendar.get(Calendar.DST_OFFSET)) / 60000;
+
+            int width = 4;
+            if (value >= 0) {
+                buffer.append('+');
+            } else {
+                width++;
+            }
+
+            int num = (value / 60) * 100 + (value % 60);
+            CalendarUtils.sprintf0d(buffer, num, width);
+            break;
+
+        case PATTERN_ISO_ZONE:   // 'X'
+            value = calendar.get(Calendar.ZONE_OFFSET)
+                    + calendar.get(Calendar.DST_OFFSET);
+
+            if (value == 0) {
+                buffer.append('Z');
+                break;
+            }
+
+            value /=  60000;
+            if (value >= 0) {
+                buffer.append('+');
+            } else {
+                buffer.append('-');
+                value = -value;
+            }
+
+            CalendarUtils.sprintf0d(buffer, value / 60, 2);
+            if (count == 1) {
+                break;
+            }
+
+            if (count == 3) {
+                buffer.append(':');
+            }
+            CalendarUtils.sprintf0d(buffer, value % 60, 2);
+            break;
+
+        default:
+     // case PATTERN_DAY_OF_MONTH, PATTERN_HOUR_OF_DAY0, PATTERN_MINUTE,
+     // PATTERN_SECOND, PATTERN_MILLISECOND, PATTERN_DAY_OF_YEAR,
+     // PATTERN_DAY_OF_WEEK_IN_MONTH, PATTERN_WEEK_OF_YEAR,
+     // PATTERN_WEEK_OF_MONTH, PATTERN_HOUR0, PATTERN_ISO_DAY_OF_WEEK
+            if (current == null) {
+                zeroPaddingNumber(value, count, maxIntCount, context, buffer);
+            }
+            break;
+        } // switch (patternCharIndex)
+
+        if (current != null) {
+            buffer.append(current);
+        }
+    }
+
+    /**
+     * Formats a number with the specified minimum and maximum number of
+     * digits, as the number format of SimpleDateFormat does.
+     */
+    private void zeroPaddingNumber(int value, int minDigits, int maxDigits,
+                                   Context context, StringBuilder buffer) {
+        // The cases SimpleDateFormat writes itself whenever the number
+        // format is a DecimalFormat
+        if (decimalNumbers && value >= 0) {
+            if (value < 100 && minDigits >= 1 && minDigits <= 2) {
+                if (value < 10) {
+                    if (minDigits == 2) {
+                        buffer.append(zeroDigit);
+                    }
+                    buffer.append((char)(zeroDigit + value));
+                } else {
+                    buffer.append((char)(zeroDigit + value / 10));
+                    buffer.append((char)(zeroDigit + value % 10));
+                }
+                return;
+            } else if (value >= 1000 && value < 10000) {
+                if (minDigits == 4) {
+                    buffer.append((char)(zeroDigit + value / 1000));
+                    value %= 1000;
+                    buffer.append((char)(zeroDigit + value / 100));
+                    value %= 100;
+                    buffer.append((char)(zeroDigit + value / 10));
+                    buffer.append((char)(zeroDigit + value % 10));
+                    return;
+                }
+                if (minDigits == 2 && maxDigits == 2) {
+                    zeroPaddingNumber(value % 100, 2, 2, context, buffer);
+                    return;
+                }
+            }
+        }
+
+        if (directNumbers && value >= 0) {
+            // The least significant maxDigits digits, padded to minDigits
+            // within the limit DecimalFormat applies to long values
+            int digits = 1;
+            for (int v = value; v >= 10; v /= 10) {
+                digits++;
+            }
+            int min = Math.min(minDigits, DecimalFormat.DOUBLE_INTEGER_DIGITS);
+            int n = Math.min(Math.max(digits, min), maxDigits);
+            for (int i = digits; i < n; i++) {
+                buffer.append(zeroDigit);
+            }
+            int divisor = 1;
+            for (int i = 1; i < Math.min(n, digits); i++) {
+                divisor *= 10;
+            }
+            for (; divisor > 0; divisor /= 10) {
+                buffer.append((char)(zeroDigit + (value / divisor) % 10));
+            }
+            return;
+        }
+
+        NumberFormat nf = context.numberFormat;
+        if (nf == null) {
+            synchronized (format) {
+                nf = context.numberFormat = (NumberFormat)format.numberFormat.clone();
+            }
+        }
+        nf.setMinimumIntegerDigits(minDigits);
+        nf.setMaximumIntegerDigits(maxDigits);
+        buffer.append(nf.format((long)value));
+    }
+}
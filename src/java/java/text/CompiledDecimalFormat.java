@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.text;
+
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * An immutable, thread-safe formatter of {@code double} and {@code long}
+ * values that gives the same text as a {@link DecimalFormat}.
+ *
+ * <p>A {@code DecimalFormat} is not safe for use by multiple threads, and
+ * reads its settings anew for each number it formats.  A {@code
+ * CompiledDecimalFormat} takes a snapshot of the pattern, symbols and
+ * other settings of a {@code DecimalFormat} when it is created, and
+ * formats directly into a {@code StringBuilder} supplied by the caller,
+ * with no {@code FieldPosition} or {@code StringBuffer}.  Later changes
+ * to the {@code DecimalFormat} do not affect it.
+ *
+ * <pre> {@code
+ * static final CompiledDecimalFormat AMOUNT =
+ *     CompiledDecimalFormat.ofPattern("#,##0.00", Locale.US);
+ * ...
+ * AMOUNT.format(total, sb).append(' ').append(currency);}</pre>
+ *
+ * <p>The text of each value is that given by the {@code format(double)}
+ * and {@code format(long)} methods of the {@code DecimalFormat}.  The
+ * rare {@code long} values whose product with the multiplier exceeds the
+ * range of {@code long} are formatted by a copy of the {@code
+ * DecimalFormat}.  Parsing is not supported.
+ *
+ * @see DecimalFormat
+ * @see CompiledDateFormat
+ */
+public final class CompiledDecimalFormat {
+
+    private final DecimalFormat format;       // private copy, never changed
+
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    private final int multiplier;
+    private final int groupingSize;           // 0 if grouping is not used
+    private final boolean decimalSeparatorAlwaysShown;
+    private final boolean useExponentialNotation;
+    private final int minExponentDigits;
+    private final int maxIntDigits;
+    private final int minIntDigits;
+    private final int maxFraDigits;
+    private final int minFraDigits;
+    private final RoundingMode roundingMode;
+
+    // Whether DecimalFormat formats doubles of int range by its fast path,
+    // whose rounding of the scaled fraction is used for them here too
+    private final boolean fastPath;
+    private final boolean isCurrencyFormat;
+
+    private final char zero;
+    private final char grouping;
+    private final char decimal;
+    private final char minus;
+    private final String exponentSeparator;
+    private final String nan;
+    private final String infinity;
+
+    private CompiledDecimalFormat(DecimalFormat format) {
+        this.format = format;
+        positivePrefix = format.getPositivePrefix();
+        positiveSuffix = format.getPositiveSuffix();
+        negativePrefix = format.getNegativePrefix();
+        negativeSuffix = format.getNegativeSuffix();
+        multiplier = format.getMultiplier();
+        groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+        decimalSeparatorAlwaysShown = format.isDecimalSeparatorAlwaysShown();
+        useExponentialNotation = format.useExponentialNotation;
+        minExponentDigits = format.minExponentDigits;
+        // The limits DecimalFormat applies to double and long values
+        maxIntDigits = Math.min(format.getMaximumIntegerDigits(),
+                                DecimalFormat.DOUBLE_INTEGER_DIGITS);
+        minIntDigits = Math.min(format.getMinimumIntegerDigits(),
+                                DecimalFormat.DOUBLE_INTEGER_DIGITS);
+        maxFraDigits = Math.min(format.getMaximumFractionDigits(),
+                                DecimalFormat.DOUBLE_FRACTION_DIGITS);
+        minFraDigits = Math.min(format.getMinimumFractionDigits(),
+                                DecimalFormat.DOUBLE_FRACTION_DIGITS);
+        roundingMode = format.getRoundingMode();
+
+        isCurrencyFormat = format.isCurrencyFormat;
+        fastPath = roundingMode == RoundingMode.HALF_EVEN
+            && format.isGroupingUsed()
+            && format.getGroupingSize() == 3
+            && multiplier == 1
+            && !decimalSeparatorAlwaysShown
+            && !useExponentialNotation
+            && format.getMinimumIntegerDigits() == 1
+            && format.getMaximumIntegerDigits() >= 10
+            && (isCurrencyFormat ?
+                format.getMinimumFractionDigits() == 2 &&
+                format.getMaximumFractionDigits() == 2 :
+                format.getMinimumFractionDigits() == 0 &&
+                format.getMaximumFractionDigits() == 3);
+
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        zero = symbols.getZeroDigit();
+        grouping = symbols.getGroupingSeparator();
+        decimal = format.isCurrencyFormat ?
+            symbols.getMonetaryDecimalSeparator() :
+            symbols.getDecimalSeparator();
+        minus = symbols.getMinusSign();
+        exponentSeparator = symbols.getExponentSeparator();
+        nan = symbols.getNaN();
+        infinity = symbols.getInfinity();
+    }
+
+    /**
+     * Returns a formatter that formats numbers as the given {@code
+     * DecimalFormat} does at the time of the call.
+     *
+     * @param format the format to compile
+     * @return the compiled formatter
+     * @exception NullPointerException if {@code format} is null
+     */
+    public static CompiledDecimalFormat of(DecimalFormat format) {
+        return new CompiledDecimalFormat((DecimalFormat)format.clone());
+    }
+
+    /**
+     * Returns a formatter for the given pattern and the symbols of the
+     * default {@link java.util.Locale.Category#FORMAT FORMAT} locale, as
+     * {@link DecimalFormat#DecimalFormat(String)} would create.
+     *
+     * @param pattern a non-localized pattern string
+     * @return the compiled formatter
+     * @exception NullPointerException if {@code pattern} is null
+     * @exception IllegalArgumentException if the given pattern is invalid
+     */
+    public static CompiledDecimalFormat ofPattern(String pattern) {
+        return new CompiledDecimalFormat(new DecimalFormat(pattern));
+    }
+
+    /**
+     * Returns a formatter for the given pattern and the symbols of the
+     * given locale.
+     *
+     * @param pattern a non-localized pattern string
+     * @param locale the locale whose symbols are used
+     * @return the compiled formatter
+     * @exception NullPointerException if {@code pattern} or {@code locale}
+     *            is null
+     * @exception IllegalArgumentException if the given pattern is invalid
+     */
+    public static CompiledDecimalFormat ofPattern(String pattern, Locale locale) {
+        return new CompiledDecimalFormat(
+            new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale)));
+    }
+
+    /**
+     * Returns the pattern of this formatter, as given by {@link
+     * DecimalFormat#toPattern}.
+     *
+     * @return the pattern of this formatter
+     */
+    public String toPattern() {
+        synchronized (format) {
+            return format.toPattern();
+        }
+    }
+
+    /**
+     * Returns a new {@code DecimalFormat} with the settings of this
+     * formatter, for parsing or other uses this class does not support.
+     *
+     * @return a new {@code DecimalFormat}
+     */
+    public DecimalFormat toDecimalFormat() {
+        synchronized (format) {
+            return (DecimalFormat)format.clone();
+        }
+    }
+
+    /**
+     * Formats a double.
+     *
+     * @param number the double to format
+     * @return the formatted string
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to RoundingMode.UNNECESSARY
+     */
+    public String format(double number) {
+        return format(number, new StringBuilder()).toString();
+    }
+
+    /**
+     * Formats a long.
+     *
+     * @param number the long to format
+     * @return the formatted string
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to RoundingMode.UNNECESSARY
+     */
+    public String format(long number) {
+        return format(number, new StringBuilder()).toString();
+    }
+
+    /**
+     * Formats a double, appending the text to the given builder.
+     *
+     * @param number the double to format
+     * @param result where the text is to be appended
+     * @return {@code result}
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to RoundingMode.UNNECESSARY
+     */
+    public StringBuilder format(double number, StringBuilder result) {
+        if (fastPath && Double.isFinite(number)) {
+            boolean negative = false;
+            double d = number;
+            if (d < 0.0d) {
+                negative = true;
+                d = -d;
+            } else if (d == 0.0d) {
+                negative = (Math.copySign(1.0d, d) == -1.0d);
+                d = +0.0d;
+            }
+            if (d <= MAX_INT_AS_DOUBLE) {
+                return fastFormat(d, negative, result);
+            }
+        }
+
+        if (Double.isNaN(number) ||
+           (Double.isInfinite(number) && multiplier == 0)) {
+            return result.append(nan);
+        }
+
+        // -0.0 is negative, as in DecimalFormat
+        boolean isNegative = ((number < 0.0) || (number == 0.0 && 1/number < 0.0)) ^ (multiplier < 0);
+
+        if (multiplier != 1) {
+            number *= multiplier;
+        }
+
+        if (Double.isInfinite(number)) {
+            result.append(isNegative ? negativePrefix : positivePrefix);
+            result.append(infinity);
+            return result.append(isNegative ? negativeSuffix : positiveSuffix);
+        }
+
+        if (isNegative) {
+            number = -number;
+        }
+
+        DigitList digitList = new DigitList();
+        digitList.setRoundingMode(roundingMode);
+        digitList.set(isNegative, number, useExponentialNotation ?
+                      maxIntDigits + maxFraDigits : maxFraDigits,
+                      !useExponentialNotation);
+        return subformat(result, digitList, isNegative, false);
+    }
+
+    /**
+     * Formats a long, appending the text to the given builder.
+     *
+     * @param number the long to format
+     * @param result where the text is to be appended
+     * @return {@code result}
+     * @exception ArithmeticException if rounding is needed with rounding
+     *            mode being set to RoundingMode.UNNECESSARY
+     */
+    public StringBuilder format(long number, StringBuilder result) {
+        boolean isNegative = (number < 0);
+        if (isNegative) {
+            number = -number;
+        }
+
+        // A product outside the range of long is formatted as a BigInteger
+        // by DecimalFormat, which is left to a copy of it
+        boolean useBigInteger = false;
+        if (number < 0) { // This can only happen if number == Long.MIN_VALUE.
+            if (multiplier != 0) {
+                useBigInteger = true;
+            }
+        } else if (multiplier != 1 && multiplier != 0) {
+            long cutoff = Long.MAX_VALUE / multiplier;
+            if (cutoff < 0) {
+                cutoff = -cutoff;
+            }
+            useBigInteger = (number > cutoff);
+        }
+
+        if (useBigInteger) {
+            if (isNegative) {
+                number = -number;
+            }
+            return result.append(toDecimalFormat().format(number));
+        }
+
+        number *= multiplier;
+        if (number == 0) {
+            isNegative = false;
+        } else {
+            if (multiplier < 0) {
+                number = -number;
+                isNegative = !isNegative;
+            }
+        }
+
+        DigitList digitList = new DigitList();
+        digitList.setRoundingMode(roundingMode);
+        digitList.set(isNegative, number,
+                      useExponentialNotation ? maxIntDigits + maxFraDigits : 0);
+        return subformat(result, digitList, isNegative, true);
+    }
+
+    private static final double MAX_INT_AS_DOUBLE = (double) Integer.MAX_VALUE;
+
+    /**
+     * Formats a non-negative double of int range, as DecimalFormat's
+     * fastDoubleFormat does: the fraction is scaled to the two or three
+     * digits shown and rounded half-even from the scaled approximation,
+     * refined by exactRoundUp when that is exactly one half.
+     */
+    private StringBuilder fastFormat(double d, boolean negative,
+                                     StringBuilder result) {
+        int integralPartAsInt = (int) d;
+        double exactFractionalPart = d - (double) integralPartAsInt;
+        double scaledFractional =
+            exactFractionalPart * (isCurrencyFormat ? 100.0d : 1000.0d);
+        int fractionalPartAsInt = (int) scaledFractional;
+        scaledFractional = scaledFractional - (double) fractionalPartAsInt;
+
+        if (scaledFractional >= 0.5d) {
+            boolean roundItUp = (scaledFractional == 0.5d) ?
+                exactRoundUp(exactFractionalPart, fractionalPartAsInt) : true;
+            if (roundItUp) {
+                if (fractionalPartAsInt < (isCurrencyFormat ? 99 : 999)) {
+                    fractionalPartAsInt++;
+                } else {
+                    // Propagates rounding to integral part since "all nines" case.
+                    fractionalPartAsInt = 0;
+                    integralPartAsInt++;
+                }
+            }
+        }
+
+        result.append(negative ? negativePrefix : positivePrefix);
+
+        // Integral digits, grouped by three
+        int group = 1;
+        while (integralPartAsInt / group > 999) {
+            group *= 1000;
+        }
+        appendDigits(result, integralPartAsInt / group, false);
+        while (group > 1) {
+            group /= 1000;
+            result.append(grouping);
+            appendDigits(result, (integralPartAsInt / group) % 1000, true);
+        }
+
+        // Two fractional digits for currency, else up to three without
+        // trailing zeros
+        int hundreds = fractionalPartAsInt / 100;
+        int tens = (fractionalPartAsInt / 10) % 10;
+        int ones = fractionalPartAsInt % 10;
+        if (isCurrencyFormat) {
+            result.append(decimal)
+                  .append((char)(zero + tens))
+                  .append((char)(zero + ones));
+        } else if (fractionalPartAsInt != 0) {
+            result.append(decimal).append((char)(zero + hundreds));
+            if (ones != 0) {
+                result.append((char)(zero + tens)).append((char)(zero + ones));
+            } else if (tens != 0) {
+                result.append((char)(zero + tens));
+            }
+        }
+
+        return result.append(negative ? negativeSuffix : positiveSuffix);
+    }
+
+    /**
+     * Appends a number below 1000, with leading zeros to three digits if
+     * pad is true.
+     */
+    private void appendDigits(StringBuilder result, int n, boolean pad) {
+        if (pad || n > 99) {
+            result.append((char)(zero + n / 100));
+        }
+        if (pad || n > 9) {
+            result.append((char)(zero + (n / 10) % 10));
+        }
+        result.append((char)(zero + n % 10));
+    }
+
+    /**
+     * Returns true if the scaled fraction, whose approximation is exactly
+     * one half above scaledFractionalPartAsInt, must be rounded up; this is
+     * DecimalFormat.exactRoundUp, which finds the exact roundoff of the
+     * scaling by cascaded FastTwoSum steps.
+     */
+    private boolean exactRoundUp(double fractionalPart,
+                                 int scaledFractionalPartAsInt) {
+        double approxMax;    // Will always be positive.
+        double approxMedium; // Will always be negative.
+        double approxMin;
+
+        double fastTwoSumApproximation = 0.0d;
+        double fastTwoSumRoundOff = 0.0d;
+        double bVirtual = 0.0d;
+
+        if (isCurrencyFormat) {
+            // Scale is 100 = 128 - 32 + 4.
+            approxMax    = fractionalPart * 128.00d;
+            approxMedium = - (fractionalPart * 32.00d);
+            approxMin    = fractionalPart * 4.00d;
+        } else {
+            // Scale is 1000 = 1024 - 16 - 8.
+            approxMax    = fractionalPart * 1024.00d;
+            approxMedium = - (fractionalPart * 16.00d);
+            approxMin    = - (fractionalPart * 8.00d);
+        }
+
+        // FastTwoSum(approxMedium, approxMin).
+        fastTwoSumApproximation = approxMedium + approxMin;
+        bVirtual = fastTwoSumApproximation - approxMedium;
+        fastTwoSumRoundOff = approxMin - bVirtual;
+        double approxS1 = fastTwoSumApproximation;
+        double roundoffS1 = fastTwoSumRoundOff;
+
+        // FastTwoSum(approxMax, approxS1);
+        fastTwoSumApproximation = approxMax + approxS1;
+        bVirtual = fastTwoSumApproximation - approxMax;
+        fastTwoSumRoundOff = approxS1 - bVirtual;
+        double roundoff1000 = fastTwoSumRoundOff;
+        double approx1000 = fastTwoSumApproximation;
+        double roundoffTotal = roundoffS1 + roundoff1000;
+
+        // FastTwoSum(approx1000, roundoffTotal);
+        fastTwoSumApproximation = approx1000 + roundoffTotal;
+        bVirtual = fastTwoSumApproximation - approx1000;
+
+        double scaledFractionalRoundoff = roundoffTotal - bVirtual;
+
+        if (scaledFractionalRoundoff > 0.0) {
+            return true;
+        } else if (scaledFractionalRoundoff < 0.0) {
+            return false;
+        } else if ((scaledFractionalPartAsInt & 1) != 0) {
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Completes the formatting of a finite number whose digits are in the
+     * digit list, as DecimalFormat.subformat does.
+     */
+    private StringBuilder subformat(StringBuilder result, DigitList digitList,
+                                    boolean isNegative, boolean isInteger) {
+        int zeroDelta = zero - '0'; // '0' is the DigitList representation of zero
+
+        if (digitList.isZero()) {
+            digitList.decimalAt = 0; // Normalize
+        }
+
+        result.append(isNegative ? negativePrefix : positivePrefix);
+
+        if (useExponentialNotation) {
+            // Maximum integer digits greater than one and than the minimum
+            // define a repeating range for the exponent; otherwise the
+            // minimum integer digits are kept by adjusting the exponent
+            int exponent = digitList.decimalAt;
+            int repeat = maxIntDigits;
+            int minimumIntegerDigits = minIntDigits;
+            if (repeat > 1 && repeat > minIntDigits) {
+                if (exponent >= 1) {
+                    exponent = ((exponent - 1) / repeat) * repeat;
+                } else {
+                    // integer division rounds towards 0
+                    exponent = ((exponent - repeat) / repeat) * repeat;
+                }
+                minimumIntegerDigits = 1;
+            } else {
+                exponent -= minimumIntegerDigits;
+            }
+
+            int minimumDigits = minIntDigits + minFraDigits;
+            if (minimumDigits < 0) {    // overflow?
+                minimumDigits = Integer.MAX_VALUE;
+            }
+
+            int integerDigits = digitList.isZero() ? minimumIntegerDigits :
+                    digitList.decimalAt - exponent;
+            if (minimumDigits < integerDigits) {
+                minimumDigits = integerDigits;
+            }
+            int totalDigits = digitList.count;
+            if (minimumDigits > totalDigits) {
+                totalDigits = minimumDigits;
+            }
+
+            for (int i=0; i<totalDigits; ++i) {
+                if (i == integerDigits) {
+                    result.append(decimal);
+                }
+                result.append((i < digitList.count) ?
+                              (char)(digitList.digits[i] + zeroDelta) :
+                              zero);
+            }
+
+            if (decimalSeparatorAlwaysShown && totalDigits == integerDigits) {
+                result.append(decimal);
+            }
+
+            result.append(exponentSeparator);
+
+            // For zero values, the exponent is zero
+            if (digitList.isZero()) {
+                exponent = 0;
+            }
+
+            boolean negativeExponent = exponent < 0;
+            if (negativeExponent) {
+                exponent = -exponent;
+                result.append(minus);
+            }
+            digitList.set(negativeExponent, exponent);
+
+            for (int i=digitList.decimalAt; i<minExponentDigits; ++i) {
+                result.append(zero);
+            }
+            for (int i=0; i<digitList.decimalAt; ++i) {
+                result.append((i < digitList.count) ?
+                          (char)(digitList.digits[i] + zeroDelta) : zero);
+            }
+        } else {
+            // The integer digits shown: at least the minimum, and the
+            // least significant maximum number of those there are
+            int count = minIntDigits;
+            int digitIndex = 0; // Index into digitList.fDigits[]
+            if (digitList.decimalAt > 0 && count < digitList.decimalAt) {
+                count = digitList.decimalAt;
+            }
+            if (count > maxIntDigits) {
+                count = maxIntDigits;
+                digitIndex = digitList.decimalAt - count;
+            }
+
+            int sizeBeforeIntegerPart = result.length();
+            for (int i=count-1; i>=0; --i) {
+                if (i < digitList.decimalAt && digitIndex < digitList.count) {
+                    // Output a real digit
+                    result.append((char)(digitList.digits[digitIndex++] + zeroDelta));
+                } else {
+                    // Output a leading zero
+                    result.append(zero);
+                }
+
+                // Output grouping separator if necessary
+                if (groupingSize != 0 && i>0 && (i % groupingSize == 0)) {
+                    result.append(grouping);
+                }
+            }
+
+            boolean fractionPresent = (minFraDigits > 0) ||
+                (!isInteger && digitIndex < digitList.count);
+
+            // Print a zero if there would be no digits at all
+            if (!fractionPresent && result.length() == sizeBeforeIntegerPart) {
+                result.append(zero);
+            }
+
+            if (decimalSeparatorAlwaysShown || fractionPresent) {
+                result.append(decimal);
+            }
+
+            for (int i=0; i < maxFraDigits; ++i) {
+                if (i >= minFraDigits &&
+                    (isInteger || digitIndex >= digitList.count)) {
+                    break;
+                }
+
+                // Output leading fractional zeros, of a number less than 1
+                if (-1-i > (digitList.decimalAt-1)) {
+                    result.append(zero);
+                    continue;
+                }
+
+                if (!isInteger && digitIndex < digitList.count) {
+                    result.append((char)(digitList.digits[digitIndex++] + zeroDelta));
+                } else {
+                    result.append(zero);
+                }
+            }
+        }
+
+        return result.append(isNegative ? negativeSuffix : positiveSuffix);
+    }
+}
@@ -473,18 +473,18 @@ public class SimpleDateFormat extends DateFormat {
     /**
      * True if standalone form needs to be used.
      */
-    transient private boolean forceStandaloneForm = false;
+    transient boolean forceStandaloneForm = false;
 
     /**
      * The compiled pattern.
      */
-    transient private char[] compiledPattern;
+    transient char[] compiledPattern;
 
     /**
      * Tags for the compiled pattern.
      */
-    private final static int TAG_QUOTE_ASCII_CHAR       = 100;
-    private final static int TAG_QUOTE_CHARS            = 101;
+    final static int TAG_QUOTE_ASCII_CHAR       = 100;
+    final static int TAG_QUOTE_CHARS            = 101;
 
     /**
      * Locale dependent digit zero.
@@ -499,7 +499,7 @@ public class SimpleDateFormat extends DateFormat {
      * @serial
      * @see java.text.DateFormatSymbols
      */
-    private DateFormatSymbols formatData;
+    DateFormatSymbols formatData;
 
     /**
      * We map dates with two-digit years into the century starting at
@@ -533,7 +533,7 @@ public class SimpleDateFormat extends DateFormat {
      * @serial
      * @since 1.6
      */
-    private Locale locale;
+    Locale locale;
 
     /**
      * Indicates whether this <code>SimpleDateFormat</code> should use
@@ -1011,7 +1011,7 @@ public class SimpleDateFormat extends DateFormat {
     }
 
     // Map index into pattern character string to Calendar field number
-    private static final int[] PATTERN_INDEX_TO_CALENDAR_FIELD = {
+    static final int[] PATTERN_INDEX_TO_CALENDAR_FIELD = {
         Calendar.ERA,
         Calendar.YEAR,
         Calendar.MONTH,
@@ -2189,7 +2189,7 @@ public class SimpleDateFormat extends DateFormat {
      * Returns true if the DateFormatSymbols has been set explicitly or locale
      * is null.
      */
-    private boolean useDateFormatSymbols() {
+    boolean useDateFormatSymbols() {
         return useDateFormatSymbols || locale == null;
     }
 
@@ -36,6 +36,8 @@ import java.util.function.IntToDoubleFunction;
 import java.util.function.IntToLongFunction;
 import java.util.function.IntUnaryOperator;
 import java.util.function.LongBinaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -1180,6 +1182,132 @@ public class Arrays {
                  MIN_ARRAY_SORT_GRAN : g, cmp).invoke();
     }
 
+    /**
+     * Sorts the specified array of objects into ascending order of the
+     * {@code long} keys extracted from them by the specified function.
+     * The result is as that of
+     * {@link #parallelSort(Object[], Comparator)
+     * parallelSort(a, Comparator.comparingLong(keyExtractor))}, but the
+     * key of each element is extracted only once, and no comparator is
+     * called.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is a least-significant-digit radix
+     * sort.  The keys are extracted into an array, which is sorted together
+     * with the elements' indices a byte at a time, in passes that each
+     * count and then move all keys; bytes that are the same in all keys are
+     * skipped.  The elements are then permuted into place.  The passes and
+     * the extraction of keys are divided among tasks executed in the
+     * {@link ForkJoinPool#commonPool() ForkJoin common pool}.  The
+     * algorithm requires working space for two {@code long} and two
+     * {@code int} values per element, and a copy of the array.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param keyExtractor the function extracting the key of each element
+     * @throws NullPointerException if {@code keyExtractor} is null
+     * @since 9
+     */
+    public static <T> void parallelSortByLong(T[] a, ToLongFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        ArraysRadixSort.sortByLong(a, 0, a.length, keyExtractor, true);
+    }
+
+    /**
+     * Sorts the specified range of the specified array of objects into
+     * ascending order of the {@code long} keys extracted from them by the
+     * specified function.  The range to be sorted extends from index
+     * {@code fromIndex}, inclusive, to index {@code toIndex}, exclusive.
+     * (If {@code fromIndex==toIndex}, the range to be sorted is empty.)
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is that of
+     * {@link #parallelSortByLong(Object[], ToLongFunction)}; it requires
+     * working space in proportion to the size of the range.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element (inclusive) to be
+     *        sorted
+     * @param toIndex the index of the last element (exclusive) to be sorted
+     * @param keyExtractor the function extracting the key of each element
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     * @throws NullPointerException if {@code keyExtractor} is null
+     * @since 9
+     */
+    public static <T> void parallelSortByLong(T[] a, int fromIndex, int toIndex,
+                                              ToLongFunction<? super T> keyExtractor) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        Objects.requireNonNull(keyExtractor);
+        ArraysRadixSort.sortByLong(a, fromIndex, toIndex, keyExtractor, true);
+    }
+
+    /**
+     * Sorts the specified array of objects into ascending order of the
+     * {@code int} keys extracted from them by the specified function.
+     * The result is as that of
+     * {@link #parallelSort(Object[], Comparator)
+     * parallelSort(a, Comparator.comparingInt(keyExtractor))}, but the
+     * key of each element is extracted only once, and no comparator is
+     * called.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is that of
+     * {@link #parallelSortByLong(Object[], ToLongFunction)}, taking at
+     * most four passes.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param keyExtractor the function extracting the key of each element
+     * @throws NullPointerException if {@code keyExtractor} is null
+     * @since 9
+     */
+    public static <T> void parallelSortByInt(T[] a, ToIntFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        ArraysRadixSort.sortByInt(a, 0, a.length, keyExtractor, true);
+    }
+
+    /**
+     * Sorts the specified range of the specified array of objects into
+     * ascending order of the {@code int} keys extracted from them by the
+     * specified function.  The range to be sorted extends from index
+     * {@code fromIndex}, inclusive, to index {@code toIndex}, exclusive.
+     * (If {@code fromIndex==toIndex}, the range to be sorted is empty.)
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is that of
+     * {@link #parallelSortByLong(Object[], ToLongFunction)}, taking at
+     * most four passes.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element (inclusive) to be
+     *        sorted
+     * @param toIndex the index of the last element (exclusive) to be sorted
+     * @param keyExtractor the function extracting the key of each element
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     * @throws NullPointerException if {@code keyExtractor} is null
+     * @since 9
+     */
+    public static <T> void parallelSortByInt(T[] a, int fromIndex, int toIndex,
+                                             ToIntFunction<? super T> keyExtractor) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        Objects.requireNonNull(keyExtractor);
+        ArraysRadixSort.sortByInt(a, fromIndex, toIndex, keyExtractor, true);
+    }
+
     /*
      * Sorting of complex type arrays.
      */
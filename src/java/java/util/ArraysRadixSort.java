@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least-significant-digit radix sort of object arrays by primitive keys,
+ * for Arrays.parallelSortByLong and Arrays.parallelSortByInt.
+ *
+ * The key of each element is extracted once, into a long[] of keys made
+ * unsigned (by flipping the sign bit) that is sorted, one byte per pass,
+ * together with an int[] of the elements' original indices.  The
+ * elements are then permuted into place by those indices.  Each pass is
+ * a stable counting sort, so the whole sort is stable.  A pass is skipped
+ * when its byte is the same in all keys, as found while extracting them;
+ * int keys thus take at most four passes, and keys spanning a narrow
+ * range, such as timestamps, few more than they need.
+ *
+ * In parallel, the range is cut into chunks, about four per thread of
+ * the common pool.  Keys are extracted, and elements permuted, a chunk
+ * per task.  In each pass, the tasks count the bytes of their chunks;
+ * the counts are summed, in order of byte then chunk, into the start of
+ * the run of each byte of each chunk in the output; and the tasks then
+ * scatter their chunks, each writing its own runs, so that the output is
+ * as that of a sequential pass.
+ */
+final class ArraysRadixSort {
+
+    private ArraysRadixSort() {}
+
+    /**
+     * Ranges shorter than this are sorted by insertion sort on their keys.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    /**
+     * The least number of elements in a chunk of a parallel sort.
+     */
+    private static final int MIN_CHUNK = 1 << 13;
+
+    private static final int RADIX = 256;
+
+    // Steps performed on each chunk
+    static final int EXTRACT = 0, COUNT = 1, SCATTER = 2, PERMUTE = 3;
+
+    static <T> void sortByLong(T[] a, int from, int to,
+                               ToLongFunction<? super T> keyExtractor,
+                               boolean parallel) {
+        new Sort<>(a, from, to, keyExtractor, null, parallel).run();
+    }
+
+    static <T> void sortByInt(T[] a, int from, int to,
+                              ToIntFunction<? super T> keyExtractor,
+                              boolean parallel) {
+        new Sort<>(a, from, to, null, keyExtractor, parallel).run();
+    }
+
+    /**
+     * The state of one sort.
+     */
+    private static final class Sort<T> {
+        final T[] a;
+        final int from, n;
+        final ToLongFunction<? super T> longKey;   // one of these is null
+        final ToIntFunction<? super T> intKey;
+        final int chunks, chunkSize;
+
+        long[] keys, keyBuf;
+        int[] index, indexBuf;
+        long[] diffs;        // per chunk, the bits in which keys differ
+        int[][] counts;      // per chunk, the count then start of each byte
+        int shift;           // of the byte of the current pass
+        T[] copy;            // of the range, while permuting
+
+        Sort(T[] a, int from, int to, ToLongFunction<? super T> longKey,
+             ToIntFunction<? super T> intKey, boolean parallel) {
+            this.a = a;
+            this.from = from;
+            this.n = to - from;
+            this.longKey = longKey;
+            this.intKey = intKey;
+            int p = parallel ? ForkJoinPool.getCommonPoolParallelism() : 1;
+            int c = (p > 1) ? Math.min(p << 2, n / MIN_CHUNK) : 1;
+            this.chunks = Math.max(c, 1);
+            this.chunkSize = (n + chunks - 1) / chunks;
+        }
+
+        void run() {
+            if (n < 2)
+                return;
+            keys = new long[n];
+            index = new int[n];
+            diffs = new long[chunks];
+            forEachChunk(EXTRACT);
+            if (n < INSERTION_SORT_THRESHOLD) {
+                insertionSort();
+            }
+            else {
+                long diff = 0L;
+                for (long d : diffs)
+                    diff |= d;
+                // The first key of each chunk differs from that of the first
+                for (int c = 1; c < chunks; c++)
+                    diff |= keys[0] ^ keys[c * chunkSize];
+                if (diff == 0L)
+                    return;
+                keyBuf = new long[n];
+                indexBuf = new int[n];
+                counts = new int[chunks][RADIX];
+                for (shift = 0; shift < Long.SIZE; shift += 8) {
+                    if (((diff >>> shift) & 0xff) != 0)
+                        pass();
+                }
+                keyBuf = null;
+                indexBuf = null;
+                counts = null;
+            }
+            keys = null;
+            copy = Arrays.copyOfRange(a, from, from + n);
+            forEachChunk(PERMUTE);
+        }
+
+        /**
+         * Sorts the keys and indices by the byte at {@code shift}.
+         */
+        private void pass() {
+            forEachChunk(COUNT);
+            int start = 0;
+            for (int d = 0; d < RADIX; d++) {
+                for (int c = 0; c < chunks; c++) {
+                    int[] count = counts[c];
+                    int k = count[d];
+                    count[d] = start;
+                    start += k;
+                }
+            }
+            forEachChunk(SCATTER);
+            long[] k = keys; keys = keyBuf; keyBuf = k;
+            int[] i = index; index = indexBuf; indexBuf = i;
+        }
+
+        private void insertionSort() {
+            long[] keys = this.keys;
+            int[] index = this.index;
+            for (int i = 1; i < n; i++) {
+                long k = keys[i];
+                int x = index[i];
+                int j = i - 1;
+                for (; j >= 0 && Long.compareUnsigned(keys[j], k) > 0; j--) {
+                    keys[j + 1] = keys[j];
+                    index[j + 1] = index[j];
+                }
+                keys[j + 1] = k;
+                index[j + 1] = x;
+            }
+        }
+
+        /**
+         * Performs the given step on each chunk, in parallel if there is
+         * more than one.
+         */
+        private void forEachChunk(int step) {
+            if (chunks == 1)
+                chunk(step, 0);
+            else
+                new ChunkTask(this, step, 0, chunks).invoke();
+        }
+
+        /**
+         * Performs the given step on chunk {@code c}.
+         */
+        void chunk(int step, int c) {
+            int lo = c * chunkSize;
+            int hi = Math.min(lo + chunkSize, n);
+            long[] keys = this.keys;
+            int[] index = this.index;
+            switch (step) {
+            case EXTRACT: {
+                T[] a = this.a;
+                int off = from;
+                long first = 0L, diff = 0L;
+                for (int i = lo; i < hi; i++) {
+                    T t = a[off + i];
+                    long k = (longKey != null)
+                        ? longKey.applyAsLong(t) ^ Long.MIN_VALUE
+                        : (intKey.applyAsInt(t) ^ Integer.MIN_VALUE) & 0xffffffffL;
+                    if (i == lo)
+                        first = k;
+                    diff |= k ^ first;
+                    keys[i] = k;
+                    index[i] = i;
+                }
+                diffs[c] = diff;
+                break;
+            }
+            case COUNT: {
+                int[] count = counts[c];
+                Arrays.fill(count, 0);
+                int s = shift;
+                for (int i = lo; i < hi; i++)
+                    count[(int) (keys[i] >>> s) & 0xff]++;
+                break;
+            }
+            case SCATTER: {
+                int[] start = counts[c];
+                long[] keyBuf = this.keyBuf;
+                int[] indexBuf = this.indexBuf;
+                int s = shift;
+                for (int i = lo; i < hi; i++) {
+                    long k = keys[i];
+                    int j = start[(int) (k >>> s) & 0xff]++;
+                    keyBuf[j] = k;
+                    indexBuf[j] = index[i];
+                }
+                break;
+            }
+            default: { // PERMUTE
+                T[] a = this.a, copy = this.copy;
+                int off = from;
+                for (int i = lo; i < hi; i++)
+                    a[off + i] = copy[index[i]];
+                break;
+            }
+            }
+        }
+    }
+
+    /**
+     * Performs a step on a range of chunks, splitting it in halves.
+     */
+    static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 2446542900576103244L;
+        final Sort<?> sort;
+        final int step, lo, hi;
+        ChunkTask(Sort<?> sort, int step, int lo, int hi) {
+            this.sort = sort; this.step = step; this.lo = lo; this.hi = hi;
+        }
+        protected void compute() {
+            if (hi - lo == 1)
+                sort.chunk(step, lo);
+            else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ChunkTask(sort, step, lo, mid),
+                          new ChunkTask(sort, step, mid, hi));
+            }
+        }
+    }
+}
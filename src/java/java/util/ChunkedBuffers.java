@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Chunks of direct or mapped memory holding the elements of a
+ * LongIndexedByteArray, LongArray or DoubleArray.
+ *
+ * An array of n bytes is held in ceil(n / CHUNK_SIZE) byte buffers, all
+ * but the last of CHUNK_SIZE bytes, so that byte i of the array is byte
+ * (i & CHUNK_MASK) of chunk (i >>> CHUNK_SHIFT).  CHUNK_SIZE is a
+ * multiple of the size of every primitive type, so no element of an
+ * array of longs or doubles straddles two chunks, and element i is found
+ * the same way with the shift and mask scaled down by the element size.
+ * Chunks are in the native byte order, so that their long and double
+ * views are copied to and from heap arrays without swapping bytes.
+ *
+ * Absolute gets and puts do not move a buffer's position, so any number
+ * of threads may access distinct elements of an array at once; bulk
+ * operations work on duplicates of the chunks for the same reason.
+ */
+final class ChunkedBuffers {
+
+    private ChunkedBuffers() {}
+
+    static final int CHUNK_SHIFT = 30;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The number of elements staged on the heap at a time by fill, and by
+     * the counting sort of LongIndexedByteArray.  The sorts of LongArray
+     * and DoubleArray stage runs of up to their own HEAP_SORT_SIZE.
+     */
+    static final int BUFFER_SIZE = 1 << 13;
+
+    /**
+     * The least number of elements in a block of a parallel operation.
+     */
+    static final int MIN_BLOCK = 1 << 16;
+
+    /**
+     * Allocates zeroed direct chunks for the given number of bytes.
+     */
+    static ByteBuffer[] allocate(long bytes) {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = ByteBuffer.allocateDirect(chunkSize(bytes, c))
+                                  .order(ByteOrder.nativeOrder());
+        }
+        return chunks;
+    }
+
+    /**
+     * Maps the given region of a file into chunks.
+     */
+    static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode,
+                            long position, long bytes) throws IOException {
+        if (position < 0)
+            throw new IllegalArgumentException("Negative position");
+        if (position > Long.MAX_VALUE - bytes)
+            throw new IllegalArgumentException("Position + size overflow");
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+        for (int c = 0; c < chunks.length; c++) {
+            long p = position + ((long)c << CHUNK_SHIFT);
+            chunks[c] = channel.map(mode, p, chunkSize(bytes, c))
+                               .order(ByteOrder.nativeOrder());
+        }
+        return chunks;
+    }
+
+    private static int chunkCount(long bytes) {
+        long n = (bytes >>> CHUNK_SHIFT) + ((bytes & CHUNK_MASK) != 0 ? 1 : 0);
+        if (n > Integer.MAX_VALUE - 8)
+            throw new OutOfMemoryError("Required array size too large");
+        return (int)n;
+    }
+
+    private static int chunkSize(long bytes, int c) {
+        return (int)Math.min(bytes - ((long)c << CHUNK_SHIFT), CHUNK_SIZE);
+    }
+
+    /**
+     * Converts a number of elements to bytes, given log2 of the element
+     * size, throwing IllegalArgumentException if it cannot be.
+     */
+    static long byteSize(long length, int scale) {
+        if (length < 0)
+            throw new IllegalArgumentException("Negative length: " + length);
+        if (length > (Long.MAX_VALUE >>> scale))
+            throw new IllegalArgumentException("Length too large: " + length);
+        return length << scale;
+    }
+
+    /**
+     * Forces changes made to mapped chunks out to the storage device.
+     */
+    static void force(ByteBuffer[] chunks) {
+        for (ByteBuffer b : chunks) {
+            if (b instanceof MappedByteBuffer)
+                ((MappedByteBuffer)b).force();
+        }
+    }
+
+    /**
+     * Copies n bytes between chunks as System.arraycopy does between
+     * arrays: if the source and destination overlap, as though through a
+     * temporary copy of the source.  Each segment lying within one chunk
+     * of each is copied by a single bulk put, which itself allows
+     * overlap; the segments are copied from the end when the destination
+     * lies after the source, so that none is overwritten before it is
+     * read.
+     */
+    static void copy(ByteBuffer[] src, long srcPos,
+                     ByteBuffer[] dst, long dstPos, long n) {
+        if (src == dst && srcPos < dstPos && dstPos < srcPos + n) {
+            long s = srcPos + n, d = dstPos + n;
+            while (n > 0) {
+                int so = (int)((s - 1) & CHUNK_MASK) + 1;
+                int dox = (int)((d - 1) & CHUNK_MASK) + 1;
+                int len = (int)Math.min(n, Math.min(so, dox));
+                s -= len;
+                d -= len;
+                copySegment(src[(int)(s >>> CHUNK_SHIFT)], so - len,
+                            dst[(int)(d >>> CHUNK_SHIFT)], dox - len, len);
+                n -= len;
+            }
+        } else {
+            while (n > 0) {
+                int so = (int)(srcPos & CHUNK_MASK);
+                int dox = (int)(dstPos & CHUNK_MASK);
+                int len = (int)Math.min(n, CHUNK_SIZE - Math.max(so, dox));
+                copySegment(src[(int)(srcPos >>> CHUNK_SHIFT)], so,
+                            dst[(int)(dstPos >>> CHUNK_SHIFT)], dox, len);
+                srcPos += len;
+                dstPos += len;
+                n -= len;
+            }
+        }
+    }
+
+    private static void copySegment(ByteBuffer src, int srcOff,
+                                    ByteBuffer dst, int dstOff, int len) {
+        ByteBuffer s = src.duplicate();
+        s.limit(srcOff + len);
+        s.position(srcOff);
+        ByteBuffer d = dst.duplicate();
+        d.position(dstOff);
+        d.put(s);
+    }
+
+    /**
+     * Checks that fromIndex and toIndex are in range, as Arrays does.
+     */
+    static void rangeCheck(long length, long fromIndex, long toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(
+                    "fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(
+                    "Array index out of range: " + fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(
+                    "Array index out of range: " + toIndex);
+        }
+    }
+
+    static void checkIndex(long index, long length) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(
+                    "Array index out of range: " + index);
+        }
+    }
+
+    /**
+     * Checks the arguments of a copy between arrays of the given lengths.
+     */
+    static void checkCopy(long srcLength, long srcPos,
+                          long dstLength, long dstPos, long n) {
+        if (n < 0 || srcPos < 0 || srcPos > srcLength - n
+            || dstPos < 0 || dstPos > dstLength - n) {
+            throw new IndexOutOfBoundsException(
+                    "srcPos " + srcPos + ", dstPos " + dstPos
+                    + ", length " + n);
+        }
+    }
+
+    /**
+     * Checks a range of a heap array passed to a bulk get or set.
+     */
+    static void checkBounds(int off, int len, int size) {
+        if ((off | len | (off + len) | (size - (off + len))) < 0)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Returns the number of blocks into which a parallel operation on n
+     * elements is cut: about four per thread of the common pool, each of
+     * at least MIN_BLOCK elements, or one if it should not fork at all.
+     */
+    static int blocks(long n) {
+        int p = ForkJoinPool.getCommonPoolParallelism();
+        if (p <= 1)
+            return 1;
+        return (int)Math.max(1, Math.min(p << 2, n / MIN_BLOCK));
+    }
+}
@@ -89,6 +89,34 @@ final class DualPivotQuicksort {
      */
     private static final int COUNTING_SORT_THRESHOLD_FOR_SHORT_OR_CHAR = 3200;
 
+    /**
+     * If the length of an int or long array to be sorted, that is not
+     * highly structured, is not less than this constant, and a workspace
+     * array large enough for it has been given, as by parallel sorting,
+     * LSD radix sort is used in preference to Quicksort.  Radix sort is
+     * not used otherwise, so that sorting does not need memory
+     * proportional to the length of the array where Quicksort does not.
+     */
+    private static final int RADIX_SORT_THRESHOLD = 1 << 12;
+
+    /**
+     * Returns true if the given workspace array slice, if any, can hold
+     * n elements.
+     */
+    private static boolean hasWorkspace(int n, int[] work,
+                                        int workBase, int workLen) {
+        return work != null && workLen >= n && workBase + n <= work.length;
+    }
+
+    /**
+     * Returns true if the given workspace array slice, if any, can hold
+     * n elements.
+     */
+    private static boolean hasWorkspace(int n, long[] work,
+                                        int workBase, int workLen) {
+        return work != null && workLen >= n && workBase + n <= work.length;
+    }
+
     /*
      * Sorting methods for seven primitive types.
      */
@@ -142,7 +170,12 @@ final class DualPivotQuicksort {
              * use Quicksort instead of merge sort.
              */
             if (++count == MAX_RUN_COUNT) {
-                sort(a, left, right, true);
+                if (right - left >= RADIX_SORT_THRESHOLD &&
+                        hasWorkspace(right - left + 1, work, workBase, workLen)) {
+                    radixSort(a, left, right, work, workBase);
+                } else {
+                    sort(a, left, right, true);
+                }
                 return;
             }
         }
@@ -203,6 +236,52 @@ final class DualPivotQuicksort {
         }
     }
 
+    /**
+     * Sorts the specified range of the array by LSD radix sort, a byte
+     * per pass, using the given workspace array slice.
+     * The counts of the bytes of all passes are taken in one scan, and a
+     * pass is skipped when all elements have the same byte.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param work a workspace array (slice) of at least as many elements
+     * @param workBase origin of usable space in work array
+     */
+    private static void radixSort(int[] a, int left, int right,
+                                  int[] work, int workBase) {
+        int n = right - left + 1;
+        int[] count = new int[4 << 8];
+        for (int i = left; i <= right; ++i) {
+            int v = a[i] ^ Integer.MIN_VALUE;
+            ++count[v & 0xff];
+            ++count[0x100 | (v >>> 8) & 0xff];
+            ++count[0x200 | (v >>> 16) & 0xff];
+            ++count[0x300 | v >>> 24];
+        }
+        int[] src = a, dst = work;
+        int so = left, dso = workBase;
+        for (int shift = 0, c = 0; shift < 32; shift += 8, c += 0x100) {
+            if (count[c | ((a[left] ^ Integer.MIN_VALUE) >>> shift) & 0xff] == n) {
+                continue; // all elements have the same byte
+            }
+            for (int d = c, start = dso; d < c + 0x100; ++d) {
+                int k = count[d];
+                count[d] = start;
+                start += k;
+            }
+            for (int i = so, end = so + n; i < end; ++i) {
+                int v = src[i];
+                dst[count[c | ((v ^ Integer.MIN_VALUE) >>> shift) & 0xff]++] = v;
+            }
+            int[] t = src; src = dst; dst = t;
+            int o = so; so = dso; dso = o;
+        }
+        if (src != a) {
+            System.arraycopy(src, so, a, left, n);
+        }
+    }
+
     /**
      * Sorts the specified range of the array by Dual-Pivot Quicksort.
      *
@@ -590,7 +669,12 @@ final class DualPivotQuicksort {
              * use Quicksort instead of merge sort.
              */
             if (++count == MAX_RUN_COUNT) {
-                sort(a, left, right, true);
+                if (right - left >= RADIX_SORT_THRESHOLD &&
+                        hasWorkspace(right - left + 1, work, workBase, workLen)) {
+                    radixSort(a, left, right, work, workBase);
+                } else {
+                    sort(a, left, right, true);
+                }
                 return;
             }
         }
@@ -651,6 +735,51 @@ final class DualPivotQuicksort {
         }
     }
 
+    /**
+     * Sorts the specified range of the array by LSD radix sort, a byte
+     * per pass, using the given workspace array slice.
+     * The counts of the bytes of all passes are taken in one scan, and a
+     * pass is skipped when all elements have the same byte.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param work a workspace array (slice) of at least as many elements
+     * @param workBase origin of usable space in work array
+     */
+    private static void radixSort(long[] a, int left, int right,
+                                  long[] work, int workBase) {
+        int n = right - left + 1;
+        int[] count = new int[8 << 8];
+        for (int i = left; i <= right; ++i) {
+            long v = a[i] ^ Long.MIN_VALUE;
+            for (int c = 0; c < 8 << 8; c += 0x100, v >>>= 8) {
+                ++count[c | (int) v & 0xff];
+            }
+        }
+        long[] src = a, dst = work;
+        int so = left, dso = workBase;
+        for (int shift = 0, c = 0; shift < 64; shift += 8, c += 0x100) {
+            if (count[c | (int) ((a[left] ^ Long.MIN_VALUE) >>> shift) & 0xff] == n) {
+                continue; // all elements have the same byte
+            }
+            for (int d = c, start = dso; d < c + 0x100; ++d) {
+                int k = count[d];
+                count[d] = start;
+                start += k;
+            }
+            for (int i = so, end = so + n; i < end; ++i) {
+                long v = src[i];
+                dst[count[c | (int) ((v ^ Long.MIN_VALUE) >>> shift) & 0xff]++] = v;
+            }
+            long[] t = src; src = dst; dst = t;
+            int o = so; so = dso; dso = o;
+        }
+        if (src != a) {
+            System.arraycopy(src, so, a, left, n);
+        }
+    }
+
     /**
      * Sorts the specified range of the array by Dual-Pivot Quicksort.
      *
@@ -57,6 +57,7 @@ import java.time.ZoneOffset;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQueries;
+import java.util.concurrent.ConcurrentHashMap;
 
 import sun.misc.DoubleConsts;
 import sun.misc.FormattedFloatingDecimal;
@@ -1854,7 +1855,9 @@ public final class Formatter implements Closeable, Flushable {
 
     private IOException lastException;
 
-    private final char zero;
+    // The zero digit and decimal separator of l, or '\0' until first used
+    private char zero;
+    private char decSep;
     private static double scaleUp;
 
     // 1 (sign) + 19 (max # sig digits) + 1 ('.') + 1 ('e') + 1 (sign)
@@ -1889,7 +1892,6 @@ public final class Formatter implements Closeable, Flushable {
     private Formatter(Locale l, Appendable a) {
         this.a = a;
         this.l = l;
-        this.zero = getZero(l);
     }
 
     private Formatter(Charset charset, Locale l, File file)
@@ -2287,6 +2289,28 @@ public final class Formatter implements Closeable, Flushable {
         }
     }
 
+    // The locale's symbols are looked up on first use, so that a formatter
+    // that prints no localized number, as for most String.format calls,
+    // never loads them.
+    private char zero() {
+        char z = zero;
+        if (z == '\0')
+            zero = z = getZero(l);
+        return z;
+    }
+
+    private char decimalSeparator() {
+        char d = decSep;
+        if (d == '\0') {
+            if (l == null || l.equals(Locale.US))
+                d = '.';
+            else
+                d = DecimalFormatSymbols.getInstance(l).getDecimalSeparator();
+            decSep = d;
+        }
+        return d;
+    }
+
     /**
      * Returns the locale set by the construction of this formatter.
      *
@@ -2498,32 +2522,39 @@ public final class Formatter implements Closeable, Flushable {
         // last ordinary index
         int lasto = -1;
 
-        FormatString[] fsa = parse(format);
-        for (int i = 0; i < fsa.length; i++) {
-            FormatString fs = fsa[i];
-            int index = fs.index();
+        Object[] parts = parse(format);
+        for (int i = 0; i < parts.length; i++) {
             try {
+                if (parts[i] instanceof String) {  // fixed string
+                    a.append((String) parts[i]);
+                    continue;
+                }
+                ParsedSpecifier ps = (ParsedSpecifier) parts[i];
+                int index = ps.index;
                 switch (index) {
-                case -2:  // fixed string, "%n", or "%%"
-                    fs.print(null, l);
+                case -2:  // "%n" or "%%" with flags or width
+                    print(ps, null, l);
                     break;
                 case -1:  // relative index
                     if (last < 0 || (args != null && last > args.length - 1))
-                        throw new MissingFormatArgumentException(fs.toString());
-                    fs.print((args == null ? null : args[last]), l);
+                        throw new MissingFormatArgumentException(
+                            new FormatSpecifier(ps).toString());
+                    print(ps, (args == null ? null : args[last]), l);
                     break;
                 case 0:  // ordinary index
                     lasto++;
                     last = lasto;
                     if (args != null && lasto > args.length - 1)
-                        throw new MissingFormatArgumentException(fs.toString());
-                    fs.print((args == null ? null : args[lasto]), l);
+                        throw new MissingFormatArgumentException(
+                            new FormatSpecifier(ps).toString());
+                    print(ps, (args == null ? null : args[lasto]), l);
                     break;
                 default:  // explicit index
                     last = index - 1;
                     if (args != null && last > args.length - 1)
-                        throw new MissingFormatArgumentException(fs.toString());
-                    fs.print((args == null ? null : args[last]), l);
+                        throw new MissingFormatArgumentException(
+                            new FormatSpecifier(ps).toString());
+                    print(ps, (args == null ? null : args[last]), l);
                     break;
                 }
             } catch (IOException x) {
@@ -2539,36 +2570,71 @@ public final class Formatter implements Closeable, Flushable {
 
     private static Pattern fsPattern = Pattern.compile(formatSpecifier);
 
+    // Parsed format strings, by format string; the cache is cleared when
+    // it fills, so that formats built at run time cannot grow it unbounded
+    private static final int MAX_PARSED_FORMATS = 256;
+    private static final ConcurrentHashMap<String, Object[]> parsedFormats
+        = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the parts of the format string: fixed text, as strings, and
+     * format specifiers, as ParsedSpecifiers.  The parts do not refer to
+     * any formatter, so they are cached and shared by all formatters.
+     */
+    private Object[] parse(String s) {
+        Object[] parts = parsedFormats.get(s);
+        if (parts == null) {
+            parts = parseParts(s);
+            if (parsedFormats.size() >= MAX_PARSED_FORMATS)
+                parsedFormats.clear();
+            parsedFormats.put(s, parts);
+        }
+        return parts;
+    }
+
     /**
      * Finds format specifiers in the format string.
      */
-    private FormatString[] parse(String s) {
-        ArrayList<FormatString> al = new ArrayList<>();
-        Matcher m = fsPattern.matcher(s);
+    private Object[] parseParts(String s) {
+        ArrayList<Object> al = new ArrayList<>();
+        Matcher m = null;
         for (int i = 0, len = s.length(); i < len; ) {
-            if (m.find(i)) {
-                // Anything between the start of the string and the beginning
-                // of the format specifier is either fixed text or contains
-                // an invalid format string.
-                if (m.start() != i) {
-                    // Make sure we didn't miss any invalid format specifiers
-                    checkText(s, i, m.start());
-                    // Assume previous characters were fixed text
-                    al.add(new FixedString(s.substring(i, m.start())));
-                }
-
-                al.add(new FormatSpecifier(m));
-                i = m.end();
-            } else {
-                // No more valid format specifiers.  Check for possible invalid
-                // format specifiers.
-                checkText(s, i, len);
+            int j = s.indexOf('%', i);
+            if (j < 0) {
                 // The rest of the string is fixed text
-                al.add(new FixedString(s.substring(i)));
+                al.add(s.substring(i));
                 break;
             }
+            if (j != i)
+                al.add(s.substring(i, j));
+
+            // A conversion directly after the '%' is parsed without the
+            // regular expression; "%%" and "%n" are then fixed text.
+            char c = (j + 1 < len) ? s.charAt(j + 1) : '\0';
+            if (c != 't' && c != 'T'
+                && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '%')) {
+                FormatSpecifier fs = new FormatSpecifier(c);
+                if (c == Conversion.PERCENT_SIGN)
+                    al.add("%");
+                else if (c == Conversion.LINE_SEPARATOR)
+                    al.add(System.lineSeparator());
+                else
+                    al.add(new ParsedSpecifier(fs));
+                i = j + 2;
+                continue;
+            }
+
+            if (m == null)
+                m = fsPattern.matcher(s);
+            m.region(j, len);
+            if (!m.lookingAt()) {
+                // The '%' starts an invalid format specifier
+                checkText(s, j, len);
+            }
+            al.add(new ParsedSpecifier(new FormatSpecifier(m)));
+            i = m.end();
         }
-        return al.toArray(new FormatString[al.size()]);
+        return al.toArray();
     }
 
     private static void checkText(String s, int start, int end) {
@@ -2587,13 +2653,121 @@ public final class Formatter implements Closeable, Flushable {
         String toString();
     }
 
-    private class FixedString implements FormatString {
-        private String s;
-        FixedString(String s) { this.s = s; }
-        public int index() { return -2; }
-        public void print(Object arg, Locale l)
-            throws IOException { a.append(s); }
-        public String toString() { return s; }
+    /**
+     * A format specifier as parsed, apart from any formatter.  A simple
+     * specifier, one of ordinary index without flags or width whose
+     * conversion is 's', 'd' or 'x', or 'f' with any precision, is printed
+     * by printSimple where it can be; others are printed by a
+     * FormatSpecifier made from it.
+     */
+    private static final class ParsedSpecifier {
+        final int index;
+        final Flags f;
+        final int width;
+        final int precision;
+        final boolean dt;
+        final char c;
+        final boolean simple;
+
+        ParsedSpecifier(FormatSpecifier fs) {
+            index = fs.index;
+            f = fs.f;
+            width = fs.width;
+            precision = fs.precision;
+            dt = fs.dt;
+            c = fs.c;
+            simple = index == 0 && f.valueOf() == 0 && width == -1 && !dt
+                && (c == Conversion.DECIMAL_FLOAT
+                    || (precision == -1
+                        && (c == Conversion.STRING
+                            || c == Conversion.DECIMAL_INTEGER
+                            || c == Conversion.HEXADECIMAL_INTEGER)));
+        }
+    }
+
+    private void print(ParsedSpecifier ps, Object arg, Locale l)
+        throws IOException
+    {
+        if (!ps.simple || !printSimple(ps.c, ps.precision, arg, l))
+            new FormatSpecifier(ps).print(arg, l);
+    }
+
+    /**
+     * Prints the argument of a simple specifier as a FormatSpecifier
+     * would, without the intermediate strings.  Returns false, having
+     * printed nothing, for an argument that is null, formattable or of
+     * another type, and for a number localized in a locale other than
+     * that of this formatter.
+     */
+    private boolean printSimple(char c, int precision, Object arg, Locale l)
+        throws IOException
+    {
+        switch (c) {
+        case Conversion.STRING:
+            if (arg == null || arg instanceof Formattable)
+                return false;
+            a.append(arg.toString());
+            return true;
+        case Conversion.HEXADECIMAL_INTEGER:
+            if (arg instanceof Integer)
+                a.append(Integer.toHexString((Integer) arg));
+            else if (arg instanceof Long)
+                a.append(Long.toHexString((Long) arg));
+            else
+                return false;
+            return true;
+        case Conversion.DECIMAL_INTEGER: {
+            if (!(arg instanceof Integer || arg instanceof Long
+                  || arg instanceof Short || arg instanceof Byte)
+                || (l != null && !l.equals(this.l)))
+                return false;
+            String s = arg.toString();
+            char zero = zero();
+            if (zero == '0') {
+                a.append(s);
+            } else {
+                for (int i = 0; i < s.length(); i++) {
+                    char d = s.charAt(i);
+                    a.append(d == '-' ? d : (char) ((d - '0') + zero));
+                }
+            }
+            return true;
+        }
+        case Conversion.DECIMAL_FLOAT: {
+            if (!(arg instanceof Double || arg instanceof Float)
+                || (l != null && !l.equals(this.l)))
+                return false;
+            double value = ((Number) arg).doubleValue();
+            if (Double.isNaN(value) || Double.isInfinite(value))
+                return false;
+            int prec = (precision == -1 ? 6 : precision);
+            char[] mant = FormattedFloatingDecimal.valueOf(Math.abs(value),
+                prec, FormattedFloatingDecimal.Form.DECIMAL_FLOAT).getMantissa();
+
+            if (Double.compare(value, 0.0) == -1)
+                a.append('-');
+            char zero = zero();
+            char decSep = (l == null) ? '.' : decimalSeparator();
+            int dot = mant.length;
+            for (int i = 0; i < mant.length; i++) {
+                if (mant[i] == '.') {
+                    dot = i;
+                    a.append(decSep);
+                } else {
+                    a.append((char) ((mant[i] - '0') + zero));
+                }
+            }
+            // add zeros to the precision, as addZeros does
+            int outPrec = (dot == mant.length) ? 0 : mant.length - dot - 1;
+            if (outPrec < prec && dot == mant.length)
+                a.append(decSep);
+            for (; outPrec < prec; outPrec++)
+                a.append(zero);
+            return true;
+        }
+        default:
+            return false;
+        }
     }
 
     /**
@@ -2718,7 +2892,29 @@ public final class Formatter implements Closeable, Flushable {
             }
 
             conversion(m.group(idx));
+            check();
+        }
+
+        // A specifier of just a conversion, other than date/time
+        FormatSpecifier(char c) {
+            index(null);
+            flags("");
+            width(null);
+            precision(null);
+            conversion(String.valueOf(c));
+            check();
+        }
+
+        FormatSpecifier(ParsedSpecifier ps) {
+            index = ps.index;
+            f = ps.f;
+            width = ps.width;
+            precision = ps.precision;
+            dt = ps.dt;
+            c = ps.c;
+        }
 
+        private void check() {
             if (dt)
                 checkDateTime();
             else if (Conversion.isGeneral(c))
@@ -4307,7 +4503,7 @@ public final class Formatter implements Closeable, Flushable {
                 DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(l);
                 return dfs.getZeroDigit();
             }
-            return zero;
+            return zero();
         }
 
         private StringBuilder
@@ -0,0 +1,716 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * Hash table mapping primitive {@code int} keys to primitive {@code int}
+ * values.  Unlike {@code HashMap<Integer, Integer>}, this map stores its
+ * mappings in two flat {@code int[]} arrays, so a mapping costs no entry
+ * object and no boxed key or value.  Collisions are resolved by linear
+ * probing, and removals shift later entries of a probe sequence back into
+ * the freed slot rather than leaving tombstones.
+ *
+ * <p>Because values are primitive, methods that would return {@code null}
+ * for an absent key in {@link Map} return {@code 0} instead; use
+ * {@link #containsKey} or {@link #getOrDefault} where the distinction
+ * matters.  Every {@code int} value, including zero, is a valid key.
+ *
+ * <p>{@link #asMap} returns a {@code Map<Integer, Integer>} view backed by
+ * this map, for interoperating with code written against the collections
+ * framework.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * The iterators of the {@link #asMap} view are <i>fail-fast</i> in the same
+ * sense as those of {@link HashMap}.
+ *
+ * @see HashMap
+ * @see LongObjectHashMap
+ * @see LongLongHashMap
+ */
+public class IntIntHashMap {
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity; the key and value arrays are indexed by int.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Key of each slot.  A slot holding {@code 0} is free: the zero key
+     * itself is kept out of the table in {@link #zeroValue}.
+     */
+    int[] keys;
+
+    /**
+     * Value of each slot, parallel to {@link #keys}.
+     */
+    int[] values;
+
+    /**
+     * Whether the zero key is present, and its value.
+     */
+    boolean hasZeroKey;
+    int zeroValue;
+
+    /**
+     * The number of key-value mappings, including the zero key.
+     */
+    int size;
+
+    /**
+     * The next size value at which to resize.
+     */
+    int threshold;
+
+    /**
+     * The load factor for the hash table.
+     */
+    final float loadFactor;
+
+    /**
+     * The number of times this map has been structurally modified, used to
+     * make iterators of the map view fail-fast.
+     */
+    transient int modCount;
+
+    /**
+     * Lazily created map view.
+     */
+    transient Map<Integer,Integer> mapView;
+
+    /**
+     * Constructs an empty map with the default initial capacity (16) and
+     * the default load factor (0.5).
+     */
+    public IntIntHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty map able to hold {@code expectedSize} mappings
+     * without resizing, with the default load factor (0.5).
+     *
+     * @param  expectedSize the expected number of mappings
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public IntIntHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty map able to hold {@code expectedSize} mappings
+     * without resizing, with the specified load factor.
+     *
+     * @param  expectedSize the expected number of mappings
+     * @param  loadFactor the load factor, greater than 0 and less than 1
+     * @throws IllegalArgumentException if the expected size is negative
+     *         or the load factor is not in (0, 1)
+     */
+    public IntIntHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " +
+                                               expectedSize);
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                                               loadFactor);
+        this.loadFactor = loadFactor;
+        int cap = OpenHashing.capacityFor(expectedSize, loadFactor);
+        keys = new int[cap];
+        values = new int[cap];
+        threshold = OpenHashing.thresholdOf(cap, loadFactor);
+    }
+
+    /**
+     * Returns the home slot of the given key in a table of the given mask.
+     */
+    static int slot(int key, int mask) {
+        return OpenHashing.mix(key) & mask;
+    }
+
+    /**
+     * Returns the slot holding the given non-zero key, or -1 if absent.
+     */
+    final int indexOf(int key) {
+        int[] ks = keys;
+        int mask = ks.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            int k = ks[i];
+            if (k == key)
+                return i;
+            if (k == 0)
+                return -1;
+        }
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the
+     * specified key.
+     *
+     * @param  key the key whose presence is to be tested
+     * @return {@code true} if this map contains a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        return (key == 0) ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value.  This operation requires time linear in the
+     * capacity of the table.
+     *
+     * @param  value value whose presence is to be tested
+     * @return {@code true} if this map maps one or more keys to the value
+     */
+    public boolean containsValue(int value) {
+        if (hasZeroKey && zeroValue == value)
+            return true;
+        int[] ks = keys;
+        int[] vs = values;
+        for (int i = 0; i < ks.length; ++i) {
+            if (ks[i] != 0 && vs[i] == value)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code 0} if this map contains no mapping for the key.
+     *
+     * @param  key the key whose associated value is to be returned
+     * @return the value mapped to the key, or {@code 0}
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param  key the key whose associated value is to be returned
+     * @param  defaultValue the default mapping of the key
+     * @return the value mapped to the key, or {@code defaultValue}
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0)
+            return hasZeroKey ? zeroValue : defaultValue;
+        int i = indexOf(key);
+        return (i < 0) ? defaultValue : values[i];
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param  key key with which the specified value is to be associated
+     * @param  value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code 0} if there was no mapping for {@code key}
+     */
+    public int put(int key, int value) {
+        if (key == 0) {
+            int old = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++modCount;
+                ++size;
+            }
+            return old;
+        }
+        int i = insertionSlot(key);
+        int old = values[i];
+        values[i] = value;
+        if (keys[i] == 0) {
+            keys[i] = key;
+            added();
+        }
+        return old;
+    }
+
+    /**
+     * Adds {@code delta} to the value mapped to the specified key, first
+     * mapping the key to {@code 0} if absent.  This is the primitive
+     * counterpart of {@code map.merge(key, delta, Integer::sum)}.
+     *
+     * @param  key the key whose value is to be incremented
+     * @param  delta the amount to add
+     * @return the new value associated with {@code key}
+     */
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                zeroValue = 0;
+                ++modCount;
+                ++size;
+            }
+            return zeroValue += delta;
+        }
+        int i = insertionSlot(key);
+        int v = values[i] += delta;
+        if (keys[i] == 0) {
+            keys[i] = key;
+            added();
+        }
+        return v;
+    }
+
+    /**
+     * If the specified key is present, replaces its value with the result
+     * of applying the function to the old value and {@code value};
+     * otherwise maps the key to {@code value}.
+     *
+     * @param  key key with which the resulting value is to be associated
+     * @param  value the value to merge with an existing value
+     * @param  remappingFunction the function to combine the two values
+     * @return the new value associated with {@code key}
+     * @throws NullPointerException if the function is null
+     */
+    public int merge(int key, int value, IntBinaryOperator remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        if (key == 0) {
+            int v = hasZeroKey ?
+                remappingFunction.applyAsInt(zeroValue, value) : value;
+            put(0, v);
+            return v;
+        }
+        int i = indexOf(key);
+        if (i >= 0)
+            return values[i] = remappingFunction.applyAsInt(values[i], value);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code 0} if there was no mapping for {@code key}
+     */
+    public int remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey)
+                return 0;
+            int old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            ++modCount;
+            --size;
+            return old;
+        }
+        int i = indexOf(key);
+        if (i < 0)
+            return 0;
+        int old = values[i];
+        removeAt(i, null);
+        return old;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        if (size > 0) {
+            ++modCount;
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, 0);
+            hasZeroKey = false;
+            zeroValue = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * Performs the given action for each key in this map.
+     *
+     * @param  action the action to be performed for each key
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEachKey(IntConsumer action) {
+        Objects.requireNonNull(action);
+        int mc = modCount;
+        if (hasZeroKey)
+            action.accept(0);
+        int[] ks = keys;
+        for (int i = 0; i < ks.length; ++i) {
+            if (ks[i] != 0)
+                action.accept(ks[i]);
+        }
+        if (mc != modCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns the slot holding the given non-zero key, or the free slot
+     * ending its probe sequence.
+     */
+    private int insertionSlot(int key) {
+        int[] ks = keys;
+        int mask = ks.length - 1;
+        int i = slot(key, mask);
+        for (int k; (k = ks[i]) != 0 && k != key; i = (i + 1) & mask)
+            ;
+        return i;
+    }
+
+    /**
+     * Accounts for a mapping just stored in a free slot.
+     */
+    private void added() {
+        ++modCount;
+        if (++size > threshold)
+            resize();
+    }
+
+    /**
+     * Empties slot {@code i} and shifts back later entries of the same
+     * probe run whose home slot no longer lies between the hole and their
+     * current position.
+     *
+     * @param  wrapped if not null, receives the entries the shift carries
+     *         from below slot {@code i} to slot {@code i} or above, by
+     *         wrapping around the end of the table
+     */
+    final void removeAt(int i, ArrayList<Entry> wrapped) {
+        int[] ks = keys;
+        int[] vs = values;
+        int mask = ks.length - 1;
+        int start = i;
+        for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            int k = ks[j];
+            if (k == 0)
+                break;
+            int home = slot(k, mask);
+            if ((j > i) ? (home <= i || home > j) : (home <= i && home > j)) {
+                if (wrapped != null && j < start && i >= start)
+                    wrapped.add(new Entry(k, vs[j]));
+                ks[i] = k;
+                vs[i] = vs[j];
+                i = j;
+            }
+        }
+        ks[i] = 0;
+        vs[i] = 0;
+        ++modCount;
+        --size;
+    }
+
+    /**
+     * Doubles the table, reinserting every mapping.
+     */
+    final void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int oldCap = oldKeys.length;
+        if (oldCap >= MAXIMUM_CAPACITY) {
+            if (size >= MAXIMUM_CAPACITY - 1)
+                throw new IllegalStateException("Map is full");
+            threshold = MAXIMUM_CAPACITY - 1;
+            return;
+        }
+        int newCap = oldCap << 1, mask = newCap - 1;
+        int[] ks = new int[newCap];
+        int[] vs = new int[newCap];
+        for (int j = 0; j < oldCap; ++j) {
+            int k = oldKeys[j];
+            if (k != 0) {
+                int i = slot(k, mask);
+                while (ks[i] != 0)
+                    i = (i + 1) & mask;
+                ks[i] = k;
+                vs[i] = oldValues[j];
+            }
+        }
+        keys = ks;
+        values = vs;
+        threshold = OpenHashing.thresholdOf(newCap, loadFactor);
+    }
+
+    /**
+     * Returns a {@link Map} view of the mappings contained in this map.
+     * The view is backed by this map, so changes to either are reflected
+     * in the other.  The view supports every optional {@code Map}
+     * operation; storing a {@code null} key or value through it throws
+     * {@code NullPointerException}.
+     *
+     * @return a map view of this map
+     */
+    public Map<Integer,Integer> asMap() {
+        Map<Integer,Integer> m;
+        return (m = mapView) == null ? (mapView = new MapView()) : m;
+    }
+
+    /**
+     * Returns the hash code value for this map, as defined by
+     * {@link Map#hashCode}.
+     */
+    public int hashCode() {
+        int h = hasZeroKey ? zeroValue : 0;
+        int[] ks = keys;
+        int[] vs = values;
+        for (int i = 0; i < ks.length; ++i) {
+            if (ks[i] != 0)
+                h += ks[i] ^ vs[i];
+        }
+        return h;
+    }
+
+    /**
+     * Compares the specified object with this map for equality.  Returns
+     * {@code true} if the object is also an {@code IntIntHashMap} with the
+     * same mappings.
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof IntIntHashMap))
+            return false;
+        IntIntHashMap m = (IntIntHashMap)o;
+        if (m.size != size || m.hasZeroKey != hasZeroKey ||
+            (hasZeroKey && m.zeroValue != zeroValue))
+            return false;
+        int[] ks = keys;
+        int[] vs = values;
+        for (int i = 0; i < ks.length; ++i) {
+            int k = ks[i];
+            if (k != 0) {
+                int j = m.indexOf(k);
+                if (j < 0 || m.values[j] != vs[i])
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a string representation of this map, in the format used by
+     * {@link AbstractMap#toString}.
+     */
+    public String toString() {
+        return asMap().toString();
+    }
+
+    /* ------------------------------------------------------------ */
+    // Map view
+
+    final class MapView extends AbstractMap<Integer,Integer> {
+        transient Set<Map.Entry<Integer,Integer>> entrySet;
+
+        public int size()                   { return size; }
+        public void clear()                 { IntIntHashMap.this.clear(); }
+        public boolean containsValue(Object v) {
+            return (v instanceof Integer) &&
+                IntIntHashMap.this.containsValue((Integer)v);
+        }
+        public boolean containsKey(Object key) {
+            return (key instanceof Integer) &&
+                IntIntHashMap.this.containsKey((Integer)key);
+        }
+        public Integer get(Object key) {
+            if (key instanceof Integer) {
+                int k = (Integer)key;
+                if (IntIntHashMap.this.containsKey(k))
+                    return IntIntHashMap.this.get(k);
+            }
+            return null;
+        }
+        public Integer put(Integer key, Integer value) {
+            int k = key, v = value;
+            boolean present = IntIntHashMap.this.containsKey(k);
+            int old = IntIntHashMap.this.put(k, v);
+            return present ? old : null;
+        }
+        public Integer remove(Object key) {
+            if (key instanceof Integer) {
+                int k = (Integer)key;
+                if (IntIntHashMap.this.containsKey(k))
+                    return IntIntHashMap.this.remove(k);
+            }
+            return null;
+        }
+        public Set<Map.Entry<Integer,Integer>> entrySet() {
+            Set<Map.Entry<Integer,Integer>> es;
+            return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+        }
+    }
+
+    final class EntrySet extends AbstractSet<Map.Entry<Integer,Integer>> {
+        public int size()   { return size; }
+        public void clear() { IntIntHashMap.this.clear(); }
+        public Iterator<Map.Entry<Integer,Integer>> iterator() {
+            return new EntryIterator();
+        }
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            Object k = e.getKey(), v = e.getValue();
+            if (!(k instanceof Integer) || !(v instanceof Integer))
+                return false;
+            int key = (Integer)k;
+            return containsKey(key) && get(key) == (Integer)v;
+        }
+        public boolean remove(Object o) {
+            if (contains(o)) {
+                IntIntHashMap.this.remove((int)(Integer)((Map.Entry<?,?>)o).getKey());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    final class Entry implements Map.Entry<Integer,Integer> {
+        final int key;
+        int value;
+        Entry(int key, int value) { this.key = key; this.value = value; }
+        public Integer getKey()   { return key; }
+        public Integer getValue() { return value; }
+        public Integer setValue(Integer v) {
+            int old = value;
+            value = v;
+            put(key, value);
+            return old;
+        }
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            return Integer.valueOf(key).equals(e.getKey()) &&
+                Integer.valueOf(value).equals(e.getValue());
+        }
+        public int hashCode() { return key ^ value; }
+        public String toString() { return key + "=" + value; }
+    }
+
+    /**
+     * Iterates the table from the highest slot down, then the zero key.
+     * See {@link LongObjectHashMap.EntryIterator} for how removals that
+     * shift entries across the cursor are handled.
+     */
+    final class EntryIterator implements Iterator<Map.Entry<Integer,Integer>> {
+        int pos = keys.length;      // next slot to examine is pos - 1
+        int last = -1;              // slot of last returned, -1 if none
+        boolean zeroPending = hasZeroKey;
+        boolean lastWasZero;
+        ArrayList<Entry> wrapped = new ArrayList<>(); // moved across cursor
+        int wrappedIndex;
+        Entry lastWrapped;
+        int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            if (advance() >= 0)
+                return true;
+            return wrappedIndex < wrapped.size() || zeroPending;
+        }
+
+        private int advance() {
+            int[] ks = keys;
+            int p = pos;
+            while (--p >= 0) {
+                if (ks[p] != 0) {
+                    pos = p + 1;
+                    return p;
+                }
+            }
+            pos = 0;
+            return -1;
+        }
+
+        public Map.Entry<Integer,Integer> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            lastWasZero = false;
+            lastWrapped = null;
+            int p = advance();
+            if (p >= 0) {
+                pos = p;
+                last = p;
+                return new Entry(keys[p], values[p]);
+            }
+            last = -1;
+            if (wrappedIndex < wrapped.size())
+                return lastWrapped = wrapped.get(wrappedIndex++);
+            if (zeroPending) {
+                zeroPending = false;
+                lastWasZero = true;
+                return new Entry(0, zeroValue);
+            }
+            throw new NoSuchElementException();
+        }
+
+        public void remove() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (lastWasZero) {
+                IntIntHashMap.this.remove(0);
+                lastWasZero = false;
+            } else if (lastWrapped != null) {
+                IntIntHashMap.this.remove(lastWrapped.key);
+                lastWrapped = null;
+            } else if (last >= 0) {
+                removeAt(last, wrapped);
+                last = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+    }
+}
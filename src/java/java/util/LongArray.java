@@ -0,0 +1,729 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An array of {@code long}s indexed by {@code long}, held outside the Java
+ * heap.  An instance is either {@linkplain #allocate allocated} in direct
+ * memory or {@linkplain #map mapped} from a region of a file, so that it
+ * may hold more than {@link Integer#MAX_VALUE} elements, up to the limits
+ * of the address space and of {@code -XX:MaxDirectMemorySize} or of the
+ * file system, and data larger than the heap can be processed in place.
+ *
+ * <p>The elements are held in chunks of direct {@link ByteBuffer}s, in the
+ * native byte order; an index is split into a chunk and an offset within
+ * it.  Besides single element access, the class provides bulk copies to
+ * and from {@code long[]} arrays and between arrays of this class, a
+ * {@link Spliterator.OfLong} for sequential and parallel streams, and
+ * the {@code sort}, {@code binarySearch}, {@code fill} and
+ * {@code parallelPrefix} operations of {@link Arrays}.
+ *
+ * <p>Like an array, an instance is not synchronized: threads may read
+ * and write distinct elements concurrently, but access to the same
+ * element must be coordinated externally.  Its memory is released, and
+ * a mapping is removed, only when the instance and the buffers backing it
+ * become unreachable and are collected, as for any direct buffer.  An
+ * array mapped {@linkplain FileChannel.MapMode#READ_ONLY read-only}
+ * throws {@link java.nio.ReadOnlyBufferException} from the methods that
+ * would modify it.
+ *
+ * @see Arrays
+ * @see DoubleArray
+ * @see LongIndexedByteArray
+ * @since 9
+ */
+public final class LongArray {
+
+    // log2 of the number of elements in a chunk, and the mask of an
+    // index within a chunk
+    private static final int SHIFT = ChunkedBuffers.CHUNK_SHIFT - 3;
+    private static final int MASK = (1 << SHIFT) - 1;
+
+    /**
+     * Ranges of at most this many elements are sorted by copying them to
+     * the heap and sorting them there with {@link Arrays#sort(long[])}.
+     */
+    private static final int HEAP_SORT_SIZE = 1 << 20;
+
+    private final long length;
+    private final ByteBuffer[] chunks;
+    private final LongBuffer[] views;      // of the chunks
+
+    private LongArray(long length, ByteBuffer[] chunks) {
+        this.length = length;
+        this.chunks = chunks;
+        this.views = new LongBuffer[chunks.length];
+        for (int c = 0; c < chunks.length; c++)
+            views[c] = chunks[c].asLongBuffer();
+    }
+
+    /**
+     * Allocates an array of the given length in direct memory.  Its
+     * elements are initially zero.
+     *
+     * @param length the number of elements
+     * @return the new array
+     * @throws IllegalArgumentException if {@code length} is negative or
+     *         the array would have more than {@code Long.MAX_VALUE} bytes
+     * @throws OutOfMemoryError if the direct memory cannot be allocated
+     */
+    public static LongArray allocate(long length) {
+        return new LongArray(length, ChunkedBuffers.allocate(
+                ChunkedBuffers.byteSize(length, 3)));
+    }
+
+    /**
+     * Maps an array of the given length from a region of a file, of
+     * {@code length * 8} bytes starting at {@code position}, in the native
+     * byte order.  The mapping behaves as those of
+     * {@link FileChannel#map FileChannel.map}: if the mode is
+     * {@code READ_WRITE} and the file is shorter than the region, it is
+     * extended; changes made in {@code PRIVATE} mode are not written to
+     * the file.  The mapping remains valid after the channel is closed.
+     *
+     * @param channel the channel of the file
+     * @param mode the mode in which the region is mapped
+     * @param position the position in the file at which the array starts
+     * @param length the number of elements
+     * @return the mapped array
+     * @throws IllegalArgumentException if {@code position} or
+     *         {@code length} is negative or the region would end past
+     *         {@code Long.MAX_VALUE}
+     * @throws IOException if an I/O error occurs
+     * @see FileChannel#map
+     */
+    public static LongArray map(FileChannel channel, FileChannel.MapMode mode,
+                                long position, long length)
+        throws IOException {
+        return new LongArray(length, ChunkedBuffers.map(
+                channel, mode, position, ChunkedBuffers.byteSize(length, 3)));
+    }
+
+    /**
+     * Returns the number of elements in this array.
+     *
+     * @return the length of this array
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param index the index of the element
+     * @return the element
+     * @throws ArrayIndexOutOfBoundsException if {@code index} is
+     *         negative or not less than {@link #length()}
+     */
+    public long get(long index) {
+        ChunkedBuffers.checkIndex(index, length);
+        return get0(index);
+    }
+
+    /**
+     * Sets the element at the given index.
+     *
+     * @param index the index of the element
+     * @param value the new value of the element
+     * @throws ArrayIndexOutOfBoundsException if {@code index} is
+     *         negative or not less than {@link #length()}
+     */
+    public void set(long index, long value) {
+        ChunkedBuffers.checkIndex(index, length);
+        set0(index, value);
+    }
+
+    private long get0(long i) {
+        return views[(int)(i >>> SHIFT)].get((int)i & MASK);
+    }
+
+    private void set0(long i, long v) {
+        views[(int)(i >>> SHIFT)].put((int)i & MASK, v);
+    }
+
+    private void swap(long i, long j) {
+        long t = get0(i);
+        set0(i, get0(j));
+        set0(j, t);
+    }
+
+    /**
+     * Copies {@code len} elements of this array, starting at
+     * {@code index}, into {@code dst} starting at {@code off}.
+     *
+     * @param index the index of the first element to copy
+     * @param dst the array into which the elements are copied
+     * @param off the offset in {@code dst} of the first element copied
+     * @param len the number of elements to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public void get(long index, long[] dst, int off, int len) {
+        ChunkedBuffers.checkBounds(off, len, dst.length);
+        ChunkedBuffers.checkCopy(length, index, length, index, len);
+        while (len > 0) {
+            LongBuffer v = views[(int)(index >>> SHIFT)].duplicate();
+            int o = (int)index & MASK;
+            int n = Math.min(len, v.capacity() - o);
+            v.position(o);
+            v.get(dst, off, n);
+            index += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Copies {@code len} elements of {@code src}, starting at {@code off},
+     * into this array starting at {@code index}.
+     *
+     * @param index the index in this array of the first element copied
+     * @param src the array from which the elements are copied
+     * @param off the offset in {@code src} of the first element to copy
+     * @param len the number of elements to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public void set(long index, long[] src, int off, int len) {
+        ChunkedBuffers.checkBounds(off, len, src.length);
+        ChunkedBuffers.checkCopy(length, index, length, index, len);
+        while (len > 0) {
+            LongBuffer v = views[(int)(index >>> SHIFT)].duplicate();
+            int o = (int)index & MASK;
+            int n = Math.min(len, v.capacity() - o);
+            v.position(o);
+            v.put(src, off, n);
+            index += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at
+     * {@code srcPos}, into {@code dest} starting at {@code destPos}, as
+     * {@link System#arraycopy System.arraycopy} does: if the arrays are
+     * the same and the ranges overlap, as though through a temporary
+     * copy of the source range.
+     *
+     * @param src the source array
+     * @param srcPos the index in the source array of the first element
+     * @param dest the destination array
+     * @param destPos the index in the destination array of the first
+     *        element
+     * @param length the number of elements to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public static void copy(LongArray src, long srcPos,
+                            LongArray dest, long destPos, long length) {
+        ChunkedBuffers.checkCopy(src.length, srcPos, dest.length, destPos,
+                                 length);
+        ChunkedBuffers.copy(src.chunks, srcPos << 3,
+                            dest.chunks, destPos << 3, length << 3);
+    }
+
+    /**
+     * Forces any changes made to this array, if it is mapped from a file,
+     * to be written to the storage device containing the file.
+     *
+     * @see java.nio.MappedByteBuffer#force
+     */
+    public void force() {
+        ChunkedBuffers.force(chunks);
+    }
+
+    /**
+     * Assigns the given value to each element of this array.
+     *
+     * @param value the value to be stored in all elements
+     */
+    public void fill(long value) {
+        fill(0, length, value);
+    }
+
+    /**
+     * Assigns the given value to each element of the given range of this
+     * array, from {@code fromIndex}, inclusive, to {@code toIndex},
+     * exclusive.
+     *
+     * @param fromIndex the index of the first element to be filled
+     * @param toIndex the index after the last element to be filled
+     * @param value the value to be stored in the elements
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     */
+    public void fill(long fromIndex, long toIndex, long value) {
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        long[] buf = new long[(int)Math.min(toIndex - fromIndex,
+                                            ChunkedBuffers.BUFFER_SIZE)];
+        Arrays.fill(buf, value);
+        for (long i = fromIndex; i < toIndex; i += buf.length)
+            set(i, buf, 0, (int)Math.min(buf.length, toIndex - i));
+    }
+
+    /**
+     * Sorts this array into ascending numerical order.
+     *
+     * @implNote The array is quicksorted in place, choosing the median of
+     * three elements as pivot, down to ranges of about a million
+     * elements; each of these is copied to the heap, sorted there by
+     * {@link Arrays#sort(long[], int, int)} and copied back.  So the
+     * sort needs no off-heap memory beyond the array itself.  Should the
+     * partitioning go too deep, the range is heapsorted in place, so that
+     * the sort takes O(n log(n)) time in all cases.
+     */
+    public void sort() {
+        sort(0, length);
+    }
+
+    /**
+     * Sorts the given range of this array into ascending order.  The range
+     * to be sorted extends from {@code fromIndex}, inclusive, to
+     * {@code toIndex}, exclusive.
+     *
+     * @param fromIndex the index of the first element to be sorted
+     * @param toIndex the index after the last element to be sorted
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     */
+    public void sort(long fromIndex, long toIndex) {
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        long n = toIndex - fromIndex;
+        new SortTask(this, fromIndex, toIndex, depthLimit(n), false,
+                     new long[(int)Math.min(n, HEAP_SORT_SIZE)]).compute();
+    }
+
+    /**
+     * Sorts this array into ascending numerical order, using the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}
+     * to sort the parts into which it is partitioned in parallel.
+     *
+     * @see #sort()
+     */
+    public void parallelSort() {
+        parallelSort(0, length);
+    }
+
+    /**
+     * Sorts the given range of this array into ascending order, using the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}
+     * to sort the parts into which it is partitioned in parallel.
+     *
+     * @param fromIndex the index of the first element to be sorted
+     * @param toIndex the index after the last element to be sorted
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     * @see #sort(long, long)
+     */
+    public void parallelSort(long fromIndex, long toIndex) {
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        long n = toIndex - fromIndex;
+        if (ChunkedBuffers.blocks(n) <= 1)
+            sort(fromIndex, toIndex);
+        else
+            new SortTask(this, fromIndex, toIndex, depthLimit(n), true,
+                         null).invoke();
+    }
+
+    private static int depthLimit(long n) {
+        return 2 * (64 - Long.numberOfLeadingZeros(n));
+    }
+
+    /**
+     * Sorts a range: partitions it until its parts are small enough to be
+     * sorted on the heap, sorting the smaller part of each partition in a
+     * subtask, forked if parallel, and the larger in this one.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final LongArray a;
+        final long lo, hi;
+        final int depth;
+        final boolean parallel;
+        long[] buf;             // shared by sequential tasks, else per leaf
+        SortTask next;          // in the stack of forked subtasks
+
+        SortTask(LongArray a, long lo, long hi, int depth, boolean parallel,
+                 long[] buf) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.parallel = parallel;
+            this.buf = buf;
+        }
+
+        protected void compute() {
+            LongArray a = this.a;
+            long lo = this.lo, hi = this.hi;
+            int depth = this.depth;
+            SortTask forked = null;
+            while (hi - lo > HEAP_SORT_SIZE) {
+                if (--depth < 0) {
+                    a.heapSort(lo, hi);
+                    lo = hi;
+                    break;
+                }
+                long p = a.partition(lo, hi);
+                SortTask t;
+                if (p - lo < hi - p) {
+                    t = new SortTask(a, lo, p, depth, parallel, buf);
+                    lo = p;
+                } else {
+                    t = new SortTask(a, p, hi, depth, parallel, buf);
+                    hi = p;
+                }
+                if (parallel) {
+                    t.next = forked;
+                    forked = t;
+                    t.fork();
+                } else {
+                    t.compute();
+                }
+            }
+            if (hi - lo > 1) {
+                int n = (int)(hi - lo);
+                long[] b = buf;
+                if (b == null || b.length < n)
+                    b = new long[n];
+                a.get(lo, b, 0, n);
+                Arrays.sort(b, 0, n);
+                a.set(lo, b, 0, n);
+            }
+            for (; forked != null; forked = forked.next)
+                forked.join();
+        }
+    }
+
+    /**
+     * Moves the median of the first, middle and last elements of the
+     * range to its start and partitions the range around it, Hoare
+     * style.  Returns p, lo < p < hi, such that no element before p is
+     * greater, and none from p on is less, than the pivot.
+     */
+    private long partition(long lo, long hi) {
+        long mid = lo + ((hi - lo) >>> 1), last = hi - 1;
+        long x = get0(lo), y = get0(mid), z = get0(last);
+        long m = (x < y) ? ((y < z) ? mid : (x < z) ? last : lo)
+                         : ((x < z) ? lo : (y < z) ? last : mid);
+        swap(lo, m);
+        long v = get0(lo);
+        long i = lo - 1, j = hi;
+        for (;;) {
+            while (get0(++i) < v)
+                ;
+            while (get0(--j) > v)
+                ;
+            if (i >= j)
+                return j + 1;
+            swap(i, j);
+        }
+    }
+
+    private void heapSort(long lo, long hi) {
+        long n = hi - lo;
+        for (long k = (n >>> 1) - 1; k >= 0; k--)
+            siftDown(lo, k, n);
+        while (n > 1) {
+            swap(lo, lo + --n);
+            siftDown(lo, 0, n);
+        }
+    }
+
+    private void siftDown(long lo, long k, long n) {
+        long x = get0(lo + k);
+        for (long c; (c = (k << 1) + 1) < n; k = c) {
+            long y = get0(lo + c);
+            if (c + 1 < n) {
+                long r = get0(lo + c + 1);
+                if (y < r) {
+                    y = r;
+                    c++;
+                }
+            }
+            if (x >= y)
+                break;
+            set0(lo + k, y);
+        }
+        set0(lo + k, x);
+    }
+
+    /**
+     * Searches this array for the given value using the binary search
+     * algorithm.  The array must be sorted, as by {@link #sort()}, prior
+     * to making this call; if it is not, the results are undefined.  If
+     * the array contains multiple elements with the given value, there is
+     * no guarantee which one will be found.
+     *
+     * @param key the value to be searched for
+     * @return index of the search key, if it is contained in the array;
+     *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>, where
+     *         the insertion point is the index of the first element
+     *         greater than the key, or {@link #length()} if all elements
+     *         are less than it
+     */
+    public long binarySearch(long key) {
+        return binarySearch0(0, length, key);
+    }
+
+    /**
+     * Searches the given range of this array for the given value using the
+     * binary search algorithm.  The range must be sorted prior to making
+     * this call; if it is not, the results are undefined.
+     *
+     * @param fromIndex the index of the first element to be searched
+     * @param toIndex the index after the last element to be searched
+     * @param key the value to be searched for
+     * @return index of the search key, if it is contained in the range;
+     *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>, where
+     *         the insertion point is the index of the first element in the
+     *         range greater than the key, or {@code toIndex} if all
+     *         elements in the range are less than it
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     */
+    public long binarySearch(long fromIndex, long toIndex, long key) {
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        return binarySearch0(fromIndex, toIndex, key);
+    }
+
+    private long binarySearch0(long fromIndex, long toIndex, long key) {
+        long low = fromIndex;
+        long high = toIndex - 1;
+
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long midVal = get0(mid);
+
+            if (midVal < key)
+                low = mid + 1;
+            else if (midVal > key)
+                high = mid - 1;
+            else
+                return mid; // key found
+        }
+        return -(low + 1);  // key not found.
+    }
+
+    /**
+     * Cumulates, in parallel, each element of this array in place, using
+     * the supplied function, as {@link Arrays#parallelPrefix(long[],
+     * LongBinaryOperator)} does.  The function must be side-effect-free
+     * and associative.
+     *
+     * @param op a side-effect-free, associative function to perform the
+     *        cumulation
+     * @throws NullPointerException if the function is null
+     */
+    public void parallelPrefix(LongBinaryOperator op) {
+        parallelPrefix(0, length, op);
+    }
+
+    /**
+     * Performs {@link #parallelPrefix(LongBinaryOperator)} for the given
+     * range of this array.
+     *
+     * @implNote The range is cut into blocks, each cumulated in place by
+     * a task of the common pool.  The last elements of the blocks are
+     * then cumulated in turn, giving the value to which each block after
+     * the first is to be applied, which another task per block does.
+     *
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @param op a side-effect-free, associative function to perform the
+     *        cumulation
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     * @throws NullPointerException if the function is null
+     */
+    public void parallelPrefix(long fromIndex, long toIndex,
+                               LongBinaryOperator op) {
+        Objects.requireNonNull(op);
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        long n = toIndex - fromIndex;
+        int blocks = ChunkedBuffers.blocks(n);
+        if (blocks <= 1) {
+            cumulate(fromIndex, toIndex, op);
+            return;
+        }
+        long size = (n + blocks - 1) / blocks;
+        List<PrefixTask> tasks = new ArrayList<>(blocks);
+        for (long lo = fromIndex; lo < toIndex; lo += size)
+            tasks.add(new PrefixTask(this, lo, Math.min(lo + size, toIndex),
+                                     op, false, 0L));
+        ForkJoinTask.invokeAll(tasks);
+        long acc = get0(tasks.get(0).hi - 1);
+        for (int k = 1; k < tasks.size(); k++) {
+            PrefixTask t = tasks.get(k);
+            long last = get0(t.hi - 1);
+            tasks.set(k, new PrefixTask(this, t.lo, t.hi, op, true, acc));
+            acc = op.applyAsLong(acc, last);
+        }
+        ForkJoinTask.invokeAll(tasks.subList(1, tasks.size()));
+    }
+
+    private void cumulate(long lo, long hi, LongBinaryOperator op) {
+        if (lo < hi) {
+            long acc = get0(lo);
+            for (long i = lo + 1; i < hi; i++)
+                set0(i, acc = op.applyAsLong(acc, get0(i)));
+        }
+    }
+
+    private void applyLeft(long lo, long hi, long left,
+                           LongBinaryOperator op) {
+        for (long i = lo; i < hi; i++)
+            set0(i, op.applyAsLong(left, get0(i)));
+    }
+
+    /**
+     * Cumulates a block of a parallel prefix, or applies to it the
+     * cumulation of the blocks before it.
+     */
+    private static final class PrefixTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final LongArray a;
+        final long lo, hi;
+        final LongBinaryOperator op;
+        final boolean applyLeft;
+        final long left;
+
+        PrefixTask(LongArray a, long lo, long hi, LongBinaryOperator op,
+                   boolean applyLeft, long left) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.op = op;
+            this.applyLeft = applyLeft;
+            this.left = left;
+        }
+
+        protected void compute() {
+            if (applyLeft)
+                a.applyLeft(lo, hi, left, op);
+            else
+                a.cumulate(lo, hi, op);
+        }
+    }
+
+    /**
+     * Returns a {@link Spliterator.OfLong} covering all of this array.
+     * The spliterator reports {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED}, {@link Spliterator#ORDERED}, and
+     * {@link Spliterator#IMMUTABLE}, and splits the remaining range in
+     * halves.
+     *
+     * @return a spliterator for the elements of this array
+     */
+    public Spliterator.OfLong spliterator() {
+        return new LongArraySpliterator(this, 0, length);
+    }
+
+    /**
+     * Returns a sequential {@link LongStream} with this array as its
+     * source.  Call {@link LongStream#parallel() parallel()} on it to
+     * process the array in parallel.
+     *
+     * @return a {@code LongStream} for this array
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    static final class LongArraySpliterator implements Spliterator.OfLong {
+        private final LongArray array;
+        private long index;        // current index, modified on advance/split
+        private final long fence;  // one past last index
+
+        LongArraySpliterator(LongArray array, long origin, long fence) {
+            this.array = array;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfLong trySplit() {
+            long lo = index, mid = (lo + fence) >>> 1;
+            return (lo >= mid)
+                   ? null
+                   : new LongArraySpliterator(array, lo, index = mid);
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            LongBuffer[] views = array.views;
+            long i = index, hi = fence;
+            index = hi;
+            while (i < hi) {
+                LongBuffer v = views[(int)(i >>> SHIFT)];
+                int o = (int)i & MASK;
+                int end = (int)Math.min(v.capacity(), o + (hi - i));
+                i += end - o;
+                for (; o < end; o++)
+                    action.accept(v.get(o));
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            if (index < fence) {
+                action.accept(array.get0(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public long estimateSize() { return fence - index; }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.IMMUTABLE
+                   | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An array of {@code byte}s indexed by {@code long}, held outside the Java
+ * heap.  An instance is either {@linkplain #allocate allocated} in direct
+ * memory or {@linkplain #map mapped} from a region of a file, so that it
+ * may hold more than {@link Integer#MAX_VALUE} bytes, up to the limits of
+ * the address space and of {@code -XX:MaxDirectMemorySize} or of the file
+ * system, and data larger than the heap can be processed in place.
+ *
+ * <p>The bytes are held in chunks of direct {@link ByteBuffer}s; an index
+ * is split into a chunk and an offset within it.  Besides single byte
+ * access, the class provides bulk copies to and from {@code byte[]}
+ * arrays and between arrays of this class, a {@link Spliterator.OfInt}
+ * for sequential and parallel streams, and the {@code sort},
+ * {@code binarySearch} and {@code fill} operations of {@link Arrays}.
+ *
+ * <p>Like an array, an instance is not synchronized: threads may read
+ * and write distinct elements concurrently, but access to the same
+ * element must be coordinated externally.  Its memory is released, and
+ * a mapping is removed, only when the instance and the buffers backing it
+ * become unreachable and are collected, as for any direct buffer.  An
+ * array mapped {@linkplain FileChannel.MapMode#READ_ONLY read-only}
+ * throws {@link java.nio.ReadOnlyBufferException} from the methods that
+ * would modify it.
+ *
+ * @see Arrays
+ * @see LongArray
+ * @see DoubleArray
+ * @since 9
+ */
+public final class LongIndexedByteArray {
+
+    private static final int SHIFT = ChunkedBuffers.CHUNK_SHIFT;
+    private static final int MASK = ChunkedBuffers.CHUNK_MASK;
+
+    private final long length;
+    private final ByteBuffer[] chunks;
+
+    private LongIndexedByteArray(long length, ByteBuffer[] chunks) {
+        this.length = length;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Allocates an array of the given length in direct memory.  Its
+     * elements are initially zero.
+     *
+     * @param length the number of bytes
+     * @return the new array
+     * @throws IllegalArgumentException if {@code length} is negative
+     * @throws OutOfMemoryError if the direct memory cannot be allocated
+     */
+    public static LongIndexedByteArray allocate(long length) {
+        return new LongIndexedByteArray(length, ChunkedBuffers.allocate(
+                ChunkedBuffers.byteSize(length, 0)));
+    }
+
+    /**
+     * Maps an array of the given length from a region of a file, starting
+     * at {@code position}.  The mapping behaves as those of
+     * {@link FileChannel#map FileChannel.map}: if the mode is
+     * {@code READ_WRITE} and the file is shorter than the region, it is
+     * extended; changes made in {@code PRIVATE} mode are not written to
+     * the file.  The mapping remains valid after the channel is closed.
+     *
+     * @param channel the channel of the file
+     * @param mode the mode in which the region is mapped
+     * @param position the position in the file at which the array starts
+     * @param length the number of bytes
+     * @return the mapped array
+     * @throws IllegalArgumentException if {@code position} or
+     *         {@code length} is negative or the region would end past
+     *         {@code Long.MAX_VALUE}
+     * @throws IOException if an I/O error occurs
+     * @see FileChannel#map
+     */
+    public static LongIndexedByteArray map(FileChannel channel,
+                                           FileChannel.MapMode mode,
+                                           long position, long length)
+        throws IOException {
+        return new LongIndexedByteArray(length, ChunkedBuffers.map(
+                channel, mode, position, ChunkedBuffers.byteSize(length, 0)));
+    }
+
+    /**
+     * Returns the number of bytes in this array.
+     *
+     * @return the length of this array
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the byte at the given index.
+     *
+     * @param index the index of the byte
+     * @return the byte
+     * @throws ArrayIndexOutOfBoundsException if {@code index} is
+     *         negative or not less than {@link #length()}
+     */
+    public byte get(long index) {
+        ChunkedBuffers.checkIndex(index, length);
+        return get0(index);
+    }
+
+    /**
+     * Sets the byte at the given index.
+     *
+     * @param index the index of the byte
+     * @param value the new value of the byte
+     * @throws ArrayIndexOutOfBoundsException if {@code index} is
+     *         negative or not less than {@link #length()}
+     */
+    public void set(long index, byte value) {
+        ChunkedBuffers.checkIndex(index, length);
+        chunks[(int)(index >>> SHIFT)].put((int)index & MASK, value);
+    }
+
+    private byte get0(long i) {
+        return chunks[(int)(i >>> SHIFT)].get((int)i & MASK);
+    }
+
+    /**
+     * Copies {@code len} bytes of this array, starting at {@code index},
+     * into {@code dst} starting at {@code off}.
+     *
+     * @param index the index of the first byte to copy
+     * @param dst the array into which the bytes are copied
+     * @param off the offset in {@code dst} of the first byte copied
+     * @param len the number of bytes to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public void get(long index, byte[] dst, int off, int len) {
+        ChunkedBuffers.checkBounds(off, len, dst.length);
+        ChunkedBuffers.checkCopy(length, index, length, index, len);
+        while (len > 0) {
+            ByteBuffer b = chunks[(int)(index >>> SHIFT)].duplicate();
+            int o = (int)index & MASK;
+            int n = Math.min(len, b.capacity() - o);
+            b.position(o);
+            b.get(dst, off, n);
+            index += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Copies {@code len} bytes of {@code src}, starting at {@code off},
+     * into this array starting at {@code index}.
+     *
+     * @param index the index in this array of the first byte copied
+     * @param src the array from which the bytes are copied
+     * @param off the offset in {@code src} of the first byte to copy
+     * @param len the number of bytes to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public void set(long index, byte[] src, int off, int len) {
+        ChunkedBuffers.checkBounds(off, len, src.length);
+        ChunkedBuffers.checkCopy(length, index, length, index, len);
+        while (len > 0) {
+            ByteBuffer b = chunks[(int)(index >>> SHIFT)].duplicate();
+            int o = (int)index & MASK;
+            int n = Math.min(len, b.capacity() - o);
+            b.position(o);
+            b.put(src, off, n);
+            index += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Copies {@code length} bytes of {@code src}, starting at
+     * {@code srcPos}, into {@code dest} starting at {@code destPos}, as
+     * {@link System#arraycopy System.arraycopy} does: if the arrays are
+     * the same and the ranges overlap, as though through a temporary
+     * copy of the source range.
+     *
+     * @param src the source array
+     * @param srcPos the index in the source array of the first byte
+     * @param dest the destination array
+     * @param destPos the index in the destination array of the first byte
+     * @param length the number of bytes to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public static void copy(LongIndexedByteArray src, long srcPos,
+                            LongIndexedByteArray dest, long destPos,
+                            long length) {
+        ChunkedBuffers.checkCopy(src.length, srcPos, dest.length, destPos,
+                                 length);
+        ChunkedBuffers.copy(src.chunks, srcPos, dest.chunks, destPos, length);
+    }
+
+    /**
+     * Forces any changes made to this array, if it is mapped from a file,
+     * to be written to the storage device containing the file.
+     *
+     * @see java.nio.MappedByteBuffer#force
+     */
+    public void force() {
+        ChunkedBuffers.force(chunks);
+    }
+
+    /**
+     * Assigns the given value to each byte of this array.
+     *
+     * @param value the value to be stored in all bytes
+     */
+    public void fill(byte value) {
+        fill(0, length, value);
+    }
+
+    /**
+     * Assigns the given value to each byte of the given range of this
+     * array, from {@code fromIndex}, inclusive, to {@code toIndex},
+     * exclusive.
+     *
+     * @param fromIndex the index of the first byte to be filled
+     * @param toIndex the index after the last byte to be filled
+     * @param value the value to be stored in the bytes
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     */
+    public void fill(long fromIndex, long toIndex, byte value) {
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        byte[] buf = new byte[(int)Math.min(toIndex - fromIndex,
+                                            ChunkedBuffers.BUFFER_SIZE)];
+        Arrays.fill(buf, value);
+        for (long i = fromIndex; i < toIndex; i += buf.length)
+            set(i, buf, 0, (int)Math.min(buf.length, toIndex - i));
+    }
+
+    /**
+     * Sorts this array into ascending numerical order.
+     *
+     * @implNote The bytes are counted, then written back in order, so the
+     * sort takes two passes over the array and no memory beyond a table
+     * of counts.
+     */
+    public void sort() {
+        sort(0, length);
+    }
+
+    /**
+     * Sorts the given range of this array into ascending order.  The range
+     * to be sorted extends from {@code fromIndex}, inclusive, to
+     * {@code toIndex}, exclusive.
+     *
+     * @param fromIndex the index of the first byte to be sorted
+     * @param toIndex the index after the last byte to be sorted
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     */
+    public void sort(long fromIndex, long toIndex) {
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        long[] count = new long[256];
+        byte[] buf = new byte[(int)Math.min(toIndex - fromIndex,
+                                            ChunkedBuffers.BUFFER_SIZE)];
+        for (long i = fromIndex; i < toIndex; i += buf.length) {
+            int n = (int)Math.min(buf.length, toIndex - i);
+            get(i, buf, 0, n);
+            for (int k = 0; k < n; k++)
+                count[buf[k] + 128]++;
+        }
+        long i = fromIndex;
+        for (int v = 0; v < 256; v++) {
+            if (count[v] != 0) {
+                fill(i, i + count[v], (byte)(v - 128));
+                i += count[v];
+            }
+        }
+    }
+
+    /**
+     * Searches this array for the given value using the binary search
+     * algorithm.  The array must be sorted, as by {@link #sort()}, prior
+     * to making this call; if it is not, the results are undefined.  If
+     * the array contains multiple bytes with the given value, there is no
+     * guarantee which one will be found.
+     *
+     * @param key the value to be searched for
+     * @return index of the search key, if it is contained in the array;
+     *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>, where
+     *         the insertion point is the index of the first byte greater
+     *         than the key, or {@link #length()} if all bytes are less
+     *         than it
+     */
+    public long binarySearch(byte key) {
+        return binarySearch0(0, length, key);
+    }
+
+    /**
+     * Searches the given range of this array for the given value using the
+     * binary search algorithm.  The range must be sorted prior to making
+     * this call; if it is not, the results are undefined.
+     *
+     * @param fromIndex the index of the first byte to be searched
+     * @param toIndex the index after the last byte to be searched
+     * @param key the value to be searched for
+     * @return index of the search key, if it is contained in the range;
+     *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>, where
+     *         the insertion point is the index of the first byte in the
+     *         range greater than the key, or {@code toIndex} if all bytes
+     *         in the range are less than it
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > length()}
+     */
+    public long binarySearch(long fromIndex, long toIndex, byte key) {
+        ChunkedBuffers.rangeCheck(length, fromIndex, toIndex);
+        return binarySearch0(fromIndex, toIndex, key);
+    }
+
+    private long binarySearch0(long fromIndex, long toIndex, byte key) {
+        long low = fromIndex;
+        long high = toIndex - 1;
+
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            byte midVal = get0(mid);
+
+            if (midVal < key)
+                low = mid + 1;
+            else if (midVal > key)
+                high = mid - 1;
+            else
+                return mid; // key found
+        }
+        return -(low + 1);  // key not found.
+    }
+
+    /**
+     * Returns a {@link Spliterator.OfInt} covering all of this array,
+     * whose elements are the bytes of the array, sign-extended as by
+     * {@link #get(long)}.  The spliterator reports
+     * {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED},
+     * {@link Spliterator#ORDERED}, and {@link Spliterator#IMMUTABLE}, and
+     * splits the remaining range in halves.
+     *
+     * @return a spliterator for the bytes of this array
+     */
+    public Spliterator.OfInt spliterator() {
+        return new ByteArraySpliterator(this, 0, length);
+    }
+
+    /**
+     * Returns a sequential {@link IntStream} of the bytes of this array,
+     * sign-extended as by {@link #get(long)}.  Call
+     * {@link IntStream#parallel() parallel()} on it to process the array
+     * in parallel.
+     *
+     * @return an {@code IntStream} of the bytes of this array
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    static final class ByteArraySpliterator implements Spliterator.OfInt {
+        private final LongIndexedByteArray array;
+        private long index;        // current index, modified on advance/split
+        private final long fence;  // one past last index
+
+        ByteArraySpliterator(LongIndexedByteArray array, long origin,
+                             long fence) {
+            this.array = array;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            long lo = index, mid = (lo + fence) >>> 1;
+            return (lo >= mid)
+                   ? null
+                   : new ByteArraySpliterator(array, lo, index = mid);
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            ByteBuffer[] chunks = array.chunks;
+            long i = index, hi = fence;
+            index = hi;
+            while (i < hi) {
+                ByteBuffer b = chunks[(int)(i >>> SHIFT)];
+                int o = (int)i & MASK;
+                int end = (int)Math.min(b.capacity(), o + (hi - i));
+                i += end - o;
+                for (; o < end; o++)
+                    action.accept(b.get(o));
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            if (index < fence) {
+                action.accept(array.get0(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public long estimateSize() { return fence - index; }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.IMMUTABLE
+                   | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
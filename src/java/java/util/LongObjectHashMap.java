@@ -0,0 +1,695 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Hash table mapping primitive {@code long} keys to object values.  Unlike
+ * {@code HashMap<Long, V>}, this map stores its keys in a flat
+ * {@code long[]} and its values in a parallel {@code Object[]}, so a
+ * mapping costs no entry object and no boxed key.  Collisions are resolved
+ * by linear probing, and removals shift later entries of a probe sequence
+ * back into the freed slot rather than leaving tombstones, so lookups never
+ * scan past deleted mappings.
+ *
+ * <p>The map permits {@code null} values; {@link #containsKey} can be used
+ * to distinguish an absent key from a key mapped to {@code null}.  Every
+ * {@code long} value, including zero, is a valid key.
+ *
+ * <p>The <i>load factor</i> bounds how full the table may become before it
+ * is doubled in size.  Open addressing degrades faster than chaining as the
+ * table fills, so the default of 0.5 is lower than {@code HashMap}'s.
+ *
+ * <p>{@link #asMap} returns a {@code Map<Long, V>} view backed by this map,
+ * for interoperating with code written against the collections framework.
+ * Operations through the view box keys as they cross the interface.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * The iterators of the {@link #asMap} view are <i>fail-fast</i> in the same
+ * sense as those of {@link HashMap}.
+ *
+ * @param <V> the type of mapped values
+ *
+ * @see HashMap
+ * @see IntIntHashMap
+ * @see LongLongHashMap
+ */
+public class LongObjectHashMap<V> {
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity; the key and value arrays are indexed by int.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Key of each slot.  A slot holding {@code 0L} is free: the zero key
+     * itself is kept out of the table in {@link #zeroValue}.
+     */
+    long[] keys;
+
+    /**
+     * Value of each slot, parallel to {@link #keys}.
+     */
+    Object[] values;
+
+    /**
+     * Whether the zero key is present, and its value.
+     */
+    boolean hasZeroKey;
+    Object zeroValue;
+
+    /**
+     * The number of key-value mappings, including the zero key.
+     */
+    int size;
+
+    /**
+     * The next size value at which to resize.
+     */
+    int threshold;
+
+    /**
+     * The load factor for the hash table.
+     */
+    final float loadFactor;
+
+    /**
+     * The number of times this map has been structurally modified, used to
+     * make iterators of the map view fail-fast.
+     */
+    transient int modCount;
+
+    /**
+     * Lazily created map view.
+     */
+    transient Map<Long,V> mapView;
+
+    /**
+     * Constructs an empty map with the default initial capacity (16) and
+     * the default load factor (0.5).
+     */
+    public LongObjectHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty map able to hold {@code expectedSize} mappings
+     * without resizing, with the default load factor (0.5).
+     *
+     * @param  expectedSize the expected number of mappings
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public LongObjectHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty map able to hold {@code expectedSize} mappings
+     * without resizing, with the specified load factor.
+     *
+     * @param  expectedSize the expected number of mappings
+     * @param  loadFactor the load factor, greater than 0 and less than 1
+     * @throws IllegalArgumentException if the expected size is negative
+     *         or the load factor is not in (0, 1)
+     */
+    public LongObjectHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " +
+                                               expectedSize);
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                                               loadFactor);
+        this.loadFactor = loadFactor;
+        int cap = OpenHashing.capacityFor(expectedSize, loadFactor);
+        keys = new long[cap];
+        values = new Object[cap];
+        threshold = OpenHashing.thresholdOf(cap, loadFactor);
+    }
+
+    /**
+     * Returns the home slot of the given key in a table of the given mask.
+     */
+    static int slot(long key, int mask) {
+        return OpenHashing.mix(key) & mask;
+    }
+
+    /**
+     * Returns the slot holding the given non-zero key, or -1 if absent.
+     */
+    final int indexOf(long key) {
+        long[] ks = keys;
+        int mask = ks.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            long k = ks[i];
+            if (k == key)
+                return i;
+            if (k == 0L)
+                return -1;
+        }
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the
+     * specified key.
+     *
+     * @param  key the key whose presence is to be tested
+     * @return {@code true} if this map contains a mapping for the key
+     */
+    public boolean containsKey(long key) {
+        return (key == 0L) ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value.  This operation requires time linear in the
+     * capacity of the table.
+     *
+     * @param  value value whose presence is to be tested
+     * @return {@code true} if this map maps one or more keys to the value
+     */
+    public boolean containsValue(Object value) {
+        if (hasZeroKey && Objects.equals(zeroValue, value))
+            return true;
+        long[] ks = keys;
+        Object[] vs = values;
+        for (int i = 0; i < ks.length; ++i) {
+            if (ks[i] != 0L && Objects.equals(vs[i], value))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key.
+     *
+     * @param  key the key whose associated value is to be returned
+     * @return the value mapped to the key, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0L)
+            return (V)zeroValue;
+        int i = indexOf(key);
+        return (i < 0) ? null : (V)values[i];
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param  key the key whose associated value is to be returned
+     * @param  defaultValue the default mapping of the key
+     * @return the value mapped to the key, or {@code defaultValue}
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == 0L)
+            return hasZeroKey ? (V)zeroValue : defaultValue;
+        int i = indexOf(key);
+        return (i < 0) ? defaultValue : (V)values[i];
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param  key key with which the specified value is to be associated
+     * @param  value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0L) {
+            V old = (V)zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++modCount;
+                ++size;
+            }
+            return old;
+        }
+        long[] ks = keys;
+        int mask = ks.length - 1;
+        int i = slot(key, mask);
+        for (long k; (k = ks[i]) != 0L; i = (i + 1) & mask) {
+            if (k == key) {
+                V old = (V)values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        ks[i] = key;
+        values[i] = value;
+        ++modCount;
+        if (++size > threshold)
+            resize();
+        return null;
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * associates it with the given value.
+     *
+     * @param  key key with which the specified value is to be associated
+     * @param  value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     */
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(long key, V value) {
+        if (key == 0L) {
+            if (hasZeroKey && zeroValue != null)
+                return (V)zeroValue;
+            return put(key, value);
+        }
+        int i = indexOf(key);
+        if (i >= 0 && values[i] != null)
+            return (V)values[i];
+        return put(key, value);
+    }
+
+    /**
+     * If the specified key is not already associated with a non-null
+     * value, computes its value using the given mapping function and
+     * enters it into this map unless {@code null}.
+     *
+     * @param  key key with which the computed value is to be associated
+     * @param  mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with
+     *         the specified key, or {@code null} if the computed value
+     *         is {@code null}
+     * @throws NullPointerException if the mapping function is null
+     */
+    public V computeIfAbsent(long key,
+                             LongFunction<? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        V v = get(key);
+        if (v == null) {
+            int mc = modCount;
+            v = mappingFunction.apply(key);
+            if (mc != modCount)
+                throw new ConcurrentModificationException();
+            if (v != null)
+                put(key, v);
+        }
+        return v;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0L) {
+            if (!hasZeroKey)
+                return null;
+            V old = (V)zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            ++modCount;
+            --size;
+            return old;
+        }
+        int i = indexOf(key);
+        if (i < 0)
+            return null;
+        V old = (V)values[i];
+        removeAt(i, null);
+        return old;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        if (size > 0) {
+            ++modCount;
+            Arrays.fill(keys, 0L);
+            Arrays.fill(values, null);
+            hasZeroKey = false;
+            zeroValue = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Performs the given action for each key in this map.
+     *
+     * @param  action the action to be performed for each key
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEachKey(LongConsumer action) {
+        Objects.requireNonNull(action);
+        int mc = modCount;
+        if (hasZeroKey)
+            action.accept(0L);
+        long[] ks = keys;
+        for (int i = 0; i < ks.length; ++i) {
+            if (ks[i] != 0L)
+                action.accept(ks[i]);
+        }
+        if (mc != modCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Empties slot {@code i} and shifts back later entries of the same
+     * probe run whose home slot no longer lies between the hole and their
+     * current position.
+     *
+     * @param  wrapped if not null, receives the entries the shift carries
+     *         from below slot {@code i} to slot {@code i} or above, by
+     *         wrapping around the end of the table
+     */
+    @SuppressWarnings("unchecked")
+    final void removeAt(int i, ArrayList<Entry> wrapped) {
+        long[] ks = keys;
+        Object[] vs = values;
+        int mask = ks.length - 1;
+        int start = i;
+        for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            long k = ks[j];
+            if (k == 0L)
+                break;
+            int home = slot(k, mask);
+            // move k into the hole if its home is cyclically outside (i, j]
+            if ((j > i) ? (home <= i || home > j) : (home <= i && home > j)) {
+                if (wrapped != null && j < start && i >= start)
+                    wrapped.add(new Entry(k, (V)vs[j]));
+                ks[i] = k;
+                vs[i] = vs[j];
+                i = j;
+            }
+        }
+        ks[i] = 0L;
+        vs[i] = null;
+        ++modCount;
+        --size;
+    }
+
+    /**
+     * Doubles the table, reinserting every mapping.
+     */
+    final void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldCap = oldKeys.length;
+        if (oldCap >= MAXIMUM_CAPACITY) {
+            if (size >= MAXIMUM_CAPACITY - 1)
+                throw new IllegalStateException("Map is full");
+            threshold = MAXIMUM_CAPACITY - 1;
+            return;
+        }
+        int newCap = oldCap << 1, mask = newCap - 1;
+        long[] ks = new long[newCap];
+        Object[] vs = new Object[newCap];
+        for (int j = 0; j < oldCap; ++j) {
+            long k = oldKeys[j];
+            if (k != 0L) {
+                int i = slot(k, mask);
+                while (ks[i] != 0L)
+                    i = (i + 1) & mask;
+                ks[i] = k;
+                vs[i] = oldValues[j];
+            }
+        }
+        keys = ks;
+        values = vs;
+        threshold = OpenHashing.thresholdOf(newCap, loadFactor);
+    }
+
+    /**
+     * Returns a {@link Map} view of the mappings contained in this map.
+     * The view is backed by this map, so changes to either are reflected
+     * in the other.  The view supports every optional {@code Map}
+     * operation; storing a {@code null} key through it throws
+     * {@code NullPointerException}.
+     *
+     * @return a map view of this map
+     */
+    public Map<Long,V> asMap() {
+        Map<Long,V> m;
+        return (m = mapView) == null ? (mapView = new MapView()) : m;
+    }
+
+    /**
+     * Returns the hash code value for this map, as defined by
+     * {@link Map#hashCode}.
+     */
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    /**
+     * Compares the specified object with this map for equality.  Returns
+     * {@code true} if the object is also a {@code LongObjectHashMap} with
+     * the same mappings.
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof LongObjectHashMap))
+            return false;
+        return asMap().equals(((LongObjectHashMap<?>)o).asMap());
+    }
+
+    /**
+     * Returns a string representation of this map, in the format used by
+     * {@link AbstractMap#toString}.
+     */
+    public String toString() {
+        return asMap().toString();
+    }
+
+    /* ------------------------------------------------------------ */
+    // Map view
+
+    final class MapView extends AbstractMap<Long,V> {
+        transient Set<Map.Entry<Long,V>> entrySet;
+
+        public int size()                   { return size; }
+        public void clear()                 { LongObjectHashMap.this.clear(); }
+        public boolean containsValue(Object v) {
+            return LongObjectHashMap.this.containsValue(v);
+        }
+        public boolean containsKey(Object key) {
+            return (key instanceof Long) &&
+                LongObjectHashMap.this.containsKey((Long)key);
+        }
+        public V get(Object key) {
+            return (key instanceof Long) ?
+                LongObjectHashMap.this.get((Long)key) : null;
+        }
+        public V getOrDefault(Object key, V defaultValue) {
+            return (key instanceof Long) ?
+                LongObjectHashMap.this.getOrDefault((Long)key, defaultValue) :
+                defaultValue;
+        }
+        public V put(Long key, V value) {
+            return LongObjectHashMap.this.put(key, value);
+        }
+        public V putIfAbsent(Long key, V value) {
+            return LongObjectHashMap.this.putIfAbsent(key, value);
+        }
+        public V remove(Object key) {
+            return (key instanceof Long) ?
+                LongObjectHashMap.this.remove((Long)key) : null;
+        }
+        public Set<Map.Entry<Long,V>> entrySet() {
+            Set<Map.Entry<Long,V>> es;
+            return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+        }
+    }
+
+    final class EntrySet extends AbstractSet<Map.Entry<Long,V>> {
+        public int size()   { return size; }
+        public void clear() { LongObjectHashMap.this.clear(); }
+        public Iterator<Map.Entry<Long,V>> iterator() {
+            return new EntryIterator();
+        }
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            Object k = e.getKey();
+            if (!(k instanceof Long))
+                return false;
+            long key = (Long)k;
+            return containsKey(key) && Objects.equals(get(key), e.getValue());
+        }
+        public boolean remove(Object o) {
+            if (contains(o)) {
+                LongObjectHashMap.this.remove((long)(Long)((Map.Entry<?,?>)o).getKey());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    final class Entry implements Map.Entry<Long,V> {
+        final long key;
+        V value;
+        Entry(long key, V value) { this.key = key; this.value = value; }
+        public Long getKey()     { return key; }
+        public V getValue()      { return value; }
+        public V setValue(V v) {
+            V old = value;
+            value = v;
+            put(key, v);
+            return old;
+        }
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            return Long.valueOf(key).equals(e.getKey()) &&
+                Objects.equals(value, e.getValue());
+        }
+        public int hashCode() {
+            return Long.hashCode(key) ^ Objects.hashCode(value);
+        }
+        public String toString() { return key + "=" + value; }
+    }
+
+    /**
+     * Iterates the table from the highest slot down, then the zero key.
+     * Removal shifts entries toward lower slots, which the cursor has not
+     * yet reached, except when a probe run wraps around the end of the
+     * table; such entries are remembered in {@code wrapped} and returned
+     * once the table scan is done.
+     */
+    final class EntryIterator implements Iterator<Map.Entry<Long,V>> {
+        int pos = keys.length;      // next slot to examine is pos - 1
+        int last = -1;              // slot of last returned, -1 if none
+        boolean zeroPending = hasZeroKey;
+        boolean lastWasZero;
+        ArrayList<Entry> wrapped = new ArrayList<>(); // moved across cursor
+        int wrappedIndex;
+        Entry lastWrapped;
+        int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            if (advance() >= 0)
+                return true;
+            return wrappedIndex < wrapped.size() || zeroPending;
+        }
+
+        /**
+         * Moves pos to the next occupied slot below it, returning it or -1.
+         */
+        private int advance() {
+            long[] ks = keys;
+            int p = pos;
+            while (--p >= 0) {
+                if (ks[p] != 0L) {
+                    pos = p + 1;
+                    return p;
+                }
+            }
+            pos = 0;
+            return -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Map.Entry<Long,V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            lastWasZero = false;
+            lastWrapped = null;
+            int p = advance();
+            if (p >= 0) {
+                pos = p;
+                last = p;
+                return new Entry(keys[p], (V)values[p]);
+            }
+            last = -1;
+            if (wrappedIndex < wrapped.size())
+                return lastWrapped = wrapped.get(wrappedIndex++);
+            if (zeroPending) {
+                zeroPending = false;
+                lastWasZero = true;
+                return new Entry(0L, (V)zeroValue);
+            }
+            throw new NoSuchElementException();
+        }
+
+        public void remove() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (lastWasZero) {
+                LongObjectHashMap.this.remove(0L);
+                lastWasZero = false;
+            } else if (lastWrapped != null) {
+                LongObjectHashMap.this.remove(lastWrapped.key);
+                lastWrapped = null;
+            } else if (last >= 0) {
+                removeAt(last, wrapped);
+                last = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * Sizing and hashing support shared by the open-addressing hash tables
+ * ({@link LongObjectHashMap}, {@link IntIntHashMap}, {@link LongLongHashMap}).
+ *
+ * <p>Those tables resolve collisions by linear probing over power-of-two
+ * arrays, so slots are selected by masking the low bits of the hash.
+ * Primitive keys are often sequential or multiples of a stride, which would
+ * leave long runs of occupied slots; the keys are therefore scrambled with a
+ * Fibonacci multiplier before masking, carrying entropy from every key bit
+ * into the low bits.
+ */
+final class OpenHashing {
+
+    private OpenHashing() {}
+
+    /**
+     * 2^64 divided by the golden ratio, rounded to odd.
+     */
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * 2^32 divided by the golden ratio, rounded to odd.
+     */
+    private static final int INT_PHI = 0x9E3779B9;
+
+    /**
+     * The largest table capacity.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Scrambles a long key into an int hash whose low bits depend on all
+     * bits of the key.
+     */
+    static int mix(long key) {
+        long h = key * LONG_PHI;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Scrambles an int key into a hash whose low bits depend on all bits
+     * of the key.
+     */
+    static int mix(int key) {
+        int h = key * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the power-of-two capacity needed to hold the given number of
+     * mappings without exceeding the load factor.
+     */
+    static int capacityFor(int expectedSize, float loadFactor) {
+        long needed = (long)Math.ceil(expectedSize / (double)loadFactor) + 1;
+        if (needed >= MAXIMUM_CAPACITY)
+            return MAXIMUM_CAPACITY;
+        int cap = Integer.highestOneBit((int)needed);
+        if (cap < needed)
+            cap <<= 1;
+        return Math.max(cap, 2);
+    }
+
+    /**
+     * Returns the resize threshold for a table of the given capacity.  At
+     * least one slot is always kept free, which terminates probe loops.
+     */
+    static int thresholdOf(int capacity, float loadFactor) {
+        return Math.min((int)(capacity * loadFactor), capacity - 1);
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 1999, 2008, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents a timer task queue: a priority queue of TimerTasks,
+ * ordered on nextExecutionTime.  Each Timer object has one of these, which it
+ * shares with its TimerThread.  Internally this class uses a heap, which
+ * offers log(n) performance for the add, removeMin and rescheduleMin
+ * operations, and constant time performance for the getMin operation.
+ */
+class TaskQueue {
+    /**
+     * Priority queue represented as a balanced binary heap: the two children
+     * of queue[n] are queue[2*n] and queue[2*n+1].  The priority queue is
+     * ordered on the nextExecutionTime field: The TimerTask with the lowest
+     * nextExecutionTime is in queue[1] (assuming the queue is nonempty).  For
+     * each node n in the heap, and each descendant of n, d,
+     * n.nextExecutionTime <= d.nextExecutionTime.
+     */
+    private TimerTask[] queue = new TimerTask[128];
+
+    /**
+     * The number of tasks in the priority queue.  (The tasks are stored in
+     * queue[1] up to queue[size]).
+     */
+    // 当前队列中的task数量
+    private int size = 0;
+
+    /**
+     * The number of cancelled tasks, roughly: counted when they are
+     * cancelled, without the queue's monitor, and when removed.
+     */
+    // 已取消但还在队列中的task数（近似值），用于判断何时清理。
+    private final AtomicInteger cancelledCount = new AtomicInteger();
+
+    /**
+     * The fewest tasks for which cancelled ones are removed all at once.
+     */
+    private static final int MIN_PURGE_SIZE = 64;
+
+    /**
+     * Returns the number of tasks currently on the queue.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a new task to the priority queue.
+     */
+    void add(TimerTask task) {
+        // Grow backing store if necessary
+        // 第一次扩容：数组里已经有127个task的时候，再添加一个task时，会触发2倍扩容
+        // 因为放不下了，queue[0]是没有放任何task的，就是空置出来的。
+        if (size + 1 == queue.length)
+            queue = Arrays.copyOf(queue, 2*queue.length);
+        // 第一个task，直接放到queue[1]的格子里了。
+        queue[++size] = task;
+        // 向上重排序
+        fixUp(size);
+    }
+    /**
+     * Return the "head task" of the priority queue.  (The head task is an
+     * task with the lowest nextExecutionTime.)
+     */
+    TimerTask getMin() {
+        // 获取最新要执行的task，该task保存在queue[1]中。
+        // 每次有变动，都会重排序，把最新要执行的task，替换到queue[1]中。
+        return queue[1];
+    }
+    /**
+     * Return the ith task in the priority queue, where i ranges from 1 (the
+     * head task, which is returned by getMin) to the number of tasks on the
+     * queue, inclusive.
+     */
+    TimerTask get(int i) {
+        return queue[i];
+    }
+    /**
+     * Remove the head task from the priority queue.
+     */
+    void removeMin() {
+        // 删除queue[1]，然后把队列最后一个格子替换上来。
+        queue[1] = queue[size];
+        // 两个事情
+        // 1、将队列最后一个格子，设置为null
+        // 2、将队列的task计数-1
+        queue[size--] = null;  // Drop extra reference to prevent memory leak
+        // 因为把最后一个格子替换上来了，所以这里要向下重排序。
+        fixDown(1);
+    }
+    /**
+     * Removes the ith element from queue without regard for maintaining
+     * the heap invariant.  Recall that queue is one-based, so
+     * 1 <= i <= size.
+     */
+    void quickRemove(int i) {
+        assert i <= size;
+        queue[i] = queue[size];
+        queue[size--] = null;  // Drop extra ref to prevent memory leak
+    }
+    /**
+     * Sets the nextExecutionTime associated with the head task to the
+     * specified value, and adjusts priority queue accordingly.
+     */
+    void rescheduleMin(long newTime) {
+        queue[1].nextExecutionTime = newTime;
+        fixDown(1);
+    }
+    /**
+     * Returns true if the priority queue contains no elements.
+     */
+    boolean isEmpty() {
+        return size==0;
+    }
+    /**
+     * Removes all elements from the priority queue.
+     */
+    void clear() {
+        // Null out task references to prevent memory leak
+        for (int i=1; i<=size; i++)
+            queue[i] = null;
+        size = 0;
+        cancelledCount.set(0);
+    }
+
+    /**
+     * Counts a task of this queue that has been cancelled.  Called without
+     * the queue's monitor.
+     */
+    void taskCancelled() {
+        cancelledCount.incrementAndGet();
+    }
+
+    /**
+     * Counts a cancelled task that has been removed from the head.
+     */
+    void cancelledRemoved() {
+        cancelledCount.decrementAndGet();
+    }
+
+    /**
+     * Returns true if most of the tasks in a large enough queue have been
+     * cancelled, so that removing them all at once takes constant time per
+     * cancellation.
+     */
+    boolean cancelledMostly() {
+        return size >= MIN_PURGE_SIZE && cancelledCount.get() > size / 2;
+    }
+
+    /**
+     * Removes all cancelled tasks, returning their number.
+     */
+    int removeCancelled() {
+        int result = 0;
+        for (int i = size; i > 0; i--) {
+            if (queue[i].state == TimerTask.CANCELLED) {
+                quickRemove(i);
+                result++;
+            }
+        }
+        if (result != 0)
+            heapify();
+        cancelledCount.set(0);
+        return result;
+    }
+    /**
+     * Establishes the heap invariant (described above) assuming the heap
+     * satisfies the invariant except possibly for the leaf-node indexed by k
+     * (which may have a nextExecutionTime less than its parent's).
+     *
+     * This method functions by "promoting" queue[k] up the hierarchy
+     * (by swapping it with its parent) repeatedly until queue[k]'s
+     * nextExecutionTime is greater than or equal to that of its parent.
+     */
+    private void fixUp(int k) {
+        while (k > 1) {
+            int j = k >> 1;
+            if (queue[j].nextExecutionTime <= queue[k].nextExecutionTime)
+                break;
+            TimerTask tmp = queue[j];  queue[j] = queue[k]; queue[k] = tmp;
+            k = j;
+        }
+    }
+    /**
+     * Establishes the heap invariant (described above) in the subtree
+     * rooted at k, which is assumed to satisfy the heap invariant except
+     * possibly for node k itself (which may have a nextExecutionTime greater
+     * than its children's).
+     *
+     * This method functions by "demoting" queue[k] down the hierarchy
+     * (by swapping it with its smaller child) repeatedly until queue[k]'s
+     * nextExecutionTime is less than or equal to those of its children.
+     */
+    private void fixDown(int k) {
+        int j;
+        while ((j = k << 1) <= size && j > 0) {
+            if (j < size &&
+                    queue[j].nextExecutionTime > queue[j+1].nextExecutionTime)
+                j++; // j indexes smallest kid
+            if (queue[k].nextExecutionTime <= queue[j].nextExecutionTime)
+                break;
+            TimerTask tmp = queue[j];  queue[j] = queue[k]; queue[k] = tmp;
+            k = j;
+        }
+    }
+    /**
+     * Establishes the heap invariant (described above) in the entire tree,
+     * assuming nothing about the order of the elements prior to the call.
+     */
+    void heapify() {
+        for (int i = size/2; i >= 1; i--)
+            fixDown(i);
+    }
+}
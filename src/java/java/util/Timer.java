@@ -25,6 +25,12 @@
 
 package java.util;
 import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -61,6 +67,19 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>This class does <i>not</i> offer real-time guarantees: it schedules
  * tasks using the <tt>Object.wait(long)</tt> method.
  *
+ * <p>A timer may instead be created with an {@link Executor}, to which its
+ * thread hands each task when it is due, rather than running it; all the
+ * tasks due when the thread wakes are handed over together.  A slow task
+ * then delays only itself, and tasks may run concurrently, though a
+ * repeating task is never run concurrently with itself: its next execution
+ * is scheduled when the current one completes, at the time it would
+ * otherwise have had.  An unchecked exception thrown by a task is left to
+ * the executor, and ends only that task's repetitions.  If the system
+ * property {@code java.util.Timer.workers} is set to a positive number,
+ * timers created by the other constructors hand their tasks in this way to
+ * a pool of that many daemon threads, shared by all such timers, so that
+ * existing code may use the mode unchanged.
+ *
  * <p>Java 5.0 introduced the {@code java.util.concurrent} package and
  * one of the concurrency utilities therein is the {@link
  * java.util.concurrent.ScheduledThreadPoolExecutor
@@ -77,6 +96,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * scheduled tasks (thousands should present no problem).  Internally,
  * it uses a binary heap to represent its task queue, so the cost to schedule
  * a task is O(log n), where n is the number of concurrently scheduled tasks.
+ * Cancelled tasks are removed from the queue when they reach its head, or
+ * all at once when they come to outnumber the other tasks, so that they
+ * take up space only in proportion to the tasks still scheduled.
  *
  * <p>Implementation note: All constructors start a timer thread.
  *
@@ -166,6 +188,7 @@ public class Timer {
     // 非守护线程，线程直接在构造方法里启动了。
     public Timer(String name) {
         thread.setName(name);
+        thread.executor = DefaultWorkers.POOL;
         thread.start();
     }
 
@@ -181,11 +204,61 @@ public class Timer {
      */
     // 守护线程
     public Timer(String name, boolean isDaemon) {
+        this(name, isDaemon, DefaultWorkers.POOL);
+    }
+
+    /**
+     * Creates a new timer whose associated thread has the specified name,
+     * may be specified to {@linkplain Thread#setDaemon run as a daemon},
+     * and hands tasks to the specified executor to run when they are due.
+     * A task that the executor rejects is cancelled.  Cancelling the timer
+     * does not shut down the executor.
+     *
+     * @param name the name of the associated thread
+     * @param isDaemon true if the associated thread should run as a daemon
+     * @param executor the executor to run tasks, or null to run them on the
+     *        associated thread
+     * @throws NullPointerException if {@code name} is null
+     */
+    // 到期的task交给executor执行，Timer线程只负责调度。
+    public Timer(String name, boolean isDaemon, Executor executor) {
         thread.setName(name);
         thread.setDaemon(isDaemon);
+        thread.executor = executor;
         thread.start();
     }
 
+    /**
+     * The workers shared by timers created without an executor, if the
+     * system property java.util.Timer.workers is positive, or null.
+     */
+    // 通过系统属性开启，让老代码不改动也能使用线程池模式。
+    private static final class DefaultWorkers {
+        static final Executor POOL = create();
+
+        private static Executor create() {
+            int n = java.security.AccessController.doPrivileged(
+                new sun.security.action.GetIntegerAction(
+                    "java.util.Timer.workers", 0));
+            if (n <= 0)
+                return null;
+            final AtomicInteger threadNumber = new AtomicInteger(1);
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                n, n, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "Timer-worker-" +
+                                              threadNumber.getAndIncrement());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
     /**
      * Schedules the specified task for execution after the specified delay.
      *
@@ -415,8 +488,12 @@ public class Timer {
                 task.nextExecutionTime = time;
                 task.period = period;
                 task.state = TimerTask.SCHEDULED;
+                task.queue = queue;
             }
 
+            // 已取消的task超过一半时，顺便清理掉，避免在队列里堆积。
+            if (queue.cancelledMostly())
+                queue.removeCancelled();
             queue.add(task);
             if (queue.getMin() == task)
                 queue.notify();
@@ -440,6 +517,7 @@ public class Timer {
     public void cancel() {
         synchronized(queue) {
             thread.newTasksMayBeScheduled = false;
+            thread.cancelled = true;
             queue.clear();
             queue.notify();  // In case queue was already empty.
         }
@@ -466,21 +544,9 @@ public class Timer {
      * @since 1.5
      */
      public int purge() {
-         int result = 0;
-
          synchronized(queue) {
-             for (int i = queue.size(); i > 0; i--) {
-                 if (queue.get(i).state == TimerTask.CANCELLED) {
-                     queue.quickRemove(i);
-                     result++;
-                 }
-             }
-
-             if (result != 0)
-                 queue.heapify();
+             return queue.removeCancelled();
          }
-
-         return result;
      }
 }
 
@@ -508,17 +574,40 @@ class TimerThread extends Thread {
      */
     private TaskQueue queue;
 
+    /**
+     * The executor to which due tasks are handed, or null to run them on
+     * this thread.  Set before the thread is started.
+     */
+    Executor executor;
+
+    /**
+     * Set when the Timer is cancelled, or this thread killed, so that
+     * repeating tasks being run by the executor are not scheduled again.
+     * Protected by queue's monitor.
+     */
+    boolean cancelled;
+
+    /**
+     * The number of repeating tasks being run by the executor, which are
+     * out of the queue until they complete.  Protected by queue's monitor.
+     */
+    private int outstanding;
+
     TimerThread(TaskQueue queue) {
         this.queue = queue;
     }
 
     public void run() {
         try {
-            mainLoop();
+            if (executor != null)
+                dispatchLoop();
+            else
+                mainLoop();
         } finally {
             // Someone killed this Thread, behave as if Timer cancelled
             synchronized(queue) {
                 newTasksMayBeScheduled = false;
+                cancelled = true;
                 queue.clear();  // Eliminate obsolete references
             }
         }
@@ -550,6 +639,7 @@ class TimerThread extends Thread {
                         if (task.state == TimerTask.CANCELLED) {
                             // 是已取消，移出该task，重排序
                             queue.removeMin();
+                            queue.cancelledRemoved();
                             // 重新loop
                             continue;  // No action required, poll queue again
                         }
@@ -587,163 +677,119 @@ class TimerThread extends Thread {
             }
         }
     }
-}
-
-/**
- * This class represents a timer task queue: a priority queue of TimerTasks,
- * ordered on nextExecutionTime.  Each Timer object has one of these, which it
- * shares with its TimerThread.  Internally this class uses a heap, which
- * offers log(n) performance for the add, removeMin and rescheduleMin
- * operations, and constant time performance for the getMin operation.
- */
-class TaskQueue {
-    /**
-     * Priority queue represented as a balanced binary heap: the two children
-     * of queue[n] are queue[2*n] and queue[2*n+1].  The priority queue is
-     * ordered on the nextExecutionTime field: The TimerTask with the lowest
-     * nextExecutionTime is in queue[1] (assuming the queue is nonempty).  For
-     * each node n in the heap, and each descendant of n, d,
-     * n.nextExecutionTime <= d.nextExecutionTime.
-     */
-    private TimerTask[] queue = new TimerTask[128];
 
     /**
-     * The number of tasks in the priority queue.  (The tasks are stored in
-     * queue[1] up to queue[size]).
+     * The timer loop when tasks are run by the executor: takes all the
+     * tasks that are due, and hands them to the executor together.  A
+     * repeating task is taken out of the queue, and put back with its next
+     * execution time when it completes.
      */
-    // 当前队列中的task数量
-    private int size = 0;
-
-    /**
-     * Returns the number of tasks currently on the queue.
-     */
-    int size() {
-        return size;
+    // 线程池模式：一次取出所有到期的task，释放锁后统一提交给executor。
+    private void dispatchLoop() {
+        ArrayList<TimerTask> due = new ArrayList<>();
+        while (true) {
+            try {
+                synchronized(queue) {
+                    // Outstanding repeating tasks will return to the queue
+                    while (queue.isEmpty() &&
+                           (newTasksMayBeScheduled || outstanding > 0))
+                        queue.wait();
+                    if (queue.isEmpty())
+                        break; // Queue is empty and will forever remain; die
+                    long currentTime = System.currentTimeMillis();
+                    long executionTime = 0;
+                    while (!queue.isEmpty()) {
+                        TimerTask task = queue.getMin();
+                        synchronized(task.lock) {
+                            if (task.state == TimerTask.CANCELLED) {
+                                queue.removeMin();
+                                queue.cancelledRemoved();
+                                continue;
+                            }
+                            executionTime = task.nextExecutionTime;
+                            if (executionTime > currentTime)
+                                break;
+                            queue.removeMin();
+                            // Out of the heap, so not counted if cancelled
+                            task.queue = null;
+                            if (task.period == 0) { // Non-repeating
+                                task.state = TimerTask.EXECUTED;
+                            } else { // Repeating, scheduled on completion
+                                task.nextExecutionTime = task.period<0
+                                    ? currentTime   - task.period
+                                    : executionTime + task.period;
+                                outstanding++;
+                            }
+                        }
+                        due.add(task);
+                    }
+                    if (due.isEmpty() && !queue.isEmpty())
+                        queue.wait(executionTime - currentTime);
+                }
+                // Hand over the due tasks, holding no locks
+                for (int i = 0; i < due.size(); i++) {
+                    TimerTask task = due.get(i);
+                    try {
+                        executor.execute(new Dispatch(task));
+                    } catch (RejectedExecutionException e) {
+                        rejected(task);
+                    }
+                }
+                due.clear();
+            } catch(InterruptedException e) {
+            }
+        }
     }
 
     /**
-     * Adds a new task to the priority queue.
+     * Cancels a task that the executor would not run.  A repeating task
+     * is no longer outstanding, as it will not be put back in the queue.
      */
-    void add(TimerTask task) {
-        // Grow backing store if necessary
-        // 第一次扩容：数组里已经有127个task的时候，再添加一个task时，会触发2倍扩容
-        // 因为放不下了，queue[0]是没有放任何task的，就是空置出来的。
-        if (size + 1 == queue.length)
-            queue = Arrays.copyOf(queue, 2*queue.length);
-        // 第一个task，直接放到queue[1]的格子里了。
-        queue[++size] = task;
-        // 向上重排序
-        fixUp(size);
-    }
-    /**
-     * Return the "head task" of the priority queue.  (The head task is an
-     * task with the lowest nextExecutionTime.)
-     */
-    TimerTask getMin() {
-        // 获取最新要执行的task，该task保存在queue[1]中。
-        // 每次有变动，都会重排序，把最新要执行的task，替换到queue[1]中。
-        return queue[1];
-    }
-    /**
-     * Return the ith task in the priority queue, where i ranges from 1 (the
-     * head task, which is returned by getMin) to the number of tasks on the
-     * queue, inclusive.
-     */
-    TimerTask get(int i) {
-        return queue[i];
-    }
-    /**
-     * Remove the head task from the priority queue.
-     */
-    void removeMin() {
-        // 删除queue[1]，然后把队列最后一个格子替换上来。
-        queue[1] = queue[size];
-        // 两个事情
-        // 1、将队列最后一个格子，设置为null
-        // 2、将队列的task计数-1
-        queue[size--] = null;  // Drop extra reference to prevent memory leak
-        // 因为把最后一个格子替换上来了，所以这里要向下重排序。
-        fixDown(1);
-    }
-    /**
-     * Removes the ith element from queue without regard for maintaining
-     * the heap invariant.  Recall that queue is one-based, so
-     * 1 <= i <= size.
-     */
-    void quickRemove(int i) {
-        assert i <= size;
-        queue[i] = queue[size];
-        queue[size--] = null;  // Drop extra ref to prevent memory leak
-    }
-    /**
-     * Sets the nextExecutionTime associated with the head task to the
-     * specified value, and adjusts priority queue accordingly.
-     */
-    void rescheduleMin(long newTime) {
-        queue[1].nextExecutionTime = newTime;
-        fixDown(1);
-    }
-    /**
-     * Returns true if the priority queue contains no elements.
-     */
-    boolean isEmpty() {
-        return size==0;
-    }
-    /**
-     * Removes all elements from the priority queue.
-     */
-    void clear() {
-        // Null out task references to prevent memory leak
-        for (int i=1; i<=size; i++)
-            queue[i] = null;
-        size = 0;
-    }
-    /**
-     * Establishes the heap invariant (described above) assuming the heap
-     * satisfies the invariant except possibly for the leaf-node indexed by k
-     * (which may have a nextExecutionTime less than its parent's).
-     *
-     * This method functions by "promoting" queue[k] up the hierarchy
-     * (by swapping it with its parent) repeatedly until queue[k]'s
-     * nextExecutionTime is greater than or equal to that of its parent.
-     */
-    private void fixUp(int k) {
-        while (k > 1) {
-            int j = k >> 1;
-            if (queue[j].nextExecutionTime <= queue[k].nextExecutionTime)
-                break;
-            TimerTask tmp = queue[j];  queue[j] = queue[k]; queue[k] = tmp;
-            k = j;
+    private void rejected(TimerTask task) {
+        synchronized(queue) {
+            synchronized(task.lock) {
+                task.state = TimerTask.CANCELLED;
+            }
+            if (task.period != 0)
+                outstanding--;
         }
     }
+
     /**
-     * Establishes the heap invariant (described above) in the subtree
-     * rooted at k, which is assumed to satisfy the heap invariant except
-     * possibly for node k itself (which may have a nextExecutionTime greater
-     * than its children's).
-     *
-     * This method functions by "demoting" queue[k] down the hierarchy
-     * (by swapping it with its smaller child) repeatedly until queue[k]'s
-     * nextExecutionTime is less than or equal to those of its children.
+     * Runs a task for the executor, and then puts a repeating task back
+     * in the queue, unless it was cancelled or threw an exception.
      */
-    private void fixDown(int k) {
-        int j;
-        while ((j = k << 1) <= size && j > 0) {
-            if (j < size &&
-                    queue[j].nextExecutionTime > queue[j+1].nextExecutionTime)
-                j++; // j indexes smallest kid
-            if (queue[k].nextExecutionTime <= queue[j].nextExecutionTime)
-                break;
-            TimerTask tmp = queue[j];  queue[j] = queue[k]; queue[k] = tmp;
-            k = j;
+    private final class Dispatch implements Runnable {
+        private final TimerTask task;
+
+        Dispatch(TimerTask task) {
+            this.task = task;
+        }
+
+        public void run() {
+            if (task.period == 0) {
+                task.run();
+                return;
+            }
+            boolean completed = false;
+            try {
+                task.run();
+                completed = true;
+            } finally {
+                synchronized(queue) {
+                    outstanding--;
+                    boolean again;
+                    synchronized(task.lock) {
+                        again = completed && !cancelled &&
+                            task.state == TimerTask.SCHEDULED;
+                        if (again)
+                            task.queue = queue;
+                    }
+                    if (again)
+                        queue.add(task);
+                    queue.notify();
+                }
+            }
         }
     }
-    /**
-     * Establishes the heap invariant (described above) in the entire tree,
-     * assuming nothing about the order of the elements prior to the call.
-     */
-    void heapify() {
-        for (int i = size/2; i >= 1; i--)
-            fixDown(i);
-    }
-}
\ No newline at end of file
+}
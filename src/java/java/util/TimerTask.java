@@ -80,6 +80,13 @@ public abstract class TimerTask implements Runnable {
      */
     long period = 0;
 
+    /**
+     * The queue of the timer on which this task was scheduled, while the
+     * task is in it, told of its cancellation so that cancelled tasks can
+     * be removed in bulk.
+     */
+    TaskQueue queue;
+
     /**
      * Creates a new timer task.
      */
@@ -114,11 +121,17 @@ public abstract class TimerTask implements Runnable {
      *         executions from taking place.)
      */
     public boolean cancel() {
+        boolean result;
+        TaskQueue q;
         synchronized(lock) {
-            boolean result = (state == SCHEDULED);
+            result = (state == SCHEDULED);
             state = CANCELLED;
-            return result;
+            q = queue;
+            queue = null;
         }
+        if (result && q != null)
+            q.taskCancelled();
+        return result;
     }
 
     /**
@@ -0,0 +1,1093 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import sun.misc.SharedSecrets;
+
+/**
+ * A thread-safe list with the snapshot semantics of {@link
+ * CopyOnWriteArrayList}, whose elements are held in a sequence of short
+ * arrays, or <em>chunks</em>, rather than in one.  A mutation copies only
+ * the chunk it changes and the small array of chunks, so that adding or
+ * removing an element of a list of <em>n</em> elements makes garbage in
+ * proportion to <em>n</em>/64 rather than to <em>n</em>.  This suits
+ * lists that are traversed often and also changed often, such as the
+ * listeners of a busy event source, which a {@code CopyOnWriteArrayList}
+ * of thousands of elements serves poorly.  In return, {@link #get} must
+ * find the chunk holding an element, in time logarithmic in the number of
+ * chunks, and traversal steps from chunk to chunk.
+ *
+ * <p>As with {@code CopyOnWriteArrayList}, mutations are serialized by a
+ * lock, and iterators and spliterators traverse the state of the list at
+ * the point they were created, never throw {@link
+ * java.util.ConcurrentModificationException}, and do not support the
+ * {@code remove}, {@code set} or {@code add} methods.  The views returned
+ * by {@link #subList} are those of {@link AbstractList}, and like those of
+ * {@code ArrayList} are not safe for concurrent use.
+ *
+ * <p>All elements are permitted, including {@code null}.
+ *
+ * <p>Memory consistency effects: As with other concurrent
+ * collections, actions in a thread prior to placing an object into a
+ * {@code CopyOnWriteChunkedList}
+ * <a href="package-summary.html#MemoryVisibility"><i>happen-before</i></a>
+ * actions subsequent to the access or removal of that element from
+ * the {@code CopyOnWriteChunkedList} in another thread.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @see CopyOnWriteArrayList
+ * @since 9
+ * @param <E> the type of elements held in this collection
+ */
+public class CopyOnWriteChunkedList<E> extends AbstractList<E>
+    implements RandomAccess, Cloneable, java.io.Serializable {
+    private static final long serialVersionUID = -2412930164826373316L;
+
+    /*
+     * The state of the list is an immutable Chunks: an array of non-empty
+     * chunks of at most MAX_CHUNK elements, and the cumulative counts of
+     * elements through each chunk, by which an index is located by binary
+     * search.  Appending fills the last chunk before starting another;
+     * inserting into a full chunk splits it in two.  A chunk reduced by
+     * removal below MIN_CHUNK elements is merged with a neighbour when the
+     * two fit in one, so that chunks hold MIN_CHUNK elements or more on
+     * average and the array of chunks stays short.  Bulk operations
+     * rebuild the list from a flat array, in full chunks.
+     */
+
+    /** The most elements in a chunk. */
+    private static final int MAX_CHUNK = 64;
+
+    /** Chunks with fewer elements are merged with a neighbour if possible. */
+    private static final int MIN_CHUNK = MAX_CHUNK / 4;
+
+    private static final Object[] EMPTY_CHUNK = new Object[0];
+
+    private static final Chunks EMPTY = new Chunks(new Object[0][], new int[0]);
+
+    /** The lock protecting all mutators */
+    final transient ReentrantLock lock = new ReentrantLock();
+
+    /** The current state of the list. */
+    private transient volatile Chunks chunks;
+
+    /**
+     * An immutable state of the list.
+     */
+    static final class Chunks {
+        final Object[][] chunks;
+        /** ends[k] is the number of elements in chunks[0..k] */
+        final int[] ends;
+
+        Chunks(Object[][] chunks, int[] ends) {
+            this.chunks = chunks;
+            this.ends = ends;
+        }
+
+        int size() {
+            int n = ends.length;
+            return (n == 0) ? 0 : ends[n - 1];
+        }
+
+        /** Returns the index of the first element of chunk k. */
+        int start(int k) {
+            return (k == 0) ? 0 : ends[k - 1];
+        }
+
+        /** Returns the chunk holding the element at index i < size(). */
+        int chunkOf(int i) {
+            int lo = 0, hi = ends.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ends[mid] <= i)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+
+        Object get(int i) {
+            int k = chunkOf(i);
+            return chunks[k][i - start(k)];
+        }
+
+        /**
+         * Returns the state with the count chunks from k replaced by the
+         * given chunks, of which empty ones are left out.
+         */
+        Chunks splice(int k, int count, Object[]... with) {
+            int added = 0, delta = 0;
+            for (Object[] c : with) {
+                if (c.length > 0) {
+                    added++;
+                    delta += c.length;
+                }
+            }
+            for (int j = k; j < k + count; j++)
+                delta -= chunks[j].length;
+            int n = chunks.length - count + added;
+            Object[][] cs = new Object[n][];
+            int[] es = new int[n];
+            System.arraycopy(chunks, 0, cs, 0, k);
+            System.arraycopy(ends, 0, es, 0, k);
+            int j = k, end = start(k);
+            for (Object[] c : with) {
+                if (c.length > 0) {
+                    cs[j] = c;
+                    es[j++] = end += c.length;
+                }
+            }
+            for (int i = k + count; i < chunks.length; i++, j++) {
+                cs[j] = chunks[i];
+                es[j] = ends[i] + delta;
+            }
+            return new Chunks(cs, es);
+        }
+
+        Object[] toArray() {
+            Object[] a = new Object[size()];
+            int i = 0;
+            for (Object[] c : chunks) {
+                System.arraycopy(c, 0, a, i, c.length);
+                i += c.length;
+            }
+            return a;
+        }
+
+        /** Returns the state holding the given elements, in full chunks. */
+        static Chunks of(Object[] elements) {
+            int len = elements.length;
+            if (len == 0)
+                return EMPTY;
+            int n = (len + MAX_CHUNK - 1) / MAX_CHUNK;
+            Object[][] cs = new Object[n][];
+            int[] es = new int[n];
+            for (int k = 0; k < n; k++) {
+                int from = k * MAX_CHUNK;
+                int to = Math.min(from + MAX_CHUNK, len);
+                cs[k] = Arrays.copyOfRange(elements, from, to, Object[].class);
+                es[k] = to;
+            }
+            return new Chunks(cs, es);
+        }
+    }
+
+    /**
+     * Creates an empty list.
+     */
+    public CopyOnWriteChunkedList() {
+        chunks = EMPTY;
+    }
+
+    /**
+     * Creates a list containing the elements of the specified
+     * collection, in the order they are returned by the collection's
+     * iterator.
+     *
+     * @param c the collection of initially held elements
+     * @throws NullPointerException if the specified collection is null
+     */
+    public CopyOnWriteChunkedList(Collection<? extends E> c) {
+        chunks = Chunks.of(c.toArray());
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the number of elements in this list
+     */
+    public int size() {
+        return chunks.size();
+    }
+
+    /**
+     * Returns {@code true} if this list contains no elements.
+     *
+     * @return {@code true} if this list contains no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private static boolean eq(Object o1, Object o2) {
+        return (o1 == null) ? o2 == null : o1.equals(o2);
+    }
+
+    /**
+     * Returns the index of the first occurrence of o in the state, or -1.
+     */
+    private static int indexOf(Object o, Chunks s) {
+        Object[][] cs = s.chunks;
+        for (int k = 0; k < cs.length; k++) {
+            Object[] c = cs[k];
+            for (int i = 0; i < c.length; i++) {
+                if (eq(o, c[i]))
+                    return s.start(k) + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if this list contains the specified element.
+     *
+     * @param o element whose presence in this list is to be tested
+     * @return {@code true} if this list contains the specified element
+     */
+    public boolean contains(Object o) {
+        return indexOf(o, chunks) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int indexOf(Object o) {
+        return indexOf(o, chunks);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int lastIndexOf(Object o) {
+        Chunks s = chunks;
+        Object[][] cs = s.chunks;
+        for (int k = cs.length - 1; k >= 0; k--) {
+            Object[] c = cs[k];
+            for (int i = c.length - 1; i >= 0; i--) {
+                if (eq(o, c[i]))
+                    return s.start(k) + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a shallow copy of this list.  (The elements themselves
+     * are not copied.)
+     *
+     * @return a clone of this list
+     */
+    public Object clone() {
+        try {
+            @SuppressWarnings("unchecked")
+            CopyOnWriteChunkedList<E> clone =
+                (CopyOnWriteChunkedList<E>) super.clone();
+            clone.resetLock();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            // this shouldn't happen, since we are Cloneable
+            throw new InternalError();
+        }
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list
+     * in proper sequence (from first to last element).
+     *
+     * <p>The returned array will be "safe" in that no references to it are
+     * maintained by this list.
+     *
+     * @return an array containing all the elements in this list
+     */
+    public Object[] toArray() {
+        return chunks.toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ArrayStoreException {@inheritDoc}
+     * @throws NullPointerException if the specified array is null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] elements = chunks.toArray();
+        int len = elements.length;
+        if (a.length < len)
+            return (T[]) Arrays.copyOf(elements, len, a.getClass());
+        System.arraycopy(elements, 0, a, 0, len);
+        if (a.length > len)
+            a[len] = null;
+        return a;
+    }
+
+    private static IndexOutOfBoundsException outOfBounds(int index, int size) {
+        return new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Chunks s = chunks;
+        if (index < 0 || index >= s.size())
+            throw outOfBounds(index, s.size());
+        return (E) s.get(index);
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element.
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public E set(int index, E element) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            if (index < 0 || index >= s.size())
+                throw outOfBounds(index, s.size());
+            int k = s.chunkOf(index);
+            Object[] c = s.chunks[k].clone();
+            int off = index - s.start(k);
+            @SuppressWarnings("unchecked") E oldValue = (E) c[off];
+            c[off] = element;
+            chunks = s.splice(k, 1, c);
+            return oldValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the specified element to the end of this list.
+     *
+     * @param e element to be appended to this list
+     * @return {@code true} (as specified by {@link java.util.Collection#add})
+     */
+    public boolean add(E e) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            insert(s, s.size(), e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * list. Shifts the element currently at that position (if any) and
+     * any subsequent elements to the right (adds one to their indices).
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public void add(int index, E element) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            if (index < 0 || index > s.size())
+                throw outOfBounds(index, s.size());
+            insert(s, index, element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts e at the index of the state, under the lock.
+     */
+    private void insert(Chunks s, int index, Object e) {
+        modCount++;
+        int n = s.chunks.length;
+        if (n == 0) {
+            chunks = s.splice(0, 0, new Object[] { e });
+            return;
+        }
+        int k = (index == s.size()) ? n - 1 : s.chunkOf(index);
+        Object[] c = s.chunks[k];
+        int off = index - s.start(k);
+        int len = c.length;
+        if (off == len && len == MAX_CHUNK) {
+            // Appending to a full chunk starts another
+            chunks = s.splice(k + 1, 0, new Object[] { e });
+            return;
+        }
+        Object[] d = new Object[len + 1];
+        System.arraycopy(c, 0, d, 0, off);
+        d[off] = e;
+        System.arraycopy(c, off, d, off + 1, len - off);
+        if (len < MAX_CHUNK) {
+            chunks = s.splice(k, 1, d);
+        } else {
+            int half = d.length >>> 1;
+            chunks = s.splice(k, 1, Arrays.copyOfRange(d, 0, half),
+                              Arrays.copyOfRange(d, half, d.length));
+        }
+    }
+
+    /**
+     * Removes the element at the specified position in this list.
+     * Shifts any subsequent elements to the left (subtracts one from their
+     * indices).  Returns the element that was removed from the list.
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public E remove(int index) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            if (index < 0 || index >= s.size())
+                throw outOfBounds(index, s.size());
+            @SuppressWarnings("unchecked") E oldValue = (E) s.get(index);
+            delete(s, index);
+            return oldValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this list,
+     * if it is present.  If this list does not contain the element, it is
+     * unchanged.
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if this list contained the specified element
+     */
+    public boolean remove(Object o) {
+        Chunks snapshot = chunks;
+        int index = indexOf(o, snapshot);
+        if (index < 0)
+            return false;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            if (s != snapshot) {
+                index = indexOf(o, s);
+                if (index < 0)
+                    return false;
+            }
+            delete(s, index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the element at the index of the state, under the lock.
+     */
+    private void delete(Chunks s, int index) {
+        modCount++;
+        int k = s.chunkOf(index);
+        Object[] c = s.chunks[k];
+        int off = index - s.start(k);
+        int len = c.length - 1;
+        Object[] d = new Object[len];
+        System.arraycopy(c, 0, d, 0, off);
+        System.arraycopy(c, off + 1, d, off, len - off);
+        if (len > 0 && len < MIN_CHUNK) {
+            Object[][] cs = s.chunks;
+            if (k + 1 < cs.length && cs[k + 1].length + len <= MAX_CHUNK) {
+                chunks = s.splice(k, 2, concat(d, cs[k + 1]));
+                return;
+            }
+            if (k > 0 && cs[k - 1].length + len <= MAX_CHUNK) {
+                chunks = s.splice(k - 1, 2, concat(cs[k - 1], d));
+                return;
+            }
+        }
+        chunks = s.splice(k, 1, d);
+    }
+
+    private static Object[] concat(Object[] a, Object[] b) {
+        Object[] c = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, c, a.length, b.length);
+        return c;
+    }
+
+    /**
+     * Appends the element, if not present.
+     *
+     * @param e element to be added to this list, if absent
+     * @return {@code true} if the element was added
+     */
+    public boolean addIfAbsent(E e) {
+        Chunks snapshot = chunks;
+        if (indexOf(e, snapshot) >= 0)
+            return false;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            if (s != snapshot && indexOf(e, s) >= 0)
+                return false;
+            insert(s, s.size(), e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all of the elements from this list.
+     * The list will be empty after this call returns.
+     */
+    public void clear() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            modCount++;
+            chunks = EMPTY;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends all of the elements in the specified collection to the end
+     * of this list, in the order that they are returned by the specified
+     * collection's iterator.
+     *
+     * @param c collection containing elements to be added to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(-1, c);
+    }
+
+    /**
+     * Inserts all of the elements in the specified collection into this
+     * list, starting at the specified position.  Shifts the element
+     * currently at that position (if any) and any subsequent elements to
+     * the right (increases their indices).  The new elements will appear
+     * in this list in the order that they are returned by the
+     * specified collection's iterator.
+     *
+     * @param index index at which to insert the first element
+     *        from the specified collection
+     * @param c collection containing elements to be added to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Object[] cs = c.toArray();
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            int len = s.size();
+            if (index == -1)
+                index = len;
+            else if (index < 0 || index > len)
+                throw outOfBounds(index, len);
+            if (cs.length == 0)
+                return false;
+            modCount++;
+            Object[] elements = s.toArray();
+            Object[] d = new Object[len + cs.length];
+            System.arraycopy(elements, 0, d, 0, index);
+            System.arraycopy(cs, 0, d, index, cs.length);
+            System.arraycopy(elements, index, d, index + cs.length, len - index);
+            chunks = Chunks.of(d);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes from this list all of the elements whose index is between
+     * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     *
+     * @param fromIndex index of first element to be removed
+     * @param toIndex index after last element to be removed
+     * @throws IndexOutOfBoundsException if fromIndex or toIndex out of range
+     *         ({@code fromIndex < 0 || toIndex > size() || toIndex < fromIndex})
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Chunks s = chunks;
+            int len = s.size();
+            if (fromIndex < 0 || toIndex > len || toIndex < fromIndex)
+                throw new IndexOutOfBoundsException();
+            if (fromIndex == toIndex)
+                return;
+            modCount++;
+            Object[] elements = s.toArray();
+            Object[] d = new Object[len - (toIndex - fromIndex)];
+            System.arraycopy(elements, 0, d, 0, fromIndex);
+            System.arraycopy(elements, toIndex, d, fromIndex, len - toIndex);
+            chunks = Chunks.of(d);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes from this list all of its elements that are contained in
+     * the specified collection.
+     *
+     * @param c collection containing elements to be removed from this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws ClassCastException if the class of an element of this list
+     *         is incompatible with the specified collection
+     *         (<a href="../Collection.html#optional-restrictions">optional</a>)
+     * @throws NullPointerException if this list contains a null element and the
+     *         specified collection does not permit null elements
+     *         (<a href="../Collection.html#optional-restrictions">optional</a>),
+     *         or if the specified collection is null
+     * @see #remove(Object)
+     */
+    public boolean removeAll(Collection<?> c) {
+        if (c == null) throw new NullPointerException();
+        return bulkRemove(null, c, false);
+    }
+
+    /**
+     * Retains only the elements in this list that are contained in the
+     * specified collection.  In other words, removes from this list all of
+     * its elements that are not contained in the specified collection.
+     *
+     * @param c collection containing elements to be retained in this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws ClassCastException if the class of an element of this list
+     *         is incompatible with the specified collection
+     *         (<a href="../Collection.html#optional-restrictions">optional</a>)
+     * @throws NullPointerException if this list contains a null element and the
+     *         specified collection does not permit null elements
+     *         (<a href="../Collection.html#optional-restrictions">optional</a>),
+     *         or if the specified collection is null
+     * @see #remove(Object)
+     */
+    public boolean retainAll(Collection<?> c) {
+        if (c == null) throw new NullPointerException();
+        return bulkRemove(null, c, true);
+    }
+
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new NullPointerException();
+        return bulkRemove(filter, null, false);
+    }
+
+    /**
+     * Removes the elements that pass the filter if it is non-null, or else
+     * those contained in c, or if retain is true, not contained in c.
+     */
+    private boolean bulkRemove(Predicate<? super E> filter, Collection<?> c,
+                               boolean retain) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = chunks.toArray();
+            int len = elements.length;
+            Object[] kept = new Object[len];
+            int n = 0;
+            for (Object x : elements) {
+                @SuppressWarnings("unchecked") E e = (E) x;
+                boolean remove = (filter != null) ? filter.test(e)
+                    : c.contains(e) != retain;
+                if (!remove)
+                    kept[n++] = x;
+            }
+            if (n == len)
+                return false;
+            modCount++;
+            chunks = Chunks.of(Arrays.copyOf(kept, n));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new NullPointerException();
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = chunks.toArray();
+            for (int i = 0; i < elements.length; i++) {
+                @SuppressWarnings("unchecked") E e = (E) elements[i];
+                elements[i] = operator.apply(e);
+            }
+            modCount++;
+            chunks = Chunks.of(elements);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void sort(Comparator<? super E> c) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = chunks.toArray();
+            @SuppressWarnings("unchecked") E[] es = (E[])elements;
+            Arrays.sort(es, c);
+            modCount++;
+            chunks = Chunks.of(elements);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException();
+        for (Object[] c : chunks.chunks) {
+            for (Object x : c) {
+                @SuppressWarnings("unchecked") E e = (E) x;
+                action.accept(e);
+            }
+        }
+    }
+
+    /**
+     * Saves this list to a stream (that is, serializes it).
+     *
+     * @param s the stream
+     * @throws java.io.IOException if an I/O error occurs
+     * @serialData The length of the array backing the list is emitted
+     *               (int), followed by all of its elements (each an Object)
+     *               in the proper order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws java.io.IOException {
+
+        s.defaultWriteObject();
+
+        Object[] elements = chunks.toArray();
+        // Write out array length
+        s.writeInt(elements.length);
+
+        // Write out all elements in the proper order.
+        for (Object element : elements)
+            s.writeObject(element);
+    }
+
+    /**
+     * Reconstitutes this list from a stream (that is, deserializes it).
+     * @param s the stream
+     * @throws ClassNotFoundException if the class of a serialized object
+     *         could not be found
+     * @throws java.io.IOException if an I/O error occurs
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws java.io.IOException, ClassNotFoundException {
+
+        s.defaultReadObject();
+
+        // bind to new lock
+        resetLock();
+
+        // Read in array length and allocate array
+        int len = s.readInt();
+        SharedSecrets.getJavaOISAccess().checkArray(s, Object[].class, len);
+        Object[] elements = new Object[len];
+
+        // Read in all elements in the proper order.
+        for (int i = 0; i < len; i++)
+            elements[i] = s.readObject();
+        chunks = Chunks.of(elements);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned iterator provides a snapshot of the state of the list
+     * when the iterator was constructed. No synchronization is needed while
+     * traversing the iterator. The iterator does <em>NOT</em> support the
+     * {@code remove} method.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    public Iterator<E> iterator() {
+        return new ChunkedIterator<E>(chunks, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned iterator provides a snapshot of the state of the list
+     * when the iterator was constructed. No synchronization is needed while
+     * traversing the iterator. The iterator does <em>NOT</em> support the
+     * {@code remove}, {@code set} or {@code add} methods.
+     */
+    public ListIterator<E> listIterator() {
+        return new ChunkedIterator<E>(chunks, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned iterator provides a snapshot of the state of the list
+     * when the iterator was constructed. No synchronization is needed while
+     * traversing the iterator. The iterator does <em>NOT</em> support the
+     * {@code remove}, {@code set} or {@code add} methods.
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public ListIterator<E> listIterator(int index) {
+        Chunks s = chunks;
+        if (index < 0 || index > s.size())
+            throw new IndexOutOfBoundsException("Index: "+index);
+        return new ChunkedIterator<E>(s, index);
+    }
+
+    /**
+     * Returns a {@link Spliterator} over the elements in this list.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#IMMUTABLE},
+     * {@link Spliterator#ORDERED}, {@link Spliterator#SIZED}, and
+     * {@link Spliterator#SUBSIZED}.
+     *
+     * <p>The spliterator provides a snapshot of the state of the list
+     * when the spliterator was constructed. No synchronization is needed while
+     * operating on the spliterator.
+     *
+     * @return a {@code Spliterator} over the elements in this list
+     */
+    public Spliterator<E> spliterator() {
+        Chunks s = chunks;
+        return new ChunkSpliterator<E>(s, 0, 0, s.chunks.length);
+    }
+
+    static final class ChunkedIterator<E> implements ListIterator<E> {
+        /** Snapshot of the list */
+        private final Chunks snapshot;
+        private final int size;
+        /** Index of element to be returned by subsequent call to next.  */
+        private int cursor;
+        /** The chunk holding the cursor, and its offset in the chunk */
+        private Object[] chunk;
+        private int k, off;
+
+        ChunkedIterator(Chunks s, int initialCursor) {
+            snapshot = s;
+            size = s.size();
+            cursor = initialCursor;
+            int n = s.chunks.length;
+            if (n == 0) {
+                chunk = EMPTY_CHUNK;
+            } else {
+                k = (initialCursor == size) ? n - 1 : s.chunkOf(initialCursor);
+                chunk = s.chunks[k];
+                off = initialCursor - s.start(k);
+            }
+        }
+
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (! hasNext())
+                throw new NoSuchElementException();
+            if (off == chunk.length) {
+                chunk = snapshot.chunks[++k];
+                off = 0;
+            }
+            cursor++;
+            return (E) chunk[off++];
+        }
+
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            if (! hasPrevious())
+                throw new NoSuchElementException();
+            if (off == 0) {
+                chunk = snapshot.chunks[--k];
+                off = chunk.length;
+            }
+            cursor--;
+            return (E) chunk[--off];
+        }
+
+        public int nextIndex() {
+            return cursor;
+        }
+
+        public int previousIndex() {
+            return cursor-1;
+        }
+
+        /**
+         * Not supported. Always throws UnsupportedOperationException.
+         * @throws UnsupportedOperationException always; {@code remove}
+         *         is not supported by this iterator.
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not supported. Always throws UnsupportedOperationException.
+         * @throws UnsupportedOperationException always; {@code set}
+         *         is not supported by this iterator.
+         */
+        public void set(E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not supported. Always throws UnsupportedOperationException.
+         * @throws UnsupportedOperationException always; {@code add}
+         *         is not supported by this iterator.
+         */
+        public void add(E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            Object[][] cs = snapshot.chunks;
+            if (cursor == size)
+                return;
+            for (int j = k, i = off; j < cs.length; j++, i = 0) {
+                Object[] c = cs[j];
+                for (; i < c.length; i++) {
+                    @SuppressWarnings("unchecked") E e = (E) c[i];
+                    action.accept(e);
+                }
+            }
+            k = cs.length - 1;
+            chunk = cs[k];
+            off = chunk.length;
+            cursor = size;
+        }
+    }
+
+    /**
+     * A spliterator over the chunks [k, fence) of a snapshot, starting at
+     * offset off of chunk k, that splits by halving the range of chunks.
+     */
+    static final class ChunkSpliterator<E> implements Spliterator<E> {
+        private final Chunks snapshot;
+        private int k, off;
+        private final int fence;
+
+        ChunkSpliterator(Chunks s, int k, int off, int fence) {
+            this.snapshot = s;
+            this.k = k;
+            this.off = off;
+            this.fence = fence;
+        }
+
+        public Spliterator<E> trySplit() {
+            int lo = k, mid = (lo + fence) >>> 1;
+            if (mid <= lo)
+                return null;
+            Spliterator<E> prefix = new ChunkSpliterator<E>(snapshot, lo, off, mid);
+            k = mid;
+            off = 0;
+            return prefix;
+        }
+
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            Object[][] cs = snapshot.chunks;
+            for (; k < fence; k++, off = 0) {
+                Object[] c = cs[k];
+                if (off < c.length) {
+                    @SuppressWarnings("unchecked") E e = (E) c[off++];
+                    action.accept(e);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            Object[][] cs = snapshot.chunks;
+            int j = k, i = off, hi = fence;
+            k = hi;
+            off = 0;
+            for (; j < hi; j++, i = 0) {
+                Object[] c = cs[j];
+                for (; i < c.length; i++) {
+                    @SuppressWarnings("unchecked") E e = (E) c[i];
+                    action.accept(e);
+                }
+            }
+        }
+
+        public long estimateSize() {
+            if (k >= fence)
+                return 0;
+            return snapshot.start(fence) - (snapshot.start(k) + off);
+        }
+
+        public int characteristics() {
+            return Spliterator.IMMUTABLE | Spliterator.ORDERED |
+                Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    // Support for resetting lock while deserializing
+    private void resetLock() {
+        UNSAFE.putObjectVolatile(this, lockOffset, new ReentrantLock());
+    }
+    private static final sun.misc.Unsafe UNSAFE;
+    private static final long lockOffset;
+    static {
+        try {
+            UNSAFE = sun.misc.Unsafe.getUnsafe();
+            Class<?> k = CopyOnWriteChunkedList.class;
+            lockOffset = UNSAFE.objectFieldOffset
+                (k.getDeclaredField("lock"));
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
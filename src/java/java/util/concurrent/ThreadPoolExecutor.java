@@ -42,6 +42,8 @@ import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.*;
 
 /**
@@ -261,6 +263,20 @@ import java.util.*;
  * assist in storage reclamation when large numbers of queued tasks
  * become cancelled.</dd>
  *
+ * <dt>Concurrent bookkeeping</dt>
+ *
+ * <dd>By default the set of worker threads and the statistics
+ * reported by {@link #getPoolSize}, {@link #getActiveCount}, {@link
+ * #getCompletedTaskCount} and related methods are maintained under a
+ * single pool-wide lock. Setting system property {@code
+ * java.util.concurrent.ThreadPoolExecutor.concurrentBookkeeping} to
+ * {@code true} instead tracks workers in a concurrent set and
+ * completed tasks in a striped counter, so that creating and retiring
+ * threads and polling the statistics methods proceed without
+ * contending for that lock. This may help pools that churn through
+ * many short-lived threads on large machines, or that are monitored
+ * frequently.</dd>
+ *
  * <dt>Finalization</dt>
  *
  * <dd>A pool that is no longer referenced in a program <em>AND</em>
@@ -512,12 +528,35 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
     // todo
     private final ReentrantLock mainLock = new ReentrantLock();
 
+    /**
+     * Whether workers are tracked in a concurrent set rather than under
+     * mainLock. Read once from system property
+     * {@code java.util.concurrent.ThreadPoolExecutor.concurrentBookkeeping}.
+     *
+     * When set, addWorker and processWorkerExit add and remove workers
+     * without taking mainLock, and the statistics methods read the set
+     * and counters without it, so monitoring never contends with thread
+     * creation and exit. Iterations that interrupt workers (shutdown,
+     * shutdownNow, interruptIdleWorkers) still hold mainLock, which
+     * keeps them serialized with each other as described above. A
+     * worker added concurrently with shutdown is either seen by the
+     * shutdown's iteration, or itself sees the new run state when it
+     * rechecks after adding (both sides write, then read, volatile
+     * state), so the guarantees of the locked mode are kept.
+     */
+    // 为true时，workers用并发Set维护，统计方法不再获取mainLock。
+    private static final boolean CONCURRENT_BOOKKEEPING =
+        java.security.AccessController.doPrivileged(
+            new sun.security.action.GetBooleanAction(
+                "java.util.concurrent.ThreadPoolExecutor.concurrentBookkeeping"));
+
     /**
      * Set containing all worker threads in pool. Accessed only when
-     * holding mainLock.
+     * holding mainLock, unless CONCURRENT_BOOKKEEPING.
      */
-    // 所有的Worker，获得mainLock时才能访问。
-    private final HashSet<Worker> workers = new HashSet<Worker>();
+    // 所有的Worker，获得mainLock时才能访问（CONCURRENT_BOOKKEEPING模式除外）。
+    private final Set<Worker> workers = CONCURRENT_BOOKKEEPING ?
+        ConcurrentHashMap.<Worker>newKeySet() : new HashSet<Worker>();
 
     /**
      * Wait condition to support awaitTermination
@@ -526,18 +565,27 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
     private final Condition termination = mainLock.newCondition();
 
     /**
-     * Tracks largest attained pool size. Accessed only under
-     * mainLock.
+     * Tracks largest attained pool size. Updated only under
+     * mainLock; volatile so that it can be read without it.
      */
-    // 达到过的最大线程，获得mainLock时才能访问。
-    private int largestPoolSize;
+    // 达到过的最大线程，获得mainLock时才能更新。
+    private volatile int largestPoolSize;
 
     /**
      * Counter for completed tasks. Updated only on termination of
-     * worker threads. Accessed only under mainLock.
+     * worker threads. A striped counter, so that exiting workers
+     * need not serialize on it when CONCURRENT_BOOKKEEPING.
+     */
+    // 完成的总任务数
+    private final LongAdder completedTaskCount = new LongAdder();
+
+    /**
+     * Largest value returned by getCompletedTaskCount when
+     * CONCURRENT_BOOKKEEPING, used to keep successive results from
+     * decreasing while a worker is between leaving the workers set
+     * and adding its count to completedTaskCount.
      */
-    // 完成的总任务数，获得mainLock时才能访问。
-    private long completedTaskCount;
+    private final AtomicLong completedTaskCountSeen = new AtomicLong();
 
     /*
      * All user control parameters are declared as volatiles so that
@@ -1040,7 +1088,23 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         try {
             w = new Worker(firstTask);
             final Thread t = w.thread;
-            if (t != null) {
+            if (t != null && CONCURRENT_BOOKKEEPING) {
+                if (t.isAlive()) // precheck that t is startable
+                    throw new IllegalThreadStateException();
+                // Add first, then recheck run state; see
+                // CONCURRENT_BOOKKEEPING.
+                // 先加入Set再检查运行状态，与shutdown的"先改状态再遍历"配对。
+                workers.add(w);
+                int rs = runStateOf(ctl.get());
+                if (rs < SHUTDOWN ||
+                    (rs == SHUTDOWN && firstTask == null)) {
+                    int s = workers.size();
+                    if (s > largestPoolSize)
+                        updateLargestPoolSize(s);
+                    t.start();
+                    workerStarted = true;
+                }
+            } else if (t != null) {
                 final ReentrantLock mainLock = this.mainLock;
                 mainLock.lock();
                 try {
@@ -1076,6 +1140,20 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         return workerStarted;
     }
 
+    /**
+     * Raises largestPoolSize to s if it is still below it.
+     */
+    private void updateLargestPoolSize(int s) {
+        final ReentrantLock mainLock = this.mainLock;
+        mainLock.lock();
+        try {
+            if (s > largestPoolSize)
+                largestPoolSize = s;
+        } finally {
+            mainLock.unlock();
+        }
+    }
+
     /**
      * Rolls back the worker thread creation.
      * - removes worker from workers, if present
@@ -1124,13 +1202,18 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             // 死循环 + cas扣减ctl中的Worker数量。如果是突然中断的话。（非突然中断的话，已经在getTask()中减过wc了）
             decrementWorkerCount();
 
-        final ReentrantLock mainLock = this.mainLock;
-        mainLock.lock();
-        try {
-            completedTaskCount += w.completedTasks;  // 将Worker的完成任务数，累加到总完成任务数中。
-            workers.remove(w);  // 将Worker从HashSet中移除
-        } finally {
-            mainLock.unlock();
+        if (CONCURRENT_BOOKKEEPING) {
+            workers.remove(w);
+            completedTaskCount.add(w.completedTasks);
+        } else {
+            final ReentrantLock mainLock = this.mainLock;
+            mainLock.lock();
+            try {
+                completedTaskCount.add(w.completedTasks);  // 将Worker的完成任务数，累加到总完成任务数中。
+                workers.remove(w);  // 将Worker从HashSet中移除
+            } finally {
+                mainLock.unlock();
+            }
         }
 
         // 尝试终止一下pool（如果pool是running态，就会忽略这个尝试）
@@ -2012,6 +2095,9 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     // 当前线程数
     public int getPoolSize() {
+        if (CONCURRENT_BOOKKEEPING)
+            return runStateAtLeast(ctl.get(), TIDYING) ? 0
+                : workers.size();
         final ReentrantLock mainLock = this.mainLock;
         mainLock.lock();
         try {
@@ -2032,19 +2118,29 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     // 活跃线程数，不准。
     public int getActiveCount() {
+        if (CONCURRENT_BOOKKEEPING)
+            return activeCount();
         final ReentrantLock mainLock = this.mainLock;
         mainLock.lock();
         try {
-            int n = 0;
-            for (Worker w : workers)
-                if (w.isLocked())
-                    ++n;
-            return n;
+            return activeCount();
         } finally {
             mainLock.unlock();
         }
     }
 
+    /**
+     * Counts workers currently running a task. Called under mainLock
+     * unless CONCURRENT_BOOKKEEPING.
+     */
+    private int activeCount() {
+        int n = 0;
+        for (Worker w : workers)
+            if (w.isLocked())
+                ++n;
+        return n;
+    }
+
     /**
      * Returns the largest number of threads that have ever
      * simultaneously been in the pool.
@@ -2053,6 +2149,8 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     // pool最多到达过几个线程
     public int getLargestPoolSize() {
+        if (CONCURRENT_BOOKKEEPING)
+            return largestPoolSize;
         final ReentrantLock mainLock = this.mainLock;
         mainLock.lock();
         try {
@@ -2072,21 +2170,31 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     // 总任务数（总完成数+队列中的待完成数量），不准。因为在累加的同时，任务也一直在添加、完成。
     public long getTaskCount() {
+        if (CONCURRENT_BOOKKEEPING)
+            return taskCount();
         final ReentrantLock mainLock = this.mainLock;
         mainLock.lock();
         try {
-            long n = completedTaskCount;
-            for (Worker w : workers) {
-                n += w.completedTasks;
-                if (w.isLocked())
-                    ++n;
-            }
-            return n + workQueue.size();
+            return taskCount();
         } finally {
             mainLock.unlock();
         }
     }
 
+    /**
+     * Sums completed, running and queued tasks. Called under mainLock
+     * unless CONCURRENT_BOOKKEEPING.
+     */
+    private long taskCount() {
+        long n = completedTaskCount.sum();
+        for (Worker w : workers) {
+            n += w.completedTasks;
+            if (w.isLocked())
+                ++n;
+        }
+        return n + workQueue.size();
+    }
+
     /**
      * Returns the approximate total number of tasks that have
      * completed execution. Because the states of tasks and threads
@@ -2098,18 +2206,37 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     // 获取完成的总任务数，不准。因为在累加的同时，任务也一直在完成。
     public long getCompletedTaskCount() {
+        if (CONCURRENT_BOOKKEEPING) {
+            long n = completedCount();
+            for (long m;;) {
+                if (n <= (m = completedTaskCountSeen.get()))
+                    return m;
+                if (completedTaskCountSeen.compareAndSet(m, n))
+                    return n;
+            }
+        }
         final ReentrantLock mainLock = this.mainLock;
         mainLock.lock();
         try {
-            long n = completedTaskCount;
-            for (Worker w : workers)
-                n += w.completedTasks;
-            return n;
+            return completedCount();
         } finally {
             mainLock.unlock();
         }
     }
 
+    /**
+     * Sums tasks completed by exited and live workers. Called under
+     * mainLock unless CONCURRENT_BOOKKEEPING, in which case an exiting
+     * worker leaves the set before adding its count, so a concurrent
+     * sum may briefly miss it but never counts it twice.
+     */
+    private long completedCount() {
+        long n = completedTaskCount.sum();
+        for (Worker w : workers)
+            n += w.completedTasks;
+        return n;
+    }
+
     /**
      * Returns a string identifying this pool, as well as its state,
      * including indications of run state and estimated worker and
@@ -2121,9 +2248,10 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         long ncompleted;
         int nworkers, nactive;
         final ReentrantLock mainLock = this.mainLock;
-        mainLock.lock();
+        if (!CONCURRENT_BOOKKEEPING)
+            mainLock.lock();
         try {
-            ncompleted = completedTaskCount; // 完成的总任务数量
+            ncompleted = completedTaskCount.sum(); // 完成的总任务数量
             nactive = 0;  // 忙碌线程数
             nworkers = workers.size();
             for (Worker w : workers) {
@@ -2132,7 +2260,8 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                     ++nactive;
             }
         } finally {
-            mainLock.unlock();
+            if (!CONCURRENT_BOOKKEEPING)
+                mainLock.unlock();
         }
         int c = ctl.get();
         // pool的状态
@@ -0,0 +1,703 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link ScheduledExecutorService} that keeps delayed tasks in a
+ * hierarchical hashed timing wheel rather than in a priority queue.
+ * Scheduling and cancelling a task take constant time regardless of how
+ * many tasks are pending, which suits workloads such as request
+ * timeouts, where very many tasks are scheduled and nearly all of them
+ * are cancelled before they become due.
+ *
+ * <p>Time is divided into <em>ticks</em> of a fixed duration chosen at
+ * construction.  A task becomes eligible to run at the first tick
+ * boundary at or after its delay has elapsed, so tasks are never run
+ * early but may run up to one tick late; coarser ticks cost less CPU at
+ * the price of precision.  Tasks due at the same tick are run in no
+ * particular order.
+ *
+ * <p>The wheel is maintained by a single timer thread.  Threads that
+ * schedule or cancel tasks only enqueue a request for it on a lock-free
+ * queue, so they never contend with each other or with the timer
+ * thread on a lock.  Due tasks are run on the timer thread itself, or
+ * handed to an {@link Executor} supplied at construction.  Tasks run on
+ * the timer thread should be short, since they delay all later ticks.
+ *
+ * <p>As with {@link ScheduledThreadPoolExecutor} under its default
+ * policies, {@link #shutdown} cancels periodic tasks but lets already
+ * scheduled delayed tasks run; the executor terminates once none
+ * remain.  When a dispatch executor is supplied, termination does not
+ * wait for tasks already handed to it, and that executor is not shut
+ * down.
+ *
+ * <p>Compared with {@code ScheduledThreadPoolExecutor}, this class
+ * trades ordering precision for throughput: its {@code getDelay} and
+ * {@code compareTo} methods are exact, but execution is quantized to
+ * ticks, and there is no access to the queue of pending tasks.
+ *
+ * @see ScheduledThreadPoolExecutor
+ */
+public class TimingWheelScheduledExecutor extends AbstractExecutorService
+        implements ScheduledExecutorService {
+
+    /*
+     * Wheel structure
+     *
+     * Level 0 of the wheel has one slot per tick for the next
+     * WHEEL_SIZE ticks; each slot of level k spans WHEEL_SIZE^k ticks.
+     * A task whose deadline tick d is within (base, base + W] of the
+     * last fully expired tick base goes in level 0, slot d & mask; one
+     * within (base + W^k, base + W^(k+1)] goes in level k, slot
+     * (d >>> k*bits) & mask.  Whenever a tick t is reached whose low
+     * k*bits bits are all zero, the level-k slot for t is emptied and
+     * its tasks re-inserted, which drops each into a finer level; this
+     * is done from the highest such level down, before level 0's slot
+     * for t is expired.  Every task is thus moved at most once per
+     * level, and a task's level-k slot is cascaded exactly once before
+     * it is due.
+     *
+     * Slots hold doubly linked lists of tasks, so a cancelled task is
+     * unlinked in constant time.  Only the timer thread touches the
+     * wheel and the link fields of tasks; other threads communicate
+     * with it through the registrations and cancellations queues.
+     */
+
+    /** The default number of slots per wheel level. */
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final int RUNNING    = 0;
+    private static final int SHUTDOWN   = 1;
+    private static final int STOP       = 2;
+    private static final int TERMINATED = 3;
+
+    /** Duration of a tick in nanoseconds. */
+    private final long tickNanos;
+
+    /** log2 of the number of slots per level, and the slot mask. */
+    private final int wheelBits;
+    private final int wheelMask;
+
+    /** Where due tasks are run, or null to run them on the timer thread. */
+    private final Executor dispatcher;
+
+    /** The timer thread. */
+    private final Thread timer;
+
+    /** The System.nanoTime origin of tick zero. */
+    private final long origin;
+
+    /** Tasks awaiting insertion into the wheel. */
+    private final ConcurrentLinkedQueue<WheelTask<?>> registrations =
+        new ConcurrentLinkedQueue<WheelTask<?>>();
+
+    /** Cancelled tasks awaiting removal from the wheel. */
+    private final ConcurrentLinkedQueue<WheelTask<?>> cancellations =
+        new ConcurrentLinkedQueue<WheelTask<?>>();
+
+    /** Run state; transitions only increase. */
+    private volatile int runState;
+
+    /** Whether the timer thread is parked without a timeout. */
+    private volatile boolean idle;
+
+    /** Released when the timer thread exits. */
+    private final CountDownLatch termination = new CountDownLatch(1);
+
+    /** Tasks left in the wheel when stopped, for shutdownNow. */
+    private volatile List<Runnable> abandoned;
+
+    // Fields below are accessed only by the timer thread.
+
+    /** Slot list heads, per level, allocated on first use. */
+    private final WheelTask<?>[][] wheel;
+
+    /** The last tick whose level-0 slot has been expired. */
+    private long expiredTick;
+
+    /** Number of tasks linked into the wheel. */
+    private int pending;
+
+    /**
+     * Creates an executor with the given tick duration, 512 slots per
+     * wheel level, and a timer thread from {@link
+     * Executors#defaultThreadFactory}, which also runs the due tasks.
+     *
+     * @param tickDuration the duration of a tick
+     * @param unit the time unit of the tickDuration argument
+     * @throws IllegalArgumentException if tickDuration is not positive
+     * @throws NullPointerException if unit is null
+     */
+    public TimingWheelScheduledExecutor(long tickDuration, TimeUnit unit) {
+        this(tickDuration, unit, DEFAULT_WHEEL_SIZE,
+             Executors.defaultThreadFactory(), null);
+    }
+
+    /**
+     * Creates an executor with the given parameters.
+     *
+     * @param tickDuration the duration of a tick
+     * @param unit the time unit of the tickDuration argument
+     * @param wheelSize the number of slots per wheel level, rounded up
+     *        to a power of two
+     * @param threadFactory the factory used to create the timer thread
+     * @param dispatcher the executor on which due tasks are run, or
+     *        {@code null} to run them on the timer thread
+     * @throws IllegalArgumentException if tickDuration is not positive,
+     *         or wheelSize is less than 2 or greater than 2^20
+     * @throws NullPointerException if unit or threadFactory is null, or
+     *         the thread factory fails to create a thread
+     */
+    public TimingWheelScheduledExecutor(long tickDuration, TimeUnit unit,
+                                        int wheelSize,
+                                        ThreadFactory threadFactory,
+                                        Executor dispatcher) {
+        if (unit == null || threadFactory == null)
+            throw new NullPointerException();
+        long nanos = unit.toNanos(tickDuration);
+        if (nanos <= 0 || wheelSize < 2 || wheelSize > (1 << 20))
+            throw new IllegalArgumentException();
+        int bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.tickNanos = nanos;
+        this.wheelBits = bits;
+        this.wheelMask = (1 << bits) - 1;
+        this.wheel = new WheelTask<?>[(63 + bits - 1) / bits][];
+        this.dispatcher = dispatcher;
+        this.origin = System.nanoTime();
+        Thread t = threadFactory.newThread(new Runnable() {
+                public void run() { runTimer(); }
+            });
+        if (t == null)
+            throw new NullPointerException("thread factory returned null");
+        this.timer = t;
+        t.start();
+    }
+
+    /**
+     * A task in the wheel.
+     */
+    private class WheelTask<V>
+            extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        /** The System.nanoTime at which the task is due. */
+        private volatile long time;
+
+        /**
+         * Period in nanoseconds for repeating tasks.  A positive value
+         * indicates fixed-rate execution.  A negative value indicates
+         * fixed-delay execution.  A value of 0 indicates a non-repeating
+         * task.
+         */
+        private final long period;
+
+        // Wheel linkage, owned by the timer thread; level < 0 if unlinked
+        WheelTask<?> prev, next;
+        int level = -1, slot;
+
+        WheelTask(Runnable r, V result, long ns, long period) {
+            super(r, result);
+            this.time = ns;
+            this.period = period;
+        }
+
+        WheelTask(Callable<V> callable, long ns) {
+            super(callable);
+            this.time = ns;
+            this.period = 0;
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), NANOSECONDS);
+        }
+
+        public int compareTo(Delayed other) {
+            if (other == this) // compare zero if same object
+                return 0;
+            long diff = getDelay(NANOSECONDS) - other.getDelay(NANOSECONDS);
+            return (diff < 0) ? -1 : (diff > 0) ? 1 : 0;
+        }
+
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        long deadline() {
+            return time;
+        }
+
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled)
+                cancellations.offer(this);
+            return cancelled;
+        }
+
+        /**
+         * Overrides FutureTask version so as to reschedule if periodic.
+         */
+        public void run() {
+            if (!isPeriodic())
+                super.run();
+            else if (runState != RUNNING)
+                super.cancel(false);
+            else if (super.runAndReset()) {
+                long p = period;
+                time = (p > 0) ? time + p : triggerTime(-p);
+                if (runState == RUNNING)
+                    register(this);
+                else
+                    super.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the nanoTime-based trigger time of a delayed action.
+     */
+    private long triggerTime(long delay) {
+        return System.nanoTime() +
+            ((delay < (Long.MAX_VALUE >> 1)) ? delay : (Long.MAX_VALUE >> 1));
+    }
+
+    private long triggerTime(long delay, TimeUnit unit) {
+        return triggerTime(unit.toNanos((delay < 0) ? 0 : delay));
+    }
+
+    /**
+     * Hands a task to the timer thread, waking it if it is idle.
+     */
+    private void register(WheelTask<?> task) {
+        registrations.offer(task);
+        if (idle)
+            LockSupport.unpark(timer);
+    }
+
+    /**
+     * Main method for scheduling a task: rejects if shut down, else
+     * registers it with the timer thread.
+     */
+    private void delayedExecute(WheelTask<?> task) {
+        if (runState != RUNNING)
+            throw new RejectedExecutionException("Executor is shut down");
+        register(task);
+        // Back out if shutdown raced with registration; the timer thread
+        // may already have finished.
+        if (runState != RUNNING && registrations.remove(task)) {
+            task.cancel(false);
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public ScheduledFuture<?> schedule(Runnable command,
+                                       long delay,
+                                       TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        WheelTask<Void> t = new WheelTask<Void>(command, null,
+                                                triggerTime(delay, unit), 0);
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable,
+                                           long delay,
+                                           TimeUnit unit) {
+        if (callable == null || unit == null)
+            throw new NullPointerException();
+        WheelTask<V> t = new WheelTask<V>(callable, triggerTime(delay, unit));
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     * @throws IllegalArgumentException   {@inheritDoc}
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+                                                  long initialDelay,
+                                                  long period,
+                                                  TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        if (period <= 0)
+            throw new IllegalArgumentException();
+        WheelTask<Void> t =
+            new WheelTask<Void>(command, null,
+                                triggerTime(initialDelay, unit),
+                                unit.toNanos(period));
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     * @throws IllegalArgumentException   {@inheritDoc}
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+                                                     long initialDelay,
+                                                     long delay,
+                                                     TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        if (delay <= 0)
+            throw new IllegalArgumentException();
+        WheelTask<Void> t =
+            new WheelTask<Void>(command, null,
+                                triggerTime(initialDelay, unit),
+                                unit.toNanos(-delay));
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * Executes {@code command} with zero required delay, that is, at
+     * the next tick.
+     *
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public void execute(Runnable command) {
+        schedule(command, 0, NANOSECONDS);
+    }
+
+    // Override AbstractExecutorService methods
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public Future<?> submit(Runnable task) {
+        return schedule(task, 0, NANOSECONDS);
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public <T> Future<T> submit(Runnable task, T result) {
+        return schedule(Executors.callable(task, result), 0, NANOSECONDS);
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return schedule(task, 0, NANOSECONDS);
+    }
+
+    /**
+     * Initiates an orderly shutdown in which previously scheduled
+     * delayed tasks are run when due, periodic tasks are cancelled,
+     * and no new tasks are accepted.
+     */
+    public void shutdown() {
+        advanceRunState(SHUTDOWN);
+        LockSupport.unpark(timer);
+    }
+
+    /**
+     * Stops the timer thread and returns the tasks that had not yet
+     * become due.  Tasks already running are not interrupted.
+     *
+     * @return list of tasks that never commenced execution.  Each
+     *         element is a {@link ScheduledFuture}.
+     */
+    public List<Runnable> shutdownNow() {
+        advanceRunState(STOP);
+        if (Thread.currentThread() == timer)
+            return drainAll();  // called from a task; the wheel is ours
+        LockSupport.unpark(timer);
+        boolean interrupted = false;
+        for (;;) {
+            try {
+                termination.await();
+                break;
+            } catch (InterruptedException ie) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        List<Runnable> list = abandoned;
+        return (list == null) ? new ArrayList<Runnable>() : list;
+    }
+
+    private void advanceRunState(int targetState) {
+        synchronized (termination) {
+            if (runState < targetState)
+                runState = targetState;
+        }
+    }
+
+    public boolean isShutdown() {
+        return runState != RUNNING;
+    }
+
+    public boolean isTerminated() {
+        return runState == TERMINATED;
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+        throws InterruptedException {
+        return termination.await(timeout, unit);
+    }
+
+    /* ------------------------------------------------------------ */
+    // Timer thread
+
+    /**
+     * Main loop of the timer thread.
+     */
+    private void runTimer() {
+        boolean swept = false;
+        try {
+            for (;;) {
+                int rs = runState;
+                if (rs >= STOP)
+                    break;
+                if (rs == SHUTDOWN && !swept) {
+                    cancelPeriodicTasks();
+                    swept = true;
+                }
+                drainCancellations();
+                drainRegistrations();
+                long now = System.nanoTime();
+                long tick = (now - origin) / tickNanos;
+                if (pending == 0) {
+                    expiredTick = Math.max(expiredTick, tick);
+                    if (rs != RUNNING && registrations.isEmpty())
+                        break;
+                    idle = true;
+                    if (registrations.isEmpty() && runState == rs)
+                        LockSupport.park(this);
+                    idle = false;
+                    continue;
+                }
+                while (expiredTick < tick && runState < STOP)
+                    advance(++expiredTick);
+                long wait = origin + (expiredTick + 1) * tickNanos -
+                    System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(this, wait);
+            }
+        } finally {
+            if (runState >= STOP)
+                abandoned = drainAll();
+            advanceRunState(TERMINATED);
+            termination.countDown();
+        }
+    }
+
+    private void drainRegistrations() {
+        WheelTask<?> t;
+        while ((t = registrations.poll()) != null) {
+            if (t.isPeriodic() && runState != RUNNING)
+                t.cancel(false);
+            else if (!t.isCancelled()) {
+                insert(t);
+                ++pending;
+            }
+        }
+    }
+
+    private void drainCancellations() {
+        WheelTask<?> t;
+        while ((t = cancellations.poll()) != null) {
+            if (t.level >= 0) {
+                unlink(t);
+                --pending;
+            }
+        }
+    }
+
+    /**
+     * Returns the tick at which a task is due: the first tick boundary
+     * at or after its trigger time.
+     */
+    private long deadlineTick(WheelTask<?> t) {
+        long d = t.deadline() - origin;
+        return (d <= 0) ? 0 : (d + tickNanos - 1) / tickNanos;
+    }
+
+    /**
+     * Links a task into the level and slot for its deadline relative to
+     * expiredTick.
+     */
+    private void insert(WheelTask<?> t) {
+        long base = expiredTick;
+        long d = deadlineTick(t);
+        if (d <= base)
+            d = base + 1;
+        long delta = d - base;
+        int bits = wheelBits, level = 0, shift = bits;
+        while (shift < 63 && delta > (1L << shift)) {
+            ++level;
+            shift += bits;
+        }
+        int slot = (int)(d >>> (level * bits)) & wheelMask;
+        WheelTask<?>[] slots = wheel[level];
+        if (slots == null)
+            slots = wheel[level] = new WheelTask<?>[wheelMask + 1];
+        WheelTask<?> head = slots[slot];
+        t.level = level;
+        t.slot = slot;
+        t.prev = null;
+        t.next = head;
+        if (head != null)
+            head.prev = t;
+        slots[slot] = t;
+    }
+
+    private void unlink(WheelTask<?> t) {
+        WheelTask<?> p = t.prev, n = t.next;
+        if (p == null)
+            wheel[t.level][t.slot] = n;
+        else
+            p.next = n;
+        if (n != null)
+            n.prev = p;
+        t.prev = t.next = null;
+        t.level = -1;
+    }
+
+    /**
+     * Detaches and returns the list in the given slot.
+     */
+    private WheelTask<?> detach(int level, int slot) {
+        WheelTask<?>[] slots = wheel[level];
+        if (slots == null)
+            return null;
+        WheelTask<?> head = slots[slot];
+        slots[slot] = null;
+        return head;
+    }
+
+    /**
+     * Processes tick t, with expiredTick already advanced to t: cascades
+     * the coarser levels whose slot boundary is t, then runs the tasks
+     * in level 0's slot for t.
+     */
+    private void advance(long t) {
+        int bits = wheelBits;
+        int top = 0;
+        while (top + 1 < wheel.length &&
+               (t & ((1L << ((top + 1) * bits)) - 1)) == 0)
+            ++top;
+        // Re-insert relative to the tick before t, which t's slot follows
+        --expiredTick;
+        for (int level = top; level >= 1; --level) {
+            WheelTask<?> p = detach(level, (int)(t >>> (level * bits)) & wheelMask);
+            while (p != null) {
+                WheelTask<?> n = p.next;
+                insert(p);
+                p = n;
+            }
+        }
+        ++expiredTick;
+        WheelTask<?> p = detach(0, (int)t & wheelMask);
+        while (p != null) {
+            WheelTask<?> n = p.next;
+            p.prev = p.next = null;
+            p.level = -1;
+            --pending;
+            if (!p.isCancelled())
+                dispatch(p);
+            p = n;
+        }
+    }
+
+    private void dispatch(WheelTask<?> t) {
+        Executor e = dispatcher;
+        if (e == null) {
+            t.run();
+        } else {
+            try {
+                e.execute(t);
+            } catch (RejectedExecutionException ex) {
+                t.setException(ex);
+            }
+        }
+    }
+
+    /**
+     * Cancels periodic tasks in the wheel upon shutdown.
+     */
+    private void cancelPeriodicTasks() {
+        for (WheelTask<?>[] slots : wheel) {
+            if (slots == null)
+                continue;
+            for (WheelTask<?> p : slots) {
+                for (; p != null; p = p.next) {
+                    if (p.isPeriodic())
+                        p.cancel(false);    // unlinked by drainCancellations
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns every task in the wheel and registration
+     * queue, upon stop.
+     */
+    private List<Runnable> drainAll() {
+        drainCancellations();
+        drainRegistrations();
+        List<Runnable> list = new ArrayList<Runnable>(pending);
+        for (WheelTask<?>[] slots : wheel) {
+            if (slots == null)
+                continue;
+            for (int i = 0; i < slots.length; ++i) {
+                WheelTask<?> p = slots[i];
+                slots[i] = null;
+                while (p != null) {
+                    WheelTask<?> n = p.next;
+                    p.prev = p.next = null;
+                    p.level = -1;
+                    list.add(p);
+                    p = n;
+                }
+            }
+        }
+        pending = 0;
+        return list;
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent.atomic;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigDecimalAccumulator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One or more variables that together maintain an initially zero
+ * {@code BigDecimal} sum.  Updates (method {@link #add}) by different
+ * threads are made, as far as possible, to different variables, each a
+ * {@link BigDecimalAccumulator} guarded by a lock.  Method {@link #sum}
+ * returns the current total combined across the variables maintaining the
+ * sum.
+ *
+ * <p>This class is usually preferable to a {@code BigDecimal} reference
+ * updated by {@code AtomicReference.accumulateAndGet}, or to a
+ * synchronized {@code BigDecimalAccumulator}, when multiple threads
+ * update a common sum, such as when amounts are added from the elements
+ * of a parallel stream with {@code forEach}.  An addition creates no
+ * objects once the variable it updates has grown to the size of its
+ * value.  The scale of the sum is the largest scale of the values added,
+ * as with {@link BigDecimal#add}.
+ *
+ * <p>This class extends {@link Number}, but does <em>not</em> define
+ * methods such as {@code equals}, {@code hashCode} and {@code
+ * compareTo} because instances are expected to be mutated, and so are
+ * not useful as collection keys.
+ *
+ * @see LongAdder
+ * @see BigDecimalAccumulator
+ * @since 9
+ */
+public class BigDecimalAdder extends Number implements Serializable {
+    private static final long serialVersionUID = -3126543187290436526L;
+
+    /**
+     * A padded accumulator and the spinlock, locked via CAS, that guards
+     * it.  Additions are short, so waiting threads spin.
+     */
+    @sun.misc.Contended static final class Cell {
+        final BigDecimalAccumulator acc = new BigDecimalAccumulator();
+        volatile int busy;
+
+        final boolean tryLock() {
+            return busy == 0 && UNSAFE.compareAndSwapInt(this, BUSY, 0, 1);
+        }
+
+        final void lock() {
+            while (!tryLock())
+                Thread.yield();
+        }
+
+        final void unlock() {
+            busy = 0;
+        }
+
+        // Unsafe mechanics
+        private static final sun.misc.Unsafe UNSAFE;
+        private static final long BUSY;
+        static {
+            try {
+                UNSAFE = sun.misc.Unsafe.getUnsafe();
+                Class<?> ak = Cell.class;
+                BUSY = UNSAFE.objectFieldOffset
+                    (ak.getDeclaredField("busy"));
+            } catch (Exception e) {
+                throw new Error(e);
+            }
+        }
+    }
+
+    /**
+     * Table of cells, created by the first update.  Its size is the
+     * power of two at least the number of CPUs.
+     */
+    private transient volatile Cell[] cells;
+
+    /**
+     * Creates a new adder with initial sum of zero.
+     */
+    public BigDecimalAdder() {
+    }
+
+    /**
+     * Adds the given value.
+     *
+     * @param x the value to add
+     * @throws NullPointerException if {@code x} is null
+     * @throws ArithmeticException if the scale of the sum would overflow
+     */
+    public void add(BigDecimal x) {
+        if (x == null)
+            throw new NullPointerException();
+        Cell[] as = cells;
+        if (as == null)
+            as = initCells();
+        int h = Striped64.getProbe();
+        if (h == 0) {
+            ThreadLocalRandom.current(); // force initialization
+            h = Striped64.getProbe();
+        }
+        int m = as.length - 1;
+        Cell a = as[h & m];
+        if (!a.tryLock()) {
+            // Contended: move this thread to another cell, and wait for
+            // one once all have been tried
+            for (int i = 0; ; ) {
+                h = Striped64.advanceProbe(h);
+                a = as[h & m];
+                if (a.tryLock())
+                    break;
+                if (++i > m) {
+                    a.lock();
+                    break;
+                }
+            }
+        }
+        try {
+            a.acc.add(x);
+        } finally {
+            a.unlock();
+        }
+    }
+
+    /**
+     * Returns the current sum.  The returned value is <em>NOT</em> an
+     * atomic snapshot; invocation in the absence of concurrent
+     * updates returns an accurate result, but concurrent updates that
+     * occur while the sum is being calculated might not be
+     * incorporated.
+     *
+     * @return the sum
+     */
+    public BigDecimal sum() {
+        Cell[] as = cells;
+        if (as == null)
+            return BigDecimal.ZERO;
+        BigDecimalAccumulator sum = new BigDecimalAccumulator();
+        for (Cell a : as) {
+            a.lock();
+            try {
+                sum.add(a.acc);
+            } finally {
+                a.unlock();
+            }
+        }
+        return sum.toBigDecimal();
+    }
+
+    /**
+     * Resets variables maintaining the sum to zero.  This method may
+     * be a useful alternative to creating a new adder, but is only
+     * effective if there are no concurrent updates.  Because this
+     * method is intrinsically racy, it should only be used when it is
+     * known that no threads are concurrently updating.
+     */
+    public void reset() {
+        Cell[] as = cells;
+        if (as != null) {
+            for (Cell a : as) {
+                a.lock();
+                a.acc.reset();
+                a.unlock();
+            }
+        }
+    }
+
+    /**
+     * Equivalent in effect to {@link #sum} followed by {@link
+     * #reset}. This method may apply for example during quiescent
+     * points between multithreaded computations.  If there are
+     * updates concurrent with this method, the returned value is
+     * <em>not</em> guaranteed to be the final value occurring before
+     * the reset.
+     *
+     * @return the sum
+     */
+    public BigDecimal sumThenReset() {
+        Cell[] as = cells;
+        if (as == null)
+            return BigDecimal.ZERO;
+        BigDecimalAccumulator sum = new BigDecimalAccumulator();
+        for (Cell a : as) {
+            a.lock();
+            try {
+                sum.add(a.acc);
+                a.acc.reset();
+            } finally {
+                a.unlock();
+            }
+        }
+        return sum.toBigDecimal();
+    }
+
+    /**
+     * Returns the String representation of the {@link #sum}.
+     * @return the String representation of the {@link #sum}
+     */
+    public String toString() {
+        return sum().toString();
+    }
+
+    /**
+     * Returns the {@link #sum} as an {@code int} after a narrowing
+     * primitive conversion, as by {@link BigDecimal#intValue}.
+     */
+    public int intValue() {
+        return sum().intValue();
+    }
+
+    /**
+     * Returns the {@link #sum} as a {@code long} after a narrowing
+     * primitive conversion, as by {@link BigDecimal#longValue}.
+     */
+    public long longValue() {
+        return sum().longValue();
+    }
+
+    /**
+     * Returns the {@link #sum} as a {@code float}
+     * after a narrowing primitive conversion.
+     */
+    public float floatValue() {
+        return sum().floatValue();
+    }
+
+    /**
+     * Returns the {@link #sum} as a {@code double}
+     * after a narrowing primitive conversion.
+     */
+    public double doubleValue() {
+        return sum().doubleValue();
+    }
+
+    private Cell[] initCells() {
+        synchronized (this) {
+            Cell[] as = cells;
+            if (as == null) {
+                int n = 1;
+                while (n < Striped64.NCPU)
+                    n <<= 1;
+                as = new Cell[n];
+                for (int i = 0; i < n; i++)
+                    as[i] = new Cell();
+                cells = as;
+            }
+            return as;
+        }
+    }
+
+    /**
+     * Serialization proxy, used to avoid reference to the non-public
+     * Cell class in the serialized form.
+     * @serial include
+     */
+    private static class SerializationProxy implements Serializable {
+        private static final long serialVersionUID = -3126543187290436526L;
+
+        /**
+         * The current value returned by sum().
+         * @serial
+         */
+        private final BigDecimal value;
+
+        SerializationProxy(BigDecimalAdder a) {
+            value = a.sum();
+        }
+
+        /**
+         * Return a {@code BigDecimalAdder} object with initial state
+         * held by this proxy.
+         *
+         * @return a {@code BigDecimalAdder} object with initial state
+         * held by this proxy.
+         */
+        private Object readResolve() {
+            BigDecimalAdder a = new BigDecimalAdder();
+            a.add(value);
+            return a;
+        }
+    }
+
+    /**
+     * Returns a
+     * <a href="../../../../serialized-form.html#java.util.concurrent.atomic.BigDecimalAdder.SerializationProxy">
+     * SerializationProxy</a>
+     * representing the state of this instance.
+     *
+     * @return a {@link SerializationProxy}
+     * representing the state of this instance
+     */
+    private Object writeReplace() {
+        return new SerializationProxy(this);
+    }
+
+    /**
+     * @param s the stream
+     * @throws java.io.InvalidObjectException always
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws java.io.InvalidObjectException {
+        throw new java.io.InvalidObjectException("Proxy required");
+    }
+}
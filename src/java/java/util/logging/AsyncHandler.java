@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.logging;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <tt>Handler</tt> that formats records on the publishing thread and
+ * hands the formatted text to a single background thread, which writes
+ * it to a target <tt>StreamHandler</tt> in batches.
+ * <p>
+ * A <tt>StreamHandler</tt> formats and writes each record while holding
+ * its own lock, so concurrent loggers serialize on formatting as well as
+ * on I/O.  An <tt>AsyncHandler</tt> instead formats each record outside
+ * any lock, using the target's <tt>Formatter</tt>, and publishes the
+ * result into a bounded ring that many threads can fill without locking.
+ * The writer thread drains the ring and passes whole batches to the
+ * target, which takes its lock and flushes once per batch.  A
+ * <tt>FileHandler</tt> target still rotates its files when its limit is
+ * reached in the middle of a batch.
+ * <p>
+ * The target's formatter must be safe for concurrent use;
+ * <tt>SimpleFormatter</tt> and <tt>XMLFormatter</tt> are.
+ * <p>
+ * When the ring is full, the {@link OverflowPolicy} decides whether the
+ * publishing thread waits for space or the record is discarded.
+ * Discarded records are counted by {@link #getDroppedCount}.
+ * <p>
+ * <b>Configuration:</b>
+ * By default each <tt>AsyncHandler</tt> is initialized using the following
+ * <tt>LogManager</tt> configuration properties where <tt>&lt;handler-name&gt;</tt>
+ * refers to the fully-qualified class name of the handler.
+ * If properties are not defined
+ * (or have invalid values) then the specified default values are used.
+ * If no default value is defined then a RuntimeException is thrown.
+ * <ul>
+ * <li>   &lt;handler-name&gt;.level
+ *        specifies the level for the <tt>Handler</tt>
+ *        (defaults to <tt>Level.ALL</tt>). </li>
+ * <li>   &lt;handler-name&gt;.filter
+ *        specifies the name of a <tt>Filter</tt> class to use
+ *        (defaults to no <tt>Filter</tt>). </li>
+ * <li>   &lt;handler-name&gt;.capacity
+ *        the number of formatted records the ring holds, rounded up to
+ *        a power of two (defaults to 8192). </li>
+ * <li>   &lt;handler-name&gt;.overflow
+ *        the name of the <tt>OverflowPolicy</tt> applied when the ring
+ *        is full (defaults to <tt>BLOCK</tt>). </li>
+ * <li>   &lt;handler-name&gt;.dropLevel
+ *        for <tt>DROP_BELOW_LEVEL</tt>, the level below which records
+ *        are discarded rather than waited for
+ *        (defaults to <tt>Level.WARNING</tt>). </li>
+ * <li>   &lt;handler-name&gt;.target
+ *        specifies the name of the target <tt>StreamHandler</tt> class.
+ *        (no default). </li>
+ * </ul>
+ * <p>
+ * For example, the properties for {@code AsyncHandler} writing to a
+ * {@code FileHandler} could be:
+ * <ul>
+ * <li>   java.util.logging.AsyncHandler.target=java.util.logging.FileHandler </li>
+ * <li>   java.util.logging.AsyncHandler.overflow=DROP_BELOW_LEVEL </li>
+ * </ul>
+ */
+
+public class AsyncHandler extends Handler {
+    private final static int DEFAULT_CAPACITY = 8192;
+    private final static int MAX_BATCH = 256;
+
+    /**
+     * What to do with a record that arrives while the ring is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait until the writer thread frees space. */
+        BLOCK,
+        /** Discard the record. */
+        DROP,
+        /**
+         * Discard the record if its level is below the handler's drop
+         * level, otherwise wait as for <tt>BLOCK</tt>.
+         */
+        DROP_BELOW_LEVEL
+    }
+
+    private StreamHandler target;
+    private OverflowPolicy overflow;
+    private volatile Level dropLevel;
+
+    /*
+     * The ring is a bounded multi-producer single-consumer queue.  Each
+     * slot carries a sequence number: a producer may fill slot i for
+     * ticket t when its sequence equals t, and publishes it by setting
+     * the sequence to t + 1; the consumer empties it by setting the
+     * sequence to t + capacity, handing it to the ticket one lap later.
+     */
+    private String[] ring;
+    private AtomicLongArray sequences;
+    private int mask;
+    private final AtomicLong tail = new AtomicLong();  // next ticket
+    private volatile long head;                        // next to consume
+
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread writer;
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    // Private method to configure an AsyncHandler from LogManager
+    // properties and/or default values as specified in the class
+    // javadoc.
+    private void configure() {
+        LogManager manager = LogManager.getLogManager();
+        String cname = getClass().getName();
+
+        setLevel(manager.getLevelProperty(cname +".level", Level.ALL));
+        setFilter(manager.getFilterProperty(cname +".filter", null));
+        dropLevel = manager.getLevelProperty(cname +".dropLevel", Level.WARNING);
+        overflow = OverflowPolicy.BLOCK;
+        String policy = manager.getStringProperty(cname +".overflow", null);
+        if (policy != null) {
+            try {
+                overflow = OverflowPolicy.valueOf(policy.trim());
+            } catch (IllegalArgumentException ex) {
+                // use the default
+            }
+        }
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt> and configure it based on
+     * <tt>LogManager</tt> configuration properties.
+     */
+    public AsyncHandler() {
+        sealed = false;
+        configure();
+        sealed = true;
+
+        LogManager manager = LogManager.getLogManager();
+        String handlerName = getClass().getName();
+        String targetName = manager.getProperty(handlerName+".target");
+        if (targetName == null) {
+            throw new RuntimeException("The handler " + handlerName
+                    + " does not specify a target");
+        }
+        int capacity = manager.getIntProperty(handlerName + ".capacity",
+                                              DEFAULT_CAPACITY);
+        if (capacity <= 0) {
+            capacity = DEFAULT_CAPACITY;
+        }
+        Class<?> clz;
+        try {
+            clz = ClassLoader.getSystemClassLoader().loadClass(targetName);
+            target = (StreamHandler) clz.newInstance();
+        } catch (ClassNotFoundException | InstantiationException |
+                 IllegalAccessException | ClassCastException e) {
+            throw new RuntimeException("AsyncHandler can't load handler target \"" + targetName + "\"" , e);
+        }
+        init(capacity);
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt>.
+     * <p>
+     * The <tt>AsyncHandler</tt> is configured based on <tt>LogManager</tt>
+     * properties (or their default values) except that the given
+     * target, capacity and overflow arguments are used.
+     *
+     * @param target  the StreamHandler to which to write output.
+     * @param capacity  the number of formatted records to buffer, rounded
+     *                  up to a power of two (must be greater than zero)
+     * @param overflow  what to do with records arriving when the buffer
+     *                  is full
+     * @param dropLevel  for <tt>DROP_BELOW_LEVEL</tt>, the level below
+     *                   which records are discarded
+     *
+     * @throws IllegalArgumentException if {@code capacity <= 0}
+     */
+    public AsyncHandler(StreamHandler target, int capacity,
+                        OverflowPolicy overflow, Level dropLevel) {
+        if (target == null || overflow == null || dropLevel == null) {
+            throw new NullPointerException();
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        sealed = false;
+        configure();
+        sealed = true;
+        this.target = target;
+        this.overflow = overflow;
+        this.dropLevel = dropLevel;
+        init(capacity);
+    }
+
+    // Initialize the ring and start the writer thread.
+    private void init(int capacity) {
+        int cap = (capacity >= (1 << 30)) ? (1 << 30)
+            : Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1);
+        ring = new String[cap];
+        sequences = new AtomicLongArray(cap);
+        for (int i = 0; i < cap; i++) {
+            sequences.set(i, i);
+        }
+        mask = cap - 1;
+        writer = AccessController.doPrivileged(new PrivilegedAction<Thread>() {
+            @Override
+            public Thread run() {
+                Thread t = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        drainLoop();
+                    }
+                }, "AsyncHandler writer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        writer.start();
+    }
+
+    /**
+     * Format a <tt>LogRecord</tt> and queue it for the writer thread.
+     * <p>
+     * The record is first checked with this handler's and the target's
+     * <tt>isLoggable</tt>, then formatted on the calling thread with the
+     * target's <tt>Formatter</tt>.  If the buffer is full, the overflow
+     * policy is applied.
+     *
+     * @param  record  description of the log event. A null record is
+     *                 silently ignored and is not published
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record) || !target.isLoggable(record)) {
+            return;
+        }
+        String msg;
+        try {
+            msg = target.getFormatter().format(record);
+        } catch (Exception ex) {
+            // We don't want to throw an exception here, but we
+            // report the exception to any registered ErrorManager.
+            reportError(null, ex, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+        boolean mayBlock;
+        switch (overflow) {
+            case BLOCK:
+                mayBlock = true;
+                break;
+            case DROP_BELOW_LEVEL:
+                mayBlock = record.getLevel().intValue() >= dropLevel.intValue();
+                break;
+            default:
+                mayBlock = false;
+        }
+        if (!offer(msg, mayBlock)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records are formatted on the publishing thread, so they are
+     * retained only if the target's own checks or formatter might.
+     */
+    @Override
+    boolean mayRetainRecords() {
+        return getClass().getClassLoader() != null
+            || target.mayRetainRecords();
+    }
+
+    /**
+     * Adds a message to the ring, waiting for space if allowed.
+     *
+     * @return false if the message was not added
+     */
+    private boolean offer(String msg, boolean mayBlock) {
+        final AtomicLongArray seqs = sequences;
+        for (int spins = 0;;) {
+            long t = tail.get();
+            int i = (int) t & mask;
+            long diff = seqs.get(i) - t;
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    ring[i] = msg;
+                    seqs.lazySet(i, t + 1);
+                    if (writerParked) {
+                        LockSupport.unpark(writer);
+                    }
+                    return true;
+                }
+            } else if (diff < 0) {              // full
+                if (!mayBlock || closed) {
+                    return false;
+                }
+                LockSupport.unpark(writer);
+                if (++spins < 64) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(this, 50_000L);
+                }
+            }
+            // else another producer took ticket t; retry
+        }
+    }
+
+    // Body of the writer thread.
+    private void drainLoop() {
+        String[] batch = new String[Math.min(MAX_BATCH, ring.length)];
+        for (;;) {
+            int n = drainTo(batch);
+            if (n > 0) {
+                try {
+                    target.publishFormatted(batch, n);
+                } catch (RuntimeException ex) {
+                    reportError(null, ex, ErrorManager.WRITE_FAILURE);
+                }
+                java.util.Arrays.fill(batch, 0, n, null);
+                continue;
+            }
+            if (closed && head == tail.get()) {
+                return;
+            }
+            writerParked = true;
+            if (!isPublished(head)) {
+                LockSupport.parkNanos(this, 10_000_000L);
+            }
+            writerParked = false;
+        }
+    }
+
+    private boolean isPublished(long h) {
+        return sequences.get((int) h & mask) == h + 1;
+    }
+
+    // Moves published messages into the batch, returning their count.
+    private int drainTo(String[] batch) {
+        final AtomicLongArray seqs = sequences;
+        final int cap = ring.length;
+        long h = head;
+        int n = 0;
+        while (n < batch.length) {
+            int i = (int) h & mask;
+            if (seqs.get(i) != h + 1) {
+                break;
+            }
+            batch[n++] = ring[i];
+            ring[i] = null;
+            seqs.lazySet(i, h + cap);
+            h++;
+        }
+        head = h;
+        return n;
+    }
+
+    /**
+     * Wait until every record published before this call has been handed
+     * to the target, then flush the target.
+     */
+    @Override
+    public void flush() {
+        long t = tail.get();
+        while (head < t && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, 100_000L);
+        }
+        target.flush();
+    }
+
+    /**
+     * Write out all queued records, stop the writer thread and close
+     * the target <tt>Handler</tt>.
+     *
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    @Override
+    public void close() throws SecurityException {
+        checkPermission();
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        target.close();
+        setLevel(Level.OFF);
+    }
+
+    /**
+     * Return the number of records discarded because the buffer was full.
+     *
+     * @return the number of discarded records
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Set the level below which records are discarded when the buffer is
+     * full and the policy is <tt>DROP_BELOW_LEVEL</tt>.
+     *
+     * @param newLevel the new value of the drop level
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    public synchronized void setDropLevel(Level newLevel) throws SecurityException {
+        if (newLevel == null) {
+            throw new NullPointerException();
+        }
+        checkPermission();
+        dropLevel = newLevel;
+    }
+
+    /**
+     * Get the drop level.
+     *
+     * @return the value of the drop level
+     */
+    public Level getDropLevel() {
+        return dropLevel;
+    }
+
+    /**
+     * Get the overflow policy.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflow;
+    }
+}
@@ -185,6 +185,9 @@ public class FileHandler extends StreamHandler {
     private class MeteredStream extends OutputStream {
         final OutputStream out;
         int written;
+        // While set, flush() pushes bytes no further than this stream,
+        // so that a batch can be metered without a write per record.
+        boolean holdFlush;
 
         MeteredStream(OutputStream out, int written) {
             this.out = out;
@@ -211,7 +214,9 @@ public class FileHandler extends StreamHandler {
 
         @Override
         public void flush() throws IOException {
-            out.flush();
+            if (!holdFlush) {
+                out.flush();
+            }
         }
 
         @Override
@@ -716,6 +721,41 @@ public class FileHandler extends StreamHandler {
         }
     }
 
+    /**
+     * Writes a batch of formatted messages for {@link AsyncHandler},
+     * rotating whenever the limit is reached within the batch.  The
+     * messages are flushed to the current file once at the end of the
+     * batch, and once before each rotation.
+     */
+    @Override
+    synchronized void publishFormatted(String[] msgs, int n) {
+        if (limit <= 0) {
+            super.publishFormatted(msgs, n);
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            writeFormatted(msgs[i]);
+            // Push the encoded bytes into the meter, not to the file.
+            meter.holdFlush = true;
+            try {
+                flush();
+            } finally {
+                meter.holdFlush = false;
+            }
+            if (meter.written >= limit) {
+                // See publish() for why this is safe to do privileged.
+                AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                    @Override
+                    public Object run() {
+                        rotate();
+                        return null;
+                    }
+                });
+            }
+        }
+        flush();
+    }
+
     /**
      * Close all the files.
      *
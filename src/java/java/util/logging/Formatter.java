@@ -106,11 +106,13 @@ public abstract class Formatter {
      * <li>Otherwise no formatting is performed.
      * </ul>
      * <p>
+     * This method only reads the record and its ResourceBundle, and may
+     * be called by several threads at once.
      *
      * @param  record  the log record containing the raw message
      * @return   a localized and formatted message
      */
-    public synchronized String formatMessage(LogRecord record) {
+    public String formatMessage(LogRecord record) {
         String format = record.getMessage();
         java.util.ResourceBundle catalog = record.getResourceBundle();
         if (catalog != null) {
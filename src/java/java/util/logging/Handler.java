@@ -276,6 +276,17 @@ public abstract class Handler {
         return logLevel;
     }
 
+    /**
+     * Package-private support for {@link Logger}'s reuse of log records.
+     * Returns false only if this handler is known not to keep any
+     * reference to a <tt>LogRecord</tt>, or pass it to code that might,
+     * once <tt>publish</tt> has returned.  Handlers that may defer work
+     * on a record, such as <tt>MemoryHandler</tt>, keep the default.
+     */
+    boolean mayRetainRecords() {
+        return true;
+    }
+
     /**
      * Check if this <tt>Handler</tt> would actually log a given <tt>LogRecord</tt>.
      * <p>
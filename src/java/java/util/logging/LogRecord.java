@@ -186,6 +186,39 @@ public class LogRecord implements java.io.Serializable {
         needToInferCaller = true;
    }
 
+    /**
+     * Reinitializes this record as if newly constructed with the given
+     * level and message, for reuse by {@link Logger}.  A new sequence
+     * number, thread ID and time are assigned.
+     */
+    void reset(Level level, String msg) {
+        level.getClass();
+        this.level = level;
+        message = msg;
+        sequenceNumber = globalSequenceNumber.getAndIncrement();
+        threadID = defaultThreadID();
+        millis = System.currentTimeMillis();
+        needToInferCaller = true;
+        sourceClassName = null;
+        sourceMethodName = null;
+        thrown = null;
+        loggerName = null;
+        resourceBundleName = null;
+        parameters = null;
+        resourceBundle = null;
+    }
+
+    /**
+     * Drops the references held by a record being returned to
+     * {@link Logger}'s pool, so that they can be collected.
+     */
+    void clearReferences() {
+        message = null;
+        thrown = null;
+        parameters = null;
+        resourceBundle = null;
+    }
+
     /**
      * Get the source Logger's name.
      *
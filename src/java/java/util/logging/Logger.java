@@ -750,6 +750,112 @@ public class Logger {
         }
     }
 
+    //================================================================
+    // Record routing for the convenience methods
+    //================================================================
+
+    // Results of route(Level).
+    // No handler would publish a record of the level.
+    private static final int ROUTE_NONE = 0;
+    // Every handler is done with the record when publish returns,
+    // so a per-thread record may be reused.
+    private static final int ROUTE_POOLED = 1;
+    // Some handler, filter or logger in the chain is not known to
+    // the platform; a new record must be created and published.
+    private static final int ROUTE_NEW = 2;
+
+    // A per-thread LogRecord, and whether it is being published.
+    // A handler that logs while publishing gets a new record.
+    private static final class RecordSlot {
+        LogRecord record;
+        boolean inUse;
+    }
+
+    private static final ThreadLocal<RecordSlot> recordSlot =
+        new ThreadLocal<RecordSlot>() {
+            @Override
+            protected RecordSlot initialValue() {
+                return new RecordSlot();
+            }
+        };
+
+    // Package-private hook for the root logger, which creates the
+    // global handlers when they are first needed.
+    void initializeHandlers() {
+    }
+
+    // Decides, before any LogRecord is created, whether a message at
+    // the given level that has passed isLoggable(Level) would be
+    // published by any handler this logger would post it to.
+    //
+    // This walks the same chain of handlers as log(LogRecord), but
+    // can only reason about loggers, handlers and formatters of the
+    // platform's own classes, whose publish methods drop records below
+    // the handler's level.  Anything else, and any Filter, might
+    // accept any record or hold on to it, so ROUTE_NEW is returned.
+    private int route(Level level) {
+        if (filter != null || getClass().getClassLoader() != null) {
+            return ROUTE_NEW;
+        }
+        final int value = level.intValue();
+        boolean published = false;
+        boolean retained = false;
+        Logger logger = this;
+        while (logger != null) {
+            if (logger.getClass().getClassLoader() != null) {
+                return ROUTE_NEW;
+            }
+            logger.initializeHandlers();
+            for (Handler handler : logger.handlers) {
+                if (handler.getClass().getClassLoader() != null
+                        || handler.getFilter() != null) {
+                    return ROUTE_NEW;
+                }
+                final int handlerValue = handler.getLevel().intValue();
+                if (value >= handlerValue && handlerValue != offValue) {
+                    published = true;
+                    retained |= handler.mayRetainRecords();
+                }
+            }
+            if (!logger.useParentHandlers) {
+                break;
+            }
+            logger = logger.parent;
+        }
+        return !published ? ROUTE_NONE
+            : retained ? ROUTE_NEW : ROUTE_POOLED;
+    }
+
+    // Returns a record for a message routed by route(Level): the
+    // calling thread's pooled record if it may be used, else a new one.
+    private static LogRecord newRecord(int route, Level level, String msg) {
+        if (route == ROUTE_POOLED) {
+            final RecordSlot slot = recordSlot.get();
+            if (!slot.inUse) {
+                slot.inUse = true;
+                LogRecord lr = slot.record;
+                if (lr == null) {
+                    lr = slot.record = new LogRecord(level, msg);
+                } else {
+                    lr.reset(level, msg);
+                }
+                return lr;
+            }
+        }
+        return new LogRecord(level, msg);
+    }
+
+    // Returns a record obtained from newRecord once it has been logged.
+    private static void releaseRecord(int route, LogRecord lr) {
+        if (route == ROUTE_POOLED) {
+            final RecordSlot slot = recordSlot.get();
+            if (slot.record == lr) {
+                lr.clearReferences();
+                slot.inUse = false;
+            }
+        }
+    }
+
     // private support method for logging.
     // We fill in the logger name, resource bundle name, and
     // resource bundle and then call "void log(LogRecord)".
@@ -784,8 +890,16 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
-        doLog(lr);
+        final int route = route(level);
+        if (route == ROUTE_NONE) {
+            return;
+        }
+        LogRecord lr = newRecord(route, level, msg);
+        try {
+            doLog(lr);
+        } finally {
+            releaseRecord(route, lr);
+        }
     }
 
     /**
@@ -806,8 +920,16 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msgSupplier.get());
-        doLog(lr);
+        final int route = route(level);
+        if (route == ROUTE_NONE) {
+            return;
+        }
+        LogRecord lr = newRecord(route, level, msgSupplier.get());
+        try {
+            doLog(lr);
+        } finally {
+            releaseRecord(route, lr);
+        }
     }
 
     /**
@@ -825,10 +947,18 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
-        Object params[] = { param1 };
-        lr.setParameters(params);
-        doLog(lr);
+        final int route = route(level);
+        if (route == ROUTE_NONE) {
+            return;
+        }
+        LogRecord lr = newRecord(route, level, msg);
+        try {
+            Object params[] = { param1 };
+            lr.setParameters(params);
+            doLog(lr);
+        } finally {
+            releaseRecord(route, lr);
+        }
     }
 
     /**
@@ -846,9 +976,17 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
-        lr.setParameters(params);
-        doLog(lr);
+        final int route = route(level);
+        if (route == ROUTE_NONE) {
+            return;
+        }
+        LogRecord lr = newRecord(route, level, msg);
+        try {
+            lr.setParameters(params);
+            doLog(lr);
+        } finally {
+            releaseRecord(route, lr);
+        }
     }
 
     /**
@@ -871,9 +1009,17 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
-        lr.setThrown(thrown);
-        doLog(lr);
+        final int route = route(level);
+        if (route == ROUTE_NONE) {
+            return;
+        }
+        LogRecord lr = newRecord(route, level, msg);
+        try {
+            lr.setThrown(thrown);
+            doLog(lr);
+        } finally {
+            releaseRecord(route, lr);
+        }
     }
 
     /**
@@ -899,9 +1045,17 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msgSupplier.get());
-        lr.setThrown(thrown);
-        doLog(lr);
+        final int route = route(level);
+        if (route == ROUTE_NONE) {
+            return;
+        }
+        LogRecord lr = newRecord(route, level, msgSupplier.get());
+        try {
+            lr.setThrown(thrown);
+            doLog(lr);
+        } finally {
+            releaseRecord(route, lr);
+        }
     }
 
     //================================================================
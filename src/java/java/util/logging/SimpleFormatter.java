@@ -60,8 +60,6 @@ public class SimpleFormatter extends Formatter {
 
     // format string for printing the log record
     private static final String format = LoggingSupport.getSimpleFormat();
-    private final Date dat = new Date();
-
     /**
      * Format the given LogRecord.
      * <p>
@@ -137,8 +135,10 @@ public class SimpleFormatter extends Formatter {
      * @param record the log record to be formatted.
      * @return a formatted log record
      */
-    public synchronized String format(LogRecord record) {
-        dat.setTime(record.getMillis());
+    public String format(LogRecord record) {
+        // Not synchronized, so that threads publishing through an
+        // AsyncHandler can format concurrently.
+        Date dat = new Date(record.getMillis());
         String source;
         if (record.getSourceClassName() != null) {
             source = record.getSourceClassName();
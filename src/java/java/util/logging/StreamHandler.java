@@ -216,6 +216,29 @@ public class StreamHandler extends Handler {
             return;
         }
 
+        writeFormatted(msg);
+    }
+
+    /**
+     * A <tt>StreamHandler</tt> formats each record within <tt>publish</tt>,
+     * so only a subclass or formatter from outside the platform could
+     * keep a record.
+     */
+    @Override
+    boolean mayRetainRecords() {
+        return getClass().getClassLoader() != null
+            || getFormatter().getClass().getClassLoader() != null;
+    }
+
+    /**
+     * Writes a message already formatted by this handler's formatter,
+     * preceded by the formatter's head if nothing has been written yet.
+     * Must be called with this handler's lock held.
+     */
+    void writeFormatted(String msg) {
+        if (writer == null) {
+            return;
+        }
         try {
             if (!doneHeader) {
                 writer.write(getFormatter().getHead(this));
@@ -229,6 +252,23 @@ public class StreamHandler extends Handler {
         }
     }
 
+    /**
+     * Writes a batch of messages already formatted by this handler's
+     * formatter, then flushes once.  Used by {@link AsyncHandler} so that
+     * a single writer thread takes this handler's lock once per batch
+     * rather than once per record.  Messages are discarded if this
+     * handler has been closed.
+     *
+     * @param msgs the formatted messages; the first {@code n} are written
+     * @param n the number of messages
+     */
+    synchronized void publishFormatted(String[] msgs, int n) {
+        for (int i = 0; i < n; i++) {
+            writeFormatted(msgs[i]);
+        }
+        flush();
+    }
+
 
     /**
      * Check if this <tt>Handler</tt> would actually log a given <tt>LogRecord</tt>.
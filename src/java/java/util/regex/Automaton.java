@@ -0,0 +1,1114 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The form in which a pattern compiled with the {@link Pattern#DFA} flag is
+ * matched: a Thompson NFA program, run over the input by a Pike VM, which
+ * advances all threads of the program a character at a time in priority
+ * order and so finds the match, and groups, that backtracking would, and a
+ * DFA built lazily from the same program, which decides quickly whether
+ * there is a match at all.  Both take time linear in the input.
+ *
+ * <p> The program is built from a parse of the pattern of its own, which
+ * handles groups, alternation, greedy and reluctant quantifiers and the
+ * quoting of {@code \Q...\E}.  Every character class, escape, literal
+ * character and boundary matcher is compiled by Pattern alone, and its node
+ * used by the program, so that it matches just as in the backtracking
+ * engine.  For patterns using other constructs, such as back references,
+ * lookaround, possessive quantifiers and embedded flags, or repeating a
+ * group that can match the empty string, {@link #compile} returns null and
+ * the backtracking engine is used.
+ *
+ * <p> The automata of several patterns may be joined by {@link #union},
+ * whose DFA finds which of them match somewhere in an input in one pass,
+ * for {@link PatternSet}.
+ */
+final class Automaton {
+
+    // Instructions
+    private static final int CHAR = 0;       // a BMP character property
+    private static final int CODEPOINT = 1;  // a code point property
+    private static final int TAIL = 2;       // low surrogate of a matched pair
+    private static final int SPLIT = 3;      // to x, then to y
+    private static final int JMP = 4;        // to x
+    private static final int SAVE = 5;       // position into group slot x
+    private static final int ASSERT = 6;     // a zero-width node
+    private static final int MATCH = 7;
+
+    private static final int MAX_INSTRUCTIONS = 20000;
+    private static final int MAX_DFA_STATES = 10000;
+    private static final int MAX_DFA_PCS = 1 << 20;   // in all states
+
+    // Results of a DFA scan
+    private static final int NO = 0;
+    private static final int YES = 1;
+    private static final int UNKNOWN = 2;
+
+    private final int[] op;
+    private final int[] x;
+    private final int[] y;
+    private final Object[] node;    // CharProperty or zero-width Node
+    private final int slots;        // two per group, including group 0
+    private final int parts;        // automata joined, whose MATCH x numbers
+    private final boolean startS;   // search steps over surrogate pairs
+    private final boolean wide;     // has CODEPOINT instructions
+
+    // The lazily built DFAs, for anchored matches and for searches; null if
+    // the program has zero-width nodes other than Begin
+    private final Dfa anchoredDfa;
+    private final Dfa searchDfa;
+
+    private Automaton(int[] op, int[] x, int[] y, Object[] node, int slots,
+                      int parts, boolean startS) {
+        int n = op.length;
+        this.op = op;
+        this.x = x;
+        this.y = y;
+        this.node = node;
+        this.slots = slots;
+        this.parts = parts;
+        this.startS = startS;
+        boolean w = false;
+        boolean d = true;
+        for (int pc = 0; pc < n; pc++) {
+            if (op[pc] == CODEPOINT)
+                w = true;
+            else if (op[pc] == ASSERT && !(node[pc] instanceof Pattern.Begin))
+                d = false;
+        }
+        wide = w;
+        anchoredDfa = d ? new Dfa(false) : null;
+        searchDfa = d ? new Dfa(true) : null;
+    }
+
+    /**
+     * Returns the automaton for the given pattern, or null if it uses a
+     * construct the automaton does not handle.  The pattern has already
+     * been compiled, so it is known to be valid.
+     */
+    static Automaton compile(String pattern, int flags, int groupCount,
+                             boolean hasSupplementary) {
+        if ((flags & (Pattern.LITERAL | Pattern.COMMENTS | Pattern.CANON_EQ)) != 0)
+            return null;
+        try {
+            Compiler c = new Compiler(pattern, flags & ~Pattern.DFA);
+            Re re = c.parse();
+            if (c.groups + 1 != groupCount)
+                return null;
+            c.emit(SAVE, 0, 0, null);
+            c.emit(re);
+            c.emit(SAVE, 1, 0, null);
+            c.emit(MATCH, 0, 0, null);
+            int n = c.size;
+            return new Automaton(Arrays.copyOf(c.op, n), Arrays.copyOf(c.x, n),
+                                 Arrays.copyOf(c.y, n), Arrays.copyOf(c.node, n),
+                                 2 * groupCount, 1, hasSupplementary);
+        } catch (Unsupported | PatternSyntaxException | StackOverflowError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if this automaton can be part of a {@link #union}: its
+     * DFA decides a search exactly, over any input.
+     */
+    boolean joinable() {
+        return searchDfa != null && !wide && !startS;
+    }
+
+    /**
+     * Returns the automaton whose program runs those of the given joinable
+     * automata side by side, the MATCH of parts[k] numbered ids[k].  Only
+     * its {@link #searchAll} may be used.
+     */
+    static Automaton union(Automaton[] parts, int[] ids) {
+        int n = parts.length - 1;
+        for (Automaton a : parts)
+            n += a.op.length;
+        int[] op = new int[n];
+        int[] x = new int[n];
+        int[] y = new int[n];
+        Object[] node = new Object[n];
+        // A chain of splits to the start of each part
+        int pc = parts.length - 1;
+        for (int k = 0; k < parts.length; k++) {
+            Automaton a = parts[k];
+            if (k < parts.length - 1) {
+                op[k] = SPLIT;
+                x[k] = pc;
+                y[k] = (k < parts.length - 2) ? k + 1
+                    : n - parts[k + 1].op.length;
+            }
+            for (int i = 0; i < a.op.length; i++, pc++) {
+                op[pc] = a.op[i];
+                node[pc] = a.node[i];
+                switch (a.op[i]) {
+                case SPLIT:
+                    x[pc] = a.x[i] + pc - i;
+                    y[pc] = a.y[i] + pc - i;
+                    break;
+                case JMP:
+                    x[pc] = a.x[i] + pc - i;
+                    break;
+                case MATCH:
+                    x[pc] = ids[k];
+                    break;
+                default:
+                    x[pc] = a.x[i];
+                    break;
+                }
+            }
+        }
+        return new Automaton(op, x, y, node, 0, parts.length, false);
+    }
+
+    /**
+     * Sets in found the numbers of the parts of a union that match
+     * somewhere in the input, stopping at the first if first is true, and
+     * returns true if any matched.
+     */
+    boolean searchAll(CharSequence seq, BitSet found, boolean first) {
+        Dfa dfa = searchDfa;
+        DState s = dfa.start(true);
+        int left = parts;
+        int length = seq.length();
+        for (int i = 0; ; i++) {
+            if (s.match) {
+                if (first) {
+                    found.set(s.matches[0]);
+                    return true;
+                }
+                for (int id : s.matches) {
+                    if (!found.get(id)) {
+                        found.set(id);
+                        if (--left == 0)
+                            return true;
+                    }
+                }
+            }
+            if (i == length)
+                return left < parts;
+            s = dfa.next(s, seq.charAt(i));
+        }
+    }
+
+    /**
+     * Finds the leftmost match starting at or after from, as Start does.
+     */
+    boolean search(Matcher matcher, int from) {
+        if (splitsPair(matcher))
+            return matcher.parentPattern.root.match(matcher, from, matcher.text);
+        int r = (searchDfa != null) ? searchDfa.scan(matcher, from) : UNKNOWN;
+        if (r == YES || r == UNKNOWN) {
+            if (run(matcher, from, false, false))
+                return true;
+        }
+        matcher.hitEnd = true;
+        return false;
+    }
+
+    /**
+     * Matches at from, up to the end of the region if anchor is
+     * Matcher.ENDANCHOR, as matchRoot does.
+     */
+    boolean match(Matcher matcher, int from, int anchor) {
+        if (splitsPair(matcher))
+            return matcher.parentPattern.matchRoot.match(matcher, from, matcher.text);
+        boolean end = (anchor == Matcher.ENDANCHOR);
+        int r = (anchoredDfa != null) ? anchoredDfa.scan(matcher, from, end) : UNKNOWN;
+        if (r == NO)
+            return false;
+        if (r == YES && end && slots == 2) {
+            // Matched the whole region, and there are no groups to find
+            matcher.first = from;
+            matcher.last = matcher.to;
+            matcher.groups[0] = from;
+            matcher.groups[1] = matcher.to;
+            return true;
+        }
+        return run(matcher, from, true, end);
+    }
+
+    /**
+     * Returns true if the end of the region falls within a surrogate pair
+     * that the program could match.  A character property then reads the
+     * whole pair, but a sequence of literal characters does not, so the
+     * backtracking engine is used.
+     */
+    private boolean splitsPair(Matcher matcher) {
+        int to = matcher.to;
+        return wide && to > 0 && to < matcher.getTextLength()
+            && Character.isHighSurrogate(matcher.text.charAt(to - 1))
+            && Character.isLowSurrogate(matcher.text.charAt(to));
+    }
+
+    // -- Pike VM --
+
+    /**
+     * A set of threads, one per instruction, kept in priority order: the
+     * order of their addition.  Instructions that consume no input are
+     * recorded only so that each is followed once per position.
+     */
+    private static final class Threads {
+        final int[] sparse;
+        final int[] dense;
+        final int[][] caps;
+        int size;
+
+        Threads(int n) {
+            sparse = new int[n];
+            dense = new int[n];
+            caps = new int[n][];
+        }
+
+        boolean contains(int pc) {
+            int k = sparse[pc];
+            return k < size && dense[k] == pc;
+        }
+
+        void add(int pc, int[] c) {
+            sparse[pc] = size;
+            dense[size] = pc;
+            caps[size++] = c;
+        }
+
+        void clear() {
+            Arrays.fill(caps, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Runs the program from position from, setting the matcher's groups to
+     * those of the leftmost-first match if there is one.  If anchored, the
+     * match must start at from; if end, it must end at the end of the
+     * region.
+     */
+    private boolean run(Matcher matcher, int from, boolean anchored,
+                        boolean end) {
+        CharSequence seq = matcher.text;
+        int to = matcher.to;
+        int length = matcher.getTextLength();
+        int n = op.length;
+        Threads clist = new Threads(n);
+        Threads nlist = new Threads(n);
+        int[] stackPc = new int[2 * n + 2];
+        int[][] stackCaps = new int[2 * n + 2][];
+        int[] init = new int[slots];
+        Arrays.fill(init, -1);
+        int[] matched = null;
+
+        addThread(clist, 0, init, from, matcher, seq, stackPc, stackCaps);
+        for (int i = from; ; i++) {
+            for (int k = 0; k < clist.size; k++) {
+                int pc = clist.dense[k];
+                int[] caps = clist.caps[k];
+                switch (op[pc]) {
+                case CHAR:
+                    if (i < to) {
+                        if (((Pattern.CharProperty) node[pc]).isSatisfiedBy(seq.charAt(i)))
+                            addThread(nlist, pc + 1, caps, i + 1, matcher, seq,
+                                      stackPc, stackCaps);
+                    } else {
+                        matcher.hitEnd = true;
+                    }
+                    break;
+                case CODEPOINT:
+                    if (i < to) {
+                        int ch = Character.codePointAt(seq, i);
+                        if (((Pattern.CharProperty) node[pc]).isSatisfiedBy(ch))
+                            addThread(nlist, (ch >= Character.MIN_SUPPLEMENTARY_CODE_POINT)
+                                      ? pc + 1 : pc + 2, caps, i + 1, matcher, seq,
+                                      stackPc, stackCaps);
+                    } else {
+                        matcher.hitEnd = true;
+                    }
+                    break;
+                case TAIL:
+                    if (i < length)
+                        addThread(nlist, pc + 1, caps, i + 1, matcher, seq,
+                                  stackPc, stackCaps);
+                    break;
+                case MATCH:
+                    if (end && i != to)
+                        break;
+                    matched = caps;
+                    // Threads of lower priority are cut off
+                    k = clist.size;
+                    break;
+                default:
+                    break;
+                }
+            }
+            // A search starts a thread of lowest priority at each position
+            if (!anchored && matched == null && i < to
+                && !(startS && Character.isHighSurrogate(seq.charAt(i))
+                     && i + 1 < length && Character.isLowSurrogate(seq.charAt(i + 1)))) {
+                addThread(nlist, 0, init, i + 1, matcher, seq, stackPc, stackCaps);
+            }
+            if (nlist.size == 0 && (anchored || matched != null || i >= to))
+                break;
+            Threads t = clist;
+            clist = nlist;
+            nlist = t;
+            nlist.clear();
+        }
+
+        if (matched == null)
+            return false;
+        matcher.first = matched[0];
+        matcher.last = matched[1];
+        System.arraycopy(matched, 0, matcher.groups, 0, slots);
+        return true;
+    }
+
+    /**
+     * Adds the thread at pc to the list, following the instructions that
+     * consume no input, in priority order, to those that do.
+     */
+    private void addThread(Threads list, int pc, int[] caps, int i,
+                           Matcher matcher, CharSequence seq,
+                           int[] stackPc, int[][] stackCaps) {
+        int sp = 0;
+        stackPc[sp] = pc;
+        stackCaps[sp++] = caps;
+        while (sp > 0) {
+            pc = stackPc[--sp];
+            caps = stackCaps[sp];
+            stackCaps[sp] = null;
+            if (list.contains(pc))
+                continue;
+            switch (op[pc]) {
+            case JMP:
+                list.add(pc, null);
+                stackPc[sp] = x[pc];
+                stackCaps[sp++] = caps;
+                break;
+            case SPLIT:
+                list.add(pc, null);
+                stackPc[sp] = y[pc];
+                stackCaps[sp++] = caps;
+                stackPc[sp] = x[pc];
+                stackCaps[sp++] = caps;
+                break;
+            case SAVE:
+                list.add(pc, null);
+                caps = caps.clone();
+                caps[x[pc]] = i;
+                stackPc[sp] = pc + 1;
+                stackCaps[sp++] = caps;
+                break;
+            case ASSERT:
+                list.add(pc, null);
+                if (((Pattern.Node) node[pc]).match(matcher, i, seq)) {
+                    stackPc[sp] = pc + 1;
+                    stackCaps[sp++] = caps;
+                }
+                break;
+            default:
+                list.add(pc, caps);
+                break;
+            }
+        }
+    }
+
+    // -- Lazy DFA --
+
+    /**
+     * A state of the DFA: the instructions consuming input, or matching,
+     * that threads may be at, and the numbers of the MATCH instructions.
+     * Transitions on ASCII characters are cached in the table, and the
+     * latest on another character in last; both are written without
+     * locking, which is safe as states are immutable.
+     */
+    private static final class DState {
+        final int[] pcs;
+        final boolean match;
+        final int[] matches;
+        final boolean reads;
+        final DState[] next = new DState[128];
+        Edge last;
+
+        DState(int[] pcs, int[] matches, boolean reads) {
+            this.pcs = pcs;
+            this.match = matches.length > 0;
+            this.matches = matches;
+            this.reads = reads;
+        }
+    }
+
+    private static final class Edge {
+        final char c;
+        final DState to;
+        Edge(char c, DState to) {
+            this.c = c;
+            this.to = to;
+        }
+    }
+
+    /**
+     * A DFA over the program, its states built as they are reached.  A
+     * search DFA adds a thread at the start of the program at each
+     * position.  When the number of states exceeds MAX_DFA_STATES, or the
+     * instructions in them MAX_DFA_PCS, they are discarded, and built again
+     * as needed.
+     */
+    private final class Dfa {
+        final boolean search;
+        private HashMap<String,DState> states = new HashMap<>();
+        private int statePcs;
+        private DState startAtBegin;
+        private DState start;
+
+        // Scratch space for building states, used while holding the lock
+        private final boolean[] on = new boolean[op.length];
+        private final int[] reached = new int[op.length];
+        private final int[] stack = new int[2 * op.length + 2];
+
+        Dfa(boolean search) {
+            this.search = search;
+        }
+
+        /**
+         * Scans a search from position from, returning YES if there is a
+         * match, NO if not, or UNKNOWN for input the DFA cannot read.
+         */
+        int scan(Matcher matcher, int from) {
+            CharSequence seq = matcher.text;
+            int to = matcher.to;
+            DState s = start(matcher.anchoringBounds || from == 0);
+            for (int i = from; i < to; i++) {
+                if (s.match)
+                    return YES;
+                char c = seq.charAt(i);
+                if (wide && Character.isSurrogate(c))
+                    return UNKNOWN;
+                s = next(s, c);
+            }
+            return s.match ? YES : NO;
+        }
+
+        /**
+         * Scans an anchored match from position from, to the end of the
+         * region if end is true, returning YES, NO or UNKNOWN.
+         */
+        int scan(Matcher matcher, int from, boolean end) {
+            CharSequence seq = matcher.text;
+            int to = matcher.to;
+            DState s = start(matcher.anchoringBounds || from == 0);
+            for (int i = from; i < to; i++) {
+                if (s.match && !end)
+                    return YES;
+                if (s.pcs.length == 0)
+                    return NO;
+                char c = seq.charAt(i);
+                if (wide && Character.isSurrogate(c))
+                    return UNKNOWN;
+                s = next(s, c);
+            }
+            if (s.reads)
+                matcher.hitEnd = true;
+            return s.match ? YES : NO;
+        }
+
+        /**
+         * Returns the start state, with Begin matching if begin is true:
+         * at from, only with anchoring bounds or at the start of input.
+         */
+        DState start(boolean begin) {
+            DState s = begin ? startAtBegin : start;
+            if (s == null) {
+                synchronized (this) {
+                    int sp = 0;
+                    stack[sp++] = 0;
+                    s = state(sp, begin);
+                    if (begin)
+                        startAtBegin = s;
+                    else
+                        start = s;
+                }
+            }
+            return s;
+        }
+
+        DState next(DState s, char c) {
+            DState t;
+            if (c < 128) {
+                t = s.next[c];
+                if (t == null)
+                    s.next[c] = t = step(s, c);
+            } else {
+                Edge e = s.last;
+                if (e != null && e.c == c)
+                    return e.to;
+                t = step(s, c);
+                s.last = new Edge(c, t);
+            }
+            return t;
+        }
+
+        private synchronized DState step(DState s, char c) {
+            int sp = 0;
+            for (int pc : s.pcs) {
+                if ((op[pc] == CHAR || op[pc] == CODEPOINT)
+                    && ((Pattern.CharProperty) node[pc]).isSatisfiedBy(c)) {
+                    stack[sp++] = (op[pc] == CHAR) ? pc + 1 : pc + 2;
+                }
+            }
+            if (search)
+                stack[sp++] = 0;
+            return state(sp, false);
+        }
+
+        /**
+         * Returns the state of the instructions reached from those on the
+         * stack, with Begin matching if begin is true.
+         */
+        private DState state(int sp, boolean begin) {
+            int[] pcs = reached;
+            int count = 0;
+            int matches = 0;
+            boolean reads = false;
+            while (sp > 0) {
+                int pc = stack[--sp];
+                if (on[pc])
+                    continue;
+                on[pc] = true;
+                pcs[count++] = pc;
+                switch (op[pc]) {
+                case JMP:
+                    stack[sp++] = x[pc];
+                    break;
+                case SPLIT:
+                    stack[sp++] = y[pc];
+                    stack[sp++] = x[pc];
+                    break;
+                case SAVE:
+                    stack[sp++] = pc + 1;
+                    break;
+                case ASSERT:
+                    // only Begin, in a DFA
+                    if (begin)
+                        stack[sp++] = pc + 1;
+                    break;
+                case MATCH:
+                    matches++;
+                    break;
+                default:
+                    reads = true;
+                    break;
+                }
+            }
+            // Keep the instructions that consume input or match
+            int[] ids = new int[matches];
+            matches = 0;
+            int kept = 0;
+            for (int k = 0; k < count; k++) {
+                int pc = pcs[k];
+                on[pc] = false;
+                if (op[pc] == CHAR || op[pc] == CODEPOINT)
+                    pcs[kept++] = pc;
+                else if (op[pc] == MATCH) {
+                    pcs[kept++] = pc;
+                    ids[matches++] = x[pc];
+                }
+            }
+            pcs = Arrays.copyOf(pcs, kept);
+            Arrays.sort(pcs);
+            // Instructions beyond the range of a char take two
+            boolean wideKey = op.length > Character.MAX_VALUE;
+            char[] key = new char[wideKey ? 2 * kept : kept];
+            for (int k = 0, j = 0; k < kept; k++) {
+                if (wideKey)
+                    key[j++] = (char) (pcs[k] >>> 16);
+                key[j++] = (char) pcs[k];
+            }
+            String k = new String(key);
+            DState s = states.get(k);
+            if (s == null) {
+                if (states.size() >= MAX_DFA_STATES
+                    || statePcs + kept > MAX_DFA_PCS) {
+                    states = new HashMap<>();
+                    statePcs = 0;
+                    startAtBegin = null;
+                    start = null;
+                }
+                s = new DState(pcs, ids, reads);
+                states.put(k, s);
+                statePcs += kept;
+            }
+            return s;
+        }
+    }
+
+    // -- Parsing and compiling --
+
+    private static final class Unsupported extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    // Kinds of parsed expression
+    private static final int ATOM = 0;
+    private static final int ZERO_WIDTH = 1;
+    private static final int CAT = 2;
+    private static final int ALT = 3;
+    private static final int GROUP = 4;
+    private static final int REPEAT = 5;
+
+    /**
+     * A parsed expression.
+     */
+    private static final class Re {
+        final int kind;
+        Pattern.Node node;          // ATOM, ZERO_WIDTH
+        List<Re> subs;              // CAT, ALT
+        Re sub;                     // GROUP, REPEAT
+        int group;                  // GROUP
+        int min, max;               // REPEAT
+        boolean greedy;             // REPEAT
+
+        Re(int kind) {
+            this.kind = kind;
+        }
+
+        boolean nullable() {
+            switch (kind) {
+            case ATOM:
+                return false;
+            case ZERO_WIDTH:
+                return true;
+            case CAT:
+                for (Re r : subs)
+                    if (!r.nullable())
+                        return false;
+                return true;
+            case ALT:
+                for (Re r : subs)
+                    if (r.nullable())
+                        return true;
+                return false;
+            case GROUP:
+                return sub.nullable();
+            default:
+                return min == 0 || sub.nullable();
+            }
+        }
+    }
+
+    /**
+     * Node ending the zero-width nodes of the program, so that their match
+     * tests only the assertion.
+     */
+    private static final Pattern.Node TRUE = new Pattern.Node() {
+        boolean match(Matcher matcher, int i, CharSequence seq) {
+            return true;
+        }
+    };
+
+    private static final class Compiler {
+        final String s;
+        final int flags;
+        int cursor;
+        int groups;
+        final HashMap<String,Pattern.Node> atoms = new HashMap<>();
+
+        int[] op = new int[64];
+        int[] x = new int[64];
+        int[] y = new int[64];
+        Object[] node = new Object[64];
+        int size;
+
+        Compiler(String s, int flags) {
+            this.s = s;
+            this.flags = flags;
+        }
+
+        Re parse() {
+            Re re = alternation();
+            if (cursor != s.length())
+                throw new Unsupported();
+            return re;
+        }
+
+        private boolean more() {
+            return cursor < s.length();
+        }
+
+        private char peek() {
+            return s.charAt(cursor);
+        }
+
+        private Re alternation() {
+            Re first = sequence();
+            if (!more() || peek() != '|')
+                return first;
+            Re alt = new Re(ALT);
+            alt.subs = new ArrayList<>();
+            alt.subs.add(first);
+            while (more() && peek() == '|') {
+                cursor++;
+                alt.subs.add(sequence());
+            }
+            return alt;
+        }
+
+        private Re sequence() {
+            Re cat = new Re(CAT);
+            cat.subs = new ArrayList<>();
+            while (more() && peek() != '|' && peek() != ')') {
+                if (s.startsWith("\\Q", cursor)) {
+                    // Quoted characters, of which a quantifier applies to
+                    // the last
+                    int end = s.indexOf("\\E", cursor + 2);
+                    if (end < 0)
+                        end = s.length();
+                    if (end == cursor + 2)
+                        throw new Unsupported();
+                    int i = cursor + 2;
+                    while (i < end) {
+                        int n = Character.charCount(s.codePointAt(i));
+                        Re atom = atom("\\Q" + s.substring(i, i + n) + "\\E");
+                        i += n;
+                        if (i < end)
+                            cat.subs.add(atom);
+                        else {
+                            cursor = Math.min(end + 2, s.length());
+                            cat.subs.add(quantified(atom));
+                        }
+                    }
+                    continue;
+                }
+                cat.subs.add(quantified(piece()));
+            }
+            return cat;
+        }
+
+        private Re piece() {
+            char c = peek();
+            int start = cursor;
+            switch (c) {
+            case '(': {
+                cursor++;
+                int group = 0;
+                if (more() && peek() == '?') {
+                    cursor++;
+                    if (more() && peek() == ':') {
+                        cursor++;
+                    } else if (more() && peek() == '<' && cursor + 1 < s.length()
+                               && ASCII.isAlpha(s.charAt(cursor + 1))) {
+                        int end = s.indexOf('>', cursor);
+                        if (end < 0)
+                            throw new Unsupported();
+                        cursor = end + 1;
+                        group = ++groups;
+                    } else {
+                        throw new Unsupported();
+                    }
+                } else {
+                    group = ++groups;
+                }
+                Re body = alternation();
+                if (!more() || peek() != ')')
+                    throw new Unsupported();
+                cursor++;
+                if (group == 0)
+                    return body;
+                Re g = new Re(GROUP);
+                g.group = group;
+                g.sub = body;
+                return g;
+            }
+            case '[': {
+                // The class ends at the first ']' at which it compiles
+                for (int end = s.indexOf(']', cursor + 1); end > 0;
+                     end = s.indexOf(']', end + 1)) {
+                    try {
+                        Re atom = atom(s.substring(start, end + 1));
+                        cursor = end + 1;
+                        return atom;
+                    } catch (PatternSyntaxException | Unsupported e) {
+                        // not yet the end
+                    }
+                }
+                throw new Unsupported();
+            }
+            case '\\':
+                cursor = escapeEnd(cursor);
+                return atom(s.substring(start, cursor));
+            case '.':
+            case '^':
+            case '$':
+                cursor++;
+                return atom(String.valueOf(c));
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw new Unsupported();
+            default:
+                cursor += Character.charCount(s.codePointAt(cursor));
+                return atom(s.substring(start, cursor));
+            }
+        }
+
+        /**
+         * Returns the end of the escape at i, or throws Unsupported for an
+         * escape that is not a single character or boundary matcher.
+         */
+        private int escapeEnd(int i) {
+            if (i + 1 >= s.length())
+                throw new Unsupported();
+            char e = s.charAt(i + 1);
+            int j = i + 2;
+            switch (e) {
+            case 'x':
+            case 'p':
+            case 'P':
+                if (j < s.length() && s.charAt(j) == '{') {
+                    int end = s.indexOf('}', j);
+                    if (end < 0)
+                        throw new Unsupported();
+                    return end + 1;
+                }
+                return Math.min(j + (e == 'x' ? 2 : 1), s.length());
+            case 'u': {
+                if (j + 4 > s.length())
+                    throw new Unsupported();
+                // A surrogate may pair with a following escape
+                int ch = Integer.parseInt(s.substring(j, j + 4), 16);
+                if (Character.isSurrogate((char) ch))
+                    throw new Unsupported();
+                return j + 4;
+            }
+            case '0':
+                if (j < s.length() && isOctal(s.charAt(j))) {
+                    char d = s.charAt(j++);
+                    if (j < s.length() && isOctal(s.charAt(j))) {
+                        j++;
+                        if (d <= '3' && j < s.length() && isOctal(s.charAt(j)))
+                            j++;
+                    }
+                }
+                return j;
+            case 'c':
+                return Math.min(j + 1, s.length());
+            case 't': case 'n': case 'r': case 'f': case 'a': case 'e':
+            case 'd': case 'D': case 's': case 'S': case 'w': case 'W':
+            case 'h': case 'H': case 'v': case 'V':
+            case 'b': case 'B': case 'A': case 'z': case 'Z':
+                return j;
+            default:
+                if (ASCII.isAlnum(e) || Character.isSurrogate(e))
+                    throw new Unsupported();
+                return j;
+            }
+        }
+
+        private static boolean isOctal(char c) {
+            return c >= '0' && c <= '7';
+        }
+
+        /**
+         * Returns the atom for the given source: a character property or
+         * boundary matcher, compiled by Pattern.
+         */
+        private Re atom(String src) {
+            Pattern.Node n = atoms.get(src);
+            if (n == null) {
+                n = Pattern.compile(src, flags).matchRoot;
+                if (n.next != Pattern.lastAccept)
+                    throw new Unsupported();
+                if (n instanceof Pattern.Begin || n instanceof Pattern.End
+                    || n instanceof Pattern.Caret || n instanceof Pattern.UnixCaret
+                    || n instanceof Pattern.Dollar || n instanceof Pattern.UnixDollar
+                    || n instanceof Pattern.Bound) {
+                    n.next = TRUE;
+                } else if (!(n instanceof Pattern.CharProperty)) {
+                    throw new Unsupported();
+                }
+                atoms.put(src, n);
+            }
+            Re re = new Re(n instanceof Pattern.CharProperty ? ATOM : ZERO_WIDTH);
+            re.node = n;
+            return re;
+        }
+
+        /**
+         * Parses any quantifier following the piece.
+         */
+        private Re quantified(Re piece) {
+            if (!more())
+                return piece;
+            int min, max;
+            switch (peek()) {
+            case '*':
+                min = 0;
+                max = Integer.MAX_VALUE;
+                cursor++;
+                break;
+            case '+':
+                min = 1;
+                max = Integer.MAX_VALUE;
+                cursor++;
+                break;
+            case '?':
+                min = 0;
+                max = 1;
+                cursor++;
+                break;
+            case '{': {
+                int end = s.indexOf('}', cursor);
+                if (end < 0)
+                    throw new Unsupported();
+                String range = s.substring(cursor + 1, end);
+                int comma = range.indexOf(',');
+                try {
+                    if (comma < 0) {
+                        min = max = Integer.parseInt(range);
+                    } else {
+                        min = Integer.parseInt(range.substring(0, comma));
+                        max = (comma == range.length() - 1) ? Integer.MAX_VALUE
+                            : Integer.parseInt(range.substring(comma + 1));
+                    }
+                } catch (NumberFormatException e) {
+                    throw new Unsupported();
+                }
+                cursor = end + 1;
+                break;
+            }
+            default:
+                return piece;
+            }
+            boolean greedy = true;
+            if (more() && peek() == '?') {
+                greedy = false;
+                cursor++;
+            }
+            if (more() && (peek() == '+' || peek() == '*' || peek() == '?'
+                           || peek() == '{'))
+                throw new Unsupported();
+            if (piece.kind == ZERO_WIDTH || (max > 1 && piece.nullable()))
+                throw new Unsupported();
+            Re r = new Re(REPEAT);
+            r.sub = piece;
+            r.min = min;
+            r.max = max;
+            r.greedy = greedy;
+            return r;
+        }
+
+        // -- Emitting the program --
+
+        int emit(int o, int a, int b, Object n) {
+            if (size == MAX_INSTRUCTIONS)
+                throw new Unsupported();
+            if (size == op.length) {
+                op = Arrays.copyOf(op, size * 2);
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+                node = Arrays.copyOf(node, size * 2);
+            }
+            op[size] = o;
+            x[size] = a;
+            y[size] = b;
+            node[size] = n;
+            return size++;
+        }
+
+        void emit(Re re) {
+            switch (re.kind) {
+            case ATOM:
+                if (re.node instanceof Pattern.BmpCharProperty) {
+                    emit(CHAR, 0, 0, re.node);
+                } else {
+                    emit(CODEPOINT, 0, 0, re.node);
+                    emit(TAIL, 0, 0, null);
+                }
+                break;
+            case ZERO_WIDTH:
+                emit(ASSERT, 0, 0, re.node);
+                break;
+            case CAT:
+                for (Re r : re.subs)
+                    emit(r);
+                break;
+            case ALT: {
+                int[] jumps = new int[re.subs.size() - 1];
+                for (int k = 0; k < jumps.length; k++) {
+                    int split = emit(SPLIT, 0, 0, null);
+                    x[split] = size;
+                    emit(re.subs.get(k));
+                    jumps[k] = emit(JMP, 0, 0, null);
+                    y[split] = size;
+                }
+                emit(re.subs.get(jumps.length));
+                for (int j : jumps)
+                    x[j] = size;
+                break;
+            }
+            case GROUP:
+                emit(SAVE, 2 * re.group, 0, null);
+                emit(re.sub);
+                emit(SAVE, 2 * re.group + 1, 0, null);
+                break;
+            default:
+                for (int k = 0; k < re.min; k++)
+                    emit(re.sub);
+                if (re.max == Integer.MAX_VALUE) {
+                    int split = emit(SPLIT, 0, 0, null);
+                    emit(re.sub);
+                    emit(JMP, split, 0, null);
+                    branch(split, split + 1, size, re.greedy);
+                } else {
+                    int n = re.max - re.min;
+                    if (n > MAX_INSTRUCTIONS)
+                        throw new Unsupported();
+                    int[] splits = new int[n];
+                    for (int k = 0; k < n; k++) {
+                        splits[k] = emit(SPLIT, 0, 0, null);
+                        emit(re.sub);
+                    }
+                    for (int split : splits)
+                        branch(split, split + 1, size, re.greedy);
+                }
+                break;
+            }
+        }
+
+        // Sets the split to prefer the body if greedy, else what follows
+        private void branch(int split, int body, int out, boolean greedy) {
+            x[split] = greedy ? body : out;
+            y[split] = greedy ? out : body;
+        }
+    }
+}
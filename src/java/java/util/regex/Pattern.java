@@ -917,6 +917,36 @@ public final class Pattern
      */
     public static final int UNICODE_CHARACTER_CLASS = 0x100;
 
+    /**
+     * Enables matching in time linear in the length of the input.
+     *
+     * <p> When this flag is specified, a pattern made only of characters,
+     * character classes, groups, alternations, greedy and reluctant
+     * quantifiers and the boundary matchers <tt>^</tt>, <tt>$</tt>,
+     * <tt>\b</tt>, <tt>\B</tt>, <tt>\A</tt>, <tt>\z</tt> and <tt>\Z</tt>
+     * is matched by following all of its alternatives at once, a character
+     * at a time, with a deterministic automaton built as the input is read
+     * to find whether there is a match, rather than by backtracking.  The
+     * matches, and the groups they capture, are the same as without the
+     * flag, but the time taken is at most proportional to the length of the
+     * input times that of the pattern, whatever the pattern.  A pattern
+     * with other constructs, such as back references, lookaround, possessive
+     * quantifiers or embedded flags, or with a repeated group that can match
+     * the empty string, is matched as if the flag were not specified, as is
+     * one specified with the {@link #LITERAL}, {@link #COMMENTS} or
+     * {@link #CANON_EQ} flags.
+     *
+     * <p> In this mode the {@link Matcher#hitEnd hitEnd} and {@link
+     * Matcher#requireEnd requireEnd} methods of a matcher may return true
+     * where they would otherwise return false, and a group within a
+     * repeated group reports what it captured in the last iteration that
+     * matched, or that it did not match, where without the flag it may
+     * report what it captured in an iteration that was abandoned.
+     *
+     * <p> There is no embedded flag character for this mode.  </p>
+     */
+    public static final int DFA = 0x200;
+
     /* Pattern has only two serialized components: The pattern string
      * and the flags, which are all that is needed to recompile the pattern
      * when it is deserialized.
@@ -963,6 +993,12 @@ public final class Pattern
      */
     transient Node matchRoot;
 
+    /**
+     * The linear-time automaton that matches in place of root and
+     * matchRoot when the DFA flag is set, or null.
+     */
+    transient Automaton automaton;
+
     /**
      * Temporary storage used by parsing pattern slice.
      */
@@ -1039,8 +1075,8 @@ public final class Pattern
      *         Match flags, a bit mask that may include
      *         {@link #CASE_INSENSITIVE}, {@link #MULTILINE}, {@link #DOTALL},
      *         {@link #UNICODE_CASE}, {@link #CANON_EQ}, {@link #UNIX_LINES},
-     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS}
-     *         and {@link #COMMENTS}
+     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS},
+     *         {@link #COMMENTS} and {@link #DFA}
      *
      * @return the given regular expression compiled into a pattern with the given flags
      * @throws  IllegalArgumentException
@@ -1722,6 +1758,10 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
             root = hasSupplementary ? new StartS(matchRoot) : new Start(matchRoot);
         }
 
+        if (has(DFA))
+            automaton = Automaton.compile(pattern, flags, capturingGroupCount,
+                                          hasSupplementary);
+
         // Release temporary storage
         temp = null;
         buffer = null;
@@ -3777,7 +3817,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Abstract node class to match one character satisfying some
      * boolean property.
      */
-    private static abstract class CharProperty extends Node {
+    static abstract class CharProperty extends Node {
         abstract boolean isSatisfiedBy(int ch);
         CharProperty complement() {
             return new CharProperty() {
@@ -3805,7 +3845,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Optimized version of CharProperty that works only for
      * properties never satisfied by Supplementary characters.
      */
-    private static abstract class BmpCharProperty extends CharProperty {
+    static abstract class BmpCharProperty extends CharProperty {
         boolean match(Matcher matcher, int i, CharSequence seq) {
             if (i < matcher.to) {
                 return isSatisfiedBy(seq.charAt(i))
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of regular expressions compiled together, so that the ones that
+ * match somewhere in an input can be found in about one pass over it,
+ * whatever the number of expressions.
+ *
+ * <p> Each expression is compiled to a {@link Pattern} with the given flags
+ * and the {@link Pattern#DFA DFA} flag.  An expression is found in an input
+ * if its pattern's matcher would {@link Matcher#find() find} a match in the
+ * input.  They are found in three ways:
+ *
+ * <ul>
+ *
+ *   <li><p> Every match of some expressions contains a literal string, such
+ *   as {@code "ERROR"} in {@code "ERROR \\d+"}.  The literals of all such
+ *   expressions are looked for together, by an Aho-Corasick automaton, and
+ *   only an expression whose literal is present is then matched.  </p></li>
+ *
+ *   <li><p> The other expressions that can be matched in linear time are
+ *   joined into one automaton, which finds the ones that match in a single
+ *   pass.  </p></li>
+ *
+ *   <li><p> The rest are matched one by one.  </p></li>
+ *
+ * </ul>
+ *
+ * <p> Instances of this class are immutable and are safe for use by
+ * multiple concurrent threads.  </p>
+ *
+ * @see Pattern
+ */
+public final class PatternSet {
+
+    /** The shortest literal looked for before matching its expression. */
+    private static final int MIN_LITERAL = 2;
+
+    private final Pattern[] patterns;
+
+    // The literals of the expressions that have them, or null
+    private final Literals literals;
+
+    // The other expressions matched together, or null
+    private final Automaton union;
+
+    // The rest, matched one by one
+    private final int[] others;
+
+    private PatternSet(Pattern[] patterns) {
+        this.patterns = patterns;
+        Map<String,List<Integer>> byLiteral = new HashMap<>();
+        List<Automaton> joined = new ArrayList<>();
+        int[] ids = new int[patterns.length];
+        int[] rest = new int[patterns.length];
+        int nrest = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            Pattern p = patterns[i];
+            String literal = requiredLiteral(p);
+            if (literal != null) {
+                List<Integer> list = byLiteral.get(literal);
+                if (list == null)
+                    byLiteral.put(literal, list = new ArrayList<>(1));
+                list.add(i);
+            } else if (p.automaton != null && p.automaton.joinable()) {
+                ids[joined.size()] = i;
+                joined.add(p.automaton);
+            } else {
+                rest[nrest++] = i;
+            }
+        }
+        literals = byLiteral.isEmpty() ? null : new Literals(byLiteral);
+        union = joined.isEmpty() ? null
+            : Automaton.union(joined.toArray(new Automaton[joined.size()]),
+                              Arrays.copyOf(ids, joined.size()));
+        others = Arrays.copyOf(rest, nrest);
+    }
+
+    /**
+     * Compiles the given regular expressions into a set.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @return the given expressions compiled into a set
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of an expression is invalid
+     */
+    public static PatternSet compile(Collection<String> regexes) {
+        return compile(regexes, 0);
+    }
+
+    /**
+     * Compiles the given regular expressions into a set, with the given
+     * flags.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @param  flags
+     *         Match flags, a bit mask as for {@link Pattern#compile(String,
+     *         int)}
+     *
+     * @return the given expressions compiled into a set with the given flags
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of an expression is invalid
+     */
+    public static PatternSet compile(Collection<String> regexes, int flags) {
+        Pattern[] patterns = new Pattern[regexes.size()];
+        int i = 0;
+        for (String regex : regexes)
+            patterns[i++] = Pattern.compile(regex, flags | Pattern.DFA);
+        return new PatternSet(patterns);
+    }
+
+    /**
+     * Returns the number of expressions in this set.
+     *
+     * @return the number of expressions in this set
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * Returns the pattern compiled from the expression at the given index,
+     * in the order in which the expressions were given.
+     *
+     * @param  index
+     *         The index of an expression in this set
+     *
+     * @return the pattern compiled from the expression
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the index is negative or not less than {@link #size()}
+     */
+    public Pattern pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Returns the indexes of the expressions of this set that match
+     * somewhere in the given input.
+     *
+     * @param  input
+     *         The character sequence to be matched
+     *
+     * @return a new bit set with the bit at the index of each matching
+     *         expression set
+     */
+    public BitSet find(CharSequence input) {
+        BitSet found = new BitSet(patterns.length);
+        if (union != null)
+            union.searchAll(input, found, false);
+        if (literals != null) {
+            BitSet candidates = new BitSet(patterns.length);
+            literals.scan(input, candidates);
+            for (int i = candidates.nextSetBit(0); i >= 0;
+                 i = candidates.nextSetBit(i + 1)) {
+                if (patterns[i].matcher(input).find())
+                    found.set(i);
+            }
+        }
+        for (int i : others) {
+            if (patterns[i].matcher(input).find())
+                found.set(i);
+        }
+        return found;
+    }
+
+    /**
+     * Tells whether any expression of this set matches somewhere in the
+     * given input.
+     *
+     * @param  input
+     *         The character sequence to be matched
+     *
+     * @return <tt>true</tt> if, and only if, some expression matches
+     */
+    public boolean findAny(CharSequence input) {
+        if (union != null && union.searchAll(input, new BitSet(), true))
+            return true;
+        if (literals != null) {
+            BitSet candidates = new BitSet(patterns.length);
+            literals.scan(input, candidates);
+            for (int i = candidates.nextSetBit(0); i >= 0;
+                 i = candidates.nextSetBit(i + 1)) {
+                if (patterns[i].matcher(input).find())
+                    return true;
+            }
+        }
+        for (int i : others) {
+            if (patterns[i].matcher(input).find())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the longest case sensitive literal string that every match of
+     * the pattern contains, if it is at least MIN_LITERAL chars long, or
+     * null.  The nodes the pattern must match are followed from matchRoot,
+     * stepping over alternations and repetitions, and runs of literal
+     * characters between them taken, much as BnM takes a leading Slice.
+     */
+    static String requiredLiteral(Pattern p) {
+        if ((p.flags() & Pattern.CANON_EQ) != 0)
+            return null;
+        String best = null;
+        StringBuilder run = new StringBuilder();
+        Pattern.Node n = p.matchRoot;
+        while (true) {
+            if (n instanceof Pattern.Slice || n instanceof Pattern.SliceS) {
+                for (int c : ((Pattern.SliceNode) n).buffer)
+                    run.appendCodePoint(c);
+            } else if (n instanceof Pattern.Single) {
+                run.append((char) ((Pattern.Single) n).c);
+            } else if (n instanceof Pattern.SingleS) {
+                run.appendCodePoint(((Pattern.SingleS) n).c);
+            } else if (!(n instanceof Pattern.GroupHead
+                         || n instanceof Pattern.GroupTail)) {
+                // Zero-width groups keep the run; anything else ends it
+                if (run.length() >= MIN_LITERAL
+                    && (best == null || run.length() > best.length()))
+                    best = run.toString();
+                run.setLength(0);
+            }
+            if (n instanceof Pattern.Branch) {
+                n = ((Pattern.Branch) n).conn.next;
+            } else if (n instanceof Pattern.Prolog) {
+                n = ((Pattern.Prolog) n).loop.next;
+            } else if (n instanceof Pattern.SliceNode
+                       || n instanceof Pattern.CharProperty
+                       || n instanceof Pattern.GroupHead
+                       || n instanceof Pattern.GroupTail
+                       || n instanceof Pattern.BranchConn
+                       || n instanceof Pattern.Curly
+                       || n instanceof Pattern.GroupCurly
+                       || n instanceof Pattern.Ques
+                       || n instanceof Pattern.Begin
+                       || n instanceof Pattern.End
+                       || n instanceof Pattern.Caret
+                       || n instanceof Pattern.UnixCaret
+                       || n instanceof Pattern.Dollar
+                       || n instanceof Pattern.UnixDollar
+                       || n instanceof Pattern.Bound
+                       || n instanceof Pattern.Pos
+                       || n instanceof Pattern.Neg
+                       || n instanceof Pattern.Behind
+                       || n instanceof Pattern.NotBehind
+                       || n instanceof Pattern.BackRef
+                       || n instanceof Pattern.CIBackRef) {
+                n = n.next;
+            } else {
+                // The last node, or one whose successor is not known
+                return best;
+            }
+        }
+    }
+
+    /**
+     * An Aho-Corasick automaton over the literals of some expressions,
+     * which finds all that occur in an input in one pass.  Its trie is held
+     * in arrays, the edges of each node sorted by character, with those of
+     * the root for ASCII characters also in a table.
+     */
+    private static final class Literals {
+        private final int[] edgeStart;      // edges of node s in
+        private final char[] edgeChar;      // [edgeStart[s], edgeStart[s + 1])
+        private final int[] edgeTarget;
+        private final int[] rootNext = new int[128];
+        private final int[] fail;
+        private final int[][] out;          // expressions found at each node
+
+        Literals(Map<String,List<Integer>> byLiteral) {
+            // Build the trie with a map of edges, keyed by node and char
+            Map<Long,Integer> edges = new HashMap<>();
+            List<int[]> found = new ArrayList<>();
+            found.add(null);
+            for (Map.Entry<String,List<Integer>> e : byLiteral.entrySet()) {
+                String literal = e.getKey();
+                int s = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    Long key = ((long) s << 16) | literal.charAt(i);
+                    Integer t = edges.get(key);
+                    if (t == null) {
+                        edges.put(key, t = found.size());
+                        found.add(null);
+                    }
+                    s = t;
+                }
+                List<Integer> ids = e.getValue();
+                int[] o = new int[ids.size()];
+                for (int k = 0; k < o.length; k++)
+                    o[k] = ids.get(k);
+                found.set(s, o);
+            }
+            int n = found.size();
+            long[] sorted = new long[edges.size()];
+            int k = 0;
+            for (Long key : edges.keySet())
+                sorted[k++] = key;
+            Arrays.sort(sorted);
+            edgeStart = new int[n + 1];
+            edgeChar = new char[sorted.length];
+            edgeTarget = new int[sorted.length];
+            for (k = 0; k < sorted.length; k++) {
+                long key = sorted[k];
+                edgeStart[(int) (key >>> 16) + 1]++;
+                edgeChar[k] = (char) key;
+                edgeTarget[k] = edges.get(key);
+            }
+            for (int s = 0; s < n; s++)
+                edgeStart[s + 1] += edgeStart[s];
+            for (int c = 0; c < 128; c++)
+                rootNext[c] = edge(0, (char) c);
+
+            // Failure links, breadth first, each node's expressions joined
+            // with those of its failure node
+            fail = new int[n];
+            out = new int[n][];
+            int[] queue = new int[n];
+            int head = 0, tail = 0;
+            queue[tail++] = 0;
+            while (head < tail) {
+                int s = queue[head++];
+                int[] o = found.get(s);
+                int[] f = (s == 0) ? null : out[fail[s]];
+                if (o == null)
+                    o = f;
+                else if (f != null) {
+                    int[] joined = Arrays.copyOf(o, o.length + f.length);
+                    System.arraycopy(f, 0, joined, o.length, f.length);
+                    o = joined;
+                }
+                out[s] = o;
+                for (int e = edgeStart[s]; e < edgeStart[s + 1]; e++) {
+                    int t = edgeTarget[e];
+                    if (s != 0) {
+                        int r = fail[s];
+                        int u;
+                        while ((u = edge(r, edgeChar[e])) < 0 && r != 0)
+                            r = fail[r];
+                        fail[t] = (u >= 0) ? u : 0;
+                    }
+                    queue[tail++] = t;
+                }
+            }
+        }
+
+        /**
+         * Returns the node reached from s by the edge for c, or -1.
+         */
+        private int edge(int s, char c) {
+            int lo = edgeStart[s], hi = edgeStart[s + 1] - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char m = edgeChar[mid];
+                if (m < c)
+                    lo = mid + 1;
+                else if (m > c)
+                    hi = mid - 1;
+                else
+                    return edgeTarget[mid];
+            }
+            return -1;
+        }
+
+        /**
+         * Sets in found the expressions whose literals occur in the input.
+         */
+        void scan(CharSequence seq, BitSet found) {
+            int s = 0;
+            for (int i = 0, len = seq.length(); i < len; i++) {
+                char c = seq.charAt(i);
+                int t;
+                if (s == 0 && c < 128) {
+                    t = rootNext[c];
+                    if (t < 0)
+                        continue;
+                } else {
+                    while ((t = edge(s, c)) < 0 && s != 0)
+                        s = fail[s];
+                    if (t < 0) {
+                        s = 0;
+                        continue;
+                    }
+                }
+                s = t;
+                int[] o = out[s];
+                if (o != null) {
+                    for (int id : o)
+                        found.set(id);
+                }
+            }
+        }
+    }
+}
@@ -514,12 +514,43 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     final <P_IN> Sink<P_IN> wrapSink(Sink<E_OUT> sink) {
         Objects.requireNonNull(sink);
 
-        for ( @SuppressWarnings("rawtypes") AbstractPipeline p=AbstractPipeline.this; p.depth > 0; p=p.previousStage) {
-            sink = p.opWrapSink(p.previousStage.combinedFlags, sink);
+        // Runs of two or more adjacent fusible stages are applied by
+        // FusedSinks, which take their steps in pairs, rather than by a
+        // sink per stage
+        for ( @SuppressWarnings("rawtypes") AbstractPipeline p=AbstractPipeline.this; p.depth > 0; ) {
+            @SuppressWarnings("rawtypes")
+            AbstractPipeline q = p.previousStage;
+            int n = 0;
+            if (p.opFusedKind() >= 0) {
+                for (n = 1; q.depth > 0 && q.opFusedKind() >= 0; n++)
+                    q = q.previousStage;
+            }
+            if (n > 1)
+                sink = p.fuseSinks(n, sink);
+            else
+                sink = p.opWrapSink(q.combinedFlags, sink);
+            p = q;
         }
         return (Sink<P_IN>) sink;
     }
 
+    /**
+     * Returns {@code FusedSink}s performing the steps of this stage and of
+     * the {@code n - 1} stages before it, all of which are fusible, then
+     * passing the results to the provided {@code Sink}.
+     */
+    @SuppressWarnings("rawtypes")
+    private Sink<?> fuseSinks(int n, Sink<?> sink) {
+        int[] kinds = new int[n];
+        Object[] steps = new Object[n];
+        AbstractPipeline p = this;
+        for (int i = n - 1; i >= 0; i--, p = p.previousStage) {
+            kinds[i] = p.opFusedKind();
+            steps[i] = p.opFusedStep();
+        }
+        return FusedSink.of(kinds, steps, sink);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     final <P_IN> Spliterator<E_OUT> wrapSpliterator(Spliterator<P_IN> sourceSpliterator) {
@@ -658,6 +689,36 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     abstract Sink<E_IN> opWrapSink(int flags, Sink<E_OUT> sink);
 
+    /**
+     * Returns the kind of step this operation performs on each element,
+     * {@link FusedSink#MAP} or {@link FusedSink#FILTER}, if it is a
+     * stateless reference operation whose sink may be fused with those of
+     * adjacent such operations by {@link #wrapSink(Sink)}.  Such an operation must also return its
+     * step from {@link #opFusedStep()}, and its sink from
+     * {@link #opWrapSink(int, Sink)} must behave as the step would.
+     *
+     * @implSpec The default implementation returns {@code -1}, meaning
+     * the operation is not fusible.
+     *
+     * @return the kind of step, or {@code -1}
+     */
+    int opFusedKind() {
+        return -1;
+    }
+
+    /**
+     * Returns the step of a fusible operation: the {@code Function} or
+     * {@code Predicate} it applies to each element, according to
+     * {@link #opFusedKind()}.
+     *
+     * @implSpec The default implementation returns {@code null}.
+     *
+     * @return the step applied to each element
+     */
+    Object opFusedStep() {
+        return null;
+    }
+
     /**
      * Performs a parallel evaluation of the operation using the specified
      * {@code PipelineHelper} which describes the upstream intermediate
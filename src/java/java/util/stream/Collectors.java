@@ -38,6 +38,7 @@ import java.util.HashSet;
 import java.util.IntSummaryStatistics;
 import java.util.Iterator;
 import java.util.List;
+import java.util.LongLongHashMap;
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Objects;
@@ -410,7 +411,7 @@ public final class Collectors {
      */
     public static <T> Collector<T, ?, Long>
     counting() {
-        return reducing(0L, e -> 1L, Long::sum);
+        return summingLong(e -> 1L);
     }
 
     /**
@@ -928,6 +929,137 @@ public final class Collectors {
         }
     }
 
+    /**
+     * Returns a {@code Collector} implementing a "group by" operation on
+     * input elements of type {@code T}, grouping elements according to a
+     * classification function, and summing a long-valued function of the
+     * elements of each group.  The collector produces a {@code Map<K, Long>}.
+     *
+     * <p>There are no guarantees on the type, mutability,
+     * serializability, or thread-safety of the {@code Map} returned.
+     *
+     * <p>For example, to compute the total size of the files of each owner:
+     * <pre>{@code
+     *     Map<String, Long> bytesByOwner
+     *         = files.stream().collect(groupingByToLong(FileInfo::getOwner,
+     *                                                   FileInfo::getSize));
+     * }</pre>
+     *
+     * @implSpec
+     * This produces a result equivalent to:
+     * <pre>{@code
+     *     groupingBy(classifier, summingLong(mapper))
+     * }</pre>
+     *
+     * @implNote
+     * The sums are accumulated in an open-addressing table of keys and
+     * primitive {@code long} values, so that no holder is allocated per
+     * group and no value is boxed per element; each sum is boxed once, into
+     * the resulting {@code Map}.  The returned {@code Collector} is not
+     * concurrent; for parallel stream pipelines the {@code combiner}
+     * function adds the entries of the smaller table into the larger.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapper a function extracting the property to be summed
+     * @return a {@code Collector} implementing the group-by operation
+     *
+     * @see #groupingBy(Function, Collector)
+     * @see #groupingByCounting(Function)
+     * @see #groupingByLong(ToLongFunction, ToLongFunction)
+     */
+    public static <T, K>
+    Collector<T, ?, Map<K, Long>> groupingByToLong(Function<? super T, ? extends K> classifier,
+                                                   ToLongFunction<? super T> mapper) {
+        BiConsumer<LongTable<K>, T> accumulator = (m, t) -> {
+            K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+            m.addTo(key, mapper.applyAsLong(t));
+        };
+        return new CollectorImpl<>(() -> new LongTable<K>(), accumulator,
+                                   LongTable::merge, LongTable::toMap, CH_NOID);
+    }
+
+    /**
+     * Returns a {@code Collector} implementing a "group by" operation on
+     * input elements of type {@code T}, grouping elements according to a
+     * classification function, and counting the elements of each group.
+     * The collector produces a {@code Map<K, Long>}.
+     *
+     * <p>There are no guarantees on the type, mutability,
+     * serializability, or thread-safety of the {@code Map} returned.
+     *
+     * @implSpec
+     * This produces a result equivalent to:
+     * <pre>{@code
+     *     groupingBy(classifier, counting())
+     * }</pre>
+     *
+     * @implNote
+     * The counts are accumulated as by
+     * {@link #groupingByToLong(Function, ToLongFunction)}.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to keys
+     * @return a {@code Collector} implementing the group-by operation
+     *
+     * @see #groupingBy(Function, Collector)
+     * @see #groupingByToLong(Function, ToLongFunction)
+     */
+    public static <T, K>
+    Collector<T, ?, Map<K, Long>> groupingByCounting(Function<? super T, ? extends K> classifier) {
+        return groupingByToLong(classifier, t -> 1L);
+    }
+
+    /**
+     * Returns a {@code Collector} implementing a "group by" operation on
+     * input elements of type {@code T}, grouping elements according to a
+     * long-valued classification function, and summing a long-valued
+     * function of the elements of each group.  The collector produces a
+     * {@link LongLongHashMap} from each key to the sum for its group, so
+     * that neither keys nor sums are ever boxed.
+     *
+     * <p>For example, to count the requests of each user id:
+     * <pre>{@code
+     *     LongLongHashMap requestsByUser
+     *         = requests.stream().collect(groupingByLong(Request::getUserId, r -> 1L));
+     * }</pre>
+     *
+     * @implSpec
+     * The {@linkplain LongLongHashMap#asMap() map view} of the result is
+     * equal to the result of:
+     * <pre>{@code
+     *     groupingBy(t -> classifier.applyAsLong(t), summingLong(mapper))
+     * }</pre>
+     *
+     * @implNote
+     * The returned {@code Collector} is not concurrent; for parallel stream
+     * pipelines the {@code combiner} function adds the entries of the
+     * smaller map into the larger.
+     *
+     * @param <T> the type of the input elements
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapper a function extracting the property to be summed
+     * @return a {@code Collector} implementing the group-by operation
+     *
+     * @see #groupingByToLong(Function, ToLongFunction)
+     */
+    public static <T>
+    Collector<T, ?, LongLongHashMap> groupingByLong(ToLongFunction<? super T> classifier,
+                                                    ToLongFunction<? super T> mapper) {
+        return new CollectorImpl<>(
+                LongLongHashMap::new,
+                (m, t) -> m.addTo(classifier.applyAsLong(t), mapper.applyAsLong(t)),
+                (left, right) -> {
+                    LongLongHashMap big = left.size() >= right.size() ? left : right;
+                    LongLongHashMap small = big == left ? right : left;
+                    small.forEachKey(k -> big.addTo(k, small.get(k)));
+                    return big;
+                },
+                CH_ID);
+    }
+
     /**
      * Returns a concurrent {@code Collector} implementing a "group by"
      * operation on input elements of type {@code T}, grouping elements
@@ -1155,6 +1287,43 @@ public final class Collectors {
         }
     }
 
+    /**
+     * Returns a {@code Collector} which partitions the input elements according
+     * to a {@code Predicate}, sums a long-valued function of the elements of
+     * each partition, and organizes the sums into a {@code Map<Boolean, Long>}.
+     *
+     * <p>There are no guarantees on the type, mutability,
+     * serializability, or thread-safety of the {@code Map} returned.
+     *
+     * @implSpec
+     * This produces a result equivalent to:
+     * <pre>{@code
+     *     partitioningBy(predicate, summingLong(mapper))
+     * }</pre>
+     * and, with {@code t -> 1L} as the mapper, to
+     * {@code partitioningBy(predicate, counting())}.
+     *
+     * @implNote
+     * Both sums are accumulated in a single {@code long[]}, rather than in
+     * a holder per partition.
+     *
+     * @param <T> the type of the input elements
+     * @param predicate a predicate used for classifying input elements
+     * @param mapper a function extracting the property to be summed
+     * @return a {@code Collector} implementing the partitioning operation
+     *
+     * @see #partitioningBy(Predicate, Collector)
+     */
+    public static <T>
+    Collector<T, ?, Map<Boolean, Long>> partitioningByToLong(Predicate<? super T> predicate,
+                                                             ToLongFunction<? super T> mapper) {
+        return new CollectorImpl<>(
+                () -> new long[2],
+                (a, t) -> { a[predicate.test(t) ? 1 : 0] += mapper.applyAsLong(t); },
+                (a, b) -> { a[0] += b[0]; a[1] += b[1]; return a; },
+                a -> new Partition<>(a[1], a[0]), CH_NOID);
+    }
+
     /**
      * Returns a {@code Collector} that accumulates elements into a
      * {@code Map} whose keys and values are the result of applying the provided
@@ -1534,6 +1703,95 @@ public final class Collectors {
                 (l, r) -> { l.combine(r); return l; }, CH_ID);
     }
 
+    /**
+     * Implementation class used by groupingByToLong: an open-addressing
+     * table of keys and primitive {@code long} values, probed linearly and
+     * kept at most half full.  Keys are never null.
+     */
+    private static final class LongTable<K> {
+        private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+        Object[] keys = new Object[16];
+        long[] values = new long[16];
+        int size;
+        int threshold = 8;
+
+        private static int slot(Object key, int mask) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        void addTo(Object key, long delta) {
+            Object[] ks = keys;
+            int mask = ks.length - 1;
+            int i = slot(key, mask);
+            for (Object k; (k = ks[i]) != null; i = (i + 1) & mask) {
+                if (k == key || key.equals(k)) {
+                    values[i] += delta;
+                    return;
+                }
+            }
+            ks[i] = key;
+            values[i] = delta;
+            if (++size > threshold)
+                resize();
+        }
+
+        private void resize() {
+            Object[] oldKeys = keys;
+            long[] oldValues = values;
+            int n = oldKeys.length;
+            if (n == MAXIMUM_CAPACITY) {
+                // Fill further, but always leave a free slot to end probes
+                if (threshold == n - 2)
+                    throw new IllegalStateException("Too many groups");
+                threshold = n - 2;
+                return;
+            }
+            n <<= 1;
+            Object[] ks = new Object[n];
+            long[] vs = new long[n];
+            int mask = n - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                Object k = oldKeys[j];
+                if (k != null) {
+                    int i = slot(k, mask);
+                    while (ks[i] != null)
+                        i = (i + 1) & mask;
+                    ks[i] = k;
+                    vs[i] = oldValues[j];
+                }
+            }
+            keys = ks;
+            values = vs;
+            threshold = n >>> 1;
+        }
+
+        LongTable<K> merge(LongTable<K> other) {
+            LongTable<K> big = size >= other.size ? this : other;
+            LongTable<K> small = big == this ? other : this;
+            Object[] ks = small.keys;
+            long[] vs = small.values;
+            for (int j = 0; j < ks.length; j++) {
+                if (ks[j] != null)
+                    big.addTo(ks[j], vs[j]);
+            }
+            return big;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<K, Long> toMap() {
+            Map<K, Long> map = new HashMap<>((int) (size / 0.75f) + 1);
+            Object[] ks = keys;
+            long[] vs = values;
+            for (int j = 0; j < ks.length; j++) {
+                if (ks[j] != null)
+                    map.put((K) ks[j], vs[j]);
+            }
+            return map;
+        }
+    }
+
     /**
      * Implementation class used by partitioningBy.
      */
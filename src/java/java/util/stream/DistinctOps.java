@@ -24,8 +24,9 @@
  */
 package java.util.stream;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
@@ -58,10 +59,10 @@ final class DistinctOps {
             <P_IN> Node<T> reduce(PipelineHelper<T> helper, Spliterator<P_IN> spliterator) {
                 // If the stream is SORTED then it should also be ORDERED so the following will also
                 // preserve the sort order
-                TerminalOp<T, LinkedHashSet<T>> reduceOp
-                        = ReduceOps.<T, LinkedHashSet<T>>makeRef(LinkedHashSet::new, LinkedHashSet::add,
-                                                                 LinkedHashSet::addAll);
-                return Nodes.node(reduceOp.evaluateParallel(helper, spliterator));
+                TerminalOp<T, OrderedDistinct<T>> reduceOp
+                        = ReduceOps.<T, OrderedDistinct<T>>makeRef(OrderedDistinct::new, OrderedDistinct::add,
+                                                                   OrderedDistinct::addAll);
+                return reduceOp.evaluateParallel(helper, spliterator).toNode();
             }
 
             @Override
@@ -180,4 +181,91 @@ final class DistinctOps {
             }
         };
     }
+
+    /**
+     * Result of an ordered parallel "distinct".  Each leaf keeps, in
+     * encounter order, those of its elements not seen earlier in the same
+     * leaf; combining concatenates the lists of leaves.  Then, in parallel
+     * over the leaves, each element kept is tagged in a concurrent map with
+     * the index of the earliest leaf holding it, and each leaf drops the
+     * elements tagged with an earlier leaf.  The elements left are the
+     * first occurrences, in encounter order.
+     * <p>
+     * Unlike merging a {@code LinkedHashSet} per leaf into its left
+     * neighbour, which hashes the elements of the right-hand half again at
+     * each level, sequentially at the root, each element is hashed a fixed
+     * number of times, all in parallel.
+     */
+    private static final class OrderedDistinct<T> {
+        // Stands for null in the map of tags
+        private static final Object NULL_KEY = new Object();
+
+        // Of the leaf, while accumulating
+        private HashSet<T> seen = new HashSet<>();
+        private ArrayList<T> firsts = new ArrayList<>();
+
+        // Of all leaves combined, in encounter order
+        private ArrayList<ArrayList<T>> leaves;
+
+        void add(T t) {
+            if (seen.add(t))
+                firsts.add(t);
+        }
+
+        void addAll(OrderedDistinct<T> right) {
+            seal();
+            right.seal();
+            leaves.addAll(right.leaves);
+        }
+
+        private void seal() {
+            if (leaves == null) {
+                leaves = new ArrayList<>();
+                if (!firsts.isEmpty())
+                    leaves.add(firsts);
+                seen = null;
+                firsts = null;
+            }
+        }
+
+        Node<T> toNode() {
+            seal();
+            ArrayList<ArrayList<T>> leaves = this.leaves;
+            int n = leaves.size();
+            if (n == 0)
+                return Nodes.node(new ArrayList<T>());
+            if (n == 1)
+                return Nodes.node(leaves.get(0));
+
+            ConcurrentHashMap<Object, Integer> tags = new ConcurrentHashMap<>();
+            IntStream.range(0, n).parallel().forEach(i -> {
+                Integer tag = i;
+                for (T t : leaves.get(i))
+                    tags.merge(t == null ? NULL_KEY : t, tag, Math::min);
+            });
+            Object[][] kept = new Object[n][];
+            IntStream.range(0, n).parallel().forEach(i -> {
+                ArrayList<T> leaf = leaves.get(i);
+                Object[] a = new Object[leaf.size()];
+                int j = 0;
+                for (T t : leaf) {
+                    if (tags.get(t == null ? NULL_KEY : t) == i)
+                        a[j++] = t;
+                }
+                kept[i] = Arrays.copyOf(a, j);
+            });
+
+            int size = 0;
+            for (Object[] a : kept)
+                size += a.length;
+            @SuppressWarnings("unchecked")
+            T[] result = (T[]) new Object[size];
+            int off = 0;
+            for (Object[] a : kept) {
+                System.arraycopy(a, 0, result, off, a.length);
+                off += a.length;
+            }
+            return Nodes.node(Arrays.asList(result));
+        }
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Sinks performing the per-element steps of adjacent stateless reference
+ * operations ({@code map} and {@code filter}) two at a time, in place of
+ * a chain of one sink per operation.  Built by
+ * {@link AbstractPipeline#wrapSink}: a run of such stages is covered by a
+ * chain of these sinks, each applying a pair of steps directly, so that
+ * an element passes through half as many {@code accept} calls before
+ * reaching the downstream sink.
+ *
+ * @param <T> type of elements accepted by the first step
+ */
+abstract class FusedSink<T> implements Sink<T> {
+
+    /** Step kind of a {@code map}: the step is a {@code Function}. */
+    static final int MAP = 0;
+
+    /** Step kind of a {@code filter}: the step is a {@code Predicate}. */
+    static final int FILTER = 1;
+
+    protected final Sink<Object> downstream;
+
+    @SuppressWarnings("unchecked")
+    FusedSink(Sink<?> downstream) {
+        this.downstream = (Sink<Object>) Objects.requireNonNull(downstream);
+    }
+
+    /**
+     * Returns a chain of sinks applying the given steps in order,
+     * {@code steps[i]} being of kind {@code kinds[i]}, then passing each
+     * remaining element to {@code sink}.
+     */
+    @SuppressWarnings("unchecked")
+    static Sink<?> of(int[] kinds, Object[] steps, Sink<?> sink) {
+        int i = kinds.length;
+        for (; i >= 2; i -= 2) {
+            Object f = steps[i - 2], g = steps[i - 1];
+            if (kinds[i - 2] == MAP) {
+                sink = (kinds[i - 1] == MAP)
+                       ? new MapMap((Function<Object, Object>) f, (Function<Object, Object>) g, sink)
+                       : new MapFilter((Function<Object, Object>) f, (Predicate<Object>) g, sink);
+            }
+            else {
+                sink = (kinds[i - 1] == MAP)
+                       ? new FilterMap((Predicate<Object>) f, (Function<Object, Object>) g, sink)
+                       : new FilterFilter((Predicate<Object>) f, (Predicate<Object>) g, sink);
+            }
+        }
+        if (i == 1) {
+            sink = (kinds[0] == MAP)
+                   ? new MapOnly((Function<Object, Object>) steps[0], sink)
+                   : new FilterOnly((Predicate<Object>) steps[0], sink);
+        }
+        return sink;
+    }
+
+    @Override
+    public void begin(long size) {
+        downstream.begin(size);
+    }
+
+    @Override
+    public void end() {
+        downstream.end();
+    }
+
+    @Override
+    public boolean cancellationRequested() {
+        return downstream.cancellationRequested();
+    }
+
+    static final class MapOnly extends FusedSink<Object> {
+        private final Function<Object, Object> f;
+
+        MapOnly(Function<Object, Object> f, Sink<?> downstream) {
+            super(downstream);
+            this.f = f;
+        }
+
+        @Override
+        public void accept(Object t) {
+            downstream.accept(f.apply(t));
+        }
+    }
+
+    static final class FilterOnly extends FusedSink<Object> {
+        private final Predicate<Object> p;
+
+        FilterOnly(Predicate<Object> p, Sink<?> downstream) {
+            super(downstream);
+            this.p = p;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(-1);
+        }
+
+        @Override
+        public void accept(Object t) {
+            if (p.test(t))
+                downstream.accept(t);
+        }
+    }
+
+    static final class MapMap extends FusedSink<Object> {
+        private final Function<Object, Object> f, g;
+
+        MapMap(Function<Object, Object> f, Function<Object, Object> g, Sink<?> downstream) {
+            super(downstream);
+            this.f = f;
+            this.g = g;
+        }
+
+        @Override
+        public void accept(Object t) {
+            downstream.accept(g.apply(f.apply(t)));
+        }
+    }
+
+    static final class MapFilter extends FusedSink<Object> {
+        private final Function<Object, Object> f;
+        private final Predicate<Object> p;
+
+        MapFilter(Function<Object, Object> f, Predicate<Object> p, Sink<?> downstream) {
+            super(downstream);
+            this.f = f;
+            this.p = p;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(-1);
+        }
+
+        @Override
+        public void accept(Object t) {
+            Object u = f.apply(t);
+            if (p.test(u))
+                downstream.accept(u);
+        }
+    }
+
+    static final class FilterMap extends FusedSink<Object> {
+        private final Predicate<Object> p;
+        private final Function<Object, Object> f;
+
+        FilterMap(Predicate<Object> p, Function<Object, Object> f, Sink<?> downstream) {
+            super(downstream);
+            this.p = p;
+            this.f = f;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(-1);
+        }
+
+        @Override
+        public void accept(Object t) {
+            if (p.test(t))
+                downstream.accept(f.apply(t));
+        }
+    }
+
+    static final class FilterFilter extends FusedSink<Object> {
+        private final Predicate<Object> p, q;
+
+        FilterFilter(Predicate<Object> p, Predicate<Object> q, Sink<?> downstream) {
+            super(downstream);
+            this.p = p;
+            this.q = q;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(-1);
+        }
+
+        @Override
+        public void accept(Object t) {
+            if (p.test(t) && q.test(t))
+                downstream.accept(t);
+        }
+    }
+}
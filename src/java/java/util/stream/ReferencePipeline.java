@@ -161,6 +161,16 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         Objects.requireNonNull(predicate);
         return new StatelessOp<P_OUT, P_OUT>(this, StreamShape.REFERENCE,
                                      StreamOpFlag.NOT_SIZED) {
+            @Override
+            int opFusedKind() {
+                return FusedSink.FILTER;
+            }
+
+            @Override
+            Object opFusedStep() {
+                return predicate;
+            }
+
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<P_OUT> sink) {
                 return new Sink.ChainedReference<P_OUT, P_OUT>(sink) {
@@ -185,6 +195,16 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         Objects.requireNonNull(mapper);
         return new StatelessOp<P_OUT, R>(this, StreamShape.REFERENCE,
                                      StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT) {
+            @Override
+            int opFusedKind() {
+                return FusedSink.MAP;
+            }
+
+            @Override
+            Object opFusedStep() {
+                return mapper;
+            }
+
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<R> sink) {
                 return new Sink.ChainedReference<P_OUT, R>(sink) {
@@ -116,8 +116,8 @@ final class SliceOps {
         if (skip < 0)
             throw new IllegalArgumentException("Skip must be non-negative: " + skip);
 
-        return new ReferencePipeline.StatefulOp<T, T>(upstream, StreamShape.REFERENCE,
-                                                      flags(limit)) {
+        Stream<T> stage = new ReferencePipeline.StatefulOp<T, T>(upstream, StreamShape.REFERENCE,
+                                                                 flags(limit)) {
             Spliterator<T> unorderedSkipLimitSpliterator(Spliterator<T> s,
                                                          long skip, long limit, long sizeIfKnown) {
                 if (skip <= sizeIfKnown) {
@@ -216,6 +216,11 @@ final class SliceOps {
                 };
             }
         };
+        // Only once the slice is linked, which fails if the upstream
+        // already has a downstream, may the "sorted" stage be limited
+        if (limit >= 0 && skip <= Long.MAX_VALUE - limit)
+            SortedOps.limitRef(upstream, skip + limit);
+        return stage;
     }
 
     /**
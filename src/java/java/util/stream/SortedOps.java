@@ -93,6 +93,28 @@ final class SortedOps {
         return new OfDouble(upstream);
     }
 
+    /**
+     * The largest limit for which a reference "sorted" operation directly
+     * followed by a "limit" keeps only the first elements in sort order,
+     * in a buffer of up to twice the limit, rather than all elements.
+     */
+    static final long MAX_TOP_K = Nodes.MAX_ARRAY_SIZE >>> 1;
+
+    /**
+     * Informs the provided stage, if it is a reference "sorted" operation,
+     * that it is directly followed by a "limit" and that only its first
+     * {@code limit} output elements will be used, so that it need only
+     * keep that many.  Called when the "limit" is appended, after which
+     * the "sorted" operation has no other downstream.
+     *
+     * @param upstream the stage to which a "limit" is appended
+     * @param limit the number of elements used, at least {@code 0}
+     */
+    static void limitRef(AbstractPipeline<?, ?, ?> upstream, long limit) {
+        if (upstream instanceof OfRef && limit <= MAX_TOP_K)
+            ((OfRef<?>) upstream).limit = (int) limit;
+    }
+
     /**
      * Specialized subtype for sorting reference streams
      */
@@ -103,6 +125,12 @@ final class SortedOps {
         private final boolean isNaturalSort;
         private final Comparator<? super T> comparator;
 
+        /**
+         * The number of output elements used downstream, set by
+         * {@link #limitRef}, or {@code -1} if all are
+         */
+        int limit = -1;
+
         /**
          * Sort using natural order of {@literal <T>} which must be
          * {@code Comparable}.
@@ -137,6 +165,8 @@ final class SortedOps {
             // also naturally sorted then this is a no-op
             if (StreamOpFlag.SORTED.isKnown(flags) && isNaturalSort)
                 return sink;
+            else if (limit >= 0)
+                return new TopKRefSortingSink<>(sink, comparator, limit);
             else if (StreamOpFlag.SIZED.isKnown(flags))
                 return new SizedRefSortingSink<>(sink, comparator);
             else
@@ -152,6 +182,15 @@ final class SortedOps {
             if (StreamOpFlag.SORTED.isKnown(helper.getStreamAndOpFlags()) && isNaturalSort) {
                 return helper.evaluate(spliterator, false, generator);
             }
+            else if (limit >= 0) {
+                // Keep the first elements in sort order of each leaf, and
+                // of each pair of adjacent leaves as they are combined
+                int k = limit;
+                Comparator<? super T> c = comparator;
+                TopK<T> top = ReduceOps.<T, TopK<T>>makeRef(() -> new TopK<>(k, c), TopK::add, TopK::addAll)
+                        .evaluateParallel(helper, spliterator);
+                return Nodes.node(top.toArray(generator));
+            }
             else {
                 // @@@ Weak two-pass parallel implementation; parallel collect, parallel sort
                 T[] flattenedData = helper.evaluate(spliterator, true, generator).asArray(generator);
@@ -405,6 +444,131 @@ final class SortedOps {
         }
     }
 
+    /**
+     * {@link Sink} for implementing sort on reference streams of which only
+     * the first {@code k} elements in sort order are used.
+     */
+    private static final class TopKRefSortingSink<T> extends AbstractRefSortingSink<T> {
+        private final int k;
+        private TopK<T> top;
+
+        TopKRefSortingSink(Sink<? super T> sink, Comparator<? super T> comparator, int k) {
+            super(sink, comparator);
+            this.k = k;
+        }
+
+        @Override
+        public void begin(long size) {
+            top = new TopK<>(k, comparator);
+        }
+
+        @Override
+        public void end() {
+            Object[] a = top.sort();
+            int n = top.size;
+            downstream.begin(n);
+            for (int i = 0; i < n; i++) {
+                if (cancellationWasRequested && downstream.cancellationRequested())
+                    break;
+                @SuppressWarnings("unchecked")
+                T t = (T) a[i];
+                downstream.accept(t);
+            }
+            downstream.end();
+            top = null;
+        }
+
+        @Override
+        public void accept(T t) {
+            top.add(t);
+        }
+    }
+
+    /**
+     * The first {@code k} of the elements added, in the order of a
+     * comparator, elements comparing equal being kept in the order they were
+     * added: the elements that a stable sort followed by a limit of
+     * {@code k} produces.
+     * <p>
+     * Elements are appended to a buffer which, when holding {@code 2k}
+     * elements, is sorted and cut back to its first {@code k}.  The buffer
+     * is stably sorted and elements are only ever appended, so elements
+     * comparing equal always lie in the buffer in the order they were
+     * added.  Once the buffer has been cut back, an element that does not
+     * compare less than the greatest one kept is dropped on arrival.  A
+     * stream of {@code n} elements is so reduced in O(n log k) time and
+     * O(k) space.
+     */
+    static final class TopK<T> {
+        private final int k;
+        private final Comparator<? super T> comparator;
+        private Object[] buffer;
+        int size;
+        private boolean bounded;  // whether cut back, bound being valid
+        private T bound;          // the greatest element kept when cut back
+
+        TopK(int k, Comparator<? super T> comparator) {
+            this.k = k;
+            this.comparator = comparator;
+            this.buffer = new Object[(int) Math.min(2L * k, 16)];
+        }
+
+        void add(T t) {
+            if (bounded && comparator.compare(t, bound) >= 0)
+                return;
+            if (size == buffer.length) {
+                if (size == 0)          // k is 0
+                    return;
+                if (size < 2 * k)
+                    buffer = Arrays.copyOf(buffer, (int) Math.min(2L * size, 2L * k));
+                else
+                    cut();
+            }
+            buffer[size++] = t;
+        }
+
+        /**
+         * Adds the elements of another, which were added after all those
+         * of this one.
+         */
+        @SuppressWarnings("unchecked")
+        void addAll(TopK<T> other) {
+            Object[] a = other.buffer;
+            for (int i = 0, n = other.size; i < n; i++)
+                add((T) a[i]);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void cut() {
+            Arrays.sort((T[]) buffer, 0, size, comparator);
+            Arrays.fill(buffer, k, size, null);
+            size = k;
+            bound = (T) buffer[k - 1];
+            bounded = true;
+        }
+
+        /**
+         * Sorts the elements kept, and returns the buffer holding the
+         * first {@code size} of them.
+         */
+        @SuppressWarnings("unchecked")
+        Object[] sort() {
+            Arrays.sort((T[]) buffer, 0, size, comparator);
+            if (size > k) {
+                Arrays.fill(buffer, k, size, null);
+                size = k;
+            }
+            return buffer;
+        }
+
+        T[] toArray(IntFunction<T[]> generator) {
+            Object[] a = sort();
+            T[] result = generator.apply(size);
+            System.arraycopy(a, 0, result, 0, size);
+            return result;
+        }
+    }
+
     /**
      * Abstract {@link Sink} for implementing sort on int streams.
      */
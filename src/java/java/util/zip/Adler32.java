@@ -44,6 +44,19 @@ class Adler32 implements Checksum {
 
     private int adler = 1;
 
+    /*
+     * Arrays no longer than this are checksummed in Java, which is
+     * cheaper than a native call for them.
+     */
+    private static final int JAVA_UPDATE_LIMIT = 128;
+
+    // largest prime smaller than 65536
+    private static final int BASE = 65521;
+
+    // largest n such that 255n(n+1)/2 + (n+1)(BASE-1) <= 2^32-1,
+    // the most bytes between reductions modulo BASE
+    private static final int NMAX = 5552;
+
     /**
      * Creates a new Adler32 object.
      */
@@ -57,7 +70,11 @@ class Adler32 implements Checksum {
      * @param b the byte to update the checksum with
      */
     public void update(int b) {
-        adler = update(adler, b);
+        int s1 = adler & 0xffff;
+        int s2 = adler >>> 16;
+        s1 = (s1 + (b & 0xff)) % BASE;
+        s2 = (s2 + s1) % BASE;
+        adler = (s2 << 16) | s1;
     }
 
     /**
@@ -75,7 +92,8 @@ class Adler32 implements Checksum {
         if (off < 0 || len < 0 || off > b.length - len) {
             throw new ArrayIndexOutOfBoundsException();
         }
-        adler = updateBytes(adler, b, off, len);
+        adler = len <= JAVA_UPDATE_LIMIT ? updateJava(adler, b, off, len)
+                                         : updateBytes(adler, b, off, len);
     }
 
     /**
@@ -84,7 +102,9 @@ class Adler32 implements Checksum {
      * @param b the byte array to update the checksum with
      */
     public void update(byte[] b) {
-        adler = updateBytes(adler, b, 0, b.length);
+        int len = b.length;
+        adler = len <= JAVA_UPDATE_LIMIT ? updateJava(adler, b, 0, len)
+                                         : updateBytes(adler, b, 0, len);
     }
 
 
@@ -134,7 +154,54 @@ class Adler32 implements Checksum {
         return (long)adler & 0xffffffffL;
     }
 
-    private native static int update(int adler, int b);
+    /**
+     * Returns the Adler-32 checksum of the concatenation of two sequences
+     * of bytes, given the checksum of each and the length of the second.
+     * This allows the checksums of parts of some data, computed
+     * separately, to be combined into that of the whole.
+     *
+     * @param adler1 the checksum of the first sequence
+     * @param adler2 the checksum of the second sequence
+     * @param len2 the length of the second sequence, in bytes
+     * @return the checksum of the first sequence followed by the second
+     */
+    public static long combine(long adler1, long adler2, long len2) {
+        if (len2 < 0) {
+            return adler1;
+        }
+        // as zlib's adler32_combine
+        long rem = len2 % BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (rem * sum1) % BASE;
+        sum1 += (adler2 & 0xffff) + BASE - 1;
+        sum2 += ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff) + BASE - rem;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum2 >= ((long)BASE << 1)) sum2 -= ((long)BASE << 1);
+        if (sum2 >= BASE) sum2 -= BASE;
+        return sum1 | (sum2 << 16);
+    }
+
+    /*
+     * Updates the checksum with the given bytes in Java; the bounds are
+     * not checked.
+     */
+    private static int updateJava(int adler, byte[] b, int off, int len) {
+        int s1 = adler & 0xffff;
+        int s2 = adler >>> 16;
+        while (len > 0) {
+            int n = Math.min(len, NMAX);
+            len -= n;
+            for (int end = off + n; off < end; off++) {
+                s1 += b[off] & 0xff;
+                s2 += s1;
+            }
+            s1 %= BASE;
+            s2 %= BASE;
+        }
+        return (s2 << 16) | s1;
+    }
+
     private native static int updateBytes(int adler, byte[] b, int off,
                                           int len);
     private native static int updateByteBuffer(int adler, long addr,
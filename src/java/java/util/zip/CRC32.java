@@ -41,6 +41,12 @@ public
 class CRC32 implements Checksum {
     private int crc;
 
+    /*
+     * Arrays no longer than this are checksummed in Java, which is
+     * cheaper than a native call for them.
+     */
+    private static final int JAVA_UPDATE_LIMIT = 128;
+
     /**
      * Creates a new CRC32 object.
      */
@@ -73,7 +79,8 @@ class CRC32 implements Checksum {
         if (off < 0 || len < 0 || off > b.length - len) {
             throw new ArrayIndexOutOfBoundsException();
         }
-        crc = updateBytes(crc, b, off, len);
+        crc = len <= JAVA_UPDATE_LIMIT ? SlicingCrc.CRC32.update(crc, b, off, len)
+                                       : updateBytes(crc, b, off, len);
     }
 
     /**
@@ -82,7 +89,9 @@ class CRC32 implements Checksum {
      * @param b the array of bytes to update the checksum with
      */
     public void update(byte[] b) {
-        crc = updateBytes(crc, b, 0, b.length);
+        int len = b.length;
+        crc = len <= JAVA_UPDATE_LIMIT ? SlicingCrc.CRC32.update(crc, b, 0, len)
+                                       : updateBytes(crc, b, 0, len);
     }
 
     /**
@@ -131,6 +140,22 @@ class CRC32 implements Checksum {
         return (long)crc & 0xffffffffL;
     }
 
+    /**
+     * Returns the CRC-32 of the concatenation of two sequences of bytes,
+     * given the CRC-32 of each and the length of the second.  This allows
+     * the checksums of parts of some data, computed separately, to be
+     * combined into that of the whole.
+     *
+     * @param crc1 the CRC-32 of the first sequence
+     * @param crc2 the CRC-32 of the second sequence
+     * @param len2 the length of the second sequence, in bytes
+     * @return the CRC-32 of the first sequence followed by the second
+     */
+    public static long combine(long crc1, long crc2, long len2) {
+        return (long)SlicingCrc.CRC32.combine((int)crc1, (int)crc2, len2)
+               & 0xffffffffL;
+    }
+
     private native static int update(int crc, int b);
     private native static int updateBytes(int crc, byte[] b, int off, int len);
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of "nowrap" {@link Inflater}s shared by all zip files.
+ *
+ * <p> The pool is a fixed array of slots that are taken and filled with
+ * compare-and-set, starting from a slot chosen by the calling thread, so
+ * threads seldom contend for the same slot and never wait.  An inflater
+ * released when every slot is full is ended at once, which bounds the
+ * native memory held by idle inflaters.
+ */
+final class InflaterPool {
+
+    private InflaterPool() {}
+
+    private static final int SIZE = Integer.highestOneBit(
+        Math.min(64, Math.max(4, 2 * Runtime.getRuntime().availableProcessors())));
+
+    private static final AtomicReferenceArray<Inflater> slots =
+        new AtomicReferenceArray<>(SIZE);
+
+    private static int start() {
+        return (int)Thread.currentThread().getId() & (SIZE - 1);
+    }
+
+    /**
+     * Takes an inflater from the pool, or allocates one if the pool is
+     * empty.
+     */
+    static Inflater get() {
+        int i = start();
+        for (int n = 0; n < SIZE; n++, i = (i + 1) & (SIZE - 1)) {
+            Inflater inf = slots.get(i);
+            if (inf != null && slots.compareAndSet(i, inf, null)) {
+                if (!inf.ended()) {
+                    return inf;
+                }
+            }
+        }
+        return new Inflater(true);
+    }
+
+    /**
+     * Resets the given inflater and returns it to the pool, or ends it if
+     * the pool is full.  Ended inflaters are discarded.
+     */
+    static void release(Inflater inf) {
+        if (inf.ended()) {
+            return;
+        }
+        inf.reset();
+        int i = start();
+        for (int n = 0; n < SIZE; n++, i = (i + 1) & (SIZE - 1)) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, inf)) {
+                return;
+            }
+        }
+        inf.end();
+    }
+}
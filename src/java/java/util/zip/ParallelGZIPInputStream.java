@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * This class implements a stream filter for reading compressed data in
+ * the GZIP file format, reading and decompressing ahead of the reader on
+ * another thread.
+ *
+ * <p> A deflate stream can only be decompressed in order, so the data is
+ * decompressed by a single task, which reads from the underlying stream
+ * through a {@link GZIPInputStream} and queues the output in chunks.
+ * Reading from the underlying stream, decompressing, and the caller's
+ * use of the data thus overlap.  At most a bounded number of chunks are
+ * queued; the task waits when the reader falls behind.  Streams of
+ * several members, such as the concatenation of GZIP files, are read in
+ * full, as by {@link GZIPInputStream}.
+ *
+ * <p> A format error or I/O error met by the task is thrown by the read
+ * that reaches the point in the data where it occurred.  The header of
+ * the first member is read, and checked, by the constructor.
+ *
+ * <p> Instances of this class are not safe for use by multiple
+ * threads.
+ *
+ * @see GZIPInputStream
+ * @see ParallelGZIPOutputStream
+ */
+public class ParallelGZIPInputStream extends FilterInputStream {
+
+    /**
+     * The default chunk size, in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+
+    /**
+     * The default number of chunks that may be queued.
+     */
+    public static final int DEFAULT_CHUNKS = 4;
+
+    /*
+     * A run of decompressed bytes, or the end of the data or an error
+     */
+    private static final class Chunk {
+        final byte[] buf;
+        final int len;
+        final IOException error;
+
+        Chunk(byte[] buf, int len, IOException error) {
+            this.buf = buf;
+            this.len = len;
+            this.error = error;
+        }
+    }
+
+    private final GZIPInputStream gz;
+    private final int chunkSize;
+    private final BlockingQueue<Chunk> queue;
+    private final Object lock = new Object();
+    private Thread worker;        // the running task's thread; guarded by lock
+    private volatile boolean closed;
+
+    private Chunk chunk;          // the chunk being read
+    private int pos;              // position in the chunk
+    private boolean eof;
+
+    /**
+     * Creates a new input stream with the default chunk size and number of
+     * chunks, decompressing on a new daemon thread.
+     *
+     * @param in the input stream
+     *
+     * @exception ZipException if a GZIP format error has occurred or the
+     *                         compression method used is unsupported
+     * @exception IOException if an I/O error has occurred
+     */
+    public ParallelGZIPInputStream(InputStream in) throws IOException {
+        this(in, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNKS, null);
+    }
+
+    /**
+     * Creates a new input stream with the specified chunk size and number
+     * of chunks, decompressing with the given executor.
+     *
+     * @param in the input stream
+     * @param chunkSize the number of decompressed bytes in each chunk
+     * @param chunks the number of chunks that may be queued
+     * @param executor the executor that runs the decompressing task, or
+     *        null to run it on a new daemon thread.  The task may block
+     *        for as long as the stream is open.
+     *
+     * @exception ZipException if a GZIP format error has occurred or the
+     *                         compression method used is unsupported
+     * @exception IOException if an I/O error has occurred
+     * @exception IllegalArgumentException if {@code chunkSize <= 0} or
+     *            {@code chunks <= 0}
+     */
+    public ParallelGZIPInputStream(InputStream in, int chunkSize, int chunks,
+                                   Executor executor)
+        throws IOException
+    {
+        super(in);
+        if (chunkSize <= 0 || chunks <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.gz = new GZIPInputStream(in, Math.min(chunkSize, 64 * 1024));
+        this.chunkSize = chunkSize;
+        this.queue = new ArrayBlockingQueue<>(chunks);
+        Runnable task = new Runnable() {
+            public void run() {
+                inflate();
+            }
+        };
+        if (executor != null) {
+            executor.execute(task);
+        } else {
+            Thread t = new Thread(task, "GZIP Inflater");
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /*
+     * The decompressing task: fills chunks until the end of the data, an
+     * error, or the stream is closed.  The task always queues an end or
+     * error chunk before it returns, so that a reader cannot wait for it
+     * forever.
+     */
+    private void inflate() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            worker = Thread.currentThread();
+        }
+        Chunk end = null;
+        try {
+            while (!closed) {
+                byte[] buf = new byte[chunkSize];
+                int len = 0;
+                IOException error = null;
+                try {
+                    int n;
+                    while (len < buf.length &&
+                           (n = gz.read(buf, len, buf.length - len)) > 0) {
+                        len += n;
+                    }
+                } catch (IOException ioe) {
+                    error = ioe;
+                } catch (RuntimeException re) {
+                    // close() has closed the inflater under us
+                    if (!closed) {
+                        throw re;
+                    }
+                    break;
+                }
+                if (len > 0) {
+                    queue.put(new Chunk(buf, len, null));
+                }
+                if (error != null || len < buf.length) {
+                    end = new Chunk(null, -1, error);
+                    break;
+                }
+            }
+        } catch (InterruptedException ie) {
+            // closed, or interrupted by the executor
+        } finally {
+            synchronized (lock) {
+                // close() interrupts only while the worker is set, so no
+                // interrupt of ours is left behind for the thread's next task
+                worker = null;
+                Thread.interrupted();
+            }
+            if (end == null) {
+                end = new Chunk(null, -1,
+                    new InterruptedIOException("Decompression stopped"));
+            }
+            finish(end);
+        }
+    }
+
+    /*
+     * Queues the last chunk.  There is room once the reader takes a chunk,
+     * or close() clears the queue.
+     */
+    private void finish(Chunk end) {
+        while (true) {
+            try {
+                queue.put(end);
+                break;
+            } catch (InterruptedException ie) {
+                // not from close(); the status is cleared by the throw
+            }
+        }
+        if (closed) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * Reads a byte of uncompressed data. This method will block until
+     * enough data is available for reading.
+     * @return the byte read, or -1 if the end of the compressed input is
+     *         reached
+     * @exception ZipException if a GZIP format error has occurred
+     * @exception IOException if an I/O error has occurred
+     */
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return chunk.buf[pos++] & 0xff;
+    }
+
+    /**
+     * Reads uncompressed data into an array of bytes. If <code>len</code> is
+     * not zero, the method will block until some data is available;
+     * otherwise, no bytes are read and <code>0</code> is returned.
+     * @param b the buffer into which the data is read
+     * @param off the start offset in the destination array <code>b</code>
+     * @param len the maximum number of bytes read
+     * @return the actual number of bytes read, or -1 if the end of the
+     *         compressed input is reached
+     * @exception IndexOutOfBoundsException If <code>off</code> is negative,
+     * <code>len</code> is negative, or <code>len</code> is greater than
+     * <code>b.length - off</code>
+     * @exception ZipException if a GZIP format error has occurred
+     * @exception IOException if an I/O error has occurred
+     */
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, chunk.len - pos);
+        System.arraycopy(chunk.buf, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    /**
+     * Skips over and discards uncompressed data.
+     * @param n the number of bytes to skip
+     * @return the actual number of bytes skipped
+     * @exception IOException if an I/O error has occurred
+     */
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill()) {
+            int k = (int)Math.min(n - skipped, chunk.len - pos);
+            pos += k;
+            skipped += k;
+        }
+        return skipped;
+    }
+
+    /**
+     * Returns the number of uncompressed bytes that can be read without
+     * blocking.
+     * @return the number of bytes in decompressed chunks not yet read
+     * @exception IOException if this stream is closed
+     */
+    public int available() throws IOException {
+        ensureOpen();
+        int n = chunk == null ? 0 : chunk.len - pos;
+        for (Chunk c : queue) {
+            if (c.len > 0) {
+                n += c.len;
+            }
+        }
+        return Math.max(n, 0);
+    }
+
+    /**
+     * Returns false; marks are not supported.
+     */
+    public boolean markSupported() {
+        return false;
+    }
+
+    public synchronized void mark(int readlimit) {
+    }
+
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Closes this input stream, stopping the decompressing task, and the
+     * underlying stream.
+     * @exception IOException if an I/O error has occurred
+     */
+    public void close() throws IOException {
+        if (!closed) {
+            synchronized (lock) {
+                closed = true;
+                if (worker != null) {
+                    worker.interrupt();
+                }
+            }
+            queue.clear();
+            chunk = null;
+            gz.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /*
+     * Makes the current chunk one with bytes left to read, waiting for
+     * the task if needed.  Returns false at the end of the data.
+     */
+    private boolean fill() throws IOException {
+        ensureOpen();
+        if (chunk != null && pos < chunk.len) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        Chunk c;
+        try {
+            c = queue.take();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (c.error != null) {
+            eof = true;
+            chunk = null;
+            throw c.error;
+        }
+        if (c.len < 0) {
+            eof = true;
+            chunk = null;
+            return false;
+        }
+        chunk = c;
+        pos = 0;
+        return true;
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class implements a stream filter for writing compressed data in
+ * the GZIP file format, compressing blocks of the input in parallel.
+ *
+ * <p> The input is divided into blocks of a fixed size, which are
+ * compressed independently by tasks in a {@link ForkJoinPool} and written
+ * in order as one GZIP member.  Each block but the last is compressed with
+ * flush mode {@link Deflater#SYNC_FLUSH}, so that its compressed form ends
+ * on a byte boundary and the forms can be concatenated into a single
+ * deflate stream.  Each block is compressed with the last 32K bytes of
+ * the block before it as a preset dictionary, so that matches may span
+ * blocks and the compression ratio stays close to that of
+ * {@link GZIPOutputStream}.  The output can be read by
+ * {@link GZIPInputStream} and by any other GZIP decoder.
+ *
+ * <p> The CRC-32 of each block is computed by the task that compresses
+ * it, and the CRC-32 of the whole combined from these as the blocks are
+ * written, using {@link CRC32#combine}.  At most a bounded number of blocks are compressed or awaiting
+ * output at any time; when that bound is reached, a write waits for the
+ * oldest block to be written.
+ *
+ * <p> Instances of this class are not safe for use by multiple
+ * threads.
+ *
+ * @see GZIPOutputStream
+ */
+public class ParallelGZIPOutputStream extends FilterOutputStream {
+
+    /**
+     * The default block size, in bytes.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    /*
+     * GZIP header magic number.
+     */
+    private final static int GZIP_MAGIC = 0x8b1f;
+
+    /*
+     * The size of the window of a deflate stream, and so of the largest
+     * useful preset dictionary.
+     */
+    private final static int DICT_SIZE = 32 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int level;
+    private final int blockSize;
+    private final int maxPending;
+
+    private long crc;              // CRC-32 of the blocks written
+    private long totalIn;
+
+    private byte[] block;          // the block being filled
+    private int count;             // number of bytes in the block
+    private byte[] dict;           // tail of the previous block, or null
+    private int dictLen;
+
+    // blocks being compressed, oldest first
+    private final ArrayDeque<ForkJoinTask<Block>> pending = new ArrayDeque<>();
+    // spare input buffers and idle deflaters
+    private final ArrayDeque<byte[]> spareBlocks = new ArrayDeque<>();
+    private final ConcurrentLinkedQueue<Deflater> deflaters =
+        new ConcurrentLinkedQueue<>();
+
+    private boolean finished;
+    private volatile boolean closed;  // read by blocks returning deflaters
+
+    /**
+     * Creates a new output stream with the default block size and
+     * compression level, compressing in the common pool.
+     *
+     * @param out the output stream
+     * @exception IOException If an I/O error has occurred.
+     */
+    public ParallelGZIPOutputStream(OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION,
+             ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new output stream with the specified block size and
+     * compression level, compressing in the specified pool.
+     *
+     * @param out the output stream
+     * @param blockSize the number of input bytes compressed by each task
+     * @param level the compression level (0-9), or
+     *        {@link Deflater#DEFAULT_COMPRESSION}
+     * @param pool the pool in which to compress blocks
+     * @exception IOException If an I/O error has occurred.
+     * @exception IllegalArgumentException if {@code blockSize} is less than
+     *            the 32K byte dictionary size, or {@code level} is invalid
+     */
+    public ParallelGZIPOutputStream(OutputStream out, int blockSize, int level,
+                                    ForkJoinPool pool)
+        throws IOException
+    {
+        super(out);
+        if (out == null || pool == null) {
+            throw new NullPointerException();
+        }
+        if (blockSize < DICT_SIZE) {
+            throw new IllegalArgumentException("blockSize < " + DICT_SIZE);
+        }
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level");
+        }
+        this.pool = pool;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxPending = 2 * pool.getParallelism() + 1;
+        this.block = new byte[blockSize];
+        writeHeader();
+    }
+
+    /**
+     * Writes a byte to the compressed output stream. This method will
+     * block until the byte can be written.
+     * @param b the byte to be written
+     * @exception IOException if an I/O error has occurred
+     */
+    public void write(int b) throws IOException {
+        byte[] buf = new byte[1];
+        buf[0] = (byte)(b & 0xff);
+        write(buf, 0, 1);
+    }
+
+    /**
+     * Writes array of bytes to the compressed output stream. This method
+     * will block until all the bytes are written.
+     * @param buf the data to be written
+     * @param off the start offset of the data
+     * @param len the length of the data
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void write(byte[] buf, int off, int len) throws IOException {
+        ensureOpen();
+        if (finished) {
+            throw new IOException("write beyond end of stream");
+        }
+        if ((off | len | (off + len) | (buf.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        totalIn += len;
+        while (len > 0) {
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(buf, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    /**
+     * Flushes the compressed output stream.  All data written so far is
+     * compressed, with the last block flushed in mode
+     * {@link Deflater#SYNC_FLUSH}, and written before the underlying
+     * stream is flushed.
+     *
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void flush() throws IOException {
+        ensureOpen();
+        if (!finished) {
+            if (count > 0) {
+                submit(false);
+            }
+            drain(0);
+        }
+        out.flush();
+    }
+
+    /**
+     * Finishes writing compressed data to the output stream without closing
+     * the underlying stream. Use this method when applying multiple filters
+     * in succession to the same output stream.
+     * @exception IOException if an I/O error has occurred
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        if (!finished) {
+            submit(true);
+            drain(0);
+            finished = true;
+            byte[] trailer = new byte[8];
+            writeInt((int)crc, trailer, 0);           // CRC-32 of uncompr. data
+            writeInt((int)totalIn, trailer, 4);        // Number of uncompr. bytes
+            out.write(trailer);
+        }
+    }
+
+    /**
+     * Writes remaining compressed data to the output stream and closes the
+     * underlying stream.
+     * @exception IOException if an I/O error has occurred
+     */
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                finish();
+            } finally {
+                closed = true;
+                for (ForkJoinTask<Block> t : pending) {
+                    t.cancel(false);
+                }
+                pending.clear();
+                Deflater def;
+                while ((def = deflaters.poll()) != null) {
+                    def.end();
+                }
+                out.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /*
+     * Hands the current block to the pool, waiting first if too many
+     * blocks are outstanding, and starts a new block.
+     */
+    private void submit(boolean last) throws IOException {
+        drain(maxPending - 1);
+        final Block b = new Block(block, count, dict, dictLen, last);
+        pending.add(pool.submit(new Callable<Block>() {
+            public Block call() {
+                b.compress();
+                return b;
+            }
+        }));
+        // the next block's dictionary is the tail of this one
+        if (count > 0) {
+            int n = Math.min(count, DICT_SIZE);
+            if (n < DICT_SIZE && dictLen > 0) {
+                // keep the end of the previous dictionary in front
+                int keep = Math.min(dictLen, DICT_SIZE - n);
+                byte[] d = new byte[DICT_SIZE];
+                System.arraycopy(dict, dictLen - keep, d, 0, keep);
+                System.arraycopy(block, count - n, d, keep, n);
+                dict = d;
+                dictLen = keep + n;
+            } else {
+                dict = new byte[DICT_SIZE];
+                System.arraycopy(block, count - n, dict, 0, n);
+                dictLen = n;
+            }
+        }
+        block = spareBlocks.isEmpty() ? new byte[blockSize] : spareBlocks.poll();
+        count = 0;
+    }
+
+    /*
+     * Writes completed blocks, in order, until at most the given number
+     * are outstanding.
+     */
+    private void drain(int max) throws IOException {
+        ForkJoinTask<Block> t;
+        while ((t = pending.peek()) != null && (pending.size() > max || t.isDone())) {
+            pending.poll();
+            Block b;
+            try {
+                b = t.get();
+            } catch (InterruptedException ie) {
+                pending.addFirst(t);
+                Thread.currentThread().interrupt();
+                throw new java.io.InterruptedIOException();
+            } catch (ExecutionException ee) {
+                Throwable cause = ee.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                }
+                throw new IOException(cause);
+            }
+            out.write(b.out, 0, b.outLen);
+            crc = CRC32.combine(crc, b.crc, b.inLen);
+            if (spareBlocks.size() < maxPending) {
+                spareBlocks.add(b.in);
+            }
+        }
+    }
+
+    private Deflater takeDeflater() {
+        Deflater def = deflaters.poll();
+        return def != null ? def : new Deflater(level, true);
+    }
+
+    /*
+     * A block of input and, once compressed, its deflate stream.
+     */
+    private final class Block {
+        final byte[] in;
+        final int inLen;
+        final byte[] dict;
+        final int dictLen;
+        final boolean last;
+        byte[] out;
+        int outLen;
+        long crc;
+
+        // The dictionary array is not changed once handed to a block
+        Block(byte[] in, int inLen, byte[] dict, int dictLen, boolean last) {
+            this.in = in;
+            this.inLen = inLen;
+            this.dict = dict;
+            this.dictLen = dictLen;
+            this.last = last;
+        }
+
+        void compress() {
+            CRC32 c = new CRC32();
+            c.update(in, 0, inLen);
+            crc = c.getValue();
+            Deflater def = takeDeflater();
+            try {
+                if (dictLen > 0) {
+                    def.setDictionary(dict, 0, dictLen);
+                }
+                def.setInput(in, 0, inLen);
+                out = new byte[inLen + (inLen >> 3) + 64];
+                int mode = Deflater.SYNC_FLUSH;
+                if (last) {
+                    def.finish();
+                    mode = Deflater.NO_FLUSH;
+                }
+                for (;;) {
+                    int n = def.deflate(out, outLen, out.length - outLen, mode);
+                    outLen += n;
+                    if (last ? def.finished() : outLen < out.length) {
+                        break;
+                    }
+                    if (outLen == out.length) {
+                        out = java.util.Arrays.copyOf(out, out.length * 2);
+                    }
+                }
+                def.reset();
+                deflaters.add(def);
+                // close() sets closed before it ends the idle deflaters,
+                // so either it finds this one, or this block does
+                if (closed && deflaters.remove(def)) {
+                    def.end();
+                }
+            } catch (RuntimeException | Error e) {
+                def.end();
+                throw e;
+            }
+        }
+    }
+
+    /*
+     * Writes GZIP member header.
+     */
+    private void writeHeader() throws IOException {
+        out.write(new byte[] {
+                      (byte) GZIP_MAGIC,        // Magic number (short)
+                      (byte)(GZIP_MAGIC >> 8),  // Magic number (short)
+                      Deflater.DEFLATED,        // Compression method (CM)
+                      0,                        // Flags (FLG)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Extra flags (XFLG)
+                      0                         // Operating system (OS)
+                  });
+    }
+
+    /*
+     * Writes integer in Intel byte order to a byte array, starting at a
+     * given offset.
+     */
+    private static void writeInt(int i, byte[] buf, int offset) {
+        buf[offset] = (byte)(i & 0xff);
+        buf[offset + 1] = (byte)((i >> 8) & 0xff);
+        buf[offset + 2] = (byte)((i >> 16) & 0xff);
+        buf[offset + 3] = (byte)((i >> 24) & 0xff);
+    }
+}
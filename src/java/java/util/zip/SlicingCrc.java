@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Table-driven computation of a reflected 32-bit CRC, eight bytes at a
+ * time ("slicing-by-8"), in Java.  Used by {@link CRC32} for short inputs,
+ * where the cost of a native call outweighs that of the computation, and
+ * by {@link CRC32C}.
+ *
+ * <p> Values passed to and returned by the methods of this class are the
+ * CRC as seen by the caller: the complement taken before and after the
+ * computation is applied here.
+ */
+final class SlicingCrc {
+
+    /** The CRC-32 of ISO 3309 and ITU-T V.42, as used by zlib. */
+    static final SlicingCrc CRC32 = new SlicingCrc(0xEDB88320);
+
+    /** The CRC-32C (Castagnoli) of RFC 3720. */
+    static final SlicingCrc CRC32C = new SlicingCrc(0x82F63B78);
+
+    private final int poly;       // reflected polynomial
+
+    // table[k * 256 + i] is the CRC of byte i followed by k zero bytes
+    private final int[] table = new int[8 * 256];
+
+    private SlicingCrc(int poly) {
+        this.poly = poly;
+        for (int i = 0; i < 256; i++) {
+            int c = i;
+            for (int j = 0; j < 8; j++) {
+                c = (c & 1) != 0 ? (c >>> 1) ^ poly : c >>> 1;
+            }
+            table[i] = c;
+        }
+        for (int k = 1; k < 8; k++) {
+            for (int i = 0; i < 256; i++) {
+                int c = table[(k - 1) * 256 + i];
+                table[k * 256 + i] = (c >>> 8) ^ table[c & 0xff];
+            }
+        }
+    }
+
+    /**
+     * Updates the CRC with the low eight bits of b.
+     */
+    int update(int crc, int b) {
+        crc = ~crc;
+        crc = (crc >>> 8) ^ table[(crc ^ b) & 0xff];
+        return ~crc;
+    }
+
+    /**
+     * Updates the CRC with the given bytes; the bounds are not checked.
+     */
+    int update(int crc, byte[] b, int off, int len) {
+        final int[] t = table;
+        crc = ~crc;
+        int end = off + len;
+        for (int limit = end - 7; off < limit; off += 8) {
+            crc ^= (b[off] & 0xff) | (b[off + 1] & 0xff) << 8
+                 | (b[off + 2] & 0xff) << 16 | (b[off + 3] & 0xff) << 24;
+            crc = t[7 * 256 + (crc & 0xff)]
+                ^ t[6 * 256 + ((crc >>> 8) & 0xff)]
+                ^ t[5 * 256 + ((crc >>> 16) & 0xff)]
+                ^ t[4 * 256 + (crc >>> 24)]
+                ^ t[3 * 256 + (b[off + 4] & 0xff)]
+                ^ t[2 * 256 + (b[off + 5] & 0xff)]
+                ^ t[1 * 256 + (b[off + 6] & 0xff)]
+                ^ t[b[off + 7] & 0xff];
+        }
+        for (; off < end; off++) {
+            crc = (crc >>> 8) ^ t[(crc ^ b[off]) & 0xff];
+        }
+        return ~crc;
+    }
+
+    /**
+     * Updates the CRC with the remaining bytes of the buffer, leaving its
+     * position at its limit.
+     */
+    int update(int crc, ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int pos = buffer.position();
+            int rem = buffer.limit() - pos;
+            crc = update(crc, buffer.array(), buffer.arrayOffset() + pos, rem);
+            buffer.position(pos + rem);
+            return crc;
+        }
+        final int[] t = table;
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            crc = ~crc;
+            while (buffer.remaining() >= 8) {
+                long w = buffer.getLong();
+                int lo = crc ^ (int)w;
+                int hi = (int)(w >>> 32);
+                crc = t[7 * 256 + (lo & 0xff)]
+                    ^ t[6 * 256 + ((lo >>> 8) & 0xff)]
+                    ^ t[5 * 256 + ((lo >>> 16) & 0xff)]
+                    ^ t[4 * 256 + (lo >>> 24)]
+                    ^ t[3 * 256 + (hi & 0xff)]
+                    ^ t[2 * 256 + ((hi >>> 8) & 0xff)]
+                    ^ t[1 * 256 + ((hi >>> 16) & 0xff)]
+                    ^ t[hi >>> 24];
+            }
+            while (buffer.hasRemaining()) {
+                crc = (crc >>> 8) ^ t[(crc ^ buffer.get()) & 0xff];
+            }
+            return ~crc;
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Returns the CRC of the concatenation of two sequences of bytes,
+     * given the CRC of each and the length of the second, as zlib's
+     * crc32_combine does: the first CRC is advanced over len2 zero bytes
+     * by repeated squaring of the one-zero-bit operator in GF(2).
+     */
+    int combine(int crc1, int crc2, long len2) {
+        if (len2 <= 0) {
+            return crc1;
+        }
+        int[] even = new int[32];     // even-power-of-two zeros operator
+        int[] odd = new int[32];      // odd-power-of-two zeros operator
+
+        // the operator for one zero bit
+        odd[0] = poly;
+        int row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        square(even, odd);            // two zero bits
+        square(odd, even);            // four zero bits
+
+        // apply len2 zeros to crc1 (the first squaring gives the
+        // operator for one zero byte, eight zero bits)
+        do {
+            square(even, odd);
+            if ((len2 & 1) != 0) {
+                crc1 = times(even, crc1);
+            }
+            len2 >>= 1;
+            if (len2 == 0) {
+                break;
+            }
+            square(odd, even);
+            if ((len2 & 1) != 0) {
+                crc1 = times(odd, crc1);
+            }
+            len2 >>= 1;
+        } while (len2 != 0);
+        return crc1 ^ crc2;
+    }
+
+    private static int times(int[] mat, int vec) {
+        int sum = 0;
+        for (int i = 0; vec != 0; i++, vec >>>= 1) {
+            if ((vec & 1) != 0) {
+                sum ^= mat[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void square(int[] square, int[] mat) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = times(mat, mat[n]);
+        }
+    }
+}
@@ -32,8 +32,6 @@ import java.io.EOFException;
 import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -63,6 +61,7 @@ class ZipFile implements ZipConstants, Closeable {
     private final int total;       // total number of entries
     private final boolean locsig;  // if zip file starts with LOCSIG (usually true)
     private volatile boolean closeRequested = false;
+    private final ZipSource source; // positional reads of entry data, or null
 
     private static final int STORED = ZipEntry.STORED;
     private static final int DEFLATED = ZipEntry.DEFLATED;
@@ -92,6 +91,8 @@ class ZipFile implements ZipConstants, Closeable {
 
     private static final boolean ensuretrailingslash;
 
+    private static final boolean usepread;
+
     static {
         // A system prpperty to disable mmap use to avoid vm crash when
         // in-use zip file is accidently overwritten by others.
@@ -102,6 +103,11 @@ class ZipFile implements ZipConstants, Closeable {
         // see getEntry() for details
         prop = sun.misc.VM.getSavedProperty("jdk.util.zip.ensureTrailingSlash");
         ensuretrailingslash = prop == null || !prop.equalsIgnoreCase("false");
+
+        // A system property to read entry data through the zip library
+        // under the ZipFile lock, rather than positionally (see ZipSource)
+        prop = sun.misc.VM.getSavedProperty("jdk.util.zip.disablePositionalRead");
+        usepread = prop == null || !(prop.length() == 0 || prop.equalsIgnoreCase("true"));
     }
 
     /**
@@ -222,7 +228,19 @@ class ZipFile implements ZipConstants, Closeable {
             throw new NullPointerException("charset is null");
         this.zc = ZipCoder.get(charset);
         long t0 = System.nanoTime();
+        // Created first, to note the identity of the file, which its
+        // descriptors are opened later to check; none is opened here
+        ZipSource src = null;
+        if (usepread && (mode & OPEN_DELETE) == 0) {
+            src = new ZipSource(file);
+        }
         jzfile = open(name, mode, file.lastModified(), usemmap);
+        if (src != null && !src.isCurrent()) {
+            // replaced before the zip library opened it, or of no known
+            // identity
+            src = null;
+        }
+        this.source = src;
         sun.misc.PerfCounter.getZipFileOpenTime().addElapsedTimeFrom(t0);
         sun.misc.PerfCounter.getZipFileCount().increment();
         this.name = name;
@@ -310,6 +328,24 @@ class ZipFile implements ZipConstants, Closeable {
         if (name == null) {
             throw new NullPointerException("name");
         }
+        ZipSource src = index();
+        if (src != null) {
+            byte[] bname = zc.getBytes(name);
+            int cenpos = src.find(bname);
+            if (cenpos == -1 && bname.length > 0 &&
+                bname[bname.length - 1] != '/') {
+                // see below; the slash is always tried, the property
+                // only decides the name of the entry returned
+                bname = java.util.Arrays.copyOf(bname, bname.length + 1);
+                bname[bname.length - 1] = '/';
+                cenpos = src.find(bname);
+            }
+            if (cenpos == -1) {
+                return null;
+            }
+            return ensuretrailingslash ? getZipEntry(null, src, cenpos)
+                                       : getZipEntry(name, src, cenpos);
+        }
         long jzentry = 0;
         synchronized (this) {
             ensureOpen();
@@ -360,41 +396,59 @@ class ZipFile implements ZipConstants, Closeable {
         if (entry == null) {
             throw new NullPointerException("entry");
         }
-        long jzentry = 0;
-        ZipFileInputStream in = null;
+        byte[] bname;
+        if (!zc.isUTF8() && (entry.flag & EFS) != 0) {
+            bname = zc.getBytesUTF8(entry.name);
+        } else {
+            bname = zc.getBytes(entry.name);
+        }
+        // Read positionally without the ZipFile lock when the central
+        // directory could be indexed, else through the zip library
+        ZipSource src = index();
+        if (src != null) {
+            int cenpos = src.find(bname);
+            if (cenpos == -1) {
+                return null;
+            }
+            return getInputStream(new ZipFileInputStream(
+                    src.dataOffset(cenpos), src.csize(cenpos),
+                    src.size(cenpos)), src.method(cenpos));
+        }
         synchronized (this) {
             ensureOpen();
-            if (!zc.isUTF8() && (entry.flag & EFS) != 0) {
-                jzentry = getEntry(jzfile, zc.getBytesUTF8(entry.name), false);
-            } else {
-                jzentry = getEntry(jzfile, zc.getBytes(entry.name), false);
-            }
+            long jzentry = getEntry(jzfile, bname, false);
             if (jzentry == 0) {
                 return null;
             }
-            in = new ZipFileInputStream(jzentry);
+            ZipFileInputStream in = new ZipFileInputStream(jzentry);
+            return getInputStream(in, getEntryMethod(jzentry));
+        }
+    }
 
-            switch (getEntryMethod(jzentry)) {
-            case STORED:
-                synchronized (streams) {
-                    streams.put(in, null);
-                }
-                return in;
-            case DEFLATED:
-                // MORE: Compute good size for inflater stream:
-                long size = getEntrySize(jzentry) + 2; // Inflater likes a bit of slack
-                if (size > 65536) size = 8192;
-                if (size <= 0) size = 4096;
-                Inflater inf = getInflater();
-                InputStream is =
-                    new ZipFileInflaterInputStream(in, inf, (int)size);
-                synchronized (streams) {
-                    streams.put(is, inf);
-                }
-                return is;
-            default:
-                throw new ZipException("invalid compression method");
+    private InputStream getInputStream(ZipFileInputStream in, int method)
+        throws IOException
+    {
+        switch (method) {
+        case STORED:
+            synchronized (streams) {
+                streams.put(in, null);
+            }
+            return in;
+        case DEFLATED:
+            // MORE: Compute good size for inflater stream:
+            long size = in.size() + 2; // Inflater likes a bit of slack
+            if (size > 65536) size = 8192;
+            if (size <= 0) size = 4096;
+            Inflater inf = InflaterPool.get();
+            InputStream is =
+                new ZipFileInflaterInputStream(in, inf, (int)size);
+            synchronized (streams) {
+                streams.put(is, inf);
             }
+            return is;
+        default:
+            in.close();
+            throw new ZipException("invalid compression method");
         }
     }
 
@@ -420,7 +474,7 @@ class ZipFile implements ZipConstants, Closeable {
                 inf = streams.remove(this);
             }
             if (inf != null) {
-                releaseInflater(inf);
+                InflaterPool.release(inf);
             }
         }
 
@@ -454,36 +508,20 @@ class ZipFile implements ZipConstants, Closeable {
     }
 
     /*
-     * Gets an inflater from the list of available inflaters or allocates
-     * a new one.
-     */
-    private Inflater getInflater() {
-        Inflater inf;
-        synchronized (inflaterCache) {
-            while (null != (inf = inflaterCache.poll())) {
-                if (false == inf.ended()) {
-                    return inf;
-                }
-            }
-        }
-        return new Inflater(true);
-    }
-
-    /*
-     * Releases the specified inflater to the list of available inflaters.
+     * Returns the source once its index of the central directory has been
+     * built, or null if the zip library must be used instead.  The index
+     * is only used if it agrees with the zip library on the number of
+     * entries.
      */
-    private void releaseInflater(Inflater inf) {
-        if (false == inf.ended()) {
-            inf.reset();
-            synchronized (inflaterCache) {
-                inflaterCache.add(inf);
-            }
+    private ZipSource index() {
+        ensureOpen();
+        ZipSource src = source;
+        if (src != null && src.ensureIndexed() && src.total() == total) {
+            return src;
         }
+        return null;
     }
 
-    // List of available Inflater objects for decompression
-    private Deque<Inflater> inflaterCache = new ArrayDeque<>();
-
     /**
      * Returns the path name of the ZIP file.
      * @return the path name of the ZIP file
@@ -494,9 +532,11 @@ class ZipFile implements ZipConstants, Closeable {
 
     private class ZipEntryIterator implements Enumeration<ZipEntry>, Iterator<ZipEntry> {
         private int i = 0;
+        private final ZipSource src;  // walks the CEN if not null
+        private int cenpos = 0;
 
         public ZipEntryIterator() {
-            ensureOpen();
+            src = index();
         }
 
         public boolean hasMoreElements() {
@@ -504,6 +544,10 @@ class ZipFile implements ZipConstants, Closeable {
         }
 
         public boolean hasNext() {
+            if (src != null) {
+                ensureOpen();
+                return i < total;
+            }
             synchronized (ZipFile.this) {
                 ensureOpen();
                 return i < total;
@@ -515,6 +559,17 @@ class ZipFile implements ZipConstants, Closeable {
         }
 
         public ZipEntry next() {
+            if (src != null) {
+                ensureOpen();
+                if (i >= total) {
+                    throw new NoSuchElementException();
+                }
+                // the entry is created only now, from its CEN header
+                i++;
+                ZipEntry ze = getZipEntry(null, src, cenpos);
+                cenpos = src.nextEntry(cenpos);
+                return ze;
+            }
             synchronized (ZipFile.this) {
                 ensureOpen();
                 if (i >= total) {
@@ -602,6 +657,44 @@ class ZipFile implements ZipConstants, Closeable {
         return e;
     }
 
+    // Creates an entry from its header in the central directory,
+    // as getZipEntry(String, long) does from the zip library's
+    private ZipEntry getZipEntry(String name, ZipSource src, int cenpos) {
+        ZipEntry e = new ZipEntry();
+        e.flag = src.flag(cenpos);  // get the flag first
+        if (name != null) {
+            e.name = name;
+        } else {
+            byte[] bname = src.name(cenpos);
+            if (!zc.isUTF8() && (e.flag & EFS) != 0) {
+                e.name = zc.toStringUTF8(bname, bname.length);
+            } else {
+                e.name = zc.toString(bname, bname.length);
+            }
+        }
+        e.xdostime = src.time(cenpos);
+        e.crc = src.crc(cenpos);
+        try {
+            e.size = src.size(cenpos);
+            e.csize = src.csize(cenpos);
+        } catch (ZipException ze) {
+            throw new ZipError(ze.getMessage() + ": " + e.name);
+        }
+        e.method = src.method(cenpos);
+        e.setExtra0(src.extra(cenpos), false);
+        byte[] bcomm = src.comment(cenpos);
+        if (bcomm == null) {
+            e.comment = null;
+        } else {
+            if (!zc.isUTF8() && (e.flag & EFS) != 0) {
+                e.comment = zc.toStringUTF8(bcomm, bcomm.length);
+            } else {
+                e.comment = zc.toString(bcomm, bcomm.length);
+            }
+        }
+        return e;
+    }
+
     private static native long getNextEntry(long jzfile, int i);
 
     /**
@@ -643,20 +736,18 @@ class ZipFile implements ZipConstants, Closeable {
                 }
             }
 
-            // Release cached inflaters
-            Inflater inf;
-            synchronized (inflaterCache) {
-                while (null != (inf = inflaterCache.poll())) {
-                    inf.end();
+            try {
+                if (source != null) {
+                    source.close();
                 }
-            }
-
-            if (jzfile != 0) {
-                // Close the zip file
-                long zf = this.jzfile;
-                jzfile = 0;
+            } finally {
+                if (jzfile != 0) {
+                    // Close the zip file
+                    long zf = this.jzfile;
+                    jzfile = 0;
 
-                close(zf);
+                    close(zf);
+                }
             }
         }
     }
@@ -703,7 +794,8 @@ class ZipFile implements ZipConstants, Closeable {
      */
    private class ZipFileInputStream extends InputStream {
         private volatile boolean zfisCloseRequested = false;
-        protected long jzentry; // address of jzentry data
+        protected long jzentry; // address of jzentry data, or 0
+        private   long start;   // file position of entry data, if no jzentry
         private   long pos;     // current position within entry data
         protected long rem;     // number of remaining bytes within entry
         protected long size;    // uncompressed size of this entry
@@ -715,7 +807,18 @@ class ZipFile implements ZipConstants, Closeable {
             this.jzentry = jzentry;
         }
 
+        // Reads entry data positionally from the source
+        ZipFileInputStream(long start, long csize, long size) {
+            pos = 0;
+            rem = csize;
+            this.size = size;
+            this.start = start;
+        }
+
         public int read(byte b[], int off, int len) throws IOException {
+            if (jzentry == 0) {
+                return readAt(b, off, len);
+            }
             synchronized (ZipFile.this) {
                 long rem = this.rem;
                 long pos = this.pos;
@@ -744,6 +847,36 @@ class ZipFile implements ZipConstants, Closeable {
             return len;
         }
 
+        private int readAt(byte b[], int off, int len) throws IOException {
+            synchronized (this) {
+                long rem = this.rem;
+                long pos = this.pos;
+                if (rem == 0) {
+                    return -1;
+                }
+                if (len <= 0) {
+                    return 0;
+                }
+                if (len > rem) {
+                    len = (int) rem;
+                }
+
+                // Check if ZipFile open
+                ensureOpenOrZipException();
+                len = source.readAt(start + pos, b, off, len);
+                if (len > 0) {
+                    this.pos = (pos + len);
+                    this.rem = (rem - len);
+                } else if (len < 0) {
+                    throw new EOFException("Unexpected end of ZIP file");
+                }
+            }
+            if (rem == 0) {
+                close();
+            }
+            return len;
+        }
+
         public int read() throws IOException {
             byte[] b = new byte[1];
             if (read(b, 0, 1) == 1) {
@@ -778,10 +911,12 @@ class ZipFile implements ZipConstants, Closeable {
             zfisCloseRequested = true;
 
             rem = 0;
-            synchronized (ZipFile.this) {
-                if (jzentry != 0 && ZipFile.this.jzfile != 0) {
-                    freeEntry(ZipFile.this.jzfile, jzentry);
-                    jzentry = 0;
+            if (jzentry != 0) {
+                synchronized (ZipFile.this) {
+                    if (jzentry != 0 && ZipFile.this.jzfile != 0) {
+                        freeEntry(ZipFile.this.jzfile, jzentry);
+                        jzentry = 0;
+                    }
                 }
             }
             synchronized (streams) {
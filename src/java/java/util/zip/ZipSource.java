@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.zip.ZipConstants.*;
+import static java.util.zip.ZipConstants64.*;
+import static java.util.zip.ZipUtils.*;
+
+/**
+ * Positional access to the contents of a zip file, for reading entry data
+ * without holding the lock of the owning {@link ZipFile}.
+ *
+ * <p> Reads are spread over a small number of stripes, each with its own
+ * file descriptor and lock, so that threads reading different entries
+ * seldom wait for each other and never share a file position.  No
+ * descriptor is opened until the central directory is first read, when
+ * the first stripe is opened; a zip file that is read thus holds one
+ * descriptor beside that of the zip library.  Other stripes are opened on
+ * first use, while fewer than {@code MAX_EXTRA_STRIPES} are open over all
+ * zip files; a thread whose stripe is not open reads through the first.
+ * Every stripe is opened by path, and only used if the path still names
+ * the file that the zip library opened, as told by its file key; a source
+ * is not used for a file without a key, or one deleted once opened.  All
+ * are closed with the zip file.  A <tt>RandomAccessFile</tt> is used
+ * rather than a <tt>FileChannel</tt> so that interrupting one reader does
+ * not close the file for all of them.
+ *
+ * <p> The central directory is read into the heap on first use.  It is
+ * not mapped: lookups do not hold the lock of the zip file, so a mapping
+ * could not be released on close while a lookup might still read it, and
+ * would otherwise outlive the zip file, keeping the file open (and, on
+ * some platforms, locked) until collected.  It is indexed by an
+ * open-addressed table of name hashes and header positions, so an entry
+ * is found by comparing raw name bytes, with no names decoded and no
+ * objects created.
+ * If the file cannot be parsed, or has changed since it was opened, the
+ * source reports itself unusable and the caller uses the zip library
+ * instead.
+ */
+final class ZipSource implements Closeable {
+
+    private static final int MAX_STRIPES = 8;
+
+    /**
+     * The largest number of descriptors open, over all sources, for
+     * stripes other than the first.
+     */
+    private static final int MAX_EXTRA_STRIPES = 64;
+
+    private static final AtomicInteger extraStripes = new AtomicInteger();
+
+    private final File file;
+    private final Object key;     // file key of the file when opened
+    private volatile long length; // set when the first stripe is opened
+    private final Stripe[] stripes;
+    private volatile boolean changed;
+    private volatile boolean closed;
+
+    // The central directory, read by ensureIndexed()
+    private volatile boolean indexed;
+    private boolean broken;
+    private ByteBuffer cen;       // little-endian
+    private long locpos;          // position of the first LOC header
+    private int total;            // number of entries
+    private int[] table;          // name hash and CEN position pairs;
+                                  // a position of -1 marks a free slot
+
+    private static final class Stripe {
+        RandomAccessFile raf;
+    }
+
+    /**
+     * Prepares the file for positional reads, opening no descriptor.  The
+     * zip library is to open the file next; the source may be used only
+     * if {@link #isCurrent} then holds.
+     */
+    ZipSource(File file) {
+        this.file = file;
+        this.key = fileKey(file);
+        int n = Math.min(MAX_STRIPES,
+            Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+        stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Returns true if the path still names the file it named when the
+     * source was created, as told by its file key; false if it does not,
+     * or the file has no key.
+     */
+    boolean isCurrent() {
+        return key != null && key.equals(fileKey(file));
+    }
+
+    /**
+     * Reads up to len bytes at the given position of the file, blocking
+     * only threads that use the same stripe.
+     */
+    int readAt(long pos, byte[] b, int off, int len) throws IOException {
+        Stripe s = stripes[(int)Thread.currentThread().getId() & (stripes.length - 1)];
+        if (s != stripes[0]) {
+            synchronized (s) {
+                if (s.raf == null && !changed) {
+                    s.raf = openStripe();
+                }
+                if (s.raf != null) {
+                    return read(s.raf, pos, b, off, len);
+                }
+            }
+            s = stripes[0];
+        }
+        synchronized (s) {
+            if (s.raf == null) {
+                s.raf = openFirst();
+            }
+            return read(s.raf, pos, b, off, len);
+        }
+    }
+
+    private static int read(RandomAccessFile raf, long pos,
+                            byte[] b, int off, int len)
+        throws IOException
+    {
+        raf.seek(pos);
+        return raf.read(b, off, len);
+    }
+
+    private void readFullyAt(long pos, byte[] b, int off, int len)
+        throws IOException
+    {
+        while (len > 0) {
+            int n = readAt(pos, b, off, len);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /*
+     * Opens the first stripe, which all reads may fall back to, failing
+     * if the path no longer names the file that the zip library opened.
+     */
+    private RandomAccessFile openFirst() throws IOException {
+        RandomAccessFile raf = open();
+        // the key is read once opened, so that a replacement made while
+        // opening is seen
+        if (!isCurrent()) {
+            raf.close();
+            throw new ZipException("zip file changed: " + file.getPath());
+        }
+        length = raf.length();
+        return raf;
+    }
+
+    /*
+     * Opens another descriptor for a stripe, or returns null.  None is
+     * opened while as many as MAX_EXTRA_STRIPES are open over all sources,
+     * and, once the path no longer names the file, none at all.
+     */
+    private RandomAccessFile openStripe() throws IOException {
+        if (extraStripes.incrementAndGet() > MAX_EXTRA_STRIPES) {
+            extraStripes.decrementAndGet();
+            return null;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = open();
+            if (isCurrent() && raf.length() == length) {
+                return raf;
+            }
+        } catch (FileNotFoundException e) {
+            // gone; use the first stripe
+        } catch (IOException | RuntimeException e) {
+            extraStripes.decrementAndGet();
+            throw e;
+        }
+        changed = true;
+        extraStripes.decrementAndGet();
+        if (raf != null) {
+            raf.close();
+        }
+        return null;
+    }
+
+    private RandomAccessFile open() throws IOException {
+        if (closed) {
+            throw new ZipException("ZipFile closed");
+        }
+        try {
+            return AccessController.doPrivileged(
+                new PrivilegedExceptionAction<RandomAccessFile>() {
+                    public RandomAccessFile run() throws FileNotFoundException {
+                        return new RandomAccessFile(file, "r");
+                    }
+                });
+        } catch (PrivilegedActionException pae) {
+            throw (IOException) pae.getException();
+        }
+    }
+
+    /*
+     * Returns the file key of the file, or null if it has none or it
+     * cannot be read.
+     */
+    private static Object fileKey(File file) {
+        try {
+            return AccessController.doPrivileged(
+                new PrivilegedExceptionAction<Object>() {
+                    public Object run() throws IOException {
+                        return Files.readAttributes(file.toPath(),
+                            BasicFileAttributes.class).fileKey();
+                    }
+                });
+        } catch (PrivilegedActionException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if the central directory has been, or can now be, read
+     * and indexed.
+     */
+    boolean ensureIndexed() {
+        if (indexed) {
+            return true;
+        }
+        synchronized (this) {
+            if (!indexed && !broken && !closed) {
+                try {
+                    initCEN();
+                    indexed = true;
+                } catch (IOException | RuntimeException e) {
+                    broken = true;
+                    cen = null;
+                    table = null;
+                }
+            }
+            return indexed;
+        }
+    }
+
+    /*
+     * Locates the END header, following the ZIP64 locator if present,
+     * then reads the central directory and indexes its entries by name.
+     */
+    private void initCEN() throws IOException {
+        synchronized (stripes[0]) {
+            if (stripes[0].raf == null) {
+                stripes[0].raf = openFirst();
+            }
+        }
+        int tail = (int)Math.min(length, ENDHDR + 0xFFFF);
+        if (tail < ENDHDR) {
+            throw new ZipException("zip file is too short");
+        }
+        byte[] buf = new byte[tail];
+        long base = length - tail;
+        readFullyAt(base, buf, 0, tail);
+        int end = -1;
+        for (int i = tail - ENDHDR; i >= 0; i--) {
+            if (get32(buf, i) == ENDSIG &&
+                i + ENDHDR + get16(buf, i + ENDCOM) == tail) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new ZipException("END header not found");
+        }
+        long endpos = base + end;
+        long cenlen = get32(buf, end + ENDSIZ);
+        long cenoff = get32(buf, end + ENDOFF);
+        long total = get16(buf, end + ENDTOT);
+        if (cenlen == ZIP64_MAGICVAL || cenoff == ZIP64_MAGICVAL ||
+            total == ZIP64_MAGICCOUNT) {
+            byte[] loc = new byte[ZIP64_LOCHDR];
+            readFullyAt(endpos - ZIP64_LOCHDR, loc, 0, ZIP64_LOCHDR);
+            if (get32(loc, 0) != ZIP64_LOCSIG) {
+                throw new ZipException("ZIP64 locator not found");
+            }
+            long end64pos = get64(loc, ZIP64_LOCOFF);
+            byte[] end64 = new byte[ZIP64_ENDHDR];
+            readFullyAt(end64pos, end64, 0, ZIP64_ENDHDR);
+            if (get32(end64, 0) != ZIP64_ENDSIG) {
+                throw new ZipException("ZIP64 END header not found");
+            }
+            cenlen = get64(end64, ZIP64_ENDSIZ);
+            cenoff = get64(end64, ZIP64_ENDOFF);
+            total = get64(end64, ZIP64_ENDTOT);
+            endpos = end64pos;
+        }
+        long cenpos = endpos - cenlen;
+        locpos = cenpos - cenoff;
+        if (cenlen > Integer.MAX_VALUE || cenpos < 0 || locpos < 0 ||
+            total < 0 || total > cenlen / CENHDR) {
+            throw new ZipException("invalid END header");
+        }
+        this.total = (int)total;
+        byte[] b = new byte[(int)cenlen];
+        readFullyAt(cenpos, b, 0, b.length);
+        cen = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+
+        // at most three quarters full, with at least one free slot
+        int cap = Integer.highestOneBit(Math.max(this.total * 4 / 3, 1)) * 2;
+        int mask = cap - 1;
+        table = new int[cap * 2];
+        for (int i = 1; i < table.length; i += 2) {
+            table[i] = -1;
+        }
+        int pos = 0;
+        for (int i = 0; i < this.total; i++) {
+            if (pos + CENHDR > cen.limit() || u32(pos) != CENSIG) {
+                throw new ZipException("invalid CEN header");
+            }
+            int nlen = u16(pos + CENNAM);
+            int next = nextEntry(pos);
+            if (next > cen.limit()) {
+                throw new ZipException("invalid CEN header");
+            }
+            // a later entry of the same name replaces an earlier one,
+            // as in the zip library
+            int h = hashCEN(pos + CENHDR, nlen);
+            int idx = h & mask;
+            int p;
+            while ((p = table[idx * 2 + 1]) != -1 &&
+                   !(table[idx * 2] == h && nameEquals(p, cen, pos + CENHDR, nlen))) {
+                idx = (idx + 1) & mask;
+            }
+            table[idx * 2] = h;
+            table[idx * 2 + 1] = pos;
+            pos = next;
+        }
+    }
+
+    private int u16(int pos) {
+        return cen.getShort(pos) & 0xffff;
+    }
+
+    private long u32(int pos) {
+        return cen.getInt(pos) & 0xffffffffL;
+    }
+
+    private int hashCEN(int off, int len) {
+        int h = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            h = 31 * h + cen.get(i);
+        }
+        return h;
+    }
+
+    private static int hash(byte[] b, int off, int len) {
+        int h = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            h = 31 * h + b[i];
+        }
+        return h;
+    }
+
+    private boolean nameEquals(int cenpos, ByteBuffer name, int off, int len) {
+        if (u16(cenpos + CENNAM) != len) {
+            return false;
+        }
+        int p = cenpos + CENHDR;
+        for (int i = 0; i < len; i++) {
+            if (cen.get(p + i) != name.get(off + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean nameEquals(int cenpos, byte[] name, int len) {
+        if (u16(cenpos + CENNAM) != len) {
+            return false;
+        }
+        int p = cenpos + CENHDR;
+        for (int i = 0; i < len; i++) {
+            if (cen.get(p + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position in the central directory of the header of the
+     * entry whose encoded name is the first len bytes of the given array,
+     * or -1 if there is none.  The source must have been indexed.
+     */
+    int find(byte[] name, int len) {
+        int h = hash(name, 0, len);
+        int mask = (table.length >> 1) - 1;
+        int idx = h & mask;
+        int pos;
+        while ((pos = table[idx * 2 + 1]) != -1) {
+            if (table[idx * 2] == h && nameEquals(pos, name, len)) {
+                return pos;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position in the central directory of the header of the
+     * entry with the given encoded name, or -1 if there is none.
+     */
+    int find(byte[] name) {
+        return find(name, name.length);
+    }
+
+    /** Returns the number of entries in the central directory. */
+    int total() {
+        return total;
+    }
+
+    /**
+     * Returns the position of the header following the one at cenpos;
+     * the first header is at position 0.
+     */
+    int nextEntry(int cenpos) {
+        return cenpos + CENHDR + u16(cenpos + CENNAM) + u16(cenpos + CENEXT)
+                               + u16(cenpos + CENCOM);
+    }
+
+    /** Returns the general purpose flag of the entry at cenpos. */
+    int flag(int cenpos) {
+        return u16(cenpos + CENFLG);
+    }
+
+    /** Returns the DOS time and date of the entry at cenpos. */
+    long time(int cenpos) {
+        return u32(cenpos + CENTIM);
+    }
+
+    /** Returns the CRC-32 of the entry at cenpos. */
+    long crc(int cenpos) {
+        return u32(cenpos + CENCRC);
+    }
+
+    /** Returns the encoded name of the entry at cenpos. */
+    byte[] name(int cenpos) {
+        return bytes(cenpos + CENHDR, u16(cenpos + CENNAM));
+    }
+
+    /** Returns the extra field of the entry at cenpos, or null if none. */
+    byte[] extra(int cenpos) {
+        int len = u16(cenpos + CENEXT);
+        return len == 0 ? null
+            : bytes(cenpos + CENHDR + u16(cenpos + CENNAM), len);
+    }
+
+    /** Returns the encoded comment of the entry at cenpos, or null. */
+    byte[] comment(int cenpos) {
+        int len = u16(cenpos + CENCOM);
+        return len == 0 ? null
+            : bytes(cenpos + CENHDR + u16(cenpos + CENNAM)
+                    + u16(cenpos + CENEXT), len);
+    }
+
+    private byte[] bytes(int off, int len) {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; i++) {
+            b[i] = cen.get(off + i);
+        }
+        return b;
+    }
+
+    /** Returns the compression method of the entry at cenpos. */
+    int method(int cenpos) {
+        return u16(cenpos + CENHOW);
+    }
+
+    /** Returns the uncompressed size of the entry at cenpos. */
+    long size(int cenpos) throws ZipException {
+        long v = u32(cenpos + CENLEN);
+        return v == ZIP64_MAGICVAL ? zip64(cenpos, 0) : v;
+    }
+
+    /** Returns the compressed size of the entry at cenpos. */
+    long csize(int cenpos) throws ZipException {
+        long v = u32(cenpos + CENSIZ);
+        return v == ZIP64_MAGICVAL ? zip64(cenpos, 1) : v;
+    }
+
+    /**
+     * Returns the file position of the data of the entry at cenpos, after
+     * checking its LOC header.
+     */
+    long dataOffset(int cenpos) throws IOException {
+        long off = u32(cenpos + CENOFF);
+        if (off == ZIP64_MAGICVAL) {
+            off = zip64(cenpos, 2);
+        }
+        byte[] loc = new byte[LOCHDR];
+        readFullyAt(locpos + off, loc, 0, LOCHDR);
+        if (get32(loc, 0) != LOCSIG) {
+            throw new ZipException("invalid LOC header (bad signature)");
+        }
+        return locpos + off + LOCHDR + get16(loc, LOCNAM) + get16(loc, LOCEXT);
+    }
+
+    /*
+     * Returns the field-th of the ZIP64 extended values (uncompressed
+     * size, compressed size, LOC offset) of the entry at cenpos.  Only
+     * values whose CEN fields hold the magic value are present.
+     */
+    private long zip64(int cenpos, int field) throws ZipException {
+        int skip = 0;
+        if (field > 0 && u32(cenpos + CENLEN) == ZIP64_MAGICVAL)
+            skip++;
+        if (field > 1 && u32(cenpos + CENSIZ) == ZIP64_MAGICVAL)
+            skip++;
+        int off = cenpos + CENHDR + u16(cenpos + CENNAM);
+        int end = off + u16(cenpos + CENEXT);
+        while (off + 4 <= end) {
+            int tag = u16(off);
+            int sz = u16(off + 2);
+            off += 4;
+            if (tag == ZIP64_EXTID) {
+                if (skip * 8 + 8 > sz || off + sz > end) {
+                    break;
+                }
+                return cen.getLong(off + skip * 8);
+            }
+            off += sz;
+        }
+        throw new ZipException("invalid ZIP64 extra field");
+    }
+
+    /**
+     * Closes all stripes.  Reads in progress complete; later reads fail.
+     */
+    public void close() throws IOException {
+        closed = true;
+        IOException ioe = null;
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe s = stripes[i];
+            synchronized (s) {
+                if (s.raf != null) {
+                    try {
+                        s.raf.close();
+                    } catch (IOException e) {
+                        ioe = e;
+                    }
+                    s.raf = null;
+                    if (i > 0) {
+                        extraStripes.decrementAndGet();
+                    }
+                }
+            }
+        }
+        if (ioe != null) {
+            throw ioe;
+        }
+    }
+}
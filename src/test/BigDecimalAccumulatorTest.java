@@ -0,0 +1,36 @@
+package test;
+
+import java.math.BigDecimal;
+import java.math.BigDecimalAccumulator;
+
+/**
+ * Checks that a BigDecimal returned by BigDecimalAccumulator.toBigDecimal
+ * keeps its value when the accumulator is changed afterwards.
+ */
+public class BigDecimalAccumulatorTest {
+
+    public static void main(String[] args) {
+        BigDecimal big = new BigDecimal("123456789012345678901234567.89");
+        BigDecimalAccumulator acc = new BigDecimalAccumulator(2);
+        acc.add(big);
+        BigDecimal snap = acc.toBigDecimal();
+        BigDecimal copy = new BigDecimal(snap.toString());
+        for (int i = 0; i < 10; i++) {
+            acc.add(big);
+            acc.subtract(new BigDecimal("0.01"));
+        }
+        if (!snap.equals(copy)) {
+            throw new RuntimeException("snapshot changed from " + copy
+                                       + " to " + snap);
+        }
+        BigDecimal expected = copy;
+        for (int i = 0; i < 10; i++) {
+            expected = expected.add(big).subtract(new BigDecimal("0.01"));
+        }
+        if (!acc.toBigDecimal().equals(expected)) {
+            throw new RuntimeException("sum is " + acc.toBigDecimal()
+                                       + ", expected " + expected);
+        }
+        System.out.println("ok");
+    }
+}
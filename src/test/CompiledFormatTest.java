@@ -0,0 +1,185 @@
+package test;
+
+import java.math.RoundingMode;
+import java.text.CompiledDateFormat;
+import java.text.CompiledDecimalFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Formats the same values with CompiledDecimalFormat / CompiledDateFormat
+ * and with the DecimalFormat / SimpleDateFormat they were compiled from,
+ * and reports every value whose text differs.
+ */
+public class CompiledFormatTest {
+
+    static final String[] NUMBER_PATTERNS = {
+        "#,##0.00", "0.###", "#,##0", "0", "000000", "0.0###", "#.#",
+        "0.00%", "#,##0\u2030", "\u00a4#,##0.00", "#,##0.00;(#,##0.00)",
+        "0.000E0", "##0.##E0", "00.###E0", "#,##,###.00",
+    };
+
+    static final Locale[] LOCALES = {
+        Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("de", "CH"),
+        new Locale("ar", "EG"), new Locale("hi", "IN"),
+    };
+
+    static final RoundingMode[] ROUNDING_MODES = {
+        RoundingMode.HALF_EVEN, RoundingMode.HALF_UP, RoundingMode.HALF_DOWN,
+        RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING,
+        RoundingMode.FLOOR,
+    };
+
+    static final String[] DATE_PATTERNS = {
+        "yyyy-MM-dd'T'HH:mm:ss.SSSZ", "EEE, d MMM yyyy HH:mm:ss z",
+        "yy/M/d h:mm a", "G yyyy.MM.dd 'at' HH:mm:ss XXX",
+        "EEEE MMMM dd, yyyy w W D F u k K", "yyyyy.MMMMM.dd GGG hh:mm aaa",
+        "Y-'W'ww-u", "zzzz ZZZZ X XX", "S SS SSSS",
+    };
+
+    static final String[] ZONES = {
+        "UTC", "America/New_York", "Europe/London", "Asia/Kolkata",
+        "Australia/Lord_Howe", "Pacific/Chatham",
+    };
+
+    static final Locale[] DATE_LOCALES = {
+        Locale.US, Locale.GERMANY, Locale.JAPAN, new Locale("th", "TH"),
+        new Locale("ja", "JP", "JP"),
+    };
+
+    static final double[] SPECIAL_DOUBLES = {
+        0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY,
+        Double.NEGATIVE_INFINITY, Double.MAX_VALUE, -Double.MAX_VALUE,
+        Double.MIN_VALUE, Double.MIN_NORMAL, 0.5, 1.5, 2.5, -0.5, 0.125,
+        0.005, 0.015, 0.025, 1.005, 2.675, 1e-7, 123456789.125, 1e15,
+        9.999999999999999e22, Integer.MAX_VALUE, Integer.MIN_VALUE,
+        Integer.MAX_VALUE + 0.5, Long.MAX_VALUE, Long.MIN_VALUE,
+    };
+
+    static final long[] SPECIAL_LONGS = {
+        0, 1, -1, 9, 10, 999, 1000, -1000, Integer.MAX_VALUE,
+        Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+        Long.MAX_VALUE / 100, Long.MIN_VALUE / 1000,
+    };
+
+    static int cases;
+    static int failures;
+
+    public static void main(String[] args) {
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 42);
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        numbers(random, n);
+        dates(random, n);
+        System.out.println(cases + " cases, " + failures + " failures");
+        if (failures != 0) {
+            throw new RuntimeException(failures + " formats differ");
+        }
+    }
+
+    static void numbers(Random random, int n) {
+        for (String pattern : NUMBER_PATTERNS) {
+            for (Locale locale : LOCALES) {
+                for (RoundingMode mode : ROUNDING_MODES) {
+                    DecimalFormat df = new DecimalFormat(pattern,
+                        DecimalFormatSymbols.getInstance(locale));
+                    df.setRoundingMode(mode);
+                    if (mode == RoundingMode.HALF_UP) {
+                        df.setDecimalSeparatorAlwaysShown(true);
+                        df.setMultiplier(1000);
+                    }
+                    CompiledDecimalFormat cdf = CompiledDecimalFormat.of(df);
+                    for (double d : SPECIAL_DOUBLES) {
+                        check(df, cdf, d);
+                    }
+                    for (long l : SPECIAL_LONGS) {
+                        check(df, cdf, l);
+                    }
+                    for (int i = 0; i < n; i++) {
+                        check(df, cdf, randomDouble(random));
+                        check(df, cdf, randomLong(random));
+                    }
+                }
+            }
+        }
+    }
+
+    static double randomDouble(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                // values on or near a rounding tie
+                return (random.nextInt(2000000) - 1000000) / 8.0;
+            case 1:
+                return (random.nextInt(2000001) - 1000000) / 1000.0;
+            case 2:
+                return random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+            default:
+                return Double.longBitsToDouble(random.nextLong());
+        }
+    }
+
+    static long randomLong(Random random) {
+        return random.nextBoolean() ? random.nextLong()
+                                    : random.nextLong() >> random.nextInt(64);
+    }
+
+    static void check(DecimalFormat df, CompiledDecimalFormat cdf, double d) {
+        String expected;
+        try {
+            expected = df.format(d);
+        } catch (ArithmeticException e) {
+            return;
+        }
+        compare(df.toPattern() + " " + d, expected, cdf.format(d));
+    }
+
+    static void check(DecimalFormat df, CompiledDecimalFormat cdf, long l) {
+        compare(df.toPattern() + " " + l, df.format(l), cdf.format(l));
+    }
+
+    static void dates(Random random, int n) {
+        for (String pattern : DATE_PATTERNS) {
+            for (Locale locale : DATE_LOCALES) {
+                for (String zone : ZONES) {
+                    SimpleDateFormat sdf = new SimpleDateFormat(pattern, locale);
+                    sdf.setTimeZone(TimeZone.getTimeZone(zone));
+                    CompiledDateFormat cdf = CompiledDateFormat.of(sdf);
+                    for (int i = 0; i < n; i++) {
+                        long millis = randomMillis(random);
+                        compare(pattern + " " + locale + " " + zone + " " + millis,
+                                sdf.format(new Date(millis)), cdf.format(millis));
+                    }
+                }
+            }
+        }
+    }
+
+    static long randomMillis(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                // from 1800 to 2200
+                return (long) ((random.nextDouble() * 400 - 170) * 365.2425 * 86400000L);
+            case 1:
+                // around the present, where offsets change most
+                return 1500000000000L + (long) (random.nextDouble() * 1e12);
+            default:
+                // anywhere, including BC dates
+                return random.nextLong() >> random.nextInt(10);
+        }
+    }
+
+    static void compare(String what, String expected, String actual) {
+        cases++;
+        if (!expected.equals(actual)) {
+            failures++;
+            if (failures <= 50) {
+                System.out.println(what + ": expected \"" + expected
+                                   + "\" but was \"" + actual + "\"");
+            }
+        }
+    }
+}
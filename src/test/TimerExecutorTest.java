@@ -0,0 +1,52 @@
+package test;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that a Timer whose executor rejects its tasks cancels them and
+ * keeps running.
+ */
+public class TimerExecutorTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        Timer timer = new Timer("rejecting", true, executor);
+
+        TimerTask once = new TimerTask() {
+            public void run() {
+                throw new AssertionError("ran on a shut-down executor");
+            }
+        };
+        TimerTask repeating = new TimerTask() {
+            public void run() {
+                throw new AssertionError("ran on a shut-down executor");
+            }
+        };
+        timer.schedule(once, 10);
+        timer.schedule(repeating, 10, 10);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        // rejected tasks are cancelled, so there is nothing left to cancel
+        if (once.cancel() || repeating.cancel()) {
+            throw new RuntimeException("rejected task not cancelled");
+        }
+        // the timer thread is still alive, so the timer takes new tasks,
+        // and rejects them in turn
+        TimerTask later = new TimerTask() {
+            public void run() {
+            }
+        };
+        timer.schedule(later, 10);
+        TimeUnit.MILLISECONDS.sleep(200);
+        if (later.cancel()) {
+            throw new RuntimeException("timer thread stopped");
+        }
+        timer.cancel();
+        System.out.println("ok");
+    }
+}